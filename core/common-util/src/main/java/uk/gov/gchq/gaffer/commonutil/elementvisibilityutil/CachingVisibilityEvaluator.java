@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.elementvisibilityutil;
+
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@code CachingVisibilityEvaluator} is a {@link VisibilityEvaluator} that
+ * memoises the result of evaluating each visibility expression against its
+ * {@link Authorisations}. The expressions are parsed using the shared
+ * {@link ElementVisibilityCache}.
+ * <p>
+ * A single instance should be created for a set of authorisations and reused
+ * for every element checked with them, so that after the first occurrence of
+ * a visibility string checking it costs a single hash lookup. The results are
+ * bounded in the same way as the {@link ElementVisibilityCache}.
+ * </p>
+ */
+public class CachingVisibilityEvaluator extends VisibilityEvaluator {
+    private final Map<String, Boolean> results = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    public CachingVisibilityEvaluator(final Authorisations auths) {
+        this(auths, ElementVisibilityCache.MAX_SIZE);
+    }
+
+    public CachingVisibilityEvaluator(final Authorisations auths, final int maxSize) {
+        super(auths);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Evaluates a visibility expression against the authorisations.
+     *
+     * @param expression the visibility expression
+     * @return true if the authorisations satisfy the expression
+     * @throws VisibilityParseException if the expression cannot be evaluated
+     */
+    public boolean evaluate(final String expression) throws VisibilityParseException {
+        Boolean result = results.get(expression);
+        if (null == result) {
+            result = evaluate(ElementVisibilityCache.get(expression));
+            if (results.size() >= maxSize) {
+                results.clear();
+            }
+            results.put(expression, result);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.elementvisibilityutil;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A shared, bounded cache of parsed {@link ElementVisibility} expressions.
+ * <p>
+ * Datasets typically contain only a small number of distinct visibility
+ * strings, so rather than re-parsing the expression for every element the
+ * parse tree is created once and reused. An {@link ElementVisibility} is not
+ * modified once it has been constructed, so the cached instances can be
+ * shared between threads.
+ * </p>
+ * <p>
+ * If the cache grows beyond {@link #MAX_SIZE} entries it is cleared, so that a
+ * dataset with an unexpectedly large number of distinct visibilities cannot
+ * use an unbounded amount of memory.
+ * </p>
+ */
+public final class ElementVisibilityCache {
+    public static final int MAX_SIZE = 10000;
+
+    private static final Map<String, ElementVisibility> CACHE = new ConcurrentHashMap<>();
+
+    private ElementVisibilityCache() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * Gets the parsed {@link ElementVisibility} for the provided expression,
+     * parsing and caching it if it has not been seen before.
+     *
+     * @param expression the visibility expression
+     * @return the parsed element visibility
+     */
+    public static ElementVisibility get(final String expression) {
+        ElementVisibility visibility = CACHE.get(expression);
+        if (null == visibility) {
+            visibility = new ElementVisibility(expression);
+            if (CACHE.size() >= MAX_SIZE) {
+                CACHE.clear();
+            }
+            CACHE.put(expression, visibility);
+        }
+        return visibility;
+    }
+
+    /**
+     * @return the number of parsed expressions currently cached
+     */
+    public static int size() {
+        return CACHE.size();
+    }
+
+    /**
+     * Removes all of the parsed expressions from the cache.
+     */
+    public static void clear() {
+        CACHE.clear();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.elementvisibilityutil;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CachingVisibilityEvaluatorTest {
+    private static final Authorisations AUTHS = new Authorisations("one", "two", "three", "four");
+
+    @Test
+    public void shouldGiveSameResultsAsVisibilityEvaluator() throws VisibilityParseException {
+        // Given
+        final VisibilityEvaluator evaluator = new VisibilityEvaluator(AUTHS);
+        final CachingVisibilityEvaluator cachingEvaluator = new CachingVisibilityEvaluator(AUTHS);
+
+        for (final String marking : new String[]{"", "one", "one&two", "foor|four", "(one&two)|(foo&bar)",
+                "five", "one&five", "((one|foo)|bar)&goober", "\"one\"&two"}) {
+            // When
+            final boolean first = cachingEvaluator.evaluate(marking);
+            final boolean second = cachingEvaluator.evaluate(marking);
+
+            // Then
+            final boolean expected = evaluator.evaluate(new ElementVisibility(marking));
+            assertEquals(marking, expected, first);
+            assertEquals(marking, expected, second);
+        }
+    }
+
+    @Test
+    public void shouldReuseParsedElementVisibility() {
+        // When
+        final ElementVisibility first = ElementVisibilityCache.get("one&(two|three)");
+        final ElementVisibility second = ElementVisibilityCache.get("one&(two|three)");
+
+        // Then
+        assertSame(first, second);
+        assertEquals(new ElementVisibility("one&(two|three)"), first);
+    }
+
+    @Test
+    public void shouldBoundNumberOfCachedResults() throws VisibilityParseException {
+        // Given
+        final CachingVisibilityEvaluator cachingEvaluator = new CachingVisibilityEvaluator(AUTHS, 2);
+
+        // When / Then
+        assertTrue(cachingEvaluator.evaluate("one"));
+        assertFalse(cachingEvaluator.evaluate("five"));
+        assertTrue(cachingEvaluator.evaluate("two"));
+        assertFalse(cachingEvaluator.evaluate("six"));
+        assertTrue(cachingEvaluator.evaluate("one"));
+    }
+
+    @Test
+    public void shouldThrowExceptionForInvalidExpressionEachTime() throws VisibilityParseException {
+        // Given
+        final CachingVisibilityEvaluator cachingEvaluator = new CachingVisibilityEvaluator(AUTHS);
+
+        for (int i = 0; i < 2; i++) {
+            // When / Then
+            try {
+                cachingEvaluator.evaluate("one(five)");
+                fail("Exception expected");
+            } catch (final PatternSyntaxException e) {
+                // Expected
+            }
+        }
+    }
+}
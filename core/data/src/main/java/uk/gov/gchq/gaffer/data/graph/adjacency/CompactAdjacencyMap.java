@@ -0,0 +1,677 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.graph.adjacency;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A {@code CompactAdjacencyMap} is an {@link AdjacencyMap} which stores the
+ * graph using primitive arrays rather than a table of hash sets.
+ * <p>
+ * Vertices are encoded as integers using a {@link VertexDictionary}, which can
+ * be shared between the adjacency maps for each hop of a walk. Edges are staged
+ * as they are added and then, the first time the map is read, indexed in
+ * compressed sparse row form: the source vertices are held in a sorted array,
+ * each with a range of (source, destination) pairs, and each pair has a range
+ * of edges. The destinations of a source are iterated in the order they were
+ * first added, as with {@link AdjacencyMap}. A compressed sparse column index over the pairs is built alongside
+ * it so that the sources of a destination can be found, and pairs can be
+ * removed, without scanning the whole map.
+ * <p>
+ * Removed pairs are marked in a {@link BitSet} and the references to their
+ * edges are released. The sets returned by this class are read only views.
+ */
+public class CompactAdjacencyMap extends AdjacencyMap {
+    private static final int[] EMPTY_INTS = new int[0];
+    private static final int[] EMPTY_OFFSETS = new int[]{0};
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_LINEAR_DEDUPLICATION = 8;
+
+    private final VertexDictionary dictionary;
+
+    private int[] stagedSources = new int[INITIAL_CAPACITY];
+    private int[] stagedDestinations = new int[INITIAL_CAPACITY];
+    private Edge[] stagedEdges = new Edge[INITIAL_CAPACITY];
+    private int stagedSize;
+
+    private int[] sources = EMPTY_INTS;
+    private int[] sourceOffsets = EMPTY_OFFSETS;
+    private int[] pairDestinations = EMPTY_INTS;
+    private int[] pairOrder = EMPTY_INTS;
+    private int[] pairEdgeOffsets = EMPTY_OFFSETS;
+    private Edge[] edges = new Edge[0];
+
+    private int[] destinations = EMPTY_INTS;
+    private int[] destinationOffsets = EMPTY_OFFSETS;
+    private int[] destinationPairs = EMPTY_INTS;
+
+    private final BitSet removedPairs = new BitSet();
+    private int[] liveSourcePairs = EMPTY_INTS;
+    private int[] liveDestinationPairs = EMPTY_INTS;
+    private int liveSourceCount;
+    private int liveDestinationCount;
+
+    public CompactAdjacencyMap() {
+        this(new VertexDictionary());
+    }
+
+    public CompactAdjacencyMap(final VertexDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public VertexDictionary getDictionary() {
+        return dictionary;
+    }
+
+    @Override
+    public Set<Edge> getEdges(final Object source, final Object destination) {
+        final int sourceId = dictionary.getId(source);
+        final int destinationId = dictionary.getId(destination);
+        if (VertexDictionary.NOT_FOUND == sourceId || VertexDictionary.NOT_FOUND == destinationId) {
+            return Collections.emptySet();
+        }
+        return new PairEdgeSet(sourceId, destinationId);
+    }
+
+    @Override
+    public Set<Edge> putEdges(final Object source, final Object destination, final Set<Edge> set) {
+        for (final Edge edge : set) {
+            stage(source, destination, edge);
+        }
+        return getEdges(source, destination);
+    }
+
+    @Override
+    public Set<Edge> putEdge(final Object source, final Object destination, final Edge edge) {
+        stage(source, destination, edge);
+        return getEdges(source, destination);
+    }
+
+    @Override
+    public Set<Object> getDestinations(final Object source) {
+        final int sourceId = dictionary.getId(source);
+        if (VertexDictionary.NOT_FOUND == sourceId) {
+            return Collections.emptySet();
+        }
+        return new DestinationSet(sourceId);
+    }
+
+    @Override
+    public Set<Object> getSources(final Object destination) {
+        final int destinationId = dictionary.getId(destination);
+        if (VertexDictionary.NOT_FOUND == destinationId) {
+            return Collections.emptySet();
+        }
+        return new SourceSet(destinationId);
+    }
+
+    @Override
+    public Set<Object> getAllSources() {
+        return new AllVerticesSet(true);
+    }
+
+    @Override
+    public Set<Object> getAllDestinations() {
+        return new AllVerticesSet(false);
+    }
+
+    @Override
+    public void removeAllWithDestination(final Object destination) {
+        final int destinationId = dictionary.getId(destination);
+        if (VertexDictionary.NOT_FOUND != destinationId) {
+            compactIfRequired();
+            final int column = Arrays.binarySearch(destinations, destinationId);
+            if (column >= 0) {
+                removeColumn(column);
+            }
+        }
+    }
+
+    /**
+     * Remove all entries in this CompactAdjacencyMap whose destination vertex
+     * is not a source vertex in the provided map. This is equivalent to
+     * calling {@link #removeAllWithDestination(Object)} for each orphaned
+     * destination, but when both maps share a {@link VertexDictionary} the
+     * comparison is made on the encoded vertex ids.
+     *
+     * @param next the adjacency map for the following hop
+     */
+    public void removeDestinationsNotSourcedIn(final AdjacencyMap next) {
+        compactIfRequired();
+        final CompactAdjacencyMap compactNext = next instanceof CompactAdjacencyMap
+                && dictionary == ((CompactAdjacencyMap) next).dictionary
+                ? (CompactAdjacencyMap) next : null;
+        if (null != compactNext) {
+            compactNext.compactIfRequired();
+        }
+
+        for (int column = 0; column < destinations.length; column++) {
+            if (liveDestinationPairs[column] > 0) {
+                final boolean connected = null != compactNext
+                        ? compactNext.containsSourceId(destinations[column])
+                        : next.containsSource(dictionary.decode(destinations[column]));
+                if (!connected) {
+                    removeColumn(column);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean containsSource(final Object source) {
+        final int sourceId = dictionary.getId(source);
+        return VertexDictionary.NOT_FOUND != sourceId && containsSourceId(sourceId);
+    }
+
+    @Override
+    public boolean containsDestination(final Object destination) {
+        final int destinationId = dictionary.getId(destination);
+        if (VertexDictionary.NOT_FOUND == destinationId) {
+            return false;
+        }
+        compactIfRequired();
+        final int column = Arrays.binarySearch(destinations, destinationId);
+        return column >= 0 && liveDestinationPairs[column] > 0;
+    }
+
+    @Override
+    public String toString() {
+        return getAllSources().stream()
+                .map(s -> s.toString() + "->" + getDestinations(s))
+                .collect(Collectors.joining(", ", "{", "}"));
+    }
+
+    private boolean containsSourceId(final int sourceId) {
+        compactIfRequired();
+        final int row = Arrays.binarySearch(sources, sourceId);
+        return row >= 0 && liveSourcePairs[row] > 0;
+    }
+
+    private void stage(final Object source, final Object destination, final Edge edge) {
+        if (stagedSize == stagedEdges.length) {
+            final int capacity = stagedSize << 1;
+            stagedSources = Arrays.copyOf(stagedSources, capacity);
+            stagedDestinations = Arrays.copyOf(stagedDestinations, capacity);
+            stagedEdges = Arrays.copyOf(stagedEdges, capacity);
+        }
+        stagedSources[stagedSize] = dictionary.encode(source);
+        stagedDestinations[stagedSize] = dictionary.encode(destination);
+        stagedEdges[stagedSize] = edge;
+        stagedSize++;
+    }
+
+    private int findPair(final int sourceId, final int destinationId) {
+        compactIfRequired();
+        final int row = Arrays.binarySearch(sources, sourceId);
+        if (row < 0) {
+            return -1;
+        }
+        final int pair = Arrays.binarySearch(pairDestinations, sourceOffsets[row], sourceOffsets[row + 1], destinationId);
+        return pair >= 0 && !removedPairs.get(pair) ? pair : -1;
+    }
+
+    // Every row has at least one pair, so the row offsets are strictly increasing
+    // and the owning row is the last one starting at or before the pair.
+    private int rowOfPair(final int pair) {
+        final int index = Arrays.binarySearch(sourceOffsets, 0, sources.length, pair);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private void removeColumn(final int column) {
+        for (int i = destinationOffsets[column]; i < destinationOffsets[column + 1]; i++) {
+            final int pair = destinationPairs[i];
+            if (!removedPairs.get(pair)) {
+                removedPairs.set(pair);
+                Arrays.fill(edges, pairEdgeOffsets[pair], pairEdgeOffsets[pair + 1], null);
+                final int row = rowOfPair(pair);
+                if (0 == --liveSourcePairs[row]) {
+                    liveSourceCount--;
+                }
+                if (0 == --liveDestinationPairs[column]) {
+                    liveDestinationCount--;
+                }
+            }
+        }
+    }
+
+    private void compactIfRequired() {
+        if (0 == stagedSize) {
+            return;
+        }
+
+        // Gather the live indexed entries and the staged entries together.
+        final int size = edges.length - countRemovedEdges() + stagedSize;
+        final int[] entrySources = new int[size];
+        final int[] entryDestinations = new int[size];
+        final Edge[] entryEdges = new Edge[size];
+        int n = 0;
+        for (int row = 0; row < sources.length; row++) {
+            for (int i = sourceOffsets[row]; i < sourceOffsets[row + 1]; i++) {
+                final int pair = pairOrder[i];
+                if (!removedPairs.get(pair)) {
+                    for (int e = pairEdgeOffsets[pair]; e < pairEdgeOffsets[pair + 1]; e++) {
+                        entrySources[n] = sources[row];
+                        entryDestinations[n] = pairDestinations[pair];
+                        entryEdges[n] = edges[e];
+                        n++;
+                    }
+                }
+            }
+        }
+        System.arraycopy(stagedSources, 0, entrySources, n, stagedSize);
+        System.arraycopy(stagedDestinations, 0, entryDestinations, n, stagedSize);
+        System.arraycopy(stagedEdges, 0, entryEdges, n, stagedSize);
+        stagedSources = new int[INITIAL_CAPACITY];
+        stagedDestinations = new int[INITIAL_CAPACITY];
+        stagedEdges = new Edge[INITIAL_CAPACITY];
+        stagedSize = 0;
+
+        build(entrySources, entryDestinations, entryEdges, sortBySourceThenDestination(entrySources, entryDestinations));
+    }
+
+    private int countRemovedEdges() {
+        int count = 0;
+        for (int pair = removedPairs.nextSetBit(0); pair >= 0; pair = removedPairs.nextSetBit(pair + 1)) {
+            count += pairEdgeOffsets[pair + 1] - pairEdgeOffsets[pair];
+        }
+        return count;
+    }
+
+    // Sorts the entries by destination, then does a stable counting sort on
+    // the source id, giving an ordering by (source, destination).
+    private int[] sortBySourceThenDestination(final int[] entrySources, final int[] entryDestinations) {
+        final int size = entrySources.length;
+        final long[] byDestination = new long[size];
+        for (int i = 0; i < size; i++) {
+            byDestination[i] = ((long) entryDestinations[i] << 32) | i;
+        }
+        Arrays.sort(byDestination);
+
+        final int[] counts = new int[dictionary.size() + 1];
+        for (final int sourceId : entrySources) {
+            counts[sourceId + 1]++;
+        }
+        for (int i = 1; i < counts.length; i++) {
+            counts[i] += counts[i - 1];
+        }
+        final int[] order = new int[size];
+        for (final long key : byDestination) {
+            final int entry = (int) key;
+            order[counts[entrySources[entry]]++] = entry;
+        }
+        return order;
+    }
+
+    private void build(final int[] entrySources, final int[] entryDestinations, final Edge[] entryEdges, final int[] order) {
+        final int size = order.length;
+        final int[] newSources = new int[size];
+        final int[] newSourceOffsets = new int[size + 1];
+        final int[] newPairDestinations = new int[size];
+        final int[] newPairEdgeOffsets = new int[size + 1];
+        final int[] pairFirstEntries = new int[size];
+        final Edge[] newEdges = new Edge[size];
+
+        int rowCount = 0;
+        int pairCount = 0;
+        int edgeCount = 0;
+        int previousSource = -1;
+        int previousDestination = -1;
+        Set<Edge> pairEdges = null;
+        for (final int entry : order) {
+            final int sourceId = entrySources[entry];
+            final int destinationId = entryDestinations[entry];
+            if (sourceId != previousSource) {
+                newSources[rowCount] = sourceId;
+                newSourceOffsets[rowCount++] = pairCount;
+                previousSource = sourceId;
+                previousDestination = -1;
+            }
+            if (destinationId != previousDestination) {
+                newPairDestinations[pairCount] = destinationId;
+                pairFirstEntries[pairCount] = entry;
+                newPairEdgeOffsets[pairCount++] = edgeCount;
+                previousDestination = destinationId;
+                pairEdges = null;
+            }
+
+            // Edges for a pair form a set, so duplicates are dropped.
+            final Edge edge = entryEdges[entry];
+            final int pairStart = newPairEdgeOffsets[pairCount - 1];
+            final boolean duplicate;
+            if (null != pairEdges) {
+                duplicate = !pairEdges.add(edge);
+            } else if (edgeCount - pairStart < MAX_LINEAR_DEDUPLICATION) {
+                duplicate = containsEdge(newEdges, pairStart, edgeCount, edge);
+            } else {
+                pairEdges = new HashSet<>(Arrays.asList(newEdges).subList(pairStart, edgeCount));
+                duplicate = !pairEdges.add(edge);
+            }
+            if (!duplicate) {
+                newEdges[edgeCount++] = edge;
+            }
+        }
+        newSourceOffsets[rowCount] = pairCount;
+        newPairEdgeOffsets[pairCount] = edgeCount;
+
+        sources = Arrays.copyOf(newSources, rowCount);
+        sourceOffsets = Arrays.copyOf(newSourceOffsets, rowCount + 1);
+        pairDestinations = Arrays.copyOf(newPairDestinations, pairCount);
+        pairEdgeOffsets = Arrays.copyOf(newPairEdgeOffsets, pairCount + 1);
+        edges = Arrays.copyOf(newEdges, edgeCount);
+        buildPairOrder(pairFirstEntries);
+        buildDestinationIndex();
+
+        removedPairs.clear();
+        liveSourcePairs = new int[rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            liveSourcePairs[row] = sourceOffsets[row + 1] - sourceOffsets[row];
+        }
+        liveDestinationPairs = new int[destinations.length];
+        for (int column = 0; column < destinations.length; column++) {
+            liveDestinationPairs[column] = destinationOffsets[column + 1] - destinationOffsets[column];
+        }
+        liveSourceCount = rowCount;
+        liveDestinationCount = destinations.length;
+    }
+
+    // Entries are gathered in insertion order and sorted stably, so the first
+    // entry of each pair records when the pair was first added.
+    private void buildPairOrder(final int[] pairFirstEntries) {
+        pairOrder = new int[pairDestinations.length];
+        for (int row = 0; row < sources.length; row++) {
+            final int start = sourceOffsets[row];
+            final int end = sourceOffsets[row + 1];
+            if (1 == end - start) {
+                pairOrder[start] = start;
+                continue;
+            }
+            final long[] keys = new long[end - start];
+            for (int pair = start; pair < end; pair++) {
+                keys[pair - start] = ((long) pairFirstEntries[pair] << 32) | pair;
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < keys.length; i++) {
+                pairOrder[start + i] = (int) keys[i];
+            }
+        }
+    }
+
+    private void buildDestinationIndex() {
+        final int[] counts = new int[dictionary.size() + 1];
+        for (final int destinationId : pairDestinations) {
+            counts[destinationId + 1]++;
+        }
+
+        int columnCount = 0;
+        for (int id = 1; id < counts.length; id++) {
+            if (counts[id] > 0) {
+                columnCount++;
+            }
+        }
+        destinations = new int[columnCount];
+        destinationOffsets = new int[columnCount + 1];
+        int column = 0;
+        for (int id = 0; id < counts.length - 1; id++) {
+            if (counts[id + 1] > 0) {
+                destinations[column] = id;
+                destinationOffsets[column + 1] = destinationOffsets[column] + counts[id + 1];
+                column++;
+            }
+        }
+
+        for (int i = 1; i < counts.length; i++) {
+            counts[i] += counts[i - 1];
+        }
+        destinationPairs = new int[pairDestinations.length];
+        for (int pair = 0; pair < pairDestinations.length; pair++) {
+            destinationPairs[counts[pairDestinations[pair]]++] = pair;
+        }
+    }
+
+    private static boolean containsEdge(final Edge[] array, final int from, final int to, final Edge edge) {
+        for (int i = from; i < to; i++) {
+            if (array[i].equals(edge)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Base class for the read only views returned by this map. The map is
+     * compacted before it is read, so a view created before further edges
+     * are added will include them.
+     *
+     * @param <T> the type of the set elements
+     */
+    private abstract class View<T> extends AbstractSet<T> {
+        @Override
+        public Iterator<T> iterator() {
+            compactIfRequired();
+            return createIterator();
+        }
+
+        @Override
+        public int size() {
+            compactIfRequired();
+            return calculateSize();
+        }
+
+        protected abstract Iterator<T> createIterator();
+
+        protected abstract int calculateSize();
+    }
+
+    /**
+     * Iterates over a range of indexes, skipping those that are not live.
+     *
+     * @param <T> the type of the iterated items
+     */
+    private abstract static class RangeIterator<T> implements Iterator<T> {
+        private final int end;
+        private int next;
+
+        RangeIterator(final int start, final int end) {
+            this.end = end;
+            this.next = start;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < end;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final T item = get(next++);
+            advance();
+            return item;
+        }
+
+        private void advance() {
+            while (next < end && !isLive(next)) {
+                next++;
+            }
+        }
+
+        protected abstract boolean isLive(final int index);
+
+        protected abstract T get(final int index);
+    }
+
+    private final class PairEdgeSet extends View<Edge> {
+        private final int sourceId;
+        private final int destinationId;
+
+        private PairEdgeSet(final int sourceId, final int destinationId) {
+            this.sourceId = sourceId;
+            this.destinationId = destinationId;
+        }
+
+        @Override
+        protected Iterator<Edge> createIterator() {
+            final int pair = findPair(sourceId, destinationId);
+            if (pair < 0) {
+                return Collections.emptyIterator();
+            }
+            return new RangeIterator<Edge>(pairEdgeOffsets[pair], pairEdgeOffsets[pair + 1]) {
+                @Override
+                protected boolean isLive(final int index) {
+                    return true;
+                }
+
+                @Override
+                protected Edge get(final int index) {
+                    return edges[index];
+                }
+            };
+        }
+
+        @Override
+        protected int calculateSize() {
+            final int pair = findPair(sourceId, destinationId);
+            return pair < 0 ? 0 : pairEdgeOffsets[pair + 1] - pairEdgeOffsets[pair];
+        }
+    }
+
+    private final class DestinationSet extends View<Object> {
+        private final int sourceId;
+
+        private DestinationSet(final int sourceId) {
+            this.sourceId = sourceId;
+        }
+
+        @Override
+        public boolean contains(final Object destination) {
+            final int destinationId = dictionary.getId(destination);
+            return VertexDictionary.NOT_FOUND != destinationId && findPair(sourceId, destinationId) >= 0;
+        }
+
+        @Override
+        protected Iterator<Object> createIterator() {
+            final int row = Arrays.binarySearch(sources, sourceId);
+            if (row < 0) {
+                return Collections.emptyIterator();
+            }
+            return new RangeIterator<Object>(sourceOffsets[row], sourceOffsets[row + 1]) {
+                @Override
+                protected boolean isLive(final int index) {
+                    return !removedPairs.get(pairOrder[index]);
+                }
+
+                @Override
+                protected Object get(final int index) {
+                    return dictionary.decode(pairDestinations[pairOrder[index]]);
+                }
+            };
+        }
+
+        @Override
+        protected int calculateSize() {
+            final int row = Arrays.binarySearch(sources, sourceId);
+            return row < 0 ? 0 : liveSourcePairs[row];
+        }
+    }
+
+    private final class SourceSet extends View<Object> {
+        private final int destinationId;
+
+        private SourceSet(final int destinationId) {
+            this.destinationId = destinationId;
+        }
+
+        @Override
+        public boolean contains(final Object source) {
+            final int sourceId = dictionary.getId(source);
+            return VertexDictionary.NOT_FOUND != sourceId && findPair(sourceId, destinationId) >= 0;
+        }
+
+        @Override
+        protected Iterator<Object> createIterator() {
+            final int column = Arrays.binarySearch(destinations, destinationId);
+            if (column < 0) {
+                return Collections.emptyIterator();
+            }
+            return new RangeIterator<Object>(destinationOffsets[column], destinationOffsets[column + 1]) {
+                @Override
+                protected boolean isLive(final int index) {
+                    return !removedPairs.get(destinationPairs[index]);
+                }
+
+                @Override
+                protected Object get(final int index) {
+                    return dictionary.decode(sources[rowOfPair(destinationPairs[index])]);
+                }
+            };
+        }
+
+        @Override
+        protected int calculateSize() {
+            final int column = Arrays.binarySearch(destinations, destinationId);
+            return column < 0 ? 0 : liveDestinationPairs[column];
+        }
+    }
+
+    private final class AllVerticesSet extends View<Object> {
+        private final boolean isSources;
+
+        private AllVerticesSet(final boolean isSources) {
+            this.isSources = isSources;
+        }
+
+        @Override
+        public boolean contains(final Object vertex) {
+            return isSources ? containsSource(vertex) : containsDestination(vertex);
+        }
+
+        @Override
+        protected Iterator<Object> createIterator() {
+            final int[] ids = isSources ? sources : destinations;
+            final int[] livePairs = isSources ? liveSourcePairs : liveDestinationPairs;
+            return new RangeIterator<Object>(0, ids.length) {
+                @Override
+                protected boolean isLive(final int index) {
+                    return livePairs[index] > 0;
+                }
+
+                @Override
+                protected Object get(final int index) {
+                    return dictionary.decode(ids[index]);
+                }
+            };
+        }
+
+        @Override
+        protected int calculateSize() {
+            return isSources ? liveSourceCount : liveDestinationCount;
+        }
+    }
+}
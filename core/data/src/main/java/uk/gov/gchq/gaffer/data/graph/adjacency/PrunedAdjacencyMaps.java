@@ -29,6 +29,9 @@ import java.util.Set;
  * added map. Any entries in the preceding map which do not join up with a
  * source vertex in the new map are deemed to be orphaned paths, and are
  * removed.
+ * <p>
+ * If the maps are {@link CompactAdjacencyMap}s sharing a {@link VertexDictionary}
+ * then the orphaned entries are found by comparing the encoded vertex ids.
  */
 public class PrunedAdjacencyMaps implements AdjacencyMaps {
 
@@ -59,6 +62,12 @@ public class PrunedAdjacencyMaps implements AdjacencyMaps {
         if (!maps.isEmpty()) {
             final AdjacencyMap prev = maps.get(maps.size() - 1);
 
+            if (prev instanceof CompactAdjacencyMap) {
+                ((CompactAdjacencyMap) prev).removeDestinationsNotSourcedIn(curr);
+                removeOrphans(maps.subList(0, maps.size() - 1), prev);
+                return;
+            }
+
             final Set<Object> prevDestinations = prev.getAllDestinations();
 
             final List<Object> verticesToRemove = new ArrayList<>();
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.graph.adjacency;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@code VertexDictionary} assigns each distinct vertex a dense integer id,
+ * so that graph structures such as the {@link CompactAdjacencyMap} can refer
+ * to vertices using primitive arrays.
+ * <p>
+ * A single dictionary can be shared between several adjacency maps, in which
+ * case the same vertex has the same id in each of them.
+ */
+public class VertexDictionary {
+    public static final int NOT_FOUND = -1;
+
+    private final Map<Object, Integer> ids = new HashMap<>();
+    private final List<Object> vertices = new ArrayList<>();
+
+    /**
+     * Get the id for a vertex, assigning it the next id if it has not been
+     * seen before.
+     *
+     * @param vertex the vertex
+     * @return the id of the vertex
+     */
+    public int encode(final Object vertex) {
+        final Integer id = ids.get(vertex);
+        if (null != id) {
+            return id;
+        }
+
+        final int newId = vertices.size();
+        ids.put(vertex, newId);
+        vertices.add(vertex);
+        return newId;
+    }
+
+    /**
+     * Get the id for a vertex without adding it to the dictionary.
+     *
+     * @param vertex the vertex
+     * @return the id of the vertex, or {@link #NOT_FOUND} if the vertex is not
+     * in the dictionary
+     */
+    public int getId(final Object vertex) {
+        final Integer id = ids.get(vertex);
+        return null != id ? id : NOT_FOUND;
+    }
+
+    /**
+     * Get the vertex with the provided id.
+     *
+     * @param id the id of the vertex
+     * @return the vertex
+     */
+    public Object decode(final int id) {
+        return vertices.get(id);
+    }
+
+    /**
+     * @return the number of vertices in the dictionary
+     */
+    public int size() {
+        return vertices.size();
+    }
+}
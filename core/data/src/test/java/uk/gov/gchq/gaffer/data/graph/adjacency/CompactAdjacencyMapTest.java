@@ -0,0 +1,189 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.graph.adjacency;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsCollectionContaining.hasItems;
+
+public class CompactAdjacencyMapTest {
+
+    @Test
+    public void shouldGetEdges() {
+        // Given
+        final AdjacencyMap adjacencyMap = getAdjacencyMap();
+
+        // When
+        final Set<Edge> results = adjacencyMap.getEdges(1, 2);
+
+        // Then
+        assertThat(results, equalTo(Sets.newHashSet(makeEdge(1, 2))));
+        assertThat(adjacencyMap.getEdges(1, 6), is(empty()));
+        assertThat(adjacencyMap.getEdges(7, 1), is(empty()));
+    }
+
+    @Test
+    public void shouldGetSourcesAndDestinations() {
+        // Given
+        final AdjacencyMap adjacencyMap = getAdjacencyMap();
+
+        // When / Then
+        assertThat(adjacencyMap.getDestinations(1), equalTo(Sets.newHashSet(1, 2, 5)));
+        assertThat(adjacencyMap.getSources(1), equalTo(Sets.newHashSet(1, 4)));
+        assertThat(adjacencyMap.getAllSources(), equalTo(Sets.newHashSet(1, 2, 4, 5, 6)));
+        assertThat(adjacencyMap.getAllDestinations(), equalTo(Sets.newHashSet(1, 2, 3, 4, 5, 6)));
+        assertThat(adjacencyMap.containsSource(2), is(true));
+        assertThat(adjacencyMap.containsSource(3), is(false));
+        assertThat(adjacencyMap.containsDestination(3), is(true));
+        assertThat(adjacencyMap.containsDestination(7), is(false));
+    }
+
+    @Test
+    public void shouldIterateDestinationsInInsertionOrder() {
+        // Given
+        final VertexDictionary dictionary = new VertexDictionary();
+        dictionary.encode("B");
+        final AdjacencyMap adjacencyMap = new CompactAdjacencyMap(dictionary);
+        adjacencyMap.putEdge("A", "E", makeEdge("A", "E"));
+        adjacencyMap.putEdge("A", "B", makeEdge("A", "B"));
+        adjacencyMap.getDestinations("A").size();
+        adjacencyMap.putEdge("A", "C", makeEdge("A", "C"));
+        adjacencyMap.putEdge("A", "B", makeEdge(TestGroups.EDGE_2, "A", "B"));
+
+        // When
+        final List<Object> results = Lists.newArrayList(adjacencyMap.getDestinations("A"));
+
+        // Then
+        assertThat(results, equalTo(Lists.newArrayList("E", "B", "C")));
+    }
+
+    @Test
+    public void shouldDeduplicateEdgesAndAcceptEdgesAfterBeingRead() {
+        // Given
+        final AdjacencyMap adjacencyMap = new CompactAdjacencyMap();
+        adjacencyMap.putEdge(1, 2, makeEdge(1, 2));
+        adjacencyMap.putEdge(1, 2, makeEdge(1, 2));
+        final Set<Edge> view = adjacencyMap.getEdges(1, 2);
+        assertThat(view, hasSize(1));
+
+        // When
+        adjacencyMap.putEdges(1, 2, Sets.newHashSet(makeEdge(TestGroups.EDGE_2, 1, 2), makeEdge(TestGroups.EDGE_3, 1, 2)));
+        adjacencyMap.putEdge(2, 3, makeEdge(2, 3));
+
+        // Then
+        assertThat(view, hasSize(3));
+        assertThat(view, hasItems(makeEdge(1, 2), makeEdge(TestGroups.EDGE_2, 1, 2), makeEdge(TestGroups.EDGE_3, 1, 2)));
+        assertThat(adjacencyMap.getDestinations(2), equalTo(Sets.newHashSet(3)));
+    }
+
+    @Test
+    public void shouldRemoveAllWithDestination() {
+        // Given
+        final AdjacencyMap adjacencyMap = getAdjacencyMap();
+
+        // When
+        adjacencyMap.removeAllWithDestination(3);
+        adjacencyMap.removeAllWithDestination(1);
+
+        // Then
+        assertThat(adjacencyMap.getEdges(2, 3), is(empty()));
+        assertThat(adjacencyMap.getSources(3), is(empty()));
+        assertThat(adjacencyMap.getDestinations(1), equalTo(Sets.newHashSet(2, 5)));
+        assertThat(adjacencyMap.getAllSources(), equalTo(Sets.newHashSet(1, 5)));
+        assertThat(adjacencyMap.getAllDestinations(), equalTo(Sets.newHashSet(2, 4, 5, 6)));
+        assertThat(adjacencyMap.containsSource(2), is(false));
+        assertThat(adjacencyMap.containsDestination(3), is(false));
+    }
+
+    @Test
+    public void shouldPruneLikeAdjacencyMap() {
+        // Given
+        final Random random = new Random(1L);
+        final VertexDictionary dictionary = new VertexDictionary();
+        final AdjacencyMaps expected = new PrunedAdjacencyMaps();
+        final AdjacencyMaps actual = new PrunedAdjacencyMaps();
+
+        // When
+        for (int hop = 0; hop < 4; hop++) {
+            final AdjacencyMap adjacencyMap = new AdjacencyMap();
+            final AdjacencyMap compactAdjacencyMap = new CompactAdjacencyMap(dictionary);
+            for (int i = 0; i < 200; i++) {
+                final int source = random.nextInt(60);
+                final int destination = random.nextInt(60);
+                final Edge edge = makeEdge(random.nextBoolean() ? TestGroups.EDGE : TestGroups.EDGE_2, source, destination);
+                adjacencyMap.putEdge(source, destination, edge);
+                compactAdjacencyMap.putEdge(source, destination, edge);
+            }
+            expected.add(adjacencyMap);
+            actual.add(compactAdjacencyMap);
+        }
+
+        // Then
+        for (int hop = 0; hop < 4; hop++) {
+            final AdjacencyMap expectedMap = expected.get(hop);
+            final AdjacencyMap actualMap = actual.get(hop);
+            assertThat(actualMap.getAllSources(), equalTo(expectedMap.getAllSources()));
+            assertThat(actualMap.getAllDestinations(), equalTo(expectedMap.getAllDestinations()));
+            for (final Object source : expectedMap.getAllSources()) {
+                assertThat(actualMap.getDestinations(source), equalTo(expectedMap.getDestinations(source)));
+                for (final Object destination : expectedMap.getDestinations(source)) {
+                    assertThat(actualMap.getEdges(source, destination), equalTo(expectedMap.getEdges(source, destination)));
+                }
+            }
+            for (final Object destination : expectedMap.getAllDestinations()) {
+                assertThat(actualMap.getSources(destination), equalTo(expectedMap.getSources(destination)));
+            }
+        }
+    }
+
+    private AdjacencyMap getAdjacencyMap() {
+        final AdjacencyMap adjacencyMap = new CompactAdjacencyMap();
+
+        adjacencyMap.putEdge(1, 2, makeEdge(1, 2));
+        adjacencyMap.putEdge(2, 3, makeEdge(2, 3));
+        adjacencyMap.putEdge(6, 3, makeEdge(6, 3));
+        adjacencyMap.putEdge(5, 6, makeEdge(5, 6));
+        adjacencyMap.putEdge(5, 4, makeEdge(5, 4));
+        adjacencyMap.putEdge(4, 1, makeEdge(4, 1));
+        adjacencyMap.putEdge(1, 5, makeEdge(1, 5));
+        adjacencyMap.putEdge(1, 1, makeEdge(1, 1));
+
+        return adjacencyMap;
+    }
+
+    private Edge makeEdge(final Object source, final Object destination) {
+        return makeEdge(TestGroups.EDGE, source, destination);
+    }
+
+    private Edge makeEdge(final String group, final Object source, final Object destination) {
+        return new Edge.Builder().group(group).source(source).dest(destination).directed(true).build();
+    }
+}
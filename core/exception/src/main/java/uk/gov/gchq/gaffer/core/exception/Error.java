@@ -36,6 +36,13 @@ import uk.gov.gchq.gaffer.core.exception.serialisation.StatusSerialiser;
  */
 @JsonDeserialize(builder = ErrorBuilder.class)
 public final class Error {
+    /**
+     * The name of the field used to wrap an {@code Error} that is written as
+     * the final item of a chunked response, when the failure happens after
+     * the response has been committed.
+     */
+    public static final String CHUNKED_ERROR_FIELD = "gafferChunkedError";
+
     private final int statusCode;
     private final Status status;
     private final String simpleMessage;
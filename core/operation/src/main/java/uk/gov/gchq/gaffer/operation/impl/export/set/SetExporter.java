@@ -23,10 +23,10 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.LimitedCloseableIterable;
 import uk.gov.gchq.gaffer.operation.export.Exporter;
 
-import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A {@code SetExporter} is an in memory temporary {@link Exporter}
@@ -35,11 +35,14 @@ import java.util.Set;
  * a predictable iteration order.
  */
 public class SetExporter implements Exporter {
-    private Map<String, Set<Object>> exports = new HashMap<>();
+    private Map<String, Set<Object>> exports = new ConcurrentHashMap<>();
 
     @Override
     public void add(final String key, final Iterable<?> results) {
-        Iterables.addAll(getExport(key), results);
+        final Set<Object> export = getExport(key);
+        synchronized (export) {
+            Iterables.addAll(export, results);
+        }
     }
 
     @Override
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+
+/**
+ * A {@code BatchValidatedElements} is an alternative to {@link ValidatedElements}
+ * for validating {@link Element}s against a {@link Schema}. The input is read in
+ * batches and the elements in each batch are validated in parallel. The valid
+ * elements are returned in the same order as the input and, if invalid elements
+ * are not skipped, the exception is thrown at the position of the first invalid
+ * element, exactly as it would be by {@link ValidatedElements}.
+ * <p>
+ * The schema validation relies on the
+ * {@link uk.gov.gchq.gaffer.store.schema.CompiledElementValidator}s, so the
+ * validate functions in the schema must be thread safe.
+ */
+public class BatchValidatedElements implements CloseableIterable<Element> {
+    private final Iterable<? extends Element> input;
+    private final ElementValidator validator;
+    private final boolean skipInvalid;
+    private final int batchSize;
+
+    /**
+     * Constructs a {@code BatchValidatedElements} with the given {@link Iterable} of
+     * {@link Element}s, a {@link Schema} containing the
+     * {@link java.util.function.Predicate}s to use to validate the {@link Element}s,
+     * a skipInvalid flag to determine whether invalid items should be skipped and
+     * the number of elements to validate in parallel.
+     *
+     * @param elements    the input {@link Iterable} of {@link Element}s
+     * @param schema      the {@link Schema} containing the
+     *                    {@link java.util.function.Predicate}s to use to validate the {@link Element}s.
+     * @param skipInvalid if true invalid items should be skipped
+     * @param batchSize   the number of elements to validate in parallel
+     */
+    public BatchValidatedElements(final Iterable<? extends Element> elements, final Schema schema, final boolean skipInvalid, final int batchSize) {
+        if (null == elements) {
+            throw new IllegalArgumentException("Input iterable is required");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.input = elements;
+        this.validator = new ElementValidator(schema);
+        this.skipInvalid = skipInvalid;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public CloseableIterator<Element> iterator() {
+        return new CloseableIterator<Element>() {
+            private final Iterator<? extends Element> inputItr = input.iterator();
+            private final List<Element> batch = new ArrayList<>(batchSize);
+            private boolean[] valid = new boolean[0];
+            private int index;
+            private Element nextElement;
+
+            @Override
+            public boolean hasNext() {
+                while (null == nextElement) {
+                    if (index >= batch.size() && !readBatch()) {
+                        close();
+                        return false;
+                    }
+
+                    final Element element = batch.get(index);
+                    if (valid[index]) {
+                        nextElement = element;
+                    } else if (!skipInvalid) {
+                        throw ValidatedElements.createInvalidElementException(validator, element);
+                    }
+                    index++;
+                }
+
+                return true;
+            }
+
+            @Override
+            public Element next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Reached the end of the iterator");
+                }
+
+                final Element element = nextElement;
+                nextElement = null;
+                return element;
+            }
+
+            @Override
+            public void close() {
+                CloseableUtil.close(inputItr);
+            }
+
+            private boolean readBatch() {
+                batch.clear();
+                index = 0;
+                while (batch.size() < batchSize && inputItr.hasNext()) {
+                    batch.add(inputItr.next());
+                }
+
+                if (batch.isEmpty()) {
+                    return false;
+                }
+
+                final boolean[] batchValid = new boolean[batch.size()];
+                if (1 == batchValid.length) {
+                    batchValid[0] = validator.validate(batch.get(0));
+                } else {
+                    IntStream.range(0, batchValid.length)
+                            .parallel()
+                            .forEach(i -> batchValid[i] = validator.validate(batch.get(i)));
+                }
+                valid = batchValid;
+                return true;
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        CloseableUtil.close(input);
+    }
+}
@@ -28,6 +28,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A {@code Context} contains operation chain execution information, such
@@ -42,7 +43,7 @@ public class Context {
     /**
      * Map of exporter simple class name to exporter
      */
-    private final Map<Class<? extends Exporter>, Exporter> exporters = new HashMap<>();
+    private final Map<Class<? extends Exporter>, Exporter> exporters = new ConcurrentHashMap<>();
 
     public Context() {
         this(new User());
@@ -149,7 +149,7 @@ public class ElementValidator implements Validator<Element> {
         }
 
         final SchemaElementDefinition elementDef = schema.getElement(element.getGroup());
-        return null != elementDef && elementDef.getValidator(includeIsA).test(element);
+        return null != elementDef && elementDef.getCompiledValidator(includeIsA).test(element);
     }
 
     private ValidationResult validateWithSchemaWithValidationResult(final Element element) {
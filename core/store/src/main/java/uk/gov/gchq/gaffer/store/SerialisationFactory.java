@@ -17,6 +17,7 @@ package uk.gov.gchq.gaffer.store;
 
 import com.google.common.collect.Lists;
 
+import uk.gov.gchq.gaffer.serialisation.CompactFreqMapSerialiser;
 import uk.gov.gchq.gaffer.serialisation.FreqMapSerialiser;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.TypeSubTypeValueSerialiser;
@@ -58,7 +59,8 @@ public class SerialisationFactory {
             new TreeSetStringSerialiser(),
             new TypeValueSerialiser(),
             new TypeSubTypeValueSerialiser(),
-            new FreqMapSerialiser()
+            new FreqMapSerialiser(),
+            new CompactFreqMapSerialiser()
     };
 
     public SerialisationFactory() {
@@ -252,6 +252,7 @@ public abstract class Store {
         optimiseSchema();
         validateSchemas();
         addOpHandlers();
+        addConfiguredOperationChainOptimisers();
         addExecutorService();
     }
 
@@ -635,6 +636,43 @@ public abstract class Store {
         opChainOptimisers.addAll(newOpChainOptimisers);
     }
 
+    /**
+     * Adds the {@link OperationChainOptimiser}s configured in the
+     * {@link StoreProperties#OPERATION_CHAIN_OPTIMISERS} property, in the
+     * order they are listed. Optimisers that have already been added are
+     * skipped.
+     */
+    protected void addConfiguredOperationChainOptimisers() {
+        final String optimiserClassNames = getProperties().getOperationChainOptimisers();
+        if (null == optimiserClassNames) {
+            return;
+        }
+
+        for (final String className : optimiserClassNames.split(",")) {
+            if (className.trim().isEmpty()) {
+                continue;
+            }
+
+            final Class<? extends OperationChainOptimiser> optimiserClass;
+            try {
+                optimiserClass = Class.forName(className.trim()).asSubclass(OperationChainOptimiser.class);
+            } catch (final ClassNotFoundException | ClassCastException e) {
+                throw new IllegalArgumentException("Property " + StoreProperties.OPERATION_CHAIN_OPTIMISERS
+                        + " must only contain classes that implement " + OperationChainOptimiser.class.getName()
+                        + ". This class is not valid: " + className, e);
+            }
+
+            if (opChainOptimisers.stream().noneMatch(optimiserClass::isInstance)) {
+                try {
+                    opChainOptimisers.add(optimiserClass.newInstance());
+                } catch (final InstantiationException | IllegalAccessException e) {
+                    throw new IllegalArgumentException("Unable to instantiate operation chain optimiser: " + className, e);
+                }
+                LOGGER.debug("Added operation chain optimiser {}", optimiserClass.getName());
+            }
+        }
+    }
+
     /**
      * Any additional operations that a store can handle should be registered in
      * this method by calling addOperationHandler(...)
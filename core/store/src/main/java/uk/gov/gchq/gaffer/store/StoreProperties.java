@@ -33,6 +33,7 @@ import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiserModules;
 import uk.gov.gchq.gaffer.store.operation.declaration.OperationDeclarations;
+import uk.gov.gchq.gaffer.store.optimiser.OperationChainOptimiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.koryphe.util.ReflectionUtil;
 
@@ -42,7 +43,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 
@@ -82,6 +85,21 @@ public class StoreProperties implements Cloneable {
      */
     public static final String REFLECTION_PACKAGES = "gaffer.store.reflection.packages";
 
+    /**
+     * CSV of {@link OperationChainOptimiser} classes to apply to every
+     * operation chain before it is executed, e.g. the rewrite rules in
+     * {@link uk.gov.gchq.gaffer.store.optimiser}.
+     */
+    public static final String OPERATION_CHAIN_OPTIMISERS = "gaffer.store.operation.chain.optimisers";
+
+    /**
+     * The maximum number of independent branches of an operation chain to
+     * execute concurrently on the store's executor. By default branches are
+     * executed one at a time.
+     */
+    public static final String OPERATION_CHAIN_MAX_PARALLELISM = "gaffer.store.operation.chain.max.parallelism";
+    public static final String OPERATION_CHAIN_MAX_PARALLELISM_DEFAULT = "1";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(StoreProperties.class);
 
     private Properties props = new Properties();
@@ -404,6 +422,31 @@ public class StoreProperties implements Cloneable {
         ReflectionUtil.addReflectionPackages(packages);
     }
 
+    public String getOperationChainOptimisers() {
+        return get(OPERATION_CHAIN_OPTIMISERS, "");
+    }
+
+    @JsonIgnore
+    public void setOperationChainOptimisers(final List<Class<? extends OperationChainOptimiser>> optimisers) {
+        final List<String> optimiserNames = new ArrayList<>(optimisers.size());
+        for (final Class optimiser : optimisers) {
+            optimiserNames.add(optimiser.getName());
+        }
+        setOperationChainOptimisers(StringUtils.join(optimiserNames, ","));
+    }
+
+    public void setOperationChainOptimisers(final String optimisers) {
+        set(OPERATION_CHAIN_OPTIMISERS, optimisers);
+    }
+
+    public Integer getOperationChainMaxParallelism() {
+        return Integer.parseInt(get(OPERATION_CHAIN_MAX_PARALLELISM, OPERATION_CHAIN_MAX_PARALLELISM_DEFAULT));
+    }
+
+    public void setOperationChainMaxParallelism(final Integer maxParallelism) {
+        set(OPERATION_CHAIN_MAX_PARALLELISM, null == maxParallelism ? null : maxParallelism.toString());
+    }
+
     public Integer getJobExecutorThreadCount() {
         return Integer.parseInt(get(EXECUTOR_SERVICE_THREAD_COUNT, EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT));
     }
@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.store;
 
 import uk.gov.gchq.gaffer.commonutil.iterable.TransformIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.Validator;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.store.schema.Schema;
@@ -64,7 +65,11 @@ public class ValidatedElements extends TransformIterable<Element, Element> {
 
     @Override
     protected void handleInvalidItem(final Element item) {
-        final ValidationResult result = getValidator().validateWithValidationResult(item);
+        throw createInvalidElementException(getValidator(), item);
+    }
+
+    static IllegalArgumentException createInvalidElementException(final Validator<Element> validator, final Element item) {
+        final ValidationResult result = validator.validateWithValidationResult(item);
         final String elementDescription = null != item ? item.toString() : "<unknown>";
         String validationResultErrors;
         if (result.isValid()) {
@@ -72,8 +77,7 @@ public class ValidatedElements extends TransformIterable<Element, Element> {
         } else {
             validationResultErrors = " \n" + result.getErrorString();
         }
-        throw new IllegalArgumentException("Element of type " + elementDescription + " is not valid." + validationResultErrors);
-
+        return new IllegalArgumentException("Element of type " + elementDescription + " is not valid." + validationResultErrors);
     }
 
     @Override
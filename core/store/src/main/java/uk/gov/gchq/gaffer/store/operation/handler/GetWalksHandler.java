@@ -30,8 +30,10 @@ import uk.gov.gchq.gaffer.data.graph.GraphWindow;
 import uk.gov.gchq.gaffer.data.graph.Walk;
 import uk.gov.gchq.gaffer.data.graph.adjacency.AdjacencyMap;
 import uk.gov.gchq.gaffer.data.graph.adjacency.AdjacencyMaps;
+import uk.gov.gchq.gaffer.data.graph.adjacency.CompactAdjacencyMap;
 import uk.gov.gchq.gaffer.data.graph.adjacency.PrunedAdjacencyMaps;
 import uk.gov.gchq.gaffer.data.graph.adjacency.SimpleAdjacencyMaps;
+import uk.gov.gchq.gaffer.data.graph.adjacency.VertexDictionary;
 import uk.gov.gchq.gaffer.data.graph.entity.EntityMap;
 import uk.gov.gchq.gaffer.data.graph.entity.EntityMaps;
 import uk.gov.gchq.gaffer.data.graph.entity.SimpleEntityMaps;
@@ -71,16 +73,22 @@ import java.util.stream.Collectors;
  * previous GetElements operation which do not join up with any edges in the
  * current GetElements operation (orphaned edges). This reduces the memory
  * footprint of the in-memory graph representation, but requires some additional
- * processing while constructing the in-memory graph.</li> </ul>
+ * processing while constructing the in-memory graph.</li> <li>compact - store
+ * each hop of the in-memory graph as a {@link CompactAdjacencyMap}, which
+ * encodes the vertices as integers shared across all hops and holds the edges
+ * in sorted arrays rather than hash tables. This uses considerably less memory
+ * for large walks.</li> </ul>
  * <p>
  * The maxHops setting is not set by default (i.e. there is no limit to the
  * number of hops that a user can request). The prune flag is enabled by default
  * (for applications where performance is paramount and any issues arising from
- * excessive memory usage can be mitigated, this flag can be disabled).
+ * excessive memory usage can be mitigated, this flag can be disabled). The
+ * compact flag is disabled by default, as enabling it changes the order in
+ * which the walks from each seed are returned.
  * <p>
  * This operation handler can be modified by supplying an
  * operationDeclarations.json file in order to limit the maximum number of hops
- * permitted or to enable/disable the pruning feature.
+ * permitted or to enable/disable the pruning and compact features.
  * <p>
  * Currently the handler only supports creating {@link Walk}s which contain
  * {@link Edge}s.
@@ -88,6 +96,7 @@ import java.util.stream.Collectors;
 public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterable<Walk>> {
     private Integer maxHops = null;
     private boolean prune = true;
+    private boolean compact = false;
 
     @Override
     public Iterable<Walk> doOperation(final GetWalks getWalks, final Context context, final Store store) throws OperationException {
@@ -117,6 +126,7 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
 
         final AdjacencyMaps adjacencyMaps = prune ? new PrunedAdjacencyMaps() : new SimpleAdjacencyMaps();
         final EntityMaps entityMaps = new SimpleEntityMaps();
+        final VertexDictionary dictionary = compact ? new VertexDictionary() : null;
 
         List<?> seeds = originalInput;
 
@@ -125,12 +135,12 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
             if (isWhileOperation(operation)) {
                 seeds = executeWhileOperation(
                         operation, seeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
+                        context, store, hops, adjacencyMaps, entityMaps, dictionary
                 );
             } else {
                 seeds = executeOperation(
                         operation, seeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
+                        context, store, hops, adjacencyMaps, entityMaps, dictionary
                 );
             }
         }
@@ -165,6 +175,14 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         this.prune = prune;
     }
 
+    public Boolean getCompact() {
+        return compact;
+    }
+
+    public void setCompact(final Boolean compact) {
+        this.compact = compact;
+    }
+
     private boolean isWhileOperation(final OperationChain<Iterable<Element>> operation) {
         return 1 == operation.getOperations().size()
                 && operation.getOperations().get(0) instanceof While;
@@ -177,7 +195,8 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                                           final Store store,
                                           final int hops,
                                           final AdjacencyMaps adjacencyMaps,
-                                          final EntityMaps entityMaps) throws OperationException {
+                                          final EntityMaps entityMaps,
+                                          final VertexDictionary dictionary) throws OperationException {
         List<?> resultSeeds = seeds;
         final While whileOp = (While) operation.getOperations().get(0);
         if (null != whileOp.getOperation()) {
@@ -212,7 +231,7 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                 resultSeeds = executeOperation(
                         (Output) whileOpClone.getOperation(),
                         resultSeeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
+                        context, store, hops, adjacencyMaps, entityMaps, dictionary
                 );
             }
         }
@@ -227,10 +246,11 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                                      final Store store,
                                      final int hops,
                                      final AdjacencyMaps adjacencyMaps,
-                                     final EntityMaps entityMaps) throws OperationException {
+                                     final EntityMaps entityMaps,
+                                     final VertexDictionary dictionary) throws OperationException {
         final Iterable<Element> results = executeOperation(operation, seeds, resultLimit, context, store);
 
-        final AdjacencyMap adjacencyMap = new AdjacencyMap();
+        final AdjacencyMap adjacencyMap = null != dictionary ? new CompactAdjacencyMap(dictionary) : new AdjacencyMap();
         final EntityMap entityMap = new EntityMap();
 
         final List<Object> nextSeeds = new ArrayList<>();
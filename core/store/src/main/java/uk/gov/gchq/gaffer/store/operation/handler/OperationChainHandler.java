@@ -21,6 +21,7 @@ import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.io.Input;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.operation.OperationChainValidator;
 import uk.gov.gchq.gaffer.store.optimiser.OperationChainOptimiser;
 import uk.gov.gchq.koryphe.ValidationResult;
@@ -33,16 +34,28 @@ import java.util.List;
  * @param <OUT> the output type of the operation chain
  */
 public class OperationChainHandler<OUT> implements OutputOperationHandler<OperationChain<OUT>, OUT> {
+    /**
+     * Operation chain option to set the maximum number of independent branches
+     * of the chain to execute concurrently. This is capped by
+     * {@link StoreProperties#OPERATION_CHAIN_MAX_PARALLELISM}.
+     */
+    public static final String PARALLELISM = "gaffer.operation.chain.parallelism";
+
     private final OperationChainValidator opChainValidator;
     private final List<OperationChainOptimiser> opChainOptimisers;
 
     @Override
     public OUT doOperation(final OperationChain<OUT> operationChain, final Context context, final Store store) throws OperationException {
 
-        prepareOperationChain(operationChain, context, store);
+        final OperationChain<OUT> preparedOperationChain = prepareOperationChain(operationChain, context, store);
+
+        final int parallelism = getParallelism(preparedOperationChain, store);
+        if (parallelism > 1) {
+            return (OUT) new ParallelOperationChainExecutor(parallelism).execute(preparedOperationChain, context, store);
+        }
 
         Object result = null;
-        for (final Operation op : operationChain.getOperations()) {
+        for (final Operation op : preparedOperationChain.getOperations()) {
             updateOperationInput(op, result);
             result = store.handleOperation(op, context);
         }
@@ -65,6 +78,25 @@ public class OperationChainHandler<OUT> implements OutputOperationHandler<Operat
         return optimisedOperationChain;
     }
 
+    protected int getParallelism(final OperationChain<?> operationChain, final Store store) {
+        final StoreProperties properties = store.getProperties();
+        final Integer maxParallelism = null != properties ? properties.getOperationChainMaxParallelism() : null;
+        if (null == maxParallelism) {
+            return 1;
+        }
+
+        final String parallelism = operationChain.getOption(PARALLELISM);
+        if (null == parallelism) {
+            return maxParallelism;
+        }
+
+        try {
+            return Math.min(Integer.parseInt(parallelism), maxParallelism);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Operation chain option " + PARALLELISM + " must be an integer: " + parallelism, e);
+        }
+    }
+
     protected void updateOperationInput(final Operation op, final Object result) {
         if (null != result) {
             if (op instanceof OperationChain) {
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.Operations;
+import uk.gov.gchq.gaffer.operation.export.ExportTo;
+import uk.gov.gchq.gaffer.operation.export.GetExport;
+import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
+import uk.gov.gchq.gaffer.operation.impl.export.GetExports;
+import uk.gov.gchq.gaffer.operation.io.Input;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.updateOperationInput;
+
+/**
+ * A {@code ParallelOperationChainExecutor} executes the independent branches
+ * of an {@link OperationChain} concurrently, using the {@link Store}'s executor.
+ * <p>
+ * A new branch starts at each operation that does not consume the output of
+ * the previous operation, for example an operation with its own input or an
+ * operation that takes no input. Only the output of the final branch is
+ * returned, so the other branches only run for their side effects, such as
+ * exporting results.
+ * </p>
+ * <p>
+ * A branch waits for an earlier branch to finish if either branch contains an
+ * operation without an output (other than {@link DiscardOutput}), such as
+ * adding elements, if one branch gets exports that the other branch writes,
+ * or if both branches export to the same key. Nested operations are taken into
+ * account. All branches have finished when the chain returns.
+ * </p>
+ * <p>
+ * At most maxParallelism branches run at once, including the final branch,
+ * which runs on the calling thread. A branch that has not been started by the
+ * executor when its result is needed is run on the calling thread, so nested
+ * operation chains cannot exhaust the executor.
+ * </p>
+ */
+public class ParallelOperationChainExecutor {
+    private final int maxParallelism;
+
+    public ParallelOperationChainExecutor(final int maxParallelism) {
+        this.maxParallelism = maxParallelism;
+    }
+
+    public Object execute(final OperationChain<?> operationChain, final Context context, final Store store) throws OperationException {
+        final List<Branch> branches = getBranches(operationChain.getOperations(), context, store);
+        if (branches.isEmpty()) {
+            return null;
+        }
+
+        final Branch finalBranch = branches.get(branches.size() - 1);
+        final Deque<Branch> running = new ArrayDeque<>();
+        try {
+            for (final Branch branch : branches) {
+                for (final Branch earlierBranch : branches.subList(0, branch.index)) {
+                    if (branch.dependsOn(earlierBranch)) {
+                        earlierBranch.join();
+                    }
+                }
+
+                if (branch != finalBranch) {
+                    while (!running.isEmpty() && running.size() >= maxParallelism - 1) {
+                        running.poll().join();
+                    }
+                    running.add(branch);
+                    store.runAsync(branch.task);
+                }
+            }
+
+            finalBranch.task.run();
+            for (final Branch branch : branches) {
+                branch.join();
+            }
+        } finally {
+            for (final Branch branch : branches) {
+                branch.task.cancel(false);
+            }
+        }
+
+        return finalBranch.join();
+    }
+
+    /**
+     * Splits the operations into branches. A new branch is started at each
+     * operation that does not consume the output of the previous operation.
+     *
+     * @param operations the operations to split
+     * @param context    the user context
+     * @param store      the store to execute the branches on
+     * @return the branches, in chain order
+     */
+    protected List<Branch> getBranches(final List<Operation> operations, final Context context, final Store store) {
+        final List<Branch> branches = new ArrayList<>();
+        List<Operation> branchOps = null;
+        for (final Operation op : operations) {
+            if (null == branchOps || !consumesInput(op)) {
+                branchOps = new ArrayList<>();
+                branches.add(new Branch(branches.size(), branchOps, context, store));
+            }
+            branchOps.add(op);
+        }
+
+        for (final Branch branch : branches) {
+            branch.analyse();
+        }
+        return branches;
+    }
+
+    // Mirrors OperationHandlerUtil.updateOperationInput
+    private static boolean consumesInput(final Operation op) {
+        if (op instanceof OperationChain) {
+            final List<Operation> ops = ((OperationChain<?>) op).getOperations();
+            return !ops.isEmpty() && isInputWithoutInput(ops.get(0));
+        }
+        return isInputWithoutInput(op);
+    }
+
+    private static boolean isInputWithoutInput(final Operation op) {
+        return op instanceof Input && null == ((Input) op).getInput();
+    }
+
+    protected static final class Branch {
+        private final int index;
+        private final List<Operation> operations;
+        private final FutureTask<Object> task;
+        private final Set<String> exportKeys = new HashSet<>();
+        private boolean getsExports;
+        private boolean hasSideEffects;
+
+        private Branch(final int index, final List<Operation> operations, final Context context, final Store store) {
+            this.index = index;
+            this.operations = operations;
+            this.task = new FutureTask<>(() -> {
+                Object result = null;
+                for (final Operation op : operations) {
+                    updateOperationInput(op, result);
+                    result = store.handleOperation(op, context);
+                }
+                return result;
+            });
+        }
+
+        public List<Operation> getOperations() {
+            return Collections.unmodifiableList(operations);
+        }
+
+        public boolean dependsOn(final Branch earlierBranch) {
+            if (hasSideEffects || earlierBranch.hasSideEffects) {
+                return true;
+            }
+
+            if ((getsExports && !earlierBranch.exportKeys.isEmpty())
+                    || (earlierBranch.getsExports && !exportKeys.isEmpty())) {
+                return true;
+            }
+
+            return !Collections.disjoint(exportKeys, earlierBranch.exportKeys);
+        }
+
+        private void analyse() {
+            for (final Operation op : operations) {
+                analyse(op);
+            }
+        }
+
+        private void analyse(final Operation op) {
+            if (op instanceof Operations) {
+                for (final Object nestedOp : ((Operations<?>) op).getOperations()) {
+                    if (null != nestedOp) {
+                        analyse((Operation) nestedOp);
+                    }
+                }
+            }
+
+            if (op instanceof ExportTo) {
+                exportKeys.add(((ExportTo) op).getKeyOrDefault());
+            } else if (op instanceof GetExport || op instanceof GetExports) {
+                getsExports = true;
+            } else if (!(op instanceof Output) && !(op instanceof DiscardOutput)) {
+                hasSideEffects = true;
+            }
+        }
+
+        private Object join() throws OperationException {
+            // Runs the branch on this thread if the executor has not started it
+            task.run();
+            try {
+                return task.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OperationException("Interrupted whilst waiting for an operation chain branch", e);
+            } catch (final ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof OperationException) {
+                    throw (OperationException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new OperationException("Operation chain branch failed: " + cause.getMessage(), cause);
+            }
+        }
+    }
+}
@@ -19,6 +19,7 @@ package uk.gov.gchq.gaffer.store.operation.handler;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.Validate;
+import uk.gov.gchq.gaffer.store.BatchValidatedElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.ValidatedElements;
@@ -30,8 +31,12 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
  * {@link Iterable} containing only valid {@link Element}s, specifically an instance of {@link ValidatedElements}.
  * The {@link uk.gov.gchq.gaffer.store.schema.Schema} is used to validate the elements.
  * The isSkipInvalidElements flag on {@link Validate} is used to determine what to do with invalid {@link Element}s.
+ * If a validation batch size is configured then the elements are validated in parallel batches
+ * using a {@link BatchValidatedElements}, preserving the order of the input.
  */
 public class ValidateHandler implements OutputOperationHandler<Validate, Iterable<? extends Element>> {
+    private Integer batchSize;
+
     @Override
     public Iterable<? extends Element> doOperation(final Validate operation,
                                                    final Context context, final Store store)
@@ -43,6 +48,17 @@ public class ValidateHandler implements OutputOperationHandler<Validate, Iterabl
         if (null == operation.getInput()) {
             return null;
         }
+        if (null != batchSize && batchSize > 1) {
+            return new BatchValidatedElements(operation.getInput(), schema, operation.isSkipInvalidElements(), batchSize);
+        }
         return new ValidatedElements(operation.getInput(), schema, operation.isSkipInvalidElements());
     }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final Integer batchSize) {
+        this.batchSize = batchSize;
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.apache.commons.collections.MapUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.io.Input;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@code AbstractRewriteOptimiser} is an {@link OperationChainOptimiser}
+ * that rewrites pairs of adjacent operations into a single, cheaper operation.
+ * A rewrite is only applied if it removes an operation from the chain, so a
+ * rewritten chain never costs more to execute than the original.
+ * <p>
+ * Rewrites are applied left to right and the result of a rewrite is considered
+ * again with the operation that follows it, so a run of operations can be
+ * collapsed into a single operation. Each rewrite is reported in the logs.
+ * </p>
+ */
+public abstract class AbstractRewriteOptimiser extends AbstractOperationChainOptimiser {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractRewriteOptimiser.class);
+
+    @Override
+    protected List<Operation> addPreOperations(final Operation previousOp, final Operation currentOp) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseCurrentOperation(final Operation previousOp, final Operation currentOp, final Operation nextOp) {
+        return Collections.singletonList(currentOp);
+    }
+
+    @Override
+    protected List<Operation> addPostOperations(final Operation currentOp, final Operation nextOp) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseAll(final List<Operation> ops) {
+        final List<Operation> optimisedOps = new ArrayList<>(ops.size());
+        for (final Operation op : ops) {
+            final int lastIndex = optimisedOps.size() - 1;
+            if (lastIndex >= 0) {
+                final Operation previousOp = optimisedOps.get(lastIndex);
+                if (canRewrite(previousOp, op)) {
+                    final Operation rewrittenOp = rewrite(previousOp, op);
+                    if (null != rewrittenOp) {
+                        LOGGER.info("{} rewrote {} -> {} as {}", getClass().getSimpleName(),
+                                previousOp.getClass().getSimpleName(), op.getClass().getSimpleName(),
+                                rewrittenOp.getClass().getSimpleName());
+                        optimisedOps.set(lastIndex, rewrittenOp);
+                        continue;
+                    }
+                }
+            }
+            optimisedOps.add(op);
+        }
+
+        return optimisedOps;
+    }
+
+    /**
+     * Rewrites a pair of adjacent operations as a single operation.
+     * The first operation's output is always consumed by the second operation
+     * and neither operation has any options set.
+     *
+     * @param firstOp  the first operation
+     * @param secondOp the second operation, which consumes the output of the first
+     * @return the single operation equivalent to the pair or null if the pair
+     * cannot be rewritten.
+     */
+    protected abstract Operation rewrite(final Operation firstOp, final Operation secondOp);
+
+    // The second operation must consume the output of the first, otherwise it
+    // is not safe to merge them. Options are store specific so operations with
+    // options are left alone.
+    private boolean canRewrite(final Operation firstOp, final Operation secondOp) {
+        return secondOp instanceof Input
+                && null == ((Input) secondOp).getInput()
+                && MapUtils.isEmpty(firstOp.getOptions())
+                && MapUtils.isEmpty(secondOp.getOptions());
+    }
+}
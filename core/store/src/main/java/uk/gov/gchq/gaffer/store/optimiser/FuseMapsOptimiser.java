@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.Map;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A {@code FuseMapsOptimiser} fuses consecutive {@link Map} operations into a
+ * single {@link Map} that applies all of the functions in order, avoiding the
+ * intermediate results.
+ */
+public class FuseMapsOptimiser extends AbstractRewriteOptimiser {
+    @Override
+    protected Operation rewrite(final Operation firstOp, final Operation secondOp) {
+        if (!(firstOp instanceof Map) || !(secondOp instanceof Map)) {
+            return null;
+        }
+
+        final Map firstMap = (Map) firstOp;
+        final Map secondMap = (Map) secondOp;
+        if (null == firstMap.getFunctions() || null == secondMap.getFunctions()) {
+            return null;
+        }
+
+        final List<Function> functions = new ArrayList<>(firstMap.getFunctions());
+        functions.addAll(secondMap.getFunctions());
+        firstMap.setFunctions(functions);
+        return firstMap;
+    }
+}
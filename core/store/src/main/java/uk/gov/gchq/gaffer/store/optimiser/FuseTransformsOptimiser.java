@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.function.Transform;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A {@code FuseTransformsOptimiser} fuses consecutive {@link Transform}
+ * operations into a single {@link Transform} that applies both element
+ * transformers to each group in turn. The operations are only fused if they
+ * transform exactly the same groups.
+ */
+public class FuseTransformsOptimiser extends AbstractRewriteOptimiser {
+    @Override
+    protected Operation rewrite(final Operation firstOp, final Operation secondOp) {
+        if (!(firstOp instanceof Transform) || !(secondOp instanceof Transform)) {
+            return null;
+        }
+
+        final Transform firstTransform = (Transform) firstOp;
+        final Transform secondTransform = (Transform) secondOp;
+        if (!haveSameGroups(firstTransform.getEntities(), secondTransform.getEntities())
+                || !haveSameGroups(firstTransform.getEdges(), secondTransform.getEdges())) {
+            return null;
+        }
+
+        firstTransform.setEntities(fuse(firstTransform.getEntities(), secondTransform.getEntities()));
+        firstTransform.setEdges(fuse(firstTransform.getEdges(), secondTransform.getEdges()));
+        return firstTransform;
+    }
+
+    private static boolean haveSameGroups(final Map<String, ElementTransformer> first,
+                                          final Map<String, ElementTransformer> second) {
+        return null == first ? null == second : null != second && Objects.equals(first.keySet(), second.keySet());
+    }
+
+    private static Map<String, ElementTransformer> fuse(final Map<String, ElementTransformer> first,
+                                                        final Map<String, ElementTransformer> second) {
+        if (null == first) {
+            return null;
+        }
+
+        final Map<String, ElementTransformer> fused = new HashMap<>(first.size());
+        for (final Map.Entry<String, ElementTransformer> entry : first.entrySet()) {
+            final ElementTransformer transformer = new ElementTransformer();
+            addComponents(transformer, entry.getValue());
+            addComponents(transformer, second.get(entry.getKey()));
+            fused.put(entry.getKey(), transformer);
+        }
+        return fused;
+    }
+
+    private static void addComponents(final ElementTransformer transformer, final ElementTransformer source) {
+        if (null != source) {
+            transformer.getComponents().addAll(source.getComponents());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+
+/**
+ * A {@code MergeLimitsOptimiser} merges consecutive {@link Limit} operations
+ * into a single {@link Limit} using the smallest result limit. Only truncating
+ * limits are merged, as a non truncating limit fails when it is exceeded.
+ */
+public class MergeLimitsOptimiser extends AbstractRewriteOptimiser {
+    @Override
+    protected Operation rewrite(final Operation firstOp, final Operation secondOp) {
+        if (!(firstOp instanceof Limit) || !(secondOp instanceof Limit)) {
+            return null;
+        }
+
+        final Limit firstLimit = (Limit) firstOp;
+        final Limit secondLimit = (Limit) secondOp;
+        if (null == firstLimit.getResultLimit() || null == secondLimit.getResultLimit()
+                || !firstLimit.getTruncate() || !secondLimit.getTruncate()) {
+            return null;
+        }
+
+        firstLimit.setResultLimit(Math.min(firstLimit.getResultLimit(), secondLimit.getResultLimit()));
+        return firstLimit;
+    }
+}
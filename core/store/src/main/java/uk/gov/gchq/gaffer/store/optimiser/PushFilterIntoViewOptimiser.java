@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
+import uk.gov.gchq.gaffer.operation.impl.function.Filter;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@code PushFilterIntoViewOptimiser} pushes a {@link Filter} into the
+ * {@link View} of the preceding {@link GetElements} or {@link GetAllElements}
+ * as post transform filters, so the store can filter the elements as it
+ * retrieves them.
+ * <p>
+ * A {@link Filter} drops any element whose group it does not mention, so the
+ * groups in the view are restricted to the groups in the filter. The filter
+ * is only pushed down if it provides entity or edge groups and the view
+ * explicitly lists its groups.
+ * </p>
+ */
+public class PushFilterIntoViewOptimiser extends AbstractRewriteOptimiser {
+    @Override
+    protected Operation rewrite(final Operation firstOp, final Operation secondOp) {
+        if (!(firstOp instanceof GetElements || firstOp instanceof GetAllElements)
+                || !(secondOp instanceof Filter)) {
+            return null;
+        }
+
+        final GraphFilters getOp = (GraphFilters) firstOp;
+        final Filter filter = (Filter) secondOp;
+        final View view = getOp.getView();
+        if (null == view || view.isAllEntities() || view.isAllEdges()
+                || (null == filter.getEntities() && null == filter.getEdges())) {
+            return null;
+        }
+
+        final Map<String, ViewElementDefinition> entities = addFilters(view.getEntities(),
+                filter.getEntities(), filter.getGlobalElements(), filter.getGlobalEntities());
+        final Map<String, ViewElementDefinition> edges = addFilters(view.getEdges(),
+                filter.getEdges(), filter.getGlobalElements(), filter.getGlobalEdges());
+        if (entities.isEmpty() && edges.isEmpty()) {
+            return null;
+        }
+
+        getOp.setView(new View.Builder()
+                .merge(view)
+                .entities(entities)
+                .edges(edges)
+                .build());
+        return firstOp;
+    }
+
+    private static Map<String, ViewElementDefinition> addFilters(final Map<String, ViewElementDefinition> elementDefs,
+                                                                 final Map<String, ElementFilter> groupFilters,
+                                                                 final ElementFilter globalElementsFilter,
+                                                                 final ElementFilter globalFilter) {
+        final Map<String, ViewElementDefinition> filteredElementDefs = new LinkedHashMap<>();
+        if (null != groupFilters) {
+            for (final Map.Entry<String, ViewElementDefinition> entry : elementDefs.entrySet()) {
+                if (groupFilters.containsKey(entry.getKey())) {
+                    filteredElementDefs.put(entry.getKey(), addFilter(entry.getValue(),
+                            globalElementsFilter, globalFilter, groupFilters.get(entry.getKey())));
+                }
+            }
+        }
+        return filteredElementDefs;
+    }
+
+    private static ViewElementDefinition addFilter(final ViewElementDefinition elementDef,
+                                                   final ElementFilter... filters) {
+        final ElementFilter postTransformFilter = new ElementFilter();
+        if (null != elementDef.getPostTransformFilter()) {
+            postTransformFilter.getComponents().addAll(elementDef.getPostTransformFilter().getComponents());
+        }
+        for (final ElementFilter filter : filters) {
+            if (null != filter) {
+                postTransformFilter.getComponents().addAll(filter.getComponents());
+            }
+        }
+
+        return new ViewElementDefinition.Builder()
+                .merge(elementDef)
+                .clearPostTransformFilter()
+                .postTransformFilter(postTransformFilter)
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
+import uk.gov.gchq.gaffer.operation.impl.output.ToArray;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+import uk.gov.gchq.gaffer.operation.io.Input;
+
+/**
+ * A {@code RemoveRedundantConversionsOptimiser} removes {@link ToList} and
+ * {@link ToSet} operations whose result is immediately converted again or
+ * only counted or discarded, so the results are not collected into memory
+ * unnecessarily.
+ * <p>
+ * A {@link ToList} is removed if it is followed by a {@link ToList},
+ * {@link ToSet}, {@link ToArray}, {@link Count} or {@link DiscardOutput}.
+ * A {@link ToSet} is removed if it is followed by a {@link ToSet} or
+ * {@link DiscardOutput}. A {@link ToSet} followed by anything else is kept,
+ * as it removes duplicates.
+ * </p>
+ */
+public class RemoveRedundantConversionsOptimiser extends AbstractRewriteOptimiser {
+    @Override
+    protected Operation rewrite(final Operation firstOp, final Operation secondOp) {
+        if (!isRedundant(firstOp, secondOp)) {
+            return null;
+        }
+
+        final Object input = ((Input) firstOp).getInput();
+        if (null != input) {
+            ((Input) secondOp).setInput(input);
+        }
+        return secondOp;
+    }
+
+    private static boolean isRedundant(final Operation firstOp, final Operation secondOp) {
+        if (firstOp instanceof ToList) {
+            return secondOp instanceof ToList
+                    || secondOp instanceof ToSet
+                    || secondOp instanceof ToArray
+                    || secondOp instanceof Count
+                    || secondOp instanceof DiscardOutput;
+        }
+
+        if (firstOp instanceof ToSet) {
+            return secondOp instanceof ToSet
+                    || secondOp instanceof DiscardOutput;
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.schema;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.ElementTuple;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A {@code CompiledElementValidator} is an equivalent of the full
+ * {@link SchemaElementDefinition#getValidator(boolean)} {@link ElementFilter}
+ * where each validate function has been bound directly to the identifier or
+ * property it selects, and each {@link uk.gov.gchq.koryphe.impl.predicate.IsA}
+ * check has been reduced to a class instance check.
+ * <p>
+ * Unlike an {@link ElementFilter} it does not share a mutable
+ * {@link ElementTuple} between calls, so it can be used to validate elements
+ * concurrently, provided the validate functions themselves are thread safe.
+ * Functions that select more than one identifier or property are still
+ * executed against an {@link ElementTuple}.
+ */
+public class CompiledElementValidator implements Predicate<Element> {
+    private final Predicate<Element>[] checks;
+
+    @SuppressWarnings("unchecked")
+    public CompiledElementValidator(final SchemaElementDefinition elementDef, final boolean includeIsA) {
+        final List<Predicate<Element>> checkList = new ArrayList<>();
+        final ElementFilter validator = elementDef.getOriginalValidator();
+        if (null != validator) {
+            for (final TupleAdaptedPredicate<String, ?> component : validator.getComponents()) {
+                checkList.add(compile(component));
+            }
+        }
+        for (final Entry<IdentifierType, String> entry : elementDef.getIdentifierMap().entrySet()) {
+            addTypeChecks(checkList, entry.getKey().name(), elementDef.getSchemaReference().getType(entry.getValue()), includeIsA);
+        }
+        for (final Entry<String, String> entry : elementDef.getPropertyMap().entrySet()) {
+            addTypeChecks(checkList, entry.getKey(), elementDef.getSchemaReference().getType(entry.getValue()), includeIsA);
+        }
+        checks = checkList.toArray(new Predicate[checkList.size()]);
+    }
+
+    @Override
+    public boolean test(final Element element) {
+        for (final Predicate<Element> check : checks) {
+            if (!check.test(element)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getNumberOfChecks() {
+        return checks.length;
+    }
+
+    private static void addTypeChecks(final List<Predicate<Element>> checkList, final String key, final TypeDefinition typeDef, final boolean includeIsA) {
+        final Function<Element, Object> accessor = createAccessor(key);
+        if (includeIsA && null != typeDef.getClazz()) {
+            final Class<?> clazz = typeDef.getClazz();
+            checkList.add(e -> {
+                final Object value = accessor.apply(e);
+                return null == value || clazz.isInstance(value);
+            });
+        }
+        if (null != typeDef.getValidateFunctions()) {
+            for (final Predicate predicate : typeDef.getValidateFunctions()) {
+                checkList.add(e -> predicate.test(accessor.apply(e)));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate<Element> compile(final TupleAdaptedPredicate<String, ?> component) {
+        final String[] selection = component.getSelection();
+        if (null != selection && 1 == selection.length && null != component.getPredicate()) {
+            final Function<Element, Object> accessor = createAccessor(selection[0]);
+            final Predicate predicate = component.getPredicate();
+            return e -> predicate.test(accessor.apply(e));
+        }
+
+        return e -> component.test(new ElementTuple(e));
+    }
+
+    private static Function<Element, Object> createAccessor(final String reference) {
+        if (ElementTuple.ELEMENT.equals(reference)) {
+            return e -> e;
+        }
+
+        if (ElementTuple.PROPERTIES.equals(reference)) {
+            return Element::getProperties;
+        }
+
+        final IdentifierType idType = IdentifierType.fromName(reference);
+        if (null == idType) {
+            return e -> e.getProperty(reference);
+        }
+
+        return e -> e.getIdentifier(idType);
+    }
+}
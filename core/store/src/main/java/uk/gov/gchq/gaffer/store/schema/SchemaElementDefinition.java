@@ -84,6 +84,10 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
 
     protected ElementFilter fullValidatorWithIsACache;
 
+    protected CompiledElementValidator compiledValidatorCache;
+
+    protected CompiledElementValidator compiledValidatorWithIsACache;
+
     protected ElementAggregator aggregator;
 
     protected Set<String> propertiesInAggregatorCache;
@@ -370,6 +374,28 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
         return fullValidatorTmp;
     }
 
+    /**
+     * Gets a {@link CompiledElementValidator} that is equivalent to the
+     * {@link ElementFilter} returned by {@link #getValidator(boolean)}, but
+     * which accesses identifiers and properties directly and is safe to
+     * use from multiple threads.
+     *
+     * @param includeIsA if true then the IsA checks are included
+     * @return the compiled validator for this element definition
+     */
+    public CompiledElementValidator getCompiledValidator(final boolean includeIsA) {
+        CompiledElementValidator compiledValidatorTmp = includeIsA ? compiledValidatorWithIsACache : compiledValidatorCache;
+        if (null == compiledValidatorTmp) {
+            compiledValidatorTmp = new CompiledElementValidator(this, includeIsA);
+            if (includeIsA) {
+                compiledValidatorWithIsACache = compiledValidatorTmp;
+            } else {
+                compiledValidatorCache = compiledValidatorTmp;
+            }
+        }
+        return compiledValidatorTmp;
+    }
+
     @SuppressFBWarnings(value = "PZLA_PREFER_ZERO_LENGTH_ARRAYS", justification = "null is only returned when the validator is null")
     @JsonGetter("validateFunctions")
     public TupleAdaptedPredicate[] getOriginalValidateFunctions() {
@@ -709,6 +735,8 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
                 }
                 elDef.fullValidatorCache = null;
                 elDef.fullValidatorWithIsACache = null;
+                elDef.compiledValidatorCache = null;
+                elDef.compiledValidatorWithIsACache = null;
 
                 if (null == elDef.aggregator) {
                     elDef.aggregator = elementDef.aggregator;
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BatchValidatedElementsTest {
+
+    @Test
+    public void shouldReturnOnlyValidElementsInInputOrder() {
+        // Given
+        final List<Element> elements = createElements(1000);
+        final List<Element> expected = Lists.newArrayList(new ValidatedElements(elements, createSchema(), true));
+
+        // When
+        final List<Element> result = Lists.newArrayList(new BatchValidatedElements(elements, createSchema(), true, 64));
+
+        // Then
+        assertEquals(expected.size(), result.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), result.get(i));
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionAtFirstInvalidElement() {
+        // Given
+        final List<Element> elements = Lists.newArrayList(
+                createEntity("A", 1L),
+                createEntity("B", 2L),
+                createEntity("C", -1L),
+                createEntity("D", 3L)
+        );
+        final Iterator<Element> itr = new BatchValidatedElements(elements, createSchema(), false, 10).iterator();
+
+        // When / Then
+        assertSame(elements.get(0), itr.next());
+        assertSame(elements.get(1), itr.next());
+        try {
+            itr.hasNext();
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("returned false for properties: {" + TestPropertyNames.COUNT));
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionIfNextCalledWhenNoNextElement() {
+        // Given
+        final Iterator<Element> itr = new BatchValidatedElements(Lists.newArrayList(createEntity("A", -1L)), createSchema(), true, 10).iterator();
+
+        // When / Then
+        assertFalse(itr.hasNext());
+        try {
+            itr.next();
+            fail("Exception expected");
+        } catch (final NoSuchElementException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void shouldNotAllowBatchSizeLessThanOne() {
+        // When / Then
+        try {
+            new BatchValidatedElements(new ArrayList<>(), createSchema(), true, 0);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            // Expected
+        }
+    }
+
+    private static List<Element> createElements(final int size) {
+        final List<Element> elements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            elements.add(createEntity("vertex" + i, (long) (i % 7) - 2));
+        }
+        return elements;
+    }
+
+    private static Entity createEntity(final String vertex, final long count) {
+        return new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex(vertex)
+                .property(TestPropertyNames.COUNT, count)
+                .build();
+    }
+
+    private static Schema createSchema() {
+        return new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.COUNT, "positiveLong")
+                        .build())
+                .type("string", String.class)
+                .type("positiveLong", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .validateFunctions(new IsMoreThan(0L))
+                        .build())
+                .build();
+    }
+}
@@ -25,6 +25,7 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.CompiledElementValidator;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.koryphe.ValidationResult;
@@ -44,13 +45,13 @@ public class ElementValidatorTest {
         final String group = TestGroups.EDGE;
         final Element elm = mock(Element.class);
         final SchemaElementDefinition elementDef = mock(SchemaElementDefinition.class);
-        final ElementFilter filter = mock(ElementFilter.class);
+        final CompiledElementValidator filter = mock(CompiledElementValidator.class);
         final boolean includeIsA = true;
         final ElementValidator validator = new ElementValidator(schema, includeIsA);
 
         given(elm.getGroup()).willReturn(group);
         given(schema.getElement(group)).willReturn(elementDef);
-        given(elementDef.getValidator(includeIsA)).willReturn(filter);
+        given(elementDef.getCompiledValidator(includeIsA)).willReturn(filter);
         given(filter.test(elm)).willReturn(true);
 
         // When
@@ -67,13 +68,13 @@ public class ElementValidatorTest {
         final String group = TestGroups.EDGE;
         final Element elm = mock(Element.class);
         final SchemaElementDefinition elementDef = mock(SchemaElementDefinition.class);
-        final ElementFilter filter = mock(ElementFilter.class);
+        final CompiledElementValidator filter = mock(CompiledElementValidator.class);
         final boolean includeIsA = false;
         final ElementValidator validator = new ElementValidator(schema, includeIsA);
 
         given(elm.getGroup()).willReturn(group);
         given(schema.getElement(group)).willReturn(elementDef);
-        given(elementDef.getValidator(includeIsA)).willReturn(filter);
+        given(elementDef.getCompiledValidator(includeIsA)).willReturn(filter);
         given(filter.test(elm)).willReturn(true);
 
         // When
@@ -114,13 +115,13 @@ public class ElementValidatorTest {
         final String group = TestGroups.EDGE;
         final Element elm = mock(Element.class);
         final SchemaElementDefinition elementDef = mock(SchemaElementDefinition.class);
-        final ElementFilter filter = mock(ElementFilter.class);
+        final CompiledElementValidator filter = mock(CompiledElementValidator.class);
         final boolean includeIsA = true;
         final ElementValidator validator = new ElementValidator(schema, includeIsA);
 
         given(elm.getGroup()).willReturn(group);
         given(schema.getElement(group)).willReturn(elementDef);
-        given(elementDef.getValidator(includeIsA)).willReturn(filter);
+        given(elementDef.getCompiledValidator(includeIsA)).willReturn(filter);
         given(filter.test(elm)).willReturn(false);
 
         // When
@@ -107,6 +107,8 @@ import uk.gov.gchq.gaffer.store.operation.handler.export.set.GetSetExportHandler
 import uk.gov.gchq.gaffer.store.operation.handler.generate.GenerateElementsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.generate.GenerateObjectsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.output.ToSetHandler;
+import uk.gov.gchq.gaffer.store.optimiser.FuseMapsOptimiser;
+import uk.gov.gchq.gaffer.store.optimiser.MergeLimitsOptimiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
@@ -850,6 +852,41 @@ public class StoreTest {
         fail("Exception wasn't caught");
     }
 
+    @Test
+    public void shouldAddOperationChainOptimisersFromStoreProperties() throws Exception {
+        // Given
+        final Schema schema = createSchemaMock();
+        final StoreProperties properties = mock(StoreProperties.class);
+        given(properties.getJobExecutorThreadCount()).willReturn(1);
+        given(properties.getOperationChainOptimisers()).willReturn(
+                MergeLimitsOptimiser.class.getName() + ", " + FuseMapsOptimiser.class.getName() + "," + MergeLimitsOptimiser.class.getName());
+
+        // When
+        store.initialise("graphId", schema, properties);
+
+        // Then
+        assertEquals(2, store.opChainOptimisers.size());
+        assertTrue(store.opChainOptimisers.get(0) instanceof MergeLimitsOptimiser);
+        assertTrue(store.opChainOptimisers.get(1) instanceof FuseMapsOptimiser);
+    }
+
+    @Test
+    public void shouldThrowExceptionIfOperationChainOptimiserIsInvalid() throws Exception {
+        // Given
+        final Schema schema = createSchemaMock();
+        final StoreProperties properties = mock(StoreProperties.class);
+        given(properties.getJobExecutorThreadCount()).willReturn(1);
+        given(properties.getOperationChainOptimisers()).willReturn(String.class.getName());
+
+        // When / Then
+        try {
+            store.initialise("graphId", schema, properties);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(String.class.getName()));
+        }
+    }
+
     private class StoreImpl extends Store {
         private final Set<StoreTrait> TRAITS = new HashSet<>(Arrays.asList(INGEST_AGGREGATION, PRE_AGGREGATION_FILTERING, TRANSFORMATION, ORDERED));
         private final ArrayList<Operation> doUnhandledOperationCalls = new ArrayList<>();
@@ -25,6 +25,7 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.store.schema.CompiledElementValidator;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.koryphe.ValidationResult;
@@ -49,28 +50,32 @@ import static org.mockito.Mockito.verify;
 public class ValidatedElementsTest {
     private List<Element> elements;
     private List<ElementFilter> filters;
+    private List<CompiledElementValidator> compiledValidators;
     private Schema schema;
 
     @Before
     public void setup() {
         elements = new ArrayList<>();
         filters = new ArrayList<>();
+        compiledValidators = new ArrayList<>();
         schema = mock(Schema.class);
 
         for (int i = 0; i < 3; i++) {
             elements.add(mock(Element.class));
             filters.add(mock(ElementFilter.class));
+            compiledValidators.add(mock(CompiledElementValidator.class));
 
             final String group = "group " + i;
             given(elements.get(i).getGroup()).willReturn(group);
-            given(filters.get(i).test(elements.get(i))).willReturn(true);
+            given(compiledValidators.get(i).test(elements.get(i))).willReturn(true);
             given(filters.get(i).testWithValidationResult(elements.get(i))).willReturn(new ValidationResult());
 
             final SchemaElementDefinition elementDef = mock(SchemaElementDefinition.class);
             given(schema.getElement(group)).willReturn(elementDef);
             given(elementDef.getValidator(true)).willReturn(filters.get(i));
+            given(elementDef.getCompiledValidator(true)).willReturn(compiledValidators.get(i));
         }
-        given(filters.get(1).test(elements.get(1))).willReturn(false);
+        given(compiledValidators.get(1).test(elements.get(1))).willReturn(false);
         given(filters.get(1).testWithValidationResult(elements.get(1))).willReturn(new ValidationResult("Some error"));
     }
 
@@ -134,7 +139,7 @@ public class ValidatedElementsTest {
             assertTrue(e.getMessage().contains("Some error"));
         }
 
-        verify(filters.get(2), never()).test(elements.get(2));
+        verify(compiledValidators.get(2), never()).test(elements.get(2));
     }
 
 
@@ -59,6 +59,7 @@ public class GetWalksHandlerTest {
         // Given
         final GetWalksHandler obj = new GetWalksHandler();
         obj.setPrune(true);
+        obj.setCompact(true);
 
         // When
         final byte[] json = JSONSerialiser.serialise(obj, true);
@@ -66,5 +67,6 @@ public class GetWalksHandlerTest {
 
         // Then
         assertNotNull(deserialisedObj);
+        assertThat(deserialisedObj.getCompact(), is(true));
     }
 }
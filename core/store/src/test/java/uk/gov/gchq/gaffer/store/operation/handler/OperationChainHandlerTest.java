@@ -32,6 +32,7 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.operation.OperationChainValidator;
+import uk.gov.gchq.gaffer.store.optimiser.MergeLimitsOptimiser;
 import uk.gov.gchq.gaffer.store.optimiser.OperationChainOptimiser;
 import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.ValidationResult;
@@ -40,10 +41,13 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 public class OperationChainHandlerTest {
 
@@ -149,4 +153,62 @@ public class OperationChainHandlerTest {
         // Then
         assertSame(entityA, result);
     }
+
+    @Test
+    public void shouldHandleOptimisedOperationChain() throws OperationException {
+        // Given
+        final OperationChainValidator opChainValidator = mock(OperationChainValidator.class);
+        final List<OperationChainOptimiser> opChainOptimisers = Collections.singletonList(new MergeLimitsOptimiser());
+
+        final OperationChainHandler opChainHandler = new OperationChainHandler(opChainValidator, opChainOptimisers);
+
+        final Context context = mock(Context.class);
+        final Store store = mock(Store.class);
+        final User user = mock(User.class);
+
+        final GetAllElements op1 = mock(GetAllElements.class);
+        final Limit op2 = new Limit(10);
+        final Limit op3 = new Limit(5);
+        final OperationChain opChain = new OperationChain(Arrays.asList(op1, op2, op3));
+        final Entity expectedResult = new Entity(TestGroups.ENTITY);
+
+        given(context.getUser()).willReturn(user);
+        given(opChainValidator.validate(any(), any(), any())).willReturn(new ValidationResult());
+
+        given(store.handleOperation(op1, context)).willReturn(new WrappedCloseableIterable<>(Collections.singletonList(expectedResult)));
+        given(store.handleOperation(op2, context)).willReturn(expectedResult);
+
+        // When
+        final Object result = opChainHandler.doOperation(opChain, context, store);
+
+        // Then
+        assertSame(expectedResult, result);
+        assertEquals(5, (int) op2.getResultLimit());
+        verify(store, never()).handleOperation(op3, context);
+    }
+
+    @Test
+    public void shouldCapParallelismAtStoreMaximum() {
+        // Given
+        final OperationChainHandler opChainHandler = new OperationChainHandler(mock(OperationChainValidator.class), Collections.emptyList());
+        final Store store = mock(Store.class);
+        final StoreProperties storeProperties = new StoreProperties();
+        storeProperties.setOperationChainMaxParallelism(4);
+        given(store.getProperties()).willReturn(storeProperties);
+
+        final OperationChain opChain1 = new OperationChain();
+        final OperationChain opChain2 = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .option(OperationChainHandler.PARALLELISM, "2")
+                .build();
+        final OperationChain opChain3 = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .option(OperationChainHandler.PARALLELISM, "8")
+                .build();
+
+        // When / Then
+        assertEquals(4, opChainHandler.getParallelism(opChain1, store));
+        assertEquals(2, opChainHandler.getParallelism(opChain2, store));
+        assertEquals(4, opChainHandler.getParallelism(opChain3, store));
+    }
 }
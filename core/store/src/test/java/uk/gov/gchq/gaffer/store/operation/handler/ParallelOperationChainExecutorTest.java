@@ -0,0 +1,188 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.export.GetExports;
+import uk.gov.gchq.gaffer.operation.impl.export.set.ExportToSet;
+import uk.gov.gchq.gaffer.operation.impl.export.set.GetSetExport;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.ParallelOperationChainExecutor.Branch;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class ParallelOperationChainExecutorTest {
+    @Test
+    public void shouldSplitOperationChainIntoBranches() {
+        // Given
+        final List<Operation> ops = Arrays.asList(
+                new GetAllElements(),
+                new ExportToSet.Builder<>().key("a").build(),
+                new DiscardOutput(),
+                new GetAllElements(),
+                new ExportToSet.Builder<>().key("b").build(),
+                new DiscardOutput(),
+                new GetExports.Builder()
+                        .exports(new GetSetExport.Builder().key("a").build())
+                        .build());
+
+        // When
+        final List<Branch> branches = new ParallelOperationChainExecutor(2)
+                .getBranches(ops, new Context(), mock(Store.class));
+
+        // Then
+        assertEquals(3, branches.size());
+        assertEquals(ops.subList(0, 3), branches.get(0).getOperations());
+        assertEquals(ops.subList(3, 6), branches.get(1).getOperations());
+        assertFalse(branches.get(1).dependsOn(branches.get(0)));
+        assertTrue(branches.get(2).dependsOn(branches.get(0)));
+        assertTrue(branches.get(2).dependsOn(branches.get(1)));
+    }
+
+    @Test
+    public void shouldMakeBranchesDependOnBranchesWithSideEffects() {
+        // Given
+        final List<Operation> ops = Arrays.asList(
+                new AddElements(),
+                new GetAllElements(),
+                new GetAllElements());
+
+        // When
+        final List<Branch> branches = new ParallelOperationChainExecutor(2)
+                .getBranches(ops, new Context(), mock(Store.class));
+
+        // Then
+        assertEquals(3, branches.size());
+        assertTrue(branches.get(1).dependsOn(branches.get(0)));
+        assertFalse(branches.get(2).dependsOn(branches.get(1)));
+    }
+
+    @Test
+    public void shouldMakeBranchesExportingToTheSameKeyDependOnEachOther() {
+        // Given
+        final List<Operation> ops = Arrays.asList(
+                new GetAllElements(),
+                new ExportToSet.Builder<>().key("a").build(),
+                new GetAllElements(),
+                new OperationChain.Builder()
+                        .first(new GetAllElements())
+                        .then(new ExportToSet.Builder<>().key("a").build())
+                        .build());
+
+        // When
+        final List<Branch> branches = new ParallelOperationChainExecutor(2)
+                .getBranches(ops, new Context(), mock(Store.class));
+
+        // Then
+        assertEquals(3, branches.size());
+        assertFalse(branches.get(1).dependsOn(branches.get(0)));
+        assertTrue(branches.get(2).dependsOn(branches.get(0)));
+    }
+
+    @Test
+    public void shouldExecuteIndependentBranchesConcurrently() throws OperationException {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context();
+        final GetAllElements op1 = new GetAllElements();
+        final GetAllElements op2 = new GetAllElements();
+        final CountDownLatch latch = new CountDownLatch(2);
+        final Object result = new Object();
+
+        doAnswer(invocation -> {
+            new Thread((Runnable) invocation.getArguments()[0]).start();
+            return null;
+        }).when(store).runAsync(any(Runnable.class));
+        given(store.handleOperation(op1, context)).willAnswer(invocation -> {
+            latch.countDown();
+            return latch.await(10, TimeUnit.SECONDS);
+        });
+        given(store.handleOperation(op2, context)).willAnswer(invocation -> {
+            latch.countDown();
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            return result;
+        });
+
+        // When
+        final Object chainResult = new ParallelOperationChainExecutor(2)
+                .execute(new OperationChain<>(Arrays.asList(op1, op2)), context, store);
+
+        // Then
+        assertSame(result, chainResult);
+        assertEquals(0, latch.getCount());
+    }
+
+    @Test
+    public void shouldRunBranchesOnCallingThreadIfExecutorDoesNotStartThem() throws OperationException {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context();
+        final GetAllElements op1 = new GetAllElements();
+        final GetAllElements op2 = new GetAllElements();
+        final GetAllElements op3 = new GetAllElements();
+        final Object result = new Object();
+        given(store.handleOperation(op3, context)).willReturn(result);
+
+        // When
+        final Object chainResult = new ParallelOperationChainExecutor(2)
+                .execute(new OperationChain<>(Arrays.asList(op1, op2, op3)), context, store);
+
+        // Then
+        assertSame(result, chainResult);
+    }
+
+    @Test
+    public void shouldThrowExceptionFromFailedBranch() throws OperationException {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context();
+        final GetAllElements op1 = new GetAllElements();
+        final GetAllElements op2 = new GetAllElements();
+        final OperationException exception = new OperationException("Branch failed");
+        given(store.handleOperation(op1, context)).willThrow(exception);
+
+        // When / Then
+        try {
+            new ParallelOperationChainExecutor(2)
+                    .execute(new OperationChain<>(Arrays.asList(op1, op2)), context, store);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertSame(exception, e);
+        }
+    }
+}
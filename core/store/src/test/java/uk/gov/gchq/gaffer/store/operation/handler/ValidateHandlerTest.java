@@ -19,11 +19,12 @@ package uk.gov.gchq.gaffer.store.operation.handler;
 import org.junit.Test;
 
 import uk.gov.gchq.gaffer.data.element.Element;
-import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.Validate;
+import uk.gov.gchq.gaffer.store.BatchValidatedElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.schema.CompiledElementValidator;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 
@@ -33,6 +34,7 @@ import java.util.Iterator;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
@@ -71,9 +73,9 @@ public class ValidateHandlerTest {
         final String group = "group";
         given(elm1.getGroup()).willReturn(group);
         final SchemaElementDefinition elementDef = mock(SchemaElementDefinition.class);
-        final ElementFilter validator = mock(ElementFilter.class);
+        final CompiledElementValidator validator = mock(CompiledElementValidator.class);
         given(validator.test(elm1)).willReturn(true);
-        given(elementDef.getValidator(true)).willReturn(validator);
+        given(elementDef.getCompiledValidator(true)).willReturn(validator);
         given(schema.getElement(group)).willReturn(elementDef);
 
         // When
@@ -85,4 +87,37 @@ public class ValidateHandlerTest {
         assertSame(elm1, elm1Result);
         assertFalse(itr.hasNext());
     }
+
+    @Test
+    public void shouldValidateElementsInBatchesWhenBatchSizeIsSet() throws OperationException {
+        // Given
+        final ValidateHandler handler = new ValidateHandler();
+        handler.setBatchSize(10);
+        final Store store = mock(Store.class);
+        final Validate validate = mock(Validate.class);
+        final Element elm1 = mock(Element.class);
+        final Iterable elements = Collections.singletonList(elm1);
+        final Schema schema = mock(Schema.class);
+        final Context context = new Context();
+
+        given(validate.getInput()).willReturn(elements);
+        given(validate.isSkipInvalidElements()).willReturn(false);
+        given(store.getSchema()).willReturn(schema);
+        final String group = "group";
+        given(elm1.getGroup()).willReturn(group);
+        final SchemaElementDefinition elementDef = mock(SchemaElementDefinition.class);
+        final CompiledElementValidator validator = mock(CompiledElementValidator.class);
+        given(validator.test(elm1)).willReturn(true);
+        given(elementDef.getCompiledValidator(true)).willReturn(validator);
+        given(schema.getElement(group)).willReturn(elementDef);
+
+        // When
+        final Iterable<? extends Element> result = handler.doOperation(validate, context, store);
+
+        // Then
+        assertTrue(result instanceof BatchValidatedElements);
+        final Iterator<? extends Element> itr = result.iterator();
+        assertSame(elm1, itr.next());
+        assertFalse(itr.hasNext());
+    }
 }
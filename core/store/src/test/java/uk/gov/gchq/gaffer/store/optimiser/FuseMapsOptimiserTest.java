@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.Map;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.koryphe.impl.function.Identity;
+import uk.gov.gchq.koryphe.impl.function.ToString;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class FuseMapsOptimiserTest {
+    @Test
+    public void shouldFuseConsecutiveMaps() {
+        // Given
+        final Identity identity = new Identity();
+        final ToString toString = new ToString();
+        final Map map1 = new Map<>(identity);
+        final Map map2 = new Map<>(toString);
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(map1)
+                .then(map2)
+                .build();
+
+        // When
+        final OperationChain<?> result = new FuseMapsOptimiser().optimise(opChain);
+
+        // Then
+        assertEquals(2, result.getOperations().size());
+        assertSame(map1, result.getOperations().get(1));
+        assertEquals(Arrays.asList(identity, toString), map1.getFunctions());
+    }
+
+    @Test
+    public void shouldNotFuseMapWithItsOwnInput() {
+        // Given
+        final Map map1 = new Map<>(new Identity());
+        final Map map2 = new Map<>(new ToString());
+        map2.setInput("input");
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(map1)
+                .then(map2)
+                .build();
+
+        // When
+        final OperationChain<?> result = new FuseMapsOptimiser().optimise(opChain);
+
+        // Then
+        assertEquals(opChain.getOperations(), result.getOperations());
+        assertEquals(1, map1.getFunctions().size());
+    }
+}
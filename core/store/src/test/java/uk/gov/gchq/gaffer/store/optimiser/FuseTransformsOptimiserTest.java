@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.function.Transform;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.koryphe.impl.function.Identity;
+import uk.gov.gchq.koryphe.impl.function.ToString;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class FuseTransformsOptimiserTest {
+    @Test
+    public void shouldFuseConsecutiveTransformsOfTheSameGroups() {
+        // Given
+        final Transform transform1 = new Transform.Builder()
+                .entity(TestGroups.ENTITY, new ElementTransformer.Builder()
+                        .select(TestPropertyNames.PROP_1)
+                        .execute(new Identity())
+                        .project(TestPropertyNames.PROP_2)
+                        .build())
+                .edge(TestGroups.EDGE, new ElementTransformer())
+                .build();
+        final Transform transform2 = new Transform.Builder()
+                .entity(TestGroups.ENTITY, new ElementTransformer.Builder()
+                        .select(TestPropertyNames.PROP_2)
+                        .execute(new ToString())
+                        .project(TestPropertyNames.PROP_3)
+                        .build())
+                .edge(TestGroups.EDGE, new ElementTransformer.Builder()
+                        .select(TestPropertyNames.PROP_1)
+                        .execute(new ToString())
+                        .project(TestPropertyNames.PROP_2)
+                        .build())
+                .build();
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(transform1)
+                .then(transform2)
+                .build();
+
+        // When
+        final OperationChain<?> result = new FuseTransformsOptimiser().optimise(opChain);
+
+        // Then
+        assertEquals(2, result.getOperations().size());
+        assertSame(transform1, result.getOperations().get(1));
+        final ElementTransformer entityTransformer = transform1.getEntities().get(TestGroups.ENTITY);
+        assertEquals(2, entityTransformer.getComponents().size());
+        assertEquals(Identity.class, entityTransformer.getComponents().get(0).getFunction().getClass());
+        assertEquals(ToString.class, entityTransformer.getComponents().get(1).getFunction().getClass());
+        assertEquals(1, transform1.getEdges().get(TestGroups.EDGE).getComponents().size());
+    }
+
+    @Test
+    public void shouldNotFuseTransformsOfDifferentGroups() {
+        // Given
+        final Transform transform1 = new Transform.Builder()
+                .entity(TestGroups.ENTITY, new ElementTransformer())
+                .build();
+        final Transform transform2 = new Transform.Builder()
+                .entity(TestGroups.ENTITY_2, new ElementTransformer())
+                .build();
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(transform1)
+                .then(transform2)
+                .build();
+
+        // When
+        final OperationChain<?> result = new FuseTransformsOptimiser().optimise(opChain);
+
+        // Then
+        assertEquals(opChain.getOperations(), result.getOperations());
+    }
+}
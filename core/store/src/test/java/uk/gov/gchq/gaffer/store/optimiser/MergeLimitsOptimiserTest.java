@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class MergeLimitsOptimiserTest {
+    @Test
+    public void shouldMergeConsecutiveLimitsUsingSmallestLimit() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final Limit limit1 = new Limit(10);
+        final Limit limit2 = new Limit(5);
+        final Limit limit3 = new Limit(20);
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(getAllElements)
+                .then(limit1)
+                .then(limit2)
+                .then(limit3)
+                .build();
+
+        // When
+        final OperationChain<?> result = new MergeLimitsOptimiser().optimise(opChain);
+
+        // Then
+        assertEquals(2, result.getOperations().size());
+        assertSame(getAllElements, result.getOperations().get(0));
+        assertSame(limit1, result.getOperations().get(1));
+        assertEquals(5, (int) limit1.getResultLimit());
+    }
+
+    @Test
+    public void shouldNotMergeNonTruncatingLimits() {
+        // Given
+        final Limit limit1 = new Limit(10, false);
+        final Limit limit2 = new Limit(5);
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(limit1)
+                .then(limit2)
+                .build();
+
+        // When
+        final OperationChain<?> result = new MergeLimitsOptimiser().optimise(opChain);
+
+        // Then
+        assertEquals(opChain.getOperations(), result.getOperations());
+        assertEquals(10, (int) limit1.getResultLimit());
+    }
+
+    @Test
+    public void shouldNotMergeLimitsWithOptions() {
+        // Given
+        final Limit limit1 = new Limit(10);
+        final Limit limit2 = new Limit(5);
+        limit2.setOptions(Collections.singletonMap("key", "value"));
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(limit1)
+                .then(limit2)
+                .build();
+
+        // When
+        final OperationChain<?> result = new MergeLimitsOptimiser().optimise(opChain);
+
+        // Then
+        assertEquals(opChain.getOperations(), result.getOperations());
+    }
+
+    @Test
+    public void shouldKeepOperationChainOptions() {
+        // Given
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(new Limit(10))
+                .then(new Limit(5))
+                .build();
+        opChain.setOptions(Collections.singletonMap("key", "value"));
+
+        // When
+        final OperationChain<?> result = new MergeLimitsOptimiser().optimise(opChain);
+
+        // Then
+        assertEquals(opChain.getOptions(), result.getOptions());
+    }
+}
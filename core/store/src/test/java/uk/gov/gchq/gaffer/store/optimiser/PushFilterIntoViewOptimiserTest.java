@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.function.Filter;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.koryphe.impl.predicate.Exists;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+public class PushFilterIntoViewOptimiserTest {
+    @Test
+    public void shouldPushFilterIntoPrecedingGetElementsView() {
+        // Given
+        final GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed("A"))
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                                .postTransformFilter(new ElementFilter.Builder()
+                                        .select(TestPropertyNames.PROP_1)
+                                        .execute(new Exists())
+                                        .build())
+                                .build())
+                        .entity(TestGroups.ENTITY_2)
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+        final Filter filter = new Filter.Builder()
+                .entity(TestGroups.ENTITY, new ElementFilter.Builder()
+                        .select(TestPropertyNames.PROP_2)
+                        .execute(new IsMoreThan(1))
+                        .build())
+                .edge(TestGroups.EDGE)
+                .globalElements(new ElementFilter.Builder()
+                        .select(TestPropertyNames.COUNT)
+                        .execute(new Exists())
+                        .build())
+                .build();
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(getElements)
+                .then(filter)
+                .build();
+
+        // When
+        final OperationChain<?> result = new PushFilterIntoViewOptimiser().optimise(opChain);
+
+        // Then
+        assertEquals(1, result.getOperations().size());
+        assertSame(getElements, result.getOperations().get(0));
+        final View view = getElements.getView();
+        assertEquals(1, view.getEntityGroups().size());
+        assertEquals(1, view.getEdgeGroups().size());
+        assertEquals(3, view.getEntity(TestGroups.ENTITY).getPostTransformFilterFunctions().size());
+        assertEquals(IsMoreThan.class, view.getEntity(TestGroups.ENTITY).getPostTransformFilterFunctions().get(2).getPredicate().getClass());
+        assertEquals(1, view.getEdge(TestGroups.EDGE).getPostTransformFilterFunctions().size());
+    }
+
+    @Test
+    public void shouldNotPushFilterIntoGetElementsWithoutView() {
+        // Given
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(new Filter.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .build();
+
+        // When
+        final OperationChain<?> result = new PushFilterIntoViewOptimiser().optimise(opChain);
+
+        // Then
+        assertEquals(opChain.getOperations(), result.getOperations());
+    }
+
+    @Test
+    public void shouldNotPushFilterWithNoGroupsInCommonWithView() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .build();
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(getAllElements)
+                .then(new Filter.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+
+        // When
+        final OperationChain<?> result = new PushFilterIntoViewOptimiser().optimise(opChain);
+
+        // Then
+        assertEquals(opChain.getOperations(), result.getOperations());
+        assertFalse(getAllElements.getView().getEntity(TestGroups.ENTITY).hasPostTransformFilters());
+    }
+}
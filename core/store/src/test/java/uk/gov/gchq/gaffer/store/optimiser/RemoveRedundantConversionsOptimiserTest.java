@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class RemoveRedundantConversionsOptimiserTest {
+    @Test
+    public void shouldRemoveRedundantConversions() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final ToSet toSet = new ToSet<>();
+        final Count count = new Count<>();
+        final OperationChain<?> opChain = new OperationChain(Arrays.asList(
+                getAllElements, new ToList<>(), new ToSet<>(), toSet, new ToList<>(), count));
+
+        // When
+        final OperationChain<?> result = new RemoveRedundantConversionsOptimiser().optimise(opChain);
+
+        // Then
+        assertEquals(Arrays.asList(getAllElements, toSet, count), result.getOperations());
+    }
+
+    @Test
+    public void shouldNotRemoveToSetBeforeToList() {
+        // Given
+        final OperationChain<?> opChain = new OperationChain(Arrays.asList(
+                new GetAllElements(), new ToSet<>(), new ToList<>()));
+
+        // When
+        final OperationChain<?> result = new RemoveRedundantConversionsOptimiser().optimise(opChain);
+
+        // Then
+        assertEquals(opChain.getOperations(), result.getOperations());
+    }
+
+    @Test
+    public void shouldNotRemoveConversionBeforeOtherOperations() {
+        // Given
+        final OperationChain<?> opChain = new OperationChain(Arrays.asList(
+                new GetAllElements(), new ToList<>(), new Limit<>(10)));
+
+        // When
+        final OperationChain<?> result = new RemoveRedundantConversionsOptimiser().optimise(opChain);
+
+        // Then
+        assertEquals(opChain.getOperations(), result.getOperations());
+    }
+
+    @Test
+    public void shouldPassInputOfRemovedConversionToNextOperation() {
+        // Given
+        final List<String> input = Arrays.asList("a", "b");
+        final ToList<String> toList = new ToList.Builder<String>().input(input).build();
+        final ToSet<String> toSet = new ToSet<>();
+        final OperationChain<?> opChain = new OperationChain(Arrays.asList(toList, toSet));
+
+        // When
+        final OperationChain<?> result = new RemoveRedundantConversionsOptimiser().optimise(opChain);
+
+        // Then
+        final List<Operation> ops = result.getOperations();
+        assertEquals(1, ops.size());
+        assertSame(toSet, ops.get(0));
+        assertSame(input, toSet.getInput());
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.schema;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import uk.gov.gchq.koryphe.impl.predicate.IsXMoreThanY;
+import uk.gov.gchq.koryphe.impl.predicate.Not;
+import uk.gov.gchq.koryphe.impl.predicate.StringContains;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CompiledElementValidatorTest {
+
+    @Test
+    public void shouldGiveSameResultsAsFullValidator() {
+        // Given
+        final SchemaElementDefinition elementDef = createSchema().getElement(TestGroups.EDGE);
+        final List<Element> elements = createElements();
+
+        for (final boolean includeIsA : new boolean[]{true, false}) {
+            final ElementFilter fullValidator = elementDef.getValidator(includeIsA);
+            final CompiledElementValidator compiledValidator = elementDef.getCompiledValidator(includeIsA);
+
+            for (final Element element : elements) {
+                // When
+                final boolean expected = fullValidator.test(element);
+                final boolean result = compiledValidator.test(element);
+
+                // Then
+                assertEquals("Unexpected result for " + element + " with includeIsA=" + includeIsA, expected, result);
+            }
+        }
+    }
+
+    @Test
+    public void shouldCompileOneCheckPerValidateFunction() {
+        // Given
+        final SchemaElementDefinition elementDef = createSchema().getElement(TestGroups.EDGE);
+
+        // When
+        final CompiledElementValidator withIsA = elementDef.getCompiledValidator(true);
+        final CompiledElementValidator withoutIsA = elementDef.getCompiledValidator(false);
+
+        // Then
+        assertEquals(elementDef.getValidator(true).getComponents().size(), withIsA.getNumberOfChecks());
+        assertEquals(elementDef.getValidator(false).getComponents().size(), withoutIsA.getNumberOfChecks());
+        // Check the compiled validators are cached
+        assertSame(withIsA, elementDef.getCompiledValidator(true));
+        assertSame(withoutIsA, elementDef.getCompiledValidator(false));
+    }
+
+    @Test
+    public void shouldValidateIdentifiersAndProperties() {
+        // Given
+        final CompiledElementValidator validator = createSchema().getElement(TestGroups.EDGE).getCompiledValidator(true);
+
+        // When / Then
+        assertTrue(validator.test(createEdge("A", "B", 5L, 2L)));
+        assertFalse(validator.test(createEdge("A", "invalid", 5L, 2L)));
+        assertFalse(validator.test(createEdge("A", "B", 0L, 2L)));
+        assertFalse(validator.test(createEdge("A", "B", 5L, 6L)));
+        assertFalse(validator.test(createEdge("A", "B", 5, 2L)));
+    }
+
+    private static List<Element> createElements() {
+        final List<Element> elements = new ArrayList<>();
+        for (final String destination : new String[]{"B", "invalid", null}) {
+            for (final Object count : new Object[]{5L, 0L, 5, null}) {
+                for (final Object count2 : new Object[]{2L, 6L, null}) {
+                    elements.add(createEdge("A", destination, count, count2));
+                }
+            }
+        }
+        return elements;
+    }
+
+    private static Edge createEdge(final String source, final String destination, final Object count, final Object count2) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest(destination)
+                .directed(true)
+                .property(TestPropertyNames.PROP_1, count)
+                .property(TestPropertyNames.PROP_2, count2)
+                .build();
+    }
+
+    private static Schema createSchema() {
+        return new Schema.Builder()
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source("string")
+                        .destination("string")
+                        .directed("true")
+                        .property(TestPropertyNames.PROP_1, "positiveLong")
+                        .property(TestPropertyNames.PROP_2, "long")
+                        .validator(new ElementFilter.Builder()
+                                .select(TestPropertyNames.PROP_1, TestPropertyNames.PROP_2)
+                                .execute(new IsXMoreThanY())
+                                .build())
+                        .build())
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .validateFunctions(new Not<>(new StringContains("invalid")))
+                        .build())
+                .type("true", Boolean.class)
+                .type("positiveLong", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .validateFunctions(new IsMoreThan(0L))
+                        .build())
+                .type("long", Long.class)
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.serialisation;
+
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.gaffer.types.CompactFreqMap;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.util.Map.Entry;
+
+/**
+ * A {@code CompactFreqMapSerialiser} serialises and deserialises {@link CompactFreqMap}s.
+ * <p>
+ * As the keys of a {@link CompactFreqMap} are sorted, each key is front coded:
+ * it is written as the length of the prefix it shares with the previous key
+ * followed by the remaining UTF-8 bytes. The lengths and the frequencies are
+ * written as compact longs.
+ */
+public class CompactFreqMapSerialiser implements ToBytesSerialiser<CompactFreqMap> {
+    private static final long serialVersionUID = -2474510960238826417L;
+
+    @Override
+    public byte[] serialise(final CompactFreqMap map) throws SerialisationException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CompactRawSerialisationUtils.write(map.size(), out);
+        String previousKey = "";
+        for (final Entry<String, Long> entry : map.entrySet()) {
+            final String key = entry.getKey();
+            final int prefixLength = getSharedPrefixLength(previousKey, key);
+            final byte[] suffix;
+            try {
+                suffix = key.substring(prefixLength).getBytes(CommonConstants.UTF_8);
+            } catch (final UnsupportedEncodingException e) {
+                throw new SerialisationException("Failed to serialise a key from a CompactFreqMap: " + key, e);
+            }
+            CompactRawSerialisationUtils.write(prefixLength, out);
+            CompactRawSerialisationUtils.write(suffix.length, out);
+            try {
+                out.write(suffix);
+            } catch (final IOException e) {
+                throw new SerialisationException("Failed to serialise a key from a CompactFreqMap: " + key, e);
+            }
+            CompactRawSerialisationUtils.write(entry.getValue(), out);
+            previousKey = key;
+        }
+
+        return out.toByteArray();
+    }
+
+    @Override
+    public CompactFreqMap deserialise(final byte[] bytes) throws SerialisationException {
+        if (0 == bytes.length) {
+            return new CompactFreqMap();
+        }
+
+        final ByteArrayInputStream in = new ByteArrayInputStream(bytes);
+        final int size = (int) CompactRawSerialisationUtils.read(in);
+        if (size < 0 || size > bytes.length) {
+            throw new SerialisationException("Invalid serialised CompactFreqMap");
+        }
+        final CompactFreqMap map = new CompactFreqMap(size);
+        String previousKey = "";
+        for (int i = 0; i < size; i++) {
+            final int prefixLength = (int) CompactRawSerialisationUtils.read(in);
+            final int suffixLength = (int) CompactRawSerialisationUtils.read(in);
+            if (prefixLength < 0 || prefixLength > previousKey.length() || suffixLength < 0 || suffixLength > in.available()) {
+                throw new SerialisationException("Invalid serialised CompactFreqMap");
+            }
+            final byte[] suffix = new byte[suffixLength];
+            if (suffixLength > 0 && suffixLength != in.read(suffix, 0, suffixLength)) {
+                throw new SerialisationException("Invalid serialised CompactFreqMap");
+            }
+            final String key;
+            try {
+                key = previousKey.substring(0, prefixLength) + new String(suffix, CommonConstants.UTF_8);
+            } catch (final UnsupportedEncodingException e) {
+                throw new SerialisationException("Failed to deserialise a key from a CompactFreqMap", e);
+            }
+            map.upsert(key, CompactRawSerialisationUtils.read(in));
+            previousKey = key;
+        }
+
+        return map;
+    }
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return CompactFreqMap.class.equals(clazz);
+    }
+
+    @Override
+    public boolean preservesObjectOrdering() {
+        return false;
+    }
+
+    @Override
+    public boolean isConsistent() {
+        return true;
+    }
+
+    @Override
+    public CompactFreqMap deserialiseEmpty() {
+        return new CompactFreqMap();
+    }
+
+    private static int getSharedPrefixLength(final String previousKey, final String key) {
+        final int maxLength = Math.min(previousKey.length(), key.length());
+        int length = 0;
+        while (length < maxLength && previousKey.charAt(length) == key.charAt(length)) {
+            length++;
+        }
+        // Don't split a surrogate pair between the prefix and the suffix
+        if (length > 0 && Character.isHighSurrogate(key.charAt(length - 1))) {
+            length--;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.types;
+
+import uk.gov.gchq.koryphe.serialisation.json.JsonSimpleClassName;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * {@code CompactFreqMap} is a compact alternative to {@link FreqMap}. It is a
+ * {@link Map} of String keys to Long frequencies, but rather than holding a
+ * hash table of boxed values it holds the keys in a sorted array, with each
+ * key interned, and the frequencies in a parallel array of primitive longs.
+ * <p>
+ * Lookups are binary searches. Keys added in ascending order, as is the case
+ * when deserialising or merging two maps, are appended without any copying.
+ * Null keys and null values are not supported.
+ */
+@JsonSimpleClassName
+public class CompactFreqMap extends AbstractMap<String, Long> implements Serializable {
+    private static final long serialVersionUID = 3174125983617473154L;
+    private static final String[] EMPTY_KEYS = new String[0];
+    private static final long[] EMPTY_COUNTS = new long[0];
+
+    private String[] keys;
+    private long[] counts;
+    private int size;
+
+    public CompactFreqMap() {
+        keys = EMPTY_KEYS;
+        counts = EMPTY_COUNTS;
+    }
+
+    public CompactFreqMap(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        keys = new String[initialCapacity];
+        counts = new long[initialCapacity];
+    }
+
+    public CompactFreqMap(final Map<? extends String, ? extends Long> map) {
+        this(map.size());
+        final List<String> sortedKeys = new ArrayList<>(map.size());
+        for (final Entry<? extends String, ? extends Long> entry : map.entrySet()) {
+            if (null != entry.getKey() && null != entry.getValue()) {
+                sortedKeys.add(entry.getKey());
+            }
+        }
+        Collections.sort(sortedKeys);
+        for (final String key : sortedKeys) {
+            keys[size] = key.intern();
+            counts[size] = map.get(key);
+            size++;
+        }
+    }
+
+    /**
+     * Adds a new key and value to the map if the key is not already there.
+     * If the key is already there, the value supplied is added to the existing value for the key.
+     *
+     * @param key   The key in the map to increment or insert.
+     * @param value The value to increment by or initialise to.
+     */
+    public void upsert(final String key, final long value) {
+        final int index = indexOf(key);
+        if (index >= 0) {
+            counts[index] += value;
+        } else {
+            insert(-(index + 1), key, value);
+        }
+    }
+
+    /**
+     * Increments the value of an existing key by 1.
+     * If the key doesn't exist, initialises the value to 1.
+     *
+     * @param key The key to increment or insert.
+     */
+    public void upsert(final String key) {
+        upsert(key, 1L);
+    }
+
+    /**
+     * Gets the frequency of a key without boxing it.
+     *
+     * @param key the key to look up
+     * @return the frequency of the key, or 0 if the key is not in the map
+     */
+    public long getCount(final String key) {
+        final int index = indexOf(key);
+        return index >= 0 ? counts[index] : 0L;
+    }
+
+    /**
+     * Merges the frequencies of another {@code CompactFreqMap} into this one.
+     * As the keys of both maps are sorted this is a single linear merge.
+     *
+     * @param other the map to merge into this one
+     * @return this map, after the merge
+     */
+    public CompactFreqMap merge(final CompactFreqMap other) {
+        if (null == other || 0 == other.size) {
+            return this;
+        }
+
+        if (0 == size) {
+            keys = Arrays.copyOf(other.keys, other.size);
+            counts = Arrays.copyOf(other.counts, other.size);
+            size = other.size;
+            return this;
+        }
+
+        final String[] mergedKeys = new String[size + other.size];
+        final long[] mergedCounts = new long[size + other.size];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < size && j < other.size) {
+            final int comparison = keys[i].compareTo(other.keys[j]);
+            if (comparison < 0) {
+                mergedKeys[k] = keys[i];
+                mergedCounts[k++] = counts[i++];
+            } else if (comparison > 0) {
+                mergedKeys[k] = other.keys[j];
+                mergedCounts[k++] = other.counts[j++];
+            } else {
+                mergedKeys[k] = keys[i];
+                mergedCounts[k++] = counts[i++] + other.counts[j++];
+            }
+        }
+        while (i < size) {
+            mergedKeys[k] = keys[i];
+            mergedCounts[k++] = counts[i++];
+        }
+        while (j < other.size) {
+            mergedKeys[k] = other.keys[j];
+            mergedCounts[k++] = other.counts[j++];
+        }
+
+        keys = mergedKeys;
+        counts = mergedCounts;
+        size = k;
+        return this;
+    }
+
+    /**
+     * @return a {@link FreqMap} containing the same keys and frequencies
+     */
+    public FreqMap toFreqMap() {
+        final FreqMap freqMap = new FreqMap(Math.max(16, (int) (size / 0.75f) + 1));
+        for (int i = 0; i < size; i++) {
+            freqMap.put(keys[i], counts[i]);
+        }
+        return freqMap;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return key instanceof String && indexOf((String) key) >= 0;
+    }
+
+    @Override
+    public Long get(final Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+
+        final int index = indexOf((String) key);
+        return index >= 0 ? counts[index] : null;
+    }
+
+    @Override
+    public Long put(final String key, final Long value) {
+        if (null == key || null == value) {
+            throw new IllegalArgumentException("Null keys and values are not supported by " + getClass().getSimpleName());
+        }
+
+        final int index = indexOf(key);
+        if (index >= 0) {
+            final long previous = counts[index];
+            counts[index] = value;
+            return previous;
+        }
+
+        insert(-(index + 1), key, value);
+        return null;
+    }
+
+    @Override
+    public Long remove(final Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+
+        final int index = indexOf((String) key);
+        if (index < 0) {
+            return null;
+        }
+
+        final long previous = counts[index];
+        removeAt(index);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0, size, null);
+        size = 0;
+    }
+
+    @Override
+    public Set<Entry<String, Long>> entrySet() {
+        return new AbstractSet<Entry<String, Long>>() {
+            @Override
+            public Iterator<Entry<String, Long>> iterator() {
+                return new Iterator<Entry<String, Long>>() {
+                    private int index;
+                    private int lastReturned = -1;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < size;
+                    }
+
+                    @Override
+                    public Entry<String, Long> next() {
+                        if (index >= size) {
+                            throw new NoSuchElementException();
+                        }
+                        lastReturned = index++;
+                        return new SimpleImmutableEntry<>(keys[lastReturned], counts[lastReturned]);
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (lastReturned < 0) {
+                            throw new IllegalStateException();
+                        }
+                        removeAt(lastReturned);
+                        index = lastReturned;
+                        lastReturned = -1;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int indexOf(final String key) {
+        if (null == key) {
+            return -1;
+        }
+
+        // Fast path for keys added in ascending order
+        if (0 == size || key.compareTo(keys[size - 1]) > 0) {
+            return -(size + 1);
+        }
+
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insert(final int index, final String key, final long value) {
+        if (null == key) {
+            throw new IllegalArgumentException("Null keys are not supported by " + getClass().getSimpleName());
+        }
+
+        if (size == keys.length) {
+            final int newCapacity = Math.max(4, size + (size >> 1));
+            keys = Arrays.copyOf(keys, newCapacity);
+            counts = Arrays.copyOf(counts, newCapacity);
+        }
+        if (index < size) {
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(counts, index, counts, index + 1, size - index);
+        }
+        keys[index] = key.intern();
+        counts[index] = value;
+        size++;
+    }
+
+    private void removeAt(final int index) {
+        final int numToMove = size - index - 1;
+        if (numToMove > 0) {
+            System.arraycopy(keys, index + 1, keys, index, numToMove);
+            System.arraycopy(counts, index + 1, counts, index, numToMove);
+        }
+        keys[--size] = null;
+    }
+}
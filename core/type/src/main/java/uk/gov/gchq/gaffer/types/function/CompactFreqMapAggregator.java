@@ -0,0 +1,36 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.types.function;
+
+import uk.gov.gchq.gaffer.types.CompactFreqMap;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+import uk.gov.gchq.koryphe.binaryoperator.KorypheBinaryOperator;
+
+/**
+ * A {@code CompactFreqMapAggregator} is a {@link KorypheBinaryOperator} that takes in
+ * {@link CompactFreqMap}s and merges the frequencies together. As the keys of both
+ * maps are sorted the frequencies are merged in a single pass.
+ */
+@Since("1.6.0")
+@Summary("Aggregates CompactFreqMap objects")
+public class CompactFreqMapAggregator extends KorypheBinaryOperator<CompactFreqMap> {
+    @Override
+    protected CompactFreqMap _apply(final CompactFreqMap a, final CompactFreqMap b) {
+        return a.merge(b);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.serialisation;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.types.CompactFreqMap;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompactFreqMapSerialiserTest extends ToBytesSerialisationTest<CompactFreqMap> {
+
+    @Test
+    public void canSerialiseEmptyCompactFreqMap() throws SerialisationException {
+        // When
+        final CompactFreqMap deserialised = serialiser.deserialise(serialiser.serialise(new CompactFreqMap()));
+
+        // Then
+        assertEquals(0, deserialised.size());
+    }
+
+    @Test
+    public void shouldSerialiseDeserialiseKeysWithSharedPrefixes() throws SerialisationException {
+        // Given
+        final CompactFreqMap freqMap = new CompactFreqMap();
+        freqMap.upsert("", 1L);
+        freqMap.upsert("prefix", 2L);
+        freqMap.upsert("prefix1", 3L);
+        freqMap.upsert("prefix12", Long.MAX_VALUE);
+        freqMap.upsert("prefix2", -4L);
+        freqMap.upsert("pr😀", 5L);
+        freqMap.upsert("pr😁", 6L);
+
+        // When
+        final byte[] serialised = serialiser.serialise(freqMap);
+        final CompactFreqMap deserialised = serialiser.deserialise(serialised);
+
+        // Then
+        assertEquals(freqMap, deserialised);
+    }
+
+    @Test
+    public void shouldSerialiseDeserialiseLargeCompactFreqMap() throws SerialisationException {
+        // Given
+        final Random random = new Random(1L);
+        final CompactFreqMap freqMap = new CompactFreqMap();
+        for (int i = 0; i < 10000; i++) {
+            freqMap.upsert("vertex" + random.nextInt(1000000), random.nextInt(1000));
+        }
+
+        // When
+        final CompactFreqMap deserialised = serialiser.deserialise(serialiser.serialise(freqMap));
+
+        // Then
+        assertEquals(freqMap, deserialised);
+    }
+
+    @Override
+    public void shouldDeserialiseEmpty() throws SerialisationException {
+        // When
+        final CompactFreqMap value = serialiser.deserialiseEmpty();
+
+        // Then
+        assertEquals(new CompactFreqMap(), value);
+    }
+
+    @Test
+    public void cantSerialiseStringClass() throws SerialisationException {
+        assertFalse(serialiser.canHandle(String.class));
+    }
+
+    @Test
+    public void canSerialiseCompactFreqMap() throws SerialisationException {
+        assertTrue(serialiser.canHandle(CompactFreqMap.class));
+    }
+
+    @Override
+    public Serialiser<CompactFreqMap, byte[]> getSerialisation() {
+        return new CompactFreqMapSerialiser();
+    }
+
+    @Override
+    public Pair<CompactFreqMap, byte[]>[] getHistoricSerialisationPairs() {
+        final CompactFreqMap freqMap = new CompactFreqMap();
+        freqMap.put("x", 10L);
+        freqMap.put("y", 5L);
+        freqMap.put("z", 20L);
+        final CompactFreqMap freqMapWithPrefixes = new CompactFreqMap();
+        freqMapWithPrefixes.put("ab", 1L);
+        freqMapWithPrefixes.put("abc", 2L);
+        return new Pair[]{
+                new Pair(freqMap, new byte[]{3, 0, 1, 120, 10, 0, 1, 121, 5, 0, 1, 122, 20}),
+                new Pair(freqMapWithPrefixes, new byte[]{2, 0, 2, 97, 98, 1, 2, 1, 99, 2})
+        };
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.types;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CompactFreqMapTest {
+
+    @Test
+    public void shouldUpsertKeysAndKeepThemSorted() {
+        // Given
+        final CompactFreqMap freqMap = new CompactFreqMap();
+
+        // When
+        freqMap.upsert("c", 2L);
+        freqMap.upsert("a");
+        freqMap.upsert("b", 5L);
+        freqMap.upsert("a", 3L);
+
+        // Then
+        assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(freqMap.keySet()));
+        assertEquals(4L, freqMap.getCount("a"));
+        assertEquals(5L, freqMap.getCount("b"));
+        assertEquals(2L, freqMap.getCount("c"));
+        assertEquals(0L, freqMap.getCount("d"));
+        assertNull(freqMap.get("d"));
+    }
+
+    @Test
+    public void shouldInternKeys() {
+        // Given
+        final CompactFreqMap freqMap = new CompactFreqMap();
+        final String key = new String(new char[]{'k', 'e', 'y'});
+
+        // When
+        freqMap.upsert(key);
+
+        // Then
+        assertSame("key", freqMap.keySet().iterator().next());
+    }
+
+    @Test
+    public void shouldBehaveLikeFreqMap() {
+        // Given
+        final Random random = new Random(1L);
+        final FreqMap expected = new FreqMap();
+        final CompactFreqMap freqMap = new CompactFreqMap();
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            final String key = "key" + random.nextInt(200);
+            final long value = random.nextInt(10);
+            if (random.nextInt(10) == 0) {
+                assertEquals(expected.remove(key), freqMap.remove(key));
+            } else {
+                expected.upsert(key, value);
+                freqMap.upsert(key, value);
+            }
+        }
+
+        // Then
+        assertEquals(expected, freqMap);
+        assertEquals(freqMap, expected);
+        assertEquals(expected.hashCode(), freqMap.hashCode());
+        assertEquals(expected, freqMap.toFreqMap());
+        assertEquals(freqMap, new CompactFreqMap(expected));
+    }
+
+    @Test
+    public void shouldMergeSortedMaps() {
+        // Given
+        final CompactFreqMap freqMap1 = new CompactFreqMap();
+        freqMap1.upsert("a", 1L);
+        freqMap1.upsert("c", 3L);
+        freqMap1.upsert("e", 5L);
+        final CompactFreqMap freqMap2 = new CompactFreqMap();
+        freqMap2.upsert("b", 2L);
+        freqMap2.upsert("c", 4L);
+        freqMap2.upsert("f", 6L);
+
+        // When
+        final CompactFreqMap result = freqMap1.merge(freqMap2);
+
+        // Then
+        assertSame(freqMap1, result);
+        assertEquals(Arrays.asList("a", "b", "c", "e", "f"), new ArrayList<>(result.keySet()));
+        assertEquals(Arrays.asList(1L, 2L, 7L, 5L, 6L), new ArrayList<>(result.values()));
+    }
+
+    @Test
+    public void shouldRemoveEntriesThroughIterator() {
+        // Given
+        final CompactFreqMap freqMap = new CompactFreqMap();
+        freqMap.upsert("a", 1L);
+        freqMap.upsert("b", 2L);
+        freqMap.upsert("c", 3L);
+
+        // When
+        final Iterator<Map.Entry<String, Long>> itr = freqMap.entrySet().iterator();
+        while (itr.hasNext()) {
+            if (itr.next().getValue() % 2 == 1) {
+                itr.remove();
+            }
+        }
+
+        // Then
+        assertEquals(1, freqMap.size());
+        assertTrue(freqMap.containsKey("b"));
+        assertFalse(freqMap.containsKey("a"));
+    }
+
+    @Test
+    public void shouldNotAllowNullKeys() {
+        // Given
+        final CompactFreqMap freqMap = new CompactFreqMap();
+
+        // When / Then
+        try {
+            freqMap.put(null, 1L);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void shouldJsonSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final CompactFreqMap freqMap = new CompactFreqMap();
+        freqMap.upsert("b", 2L);
+        freqMap.upsert("a", 1L);
+
+        // When
+        final byte[] json = JSONSerialiser.serialise(freqMap);
+        final CompactFreqMap deserialised = JSONSerialiser.deserialise(json, CompactFreqMap.class);
+
+        // Then
+        assertEquals("{\"a\":1,\"b\":2}", new String(json));
+        assertEquals(freqMap, deserialised);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.types.function;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.JsonAssert;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.types.CompactFreqMap;
+import uk.gov.gchq.gaffer.types.FreqMap;
+import uk.gov.gchq.koryphe.binaryoperator.BinaryOperatorTest;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class CompactFreqMapAggregatorTest extends BinaryOperatorTest {
+    @Test
+    public void shouldMergeCompactFreqMaps() {
+        // Given
+        final CompactFreqMapAggregator aggregator = new CompactFreqMapAggregator();
+
+        final CompactFreqMap freqMap1 = new CompactFreqMap();
+        freqMap1.put("1", 2L);
+        freqMap1.put("2", 3L);
+
+        final CompactFreqMap freqMap2 = new CompactFreqMap();
+        freqMap2.put("2", 4L);
+        freqMap2.put("3", 5L);
+
+        // When
+        final CompactFreqMap result = aggregator.apply(freqMap1, freqMap2);
+
+        // Then
+        assertEquals((Long) 2L, result.get("1"));
+        assertEquals((Long) 7L, result.get("2"));
+        assertEquals((Long) 5L, result.get("3"));
+    }
+
+    @Test
+    public void shouldGiveSameResultAsFreqMapAggregator() {
+        // Given
+        final Random random = new Random(1L);
+        FreqMap expected = new FreqMap();
+        CompactFreqMap result = new CompactFreqMap();
+
+        for (int i = 0; i < 20; i++) {
+            final FreqMap freqMap = new FreqMap();
+            for (int j = 0; j < 50; j++) {
+                freqMap.upsert("key" + random.nextInt(500), (long) random.nextInt(100));
+            }
+
+            // When
+            expected = new FreqMapAggregator().apply(expected, new FreqMap(freqMap));
+            result = new CompactFreqMapAggregator().apply(result, new CompactFreqMap(freqMap));
+        }
+
+        // Then
+        assertEquals(expected, result);
+    }
+
+    @Override
+    @Test
+    public void shouldJsonSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final CompactFreqMapAggregator aggregator = new CompactFreqMapAggregator();
+
+        // When 1
+        final String json = new String(JSONSerialiser.serialise(aggregator, true));
+
+        // Then 1
+        JsonAssert.assertEquals(String.format("{%n" +
+                "  \"class\" : \"uk.gov.gchq.gaffer.types.function.CompactFreqMapAggregator\"%n" +
+                "}"), json);
+
+        // When 2
+        final CompactFreqMapAggregator deserialisedAggregator = JSONSerialiser.deserialise(json.getBytes(), getFunctionClass());
+
+        // Then 2
+        assertNotNull(deserialisedAggregator);
+    }
+
+    @Override
+    protected CompactFreqMapAggregator getInstance() {
+        return new CompactFreqMapAggregator();
+    }
+
+    @Override
+    protected Class<CompactFreqMapAggregator> getFunctionClass() {
+        return CompactFreqMapAggregator.class;
+    }
+}
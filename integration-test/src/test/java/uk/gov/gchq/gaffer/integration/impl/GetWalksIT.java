@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.integration.impl;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -200,6 +201,38 @@ public class GetWalksIT extends AbstractStoreIT {
         }
     }
 
+    @Test
+    public void shouldGetPathsWithCompactAdjacencyMaps() throws Exception {
+        // Given
+        withCompactAdjacencyMaps();
+        final User user = new User();
+
+        final EntitySeed seed = new EntitySeed("A");
+
+        final GetElements operation = new GetElements.Builder()
+                .directedType(DirectedType.DIRECTED)
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                                .properties(TestPropertyNames.COUNT)
+                                .build())
+                        .edge(TestGroups.EDGE_2, new ViewElementDefinition.Builder()
+                                .properties(TestPropertyNames.COUNT)
+                                .build())
+                        .build()).inOutType(SeededGraphFilters.IncludeIncomingOutgoingType.OUTGOING)
+                .build();
+
+        final GetWalks op = new GetWalks.Builder()
+                .input(seed)
+                .operations(operation, operation, operation)
+                .build();
+
+        // When
+        final Iterable<Walk> results = graph.execute(op, user);
+
+        // Then
+        assertThat(Sets.newHashSet(getPaths(results).split(",")), is(equalTo(Sets.newHashSet("AEDA", "AEFC"))));
+    }
+
     @Test
     public void shouldGetPathsWithPruning() throws Exception {
         // Given
@@ -950,6 +983,14 @@ public class GetWalksIT extends AbstractStoreIT {
         addDefaultElements();
     }
 
+    public void withCompactAdjacencyMaps() throws OperationException {
+        final StoreProperties storeProperties = getStoreProperties();
+        storeProperties.setOperationDeclarationPaths("getWalksWithCompactDeclaration.json");
+        addStoreProperties(storeProperties);
+
+        addDefaultElements();
+    }
+
     public void withGraphHook(final GraphHook graphHook) throws OperationException {
         final GraphConfig graphConfig = new GraphConfig.Builder().addHook(graphHook).graphId("integrationTest").build();
         addGraphConfig(graphConfig);
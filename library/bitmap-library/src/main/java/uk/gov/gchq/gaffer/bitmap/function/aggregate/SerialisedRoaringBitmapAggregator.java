@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.bitmap.function.aggregate;
+
+import org.roaringbitmap.buffer.BufferFastAggregation;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+import uk.gov.gchq.gaffer.bitmap.serialisation.utils.RoaringBitmapUtils;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+import uk.gov.gchq.koryphe.binaryoperator.KorypheBinaryOperator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aggregator for serialised {@link org.roaringbitmap.RoaringBitmap}s, in the
+ * form produced by {@link uk.gov.gchq.gaffer.bitmap.serialisation.RoaringBitmapSerialiser}.
+ * Bitmaps are aggregated using a bitwise OR operation over immutable views
+ * of the serialised bytes, so the operands are never fully deserialised.
+ * Use {@link #aggregate(Iterable)} to merge many bitmaps in a single lazy OR,
+ * e.g. when combining many versions of a value during a compaction.
+ * To use it in a store, declare the property in the schema with class
+ * {@code byte[]}, the {@link uk.gov.gchq.gaffer.serialisation.implementation.BytesSerialiser}
+ * and this class as the aggregate function.
+ */
+@Since("1.6.0")
+@Summary("Aggregates serialised RoaringBitmaps")
+public class SerialisedRoaringBitmapAggregator extends KorypheBinaryOperator<byte[]> {
+    @Override
+    protected byte[] _apply(final byte[] a, final byte[] b) {
+        return aggregate(Arrays.asList(a, b));
+    }
+
+    /**
+     * Merges all of the provided serialised bitmaps. Null or empty arrays are
+     * ignored.
+     *
+     * @param serialisedBitmaps the serialised bitmaps to merge
+     * @return the serialised union of the bitmaps, or null if there were no
+     * non-empty inputs
+     */
+    public byte[] aggregate(final Iterable<byte[]> serialisedBitmaps) {
+        try {
+            final List<ImmutableRoaringBitmap> bitmaps = new ArrayList<>();
+            for (final byte[] serialisedBitmap : serialisedBitmaps) {
+                if (null != serialisedBitmap && serialisedBitmap.length > 0) {
+                    bitmaps.add(RoaringBitmapUtils.toImmutableRoaringBitmap(serialisedBitmap, 0, serialisedBitmap.length));
+                }
+            }
+            if (bitmaps.isEmpty()) {
+                return null;
+            }
+            return RoaringBitmapUtils.serialise(BufferFastAggregation.horizontal_or(
+                    bitmaps.toArray(new ImmutableRoaringBitmap[bitmaps.size()])));
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException("Unable to aggregate serialised RoaringBitmaps: " + e.getMessage(), e);
+        }
+    }
+}
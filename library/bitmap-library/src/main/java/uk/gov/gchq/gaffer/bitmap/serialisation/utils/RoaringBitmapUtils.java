@@ -15,6 +15,9 @@
  */
 package uk.gov.gchq.gaffer.bitmap.serialisation.utils;
 
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 
 import java.io.ByteArrayInputStream;
@@ -23,10 +26,12 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 /**
  * Contains a method for converting version 0.1.5 serialised RoaringBitmaps into
- * version 0.4.0-0.6.35 compatible forms.
+ * version 0.4.0-0.6.35 compatible forms, and methods for working with
+ * serialised RoaringBitmaps without deserialising them.
  */
 public final class RoaringBitmapUtils {
     private static final int BITMAP_CONTAINER_SIZE = (1 << 16) / 8;
@@ -40,6 +45,54 @@ public final class RoaringBitmapUtils {
 
     }
 
+    /**
+     * Creates an {@link ImmutableRoaringBitmap} view over a serialised RoaringBitmap.
+     * If the bytes are in a current serialised form then they are not copied,
+     * the view reads the containers directly from the provided array. Bitmaps
+     * serialised using version 0.1.5 are first up-converted.
+     *
+     * @param serialisedBitmap the array containing the serialised bitmap
+     * @param offset           the offset of the serialised bitmap in the array
+     * @param length           the length of the serialised bitmap
+     * @return an immutable view over the serialised bitmap
+     * @throws SerialisationException if the bytes are not a serialised RoaringBitmap
+     */
+    public static ImmutableRoaringBitmap toImmutableRoaringBitmap(final byte[] serialisedBitmap, final int offset, final int length) throws SerialisationException {
+        if (length < 4) {
+            throw new SerialisationException("I failed to read the bitmap version cookie");
+        }
+        final int cookie = ByteBuffer.wrap(serialisedBitmap, offset, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+        final ByteBuffer buffer;
+        if (cookie == VERSION_ZERO_ONE_FIVE_TO_ZERO_THREE_SEVEN_SERIAL_COOKIE) {
+            buffer = ByteBuffer.wrap(upConvertSerialisedForm(serialisedBitmap, offset, length));
+        } else {
+            buffer = ByteBuffer.wrap(serialisedBitmap, offset, length).slice();
+        }
+        try {
+            return new ImmutableRoaringBitmap(buffer);
+        } catch (final RuntimeException e) {
+            throw new SerialisationException("I failed to read the serialised roaring bitmap", e);
+        }
+    }
+
+    /**
+     * Serialises a {@link MutableRoaringBitmap}. The serialised form is the
+     * same as that of a {@link org.roaringbitmap.RoaringBitmap}.
+     *
+     * @param bitmap the bitmap to serialise
+     * @return the serialised bitmap
+     * @throws SerialisationException if the bitmap could not be written
+     */
+    public static byte[] serialise(final MutableRoaringBitmap bitmap) throws SerialisationException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream(bitmap.serializedSizeInBytes());
+        try {
+            bitmap.serialize(new DataOutputStream(baos));
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+        return baos.toByteArray();
+    }
+
     public static byte[] upConvertSerialisedForm(final byte[] serialisedBitmap, final int offset, final int length) throws SerialisationException {
         try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(serialisedBitmap, offset, length))) {
             int cookie;
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.bitmap.function.aggregate;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+import uk.gov.gchq.gaffer.bitmap.serialisation.RoaringBitmapSerialiser;
+import uk.gov.gchq.gaffer.bitmap.serialisation.utils.RoaringBitmapUtils;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.koryphe.binaryoperator.BinaryOperatorTest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BinaryOperator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class SerialisedRoaringBitmapAggregatorTest extends BinaryOperatorTest {
+    private static final RoaringBitmapSerialiser SERIALISER = new RoaringBitmapSerialiser();
+
+    @Test
+    public void shouldReturnNullForNullInputs() {
+        // Given
+        final SerialisedRoaringBitmapAggregator aggregator = new SerialisedRoaringBitmapAggregator();
+
+        // When
+        final byte[] result = aggregator.apply(null, null);
+
+        // Then
+        assertNull(result);
+    }
+
+    @Test
+    public void shouldReturnNullWhenAggregatingOnlyEmptyInputs() {
+        // Given
+        final SerialisedRoaringBitmapAggregator aggregator = new SerialisedRoaringBitmapAggregator();
+
+        // When
+        final byte[] result = aggregator.aggregate(Lists.newArrayList(new byte[0], null));
+
+        // Then
+        assertNull(result);
+        assertNull(aggregator.aggregate(new ArrayList<>()));
+    }
+
+    @Test
+    public void shouldAggregateTwoSerialisedBitmaps() throws SerialisationException {
+        // Given
+        final RoaringBitmap bitmap1 = RoaringBitmap.bitmapOf(1, 100, 70000);
+        final RoaringBitmap bitmap2 = RoaringBitmap.bitmapOf(2, 100, 1000000);
+        final SerialisedRoaringBitmapAggregator aggregator = new SerialisedRoaringBitmapAggregator();
+
+        // When
+        final byte[] result = aggregator.apply(SERIALISER.serialise(bitmap1), SERIALISER.serialise(bitmap2));
+
+        // Then
+        assertEquals(RoaringBitmap.or(bitmap1, bitmap2), SERIALISER.deserialise(result));
+    }
+
+    @Test
+    public void shouldAggregateManySerialisedBitmapsIncludingBitmapContainers() throws SerialisationException {
+        // Given
+        final List<byte[]> serialisedBitmaps = new ArrayList<>();
+        final RoaringBitmap expected = new RoaringBitmap();
+        for (int i = 0; i < 200; i++) {
+            final RoaringBitmap bitmap = new RoaringBitmap();
+            for (int j = 0; j < 100; j++) {
+                bitmap.add(i * 37 + j * 997);
+            }
+            if (i % 50 == 0) {
+                for (int j = 0; j < 20000; j++) {
+                    bitmap.add(j);
+                }
+            }
+            expected.or(bitmap);
+            serialisedBitmaps.add(SERIALISER.serialise(bitmap));
+        }
+        serialisedBitmaps.add(new byte[0]);
+
+        // When
+        final byte[] result = new SerialisedRoaringBitmapAggregator().aggregate(serialisedBitmaps);
+
+        // Then
+        assertEquals(expected, SERIALISER.deserialise(result));
+    }
+
+    @Test
+    public void shouldCreateImmutableViewOfSerialisedBitmapAtAnOffset() throws SerialisationException {
+        // Given
+        final RoaringBitmap bitmap = RoaringBitmap.bitmapOf(5, 6, 7);
+        final byte[] serialised = SERIALISER.serialise(bitmap);
+        final byte[] padded = new byte[serialised.length + 3];
+        System.arraycopy(serialised, 0, padded, 3, serialised.length);
+
+        // When
+        final ImmutableRoaringBitmap view = RoaringBitmapUtils.toImmutableRoaringBitmap(padded, 3, serialised.length);
+
+        // Then
+        assertEquals(bitmap, SERIALISER.deserialise(RoaringBitmapUtils.serialise(view.toMutableRoaringBitmap())));
+    }
+
+    @Test
+    public void shouldThrowExceptionForInvalidSerialisedBitmap() {
+        // Given
+        final SerialisedRoaringBitmapAggregator aggregator = new SerialisedRoaringBitmapAggregator();
+
+        // When / Then
+        try {
+            aggregator.aggregate(Lists.newArrayList(new byte[]{1, 2, 3, 4, 5}));
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            // Expected
+        }
+    }
+
+    @Override
+    protected SerialisedRoaringBitmapAggregator getInstance() {
+        return new SerialisedRoaringBitmapAggregator();
+    }
+
+    @Override
+    protected Class<? extends BinaryOperator> getFunctionClass() {
+        return SerialisedRoaringBitmapAggregator.class;
+    }
+
+    @Override
+    public void shouldJsonSerialiseAndDeserialise() throws IOException {
+
+    }
+}
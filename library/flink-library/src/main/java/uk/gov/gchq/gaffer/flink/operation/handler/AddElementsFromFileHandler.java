@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.flink.operation.handler;
 
+import org.apache.flink.api.common.io.OutputFormat;
 import org.apache.flink.api.java.ExecutionEnvironment;
 import org.apache.flink.api.java.operators.FlatMapOperator;
 
@@ -38,6 +39,13 @@ import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
  * <p>
  * Rebalancing can be skipped by setting the operation option: gaffer.flink.operation.handler.skip-rebalancing to true
  * </p>
+ * <p>
+ * Elements can be pre-aggregated before being added to the store by setting
+ * the operation option: gaffer.flink.operation.handler.pre-aggregate to true.
+ * The data set is then partitioned on the ingest aggregation key, rather than
+ * rebalanced, so that elements that can be aggregated together are sent to
+ * the same output. See {@link AggregatingGafferAdder} for details.
+ * </p>
  */
 public class AddElementsFromFileHandler implements OperationHandler<AddElementsFromFile> {
     @Override
@@ -51,10 +59,20 @@ public class AddElementsFromFileHandler implements OperationHandler<AddElementsF
                 env.readTextFile(op.getFilename())
                         .flatMap(new GafferMapFunction(String.class, op.getElementGenerator()));
 
+        final boolean preAggregate = Boolean.parseBoolean(op.getOption(FlinkConstants.PRE_AGGREGATE));
+        final OutputFormat<Element> output;
+        if (preAggregate) {
+            output = new AggregatingGafferOutput(op, store);
+        } else {
+            output = new GafferOutput(op, store);
+        }
+
         if (Boolean.parseBoolean(op.getOption(FlinkConstants.SKIP_REBALANCING))) {
-            builder.output(new GafferOutput(op, store));
+            builder.output(output);
+        } else if (preAggregate) {
+            builder.partitionByHash(new IngestElementKeySelector(store.getSchema())).output(output);
         } else {
-            builder.rebalance().output(new GafferOutput(op, store));
+            builder.rebalance().output(output);
         }
 
         try {
@@ -17,6 +17,7 @@ package uk.gov.gchq.gaffer.flink.operation.handler;
 
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.streaming.api.functions.sink.SinkFunction;
 
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.flink.operation.handler.util.FlinkConstants;
@@ -38,6 +39,13 @@ import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
  * <p>
  * Rebalancing can be skipped by setting the operation option: gaffer.flink.operation.handler.skip-rebalancing to true
  * </p>
+ * <p>
+ * Elements can be pre-aggregated before being added to the store by setting
+ * the operation option: gaffer.flink.operation.handler.pre-aggregate to true.
+ * The stream is then keyed on the ingest aggregation key, rather than
+ * rebalanced, so that elements that can be aggregated together are sent to
+ * the same sink. See {@link AggregatingGafferAdder} for details.
+ * </p>
  */
 public class AddElementsFromSocketHandler implements OperationHandler<AddElementsFromSocket> {
     @Override
@@ -51,10 +59,20 @@ public class AddElementsFromSocketHandler implements OperationHandler<AddElement
                 env.socketTextStream(op.getHostname(), op.getPort(), op.getDelimiter())
                         .flatMap(new GafferMapFunction(String.class, op.getElementGenerator()));
 
+        final boolean preAggregate = Boolean.parseBoolean(op.getOption(FlinkConstants.PRE_AGGREGATE));
+        final SinkFunction<Element> sink;
+        if (preAggregate) {
+            sink = new AggregatingGafferSink(op, store);
+        } else {
+            sink = new GafferSink(op, store);
+        }
+
         if (Boolean.parseBoolean(op.getOption(FlinkConstants.SKIP_REBALANCING))) {
-            builder.addSink(new GafferSink(op, store));
+            builder.addSink(sink);
+        } else if (preAggregate) {
+            builder.keyBy(new IngestElementKeySelector(store.getSchema())).addSink(sink);
         } else {
-            builder.rebalance().addSink(new GafferSink(op, store));
+            builder.rebalance().addSink(sink);
         }
 
         try {
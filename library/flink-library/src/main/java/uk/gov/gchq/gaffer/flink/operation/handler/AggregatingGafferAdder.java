@@ -0,0 +1,273 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.flink.operation.handler;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.flink.operation.handler.util.FlinkConstants;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.Validatable;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.ElementValidator;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.ValidationResult;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Helper class to pre-aggregate {@link Element}s before adding them to a
+ * Gaffer store.
+ * </p>
+ * <p>
+ * Elements in groups that have ingest aggregation are combined in memory,
+ * keyed on {@link AggregatorUtil.ToIngestElementKey} and merged using
+ * {@link AggregatorUtil.IngestElementBinaryOperator}. Elements in groups
+ * without aggregation are buffered unchanged. If validation is enabled each
+ * element is validated against the schema before it is buffered, so invalid
+ * elements are skipped or rejected individually rather than being merged into
+ * valid ones. The buffer is flushed to the store using a single synchronous
+ * {@link AddElements} operation when:
+ * </p>
+ * <ul>
+ * <li>the number of buffered elements reaches
+ * gaffer.flink.operation.handler.pre-aggregate.max-buffer-size (default 100,000)</li>
+ * <li>the buffer is older than
+ * gaffer.flink.operation.handler.pre-aggregate.flush-interval-millis (default 1,000)</li>
+ * <li>{@link #flush()} is called, e.g. on a Flink checkpoint barrier.</li>
+ * </ul>
+ * <p>
+ * For streams with many duplicate keys this significantly reduces the number
+ * of elements written to the store. Streams should be partitioned using an
+ * {@link IngestElementKeySelector} so that duplicates meet in the same adder.
+ * The buffer is swapped out under the adder's lock but written to the store
+ * outside it, so elements can continue to be added whilst a time based flush
+ * is in progress.
+ * </p>
+ */
+@SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "There are null checks that will initialise the fields")
+public class AggregatingGafferAdder implements Serializable {
+    private static final long serialVersionUID = 4521713263431467154L;
+    public static final int MAX_BUFFER_SIZE_DEFAULT = 100000;
+    public static final long FLUSH_INTERVAL_DEFAULT = 1000L;
+
+    private final String graphId;
+    private final byte[] schema;
+    private final Properties properties;
+
+    private final boolean validate;
+    private final boolean skipInvalid;
+    private final int maxBufferSize;
+    private final long flushInterval;
+
+    private transient Store store;
+    private transient AggregatorUtil.ToIngestElementKey toKey;
+    private transient AggregatorUtil.IngestElementBinaryOperator aggregator;
+    private transient AggregatorUtil.IsElementAggregated isAggregated;
+    private transient ElementValidator validator;
+    private transient Map<Element, Element> aggregatedBuffer;
+    private transient List<Element> nonAggregatedBuffer;
+    private transient ScheduledExecutorService scheduler;
+    private transient long bufferStartTime;
+    private transient long lastFlushLatency;
+    private transient long flushedCount;
+    private transient volatile RuntimeException flushFailure;
+    private transient Object flushLock;
+
+    public <OP extends Validatable & Operation> AggregatingGafferAdder(final OP operation, final Store store) {
+        this.store = store;
+        this.validate = operation.isValidate();
+        this.skipInvalid = operation.isSkipInvalidElements();
+        final String maxBufferSizeOption = operation.getOption(FlinkConstants.PRE_AGGREGATE_MAX_BUFFER_SIZE);
+        this.maxBufferSize = null != maxBufferSizeOption ? Integer.parseInt(maxBufferSizeOption) : MAX_BUFFER_SIZE_DEFAULT;
+        final String flushIntervalOption = operation.getOption(FlinkConstants.PRE_AGGREGATE_FLUSH_INTERVAL);
+        this.flushInterval = null != flushIntervalOption ? Long.parseLong(flushIntervalOption) : FLUSH_INTERVAL_DEFAULT;
+        graphId = store.getGraphId();
+        schema = store.getSchema().toCompactJson();
+        properties = store.getProperties().getProperties();
+    }
+
+    public synchronized void initialise() {
+        if (null == store) {
+            store = Store.createStore(graphId, Schema.fromJson(schema), StoreProperties.loadStoreProperties(properties));
+        }
+        if (null == aggregatedBuffer) {
+            final Schema storeSchema = store.getSchema();
+            toKey = new AggregatorUtil.ToIngestElementKey(storeSchema);
+            aggregator = new AggregatorUtil.IngestElementBinaryOperator(storeSchema);
+            isAggregated = new AggregatorUtil.IsElementAggregated(storeSchema);
+            validator = new ElementValidator(storeSchema);
+            flushLock = new Object();
+            aggregatedBuffer = new LinkedHashMap<>();
+            nonAggregatedBuffer = new ArrayList<>();
+        }
+        if (null == scheduler && flushInterval > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                final Thread thread = new Thread(r, "gaffer-flink-pre-aggregate-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::flushIfExpired, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void add(final Element element) {
+        checkFlushFailure();
+        if (null == element) {
+            return;
+        }
+
+        final boolean flushRequired;
+        synchronized (this) {
+            initialise();
+            if (validate && !isValid(element)) {
+                return;
+            }
+            if (0 == getBufferSize()) {
+                bufferStartTime = System.currentTimeMillis();
+            }
+
+            if (isAggregated.test(element)) {
+                aggregatedBuffer.merge(toKey.apply(element), element, aggregator::apply);
+            } else {
+                nonAggregatedBuffer.add(element);
+            }
+            flushRequired = getBufferSize() >= maxBufferSize;
+        }
+
+        if (flushRequired) {
+            flush();
+        }
+    }
+
+    /**
+     * Adds all buffered elements to the store and waits for the operation
+     * to complete. Flushes are executed one at a time, but the adder's lock
+     * is not held whilst the elements are added to the store.
+     */
+    public void flush() {
+        checkFlushFailure();
+        synchronized (this) {
+            if (0 == getBufferSize()) {
+                return;
+            }
+        }
+        synchronized (flushLock) {
+            final List<Element> elements;
+            synchronized (this) {
+                if (0 == getBufferSize()) {
+                    return;
+                }
+                elements = new ArrayList<>(getBufferSize());
+                elements.addAll(aggregatedBuffer.values());
+                elements.addAll(nonAggregatedBuffer);
+                aggregatedBuffer.clear();
+                nonAggregatedBuffer.clear();
+            }
+
+            final long startTime = System.currentTimeMillis();
+            try {
+                store.execute(new AddElements.Builder()
+                                .input(elements)
+                                .validate(validate)
+                                .skipInvalidElements(skipInvalid)
+                                .build(),
+                        new Context(new User()));
+            } catch (final OperationException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+            synchronized (this) {
+                lastFlushLatency = System.currentTimeMillis() - startTime;
+                flushedCount += elements.size();
+            }
+        }
+    }
+
+    /**
+     * Flushes any remaining elements and stops the time based flushing.
+     */
+    public void close() {
+        synchronized (this) {
+            if (null != scheduler) {
+                scheduler.shutdownNow();
+                scheduler = null;
+            }
+        }
+        flush();
+    }
+
+    public synchronized int getBufferSize() {
+        if (null == aggregatedBuffer) {
+            return 0;
+        }
+        return aggregatedBuffer.size() + nonAggregatedBuffer.size();
+    }
+
+    public synchronized long getLastFlushLatency() {
+        return lastFlushLatency;
+    }
+
+    public synchronized long getFlushedCount() {
+        return flushedCount;
+    }
+
+    private void flushIfExpired() {
+        final boolean expired;
+        synchronized (this) {
+            expired = 0 < getBufferSize() && System.currentTimeMillis() - bufferStartTime >= flushInterval;
+        }
+        if (null == flushFailure && expired) {
+            try {
+                flush();
+            } catch (final RuntimeException e) {
+                flushFailure = e;
+            }
+        }
+    }
+
+    private boolean isValid(final Element element) {
+        final ValidationResult result = validator.validateWithValidationResult(element);
+        if (result.isValid()) {
+            return true;
+        }
+        if (skipInvalid) {
+            return false;
+        }
+        throw new IllegalArgumentException("Element of type " + element + " is not valid. \n" + result.getErrorString());
+    }
+
+    private void checkFlushFailure() {
+        if (null != flushFailure) {
+            throw flushFailure;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.flink.operation.handler;
+
+import org.apache.flink.api.common.io.RichOutputFormat;
+import org.apache.flink.configuration.Configuration;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.Validatable;
+import uk.gov.gchq.gaffer.store.Store;
+
+import java.io.IOException;
+
+/**
+ * Implementation of {@link RichOutputFormat} that pre-aggregates
+ * {@link Element}s using an {@link AggregatingGafferAdder} before adding them
+ * to a Gaffer store. Any remaining buffered elements are flushed when the
+ * output is closed.
+ */
+public class AggregatingGafferOutput extends RichOutputFormat<Element> {
+    private static final long serialVersionUID = 6906251916457146433L;
+    private final AggregatingGafferAdder adder;
+
+    public <OP extends Validatable & Operation> AggregatingGafferOutput(final OP validatable, final Store store) {
+        this(new AggregatingGafferAdder(validatable, store));
+    }
+
+    public AggregatingGafferOutput(final AggregatingGafferAdder adder) {
+        this.adder = adder;
+    }
+
+    @Override
+    public void configure(final Configuration parameters) {
+        // nothing to configure
+    }
+
+    @Override
+    public void writeRecord(final Element element) {
+        adder.add(element);
+    }
+
+    @Override
+    public void open(final int taskNumber, final int numTasks) throws IOException {
+        adder.initialise();
+    }
+
+    @Override
+    public void close() throws IOException {
+        adder.close();
+    }
+}
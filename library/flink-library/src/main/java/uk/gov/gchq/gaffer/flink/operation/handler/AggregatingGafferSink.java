@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.flink.operation.handler;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.runtime.state.FunctionInitializationContext;
+import org.apache.flink.runtime.state.FunctionSnapshotContext;
+import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
+import org.apache.flink.streaming.api.functions.sink.RichSinkFunction;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.Validatable;
+import uk.gov.gchq.gaffer.store.Store;
+
+/**
+ * A Flink sink that pre-aggregates {@link Element}s using an
+ * {@link AggregatingGafferAdder} before adding them to a Gaffer store.
+ * The buffered elements are flushed to the store on each checkpoint, so once
+ * a checkpoint completes all elements received before the barrier have been
+ * added to the store. The sink exposes the following metrics:
+ * bufferSize, lastFlushLatencyMillis and flushedElements.
+ */
+@SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "There are null checks that will initialise the fields")
+public class AggregatingGafferSink extends RichSinkFunction<Element> implements CheckpointedFunction {
+    private static final long serialVersionUID = -2586309186738432164L;
+    private final AggregatingGafferAdder adder;
+
+    public <OP extends Validatable & Operation> AggregatingGafferSink(final OP validatable, final Store store) {
+        this(new AggregatingGafferAdder(validatable, store));
+    }
+
+    public AggregatingGafferSink(final AggregatingGafferAdder adder) {
+        this.adder = adder;
+    }
+
+    @Override
+    public void open(final Configuration parameters) throws Exception {
+        super.open(parameters);
+        adder.initialise();
+
+        final MetricGroup metrics = getRuntimeContext().getMetricGroup();
+        metrics.gauge("bufferSize", (Gauge<Integer>) adder::getBufferSize);
+        metrics.gauge("lastFlushLatencyMillis", (Gauge<Long>) adder::getLastFlushLatency);
+        metrics.gauge("flushedElements", (Gauge<Long>) adder::getFlushedCount);
+    }
+
+    @Override
+    public void invoke(final Element element) throws Exception {
+        adder.add(element);
+    }
+
+    @Override
+    public void snapshotState(final FunctionSnapshotContext context) throws Exception {
+        adder.flush();
+    }
+
+    @Override
+    public void initializeState(final FunctionInitializationContext context) throws Exception {
+        // No state is required as the buffer is always flushed on checkpoint.
+    }
+
+    @Override
+    public void close() throws Exception {
+        adder.close();
+        super.close();
+    }
+}
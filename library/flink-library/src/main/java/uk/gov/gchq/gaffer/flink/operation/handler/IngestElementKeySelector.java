@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.flink.operation.handler;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.flink.api.java.functions.KeySelector;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+
+/**
+ * A {@link KeySelector} that keys {@link Element}s on the hash code of their
+ * ingest aggregation key: the group, identifiers and group-by properties.
+ * Used to partition a stream or data set before pre-aggregation so that all
+ * elements that can be aggregated together are sent to the same
+ * {@link AggregatingGafferAdder}. An integer key is used as Flink requires
+ * comparable keys to partition a data set. Elements in groups that are not in
+ * the schema are keyed on themselves, so they can be rejected by validation.
+ */
+@SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "There are null checks that will initialise the fields")
+public class IngestElementKeySelector implements KeySelector<Element, Integer> {
+    private static final long serialVersionUID = -6104312538467128836L;
+    private final byte[] schema;
+
+    private transient Schema storeSchema;
+    private transient AggregatorUtil.ToIngestElementKey toKey;
+
+    public IngestElementKeySelector(final Schema schema) {
+        this.schema = schema.toCompactJson();
+    }
+
+    @Override
+    public Integer getKey(final Element element) {
+        if (null == toKey) {
+            storeSchema = Schema.fromJson(schema);
+            toKey = new AggregatorUtil.ToIngestElementKey(storeSchema);
+        }
+        if (null == storeSchema.getElement(element.getGroup())) {
+            return element.hashCode();
+        }
+        return toKey.apply(element).hashCode();
+    }
+}
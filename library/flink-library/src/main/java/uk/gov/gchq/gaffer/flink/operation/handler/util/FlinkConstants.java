@@ -30,6 +30,29 @@ public final class FlinkConstants {
      */
     public static final String MAX_QUEUE_SIZE = "gaffer.flink.operation.handler.max-queue-size";
 
+    /**
+     * Operation option key for pre-aggregating elements, using the schema's
+     * ingest aggregators, before they are added to the Gaffer store. Buffered
+     * elements are flushed when a count or time window is reached and on
+     * every Flink checkpoint. This is false by default.
+     */
+    public static final String PRE_AGGREGATE = "gaffer.flink.operation.handler.pre-aggregate";
+
+    /**
+     * Operation option key for setting the maximum number of distinct
+     * elements held in the pre-aggregation buffer before it is flushed to the
+     * Gaffer store.
+     */
+    public static final String PRE_AGGREGATE_MAX_BUFFER_SIZE = "gaffer.flink.operation.handler.pre-aggregate.max-buffer-size";
+
+    /**
+     * Operation option key for setting the maximum time, in milliseconds,
+     * that elements are held in the pre-aggregation buffer before it is
+     * flushed to the Gaffer store. A value of 0 or less disables time based
+     * flushing.
+     */
+    public static final String PRE_AGGREGATE_FLUSH_INTERVAL = "gaffer.flink.operation.handler.pre-aggregate.flush-interval-millis";
+
     private FlinkConstants() {
         // private constructor to prevent users instantiating this class as it
         // only contains constants.
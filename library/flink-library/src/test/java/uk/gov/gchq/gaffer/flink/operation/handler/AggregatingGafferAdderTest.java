@@ -0,0 +1,241 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.flink.operation.handler;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.flink.operation.FlinkTest;
+import uk.gov.gchq.gaffer.flink.operation.handler.util.FlinkConstants;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElementsFromSocket;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class AggregatingGafferAdderTest {
+    @Test
+    public void shouldAggregateElementsAndFlushWhenBufferIsFull() throws Exception {
+        // Given
+        final Store store = createStore();
+        final AggregatingGafferAdder adder = new AggregatingGafferAdder(createOperation("2", "0"), store);
+
+        // When
+        adder.add(createEntity(TestGroups.ENTITY, "1", 1L));
+        adder.add(createEntity(TestGroups.ENTITY, "1", 2L));
+        adder.add(createEntity(TestGroups.ENTITY, "1", 3L));
+
+        // Then
+        verify(store, never()).execute(Mockito.any(AddElements.class), Mockito.any());
+        assertEquals(1, adder.getBufferSize());
+
+        // When
+        adder.add(createEntity(TestGroups.ENTITY, "2", 1L));
+
+        // Then
+        assertEquals(Lists.newArrayList(
+                createEntity(TestGroups.ENTITY, "1", 6L),
+                createEntity(TestGroups.ENTITY, "2", 1L)
+        ), getAddedElements(store));
+        assertEquals(0, adder.getBufferSize());
+        assertEquals(2L, adder.getFlushedCount());
+    }
+
+    @Test
+    public void shouldNotAggregateElementsInNonAggregatedGroups() throws Exception {
+        // Given
+        final Store store = createStore();
+        final AggregatingGafferAdder adder = new AggregatingGafferAdder(createOperation("10", "0"), store);
+
+        // When
+        adder.add(createEntity(TestGroups.ENTITY_2, "1", 1L));
+        adder.add(createEntity(TestGroups.ENTITY_2, "1", 2L));
+        adder.add(createEntity(TestGroups.ENTITY, "1", 1L));
+        adder.add(createEntity(TestGroups.ENTITY, "1", 2L));
+        adder.flush();
+
+        // Then
+        assertEquals(Lists.newArrayList(
+                createEntity(TestGroups.ENTITY, "1", 3L),
+                createEntity(TestGroups.ENTITY_2, "1", 1L),
+                createEntity(TestGroups.ENTITY_2, "1", 2L)
+        ), getAddedElements(store));
+    }
+
+    @Test
+    public void shouldNotExecuteAddElementsWhenFlushingEmptyBuffer() throws Exception {
+        // Given
+        final Store store = createStore();
+        final AggregatingGafferAdder adder = new AggregatingGafferAdder(createOperation("10", "0"), store);
+        adder.initialise();
+
+        // When
+        adder.flush();
+        adder.add(null);
+        adder.close();
+
+        // Then
+        verify(store, never()).execute(Mockito.any(AddElements.class), Mockito.any());
+    }
+
+    @Test
+    public void shouldFlushElementsWhenFlushIntervalExpires() throws Exception {
+        // Given
+        final Store store = createStore();
+        final AggregatingGafferAdder adder = new AggregatingGafferAdder(createOperation("10", "10"), store);
+
+        // When
+        adder.add(createEntity(TestGroups.ENTITY, "1", 2L));
+
+        // Then
+        verify(store, timeout(5000)).execute(Mockito.eq(new AddElements.Builder()
+                .input(Lists.newArrayList(createEntity(TestGroups.ENTITY, "1", 2L)))
+                .validate(true)
+                .skipInvalidElements(false)
+                .build()), Mockito.any());
+        adder.close();
+    }
+
+    @Test
+    public void shouldSkipInvalidElementsBeforeAggregating() throws Exception {
+        // Given
+        final Store store = createStore();
+        final AggregatingGafferAdder adder = new AggregatingGafferAdder(createOperation("10", "0", true), store);
+        final Entity invalidEntity = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("1")
+                .property(TestPropertyNames.COUNT, "invalid")
+                .build();
+
+        // When
+        adder.add(createEntity(TestGroups.ENTITY, "1", 1L));
+        adder.add(invalidEntity);
+        adder.add(createEntity(TestGroups.ENTITY, "1", 2L));
+        adder.flush();
+
+        // Then
+        assertEquals(Lists.newArrayList(createEntity(TestGroups.ENTITY, "1", 3L)), getAddedElements(store));
+    }
+
+    @Test
+    public void shouldThrowExceptionForInvalidElementWhenNotSkipping() throws Exception {
+        // Given
+        final Store store = createStore();
+        final AggregatingGafferAdder adder = new AggregatingGafferAdder(createOperation("10", "0"), store);
+        adder.add(createEntity(TestGroups.ENTITY, "1", 1L));
+
+        // When / Then
+        try {
+            adder.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("1")
+                    .property(TestPropertyNames.COUNT, "invalid")
+                    .build());
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("is not valid"));
+        }
+        assertEquals(1, adder.getBufferSize());
+    }
+
+    @Test
+    public void shouldAddElementsWhilstFlushIsInProgress() throws Exception {
+        // Given
+        final Store store = createStore();
+        final CountDownLatch flushStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFlush = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            flushStarted.countDown();
+            releaseFlush.await();
+            return null;
+        }).when(store).execute(Mockito.any(AddElements.class), Mockito.any());
+        final AggregatingGafferAdder adder = new AggregatingGafferAdder(createOperation("10", "0"), store);
+        adder.add(createEntity(TestGroups.ENTITY, "1", 1L));
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        try {
+            // When
+            final Future<?> flush = executorService.submit(adder::flush);
+            assertTrue(flushStarted.await(5, TimeUnit.SECONDS));
+            adder.add(createEntity(TestGroups.ENTITY, "2", 1L));
+
+            // Then
+            assertEquals(1, adder.getBufferSize());
+            releaseFlush.countDown();
+            flush.get(5, TimeUnit.SECONDS);
+        } finally {
+            releaseFlush.countDown();
+            executorService.shutdownNow();
+        }
+    }
+
+    private Store createStore() {
+        final Store store = mock(Store.class);
+        given(store.getProperties()).willReturn(new StoreProperties());
+        given(store.getSchema()).willReturn(FlinkTest.SCHEMA);
+        return store;
+    }
+
+    private AddElementsFromSocket createOperation(final String maxBufferSize, final String flushInterval) {
+        return createOperation(maxBufferSize, flushInterval, false);
+    }
+
+    private AddElementsFromSocket createOperation(final String maxBufferSize, final String flushInterval, final boolean skipInvalid) {
+        final AddElementsFromSocket op = mock(AddElementsFromSocket.class);
+        given(op.isValidate()).willReturn(true);
+        given(op.isSkipInvalidElements()).willReturn(skipInvalid);
+        given(op.getOption(FlinkConstants.PRE_AGGREGATE_MAX_BUFFER_SIZE)).willReturn(maxBufferSize);
+        given(op.getOption(FlinkConstants.PRE_AGGREGATE_FLUSH_INTERVAL)).willReturn(flushInterval);
+        return op;
+    }
+
+    private List<Element> getAddedElements(final Store store) throws Exception {
+        final ArgumentCaptor<AddElements> opCaptor = ArgumentCaptor.forClass(AddElements.class);
+        verify(store).execute(opCaptor.capture(), Mockito.any());
+        return Lists.newArrayList(opCaptor.getValue().getInput());
+    }
+
+    private Entity createEntity(final String group, final String vertex, final long count) {
+        return new Entity.Builder()
+                .group(group)
+                .vertex(vertex)
+                .property(TestPropertyNames.COUNT, count)
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.flink.operation.handler;
+
+import org.apache.flink.api.common.functions.RuntimeContext;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class AggregatingGafferSinkTest {
+    @Test
+    public void shouldDelegateOpenToAdderInitialiseAndRegisterMetrics() throws Exception {
+        // Given
+        final AggregatingGafferAdder adder = mock(AggregatingGafferAdder.class);
+        final AggregatingGafferSink sink = new AggregatingGafferSink(adder);
+        final RuntimeContext runtimeContext = mock(RuntimeContext.class);
+        final MetricGroup metricGroup = mock(MetricGroup.class);
+        given(runtimeContext.getMetricGroup()).willReturn(metricGroup);
+        sink.setRuntimeContext(runtimeContext);
+
+        // When
+        sink.open(null);
+
+        // Then
+        verify(adder).initialise();
+        verify(metricGroup).gauge(Mockito.eq("bufferSize"), Mockito.any(Gauge.class));
+        verify(metricGroup).gauge(Mockito.eq("lastFlushLatencyMillis"), Mockito.any(Gauge.class));
+        verify(metricGroup).gauge(Mockito.eq("flushedElements"), Mockito.any(Gauge.class));
+    }
+
+    @Test
+    public void shouldDelegateInvokeToAdderAdd() throws Exception {
+        // Given
+        final AggregatingGafferAdder adder = mock(AggregatingGafferAdder.class);
+        final AggregatingGafferSink sink = new AggregatingGafferSink(adder);
+        final Element element = mock(Element.class);
+
+        // When
+        sink.invoke(element);
+
+        // Then
+        verify(adder).add(element);
+    }
+
+    @Test
+    public void shouldFlushAdderOnCheckpoint() throws Exception {
+        // Given
+        final AggregatingGafferAdder adder = mock(AggregatingGafferAdder.class);
+        final AggregatingGafferSink sink = new AggregatingGafferSink(adder);
+
+        // When
+        sink.snapshotState(null);
+
+        // Then
+        verify(adder).flush();
+    }
+
+    @Test
+    public void shouldDelegateCloseToAdderClose() throws Exception {
+        // Given
+        final AggregatingGafferAdder adder = mock(AggregatingGafferAdder.class);
+        final AggregatingGafferSink sink = new AggregatingGafferSink(adder);
+
+        // When
+        sink.close();
+
+        // Then
+        verify(adder).close();
+    }
+}
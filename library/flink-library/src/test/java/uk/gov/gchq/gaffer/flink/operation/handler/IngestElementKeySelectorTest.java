@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.flink.operation.handler;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.flink.operation.FlinkTest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class IngestElementKeySelectorTest {
+    @Test
+    public void shouldKeyElementsOnGroupAndIdentifiers() throws Exception {
+        // Given
+        final IngestElementKeySelector keySelector = new IngestElementKeySelector(FlinkTest.SCHEMA);
+
+        // When
+        final Integer key1 = keySelector.getKey(createEntity(TestGroups.ENTITY, "1", 1L));
+        final Integer key2 = keySelector.getKey(createEntity(TestGroups.ENTITY, "1", 2L));
+        final Integer key3 = keySelector.getKey(createEntity(TestGroups.ENTITY, "2", 1L));
+
+        // Then
+        assertEquals(Integer.valueOf(new Entity(TestGroups.ENTITY, "1").hashCode()), key1);
+        assertEquals(key1, key2);
+        assertNotEquals(key1, key3);
+    }
+
+    @Test
+    public void shouldKeyElementsInUnknownGroupsOnTheElement() throws Exception {
+        // Given
+        final IngestElementKeySelector keySelector = new IngestElementKeySelector(FlinkTest.SCHEMA);
+        final Entity entity = createEntity("unknownGroup", "1", 1L);
+
+        // When
+        final Integer key = keySelector.getKey(entity);
+
+        // Then
+        assertEquals(Integer.valueOf(entity.hashCode()), key);
+    }
+
+    private Entity createEntity(final String group, final String vertex, final long count) {
+        return new Entity.Builder()
+                .group(group)
+                .vertex(vertex)
+                .property(TestPropertyNames.COUNT, count)
+                .build();
+    }
+}
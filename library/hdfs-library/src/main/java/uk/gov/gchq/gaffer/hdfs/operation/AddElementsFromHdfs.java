@@ -95,6 +95,14 @@ public class AddElementsFromHdfs implements
     private String splitsFilePath;
 
     private Class<? extends Partitioner> partitioner;
+
+    /**
+     * The maximum number of distinct elements each mapper will hold in memory
+     * whilst combining elements before they are written out. If this is not
+     * set then elements are not combined within the mapper.
+     */
+    private Integer mapperCombinerCacheSize;
+
     private Map<String, String> options;
 
     public String getFailurePath() {
@@ -233,6 +241,14 @@ public class AddElementsFromHdfs implements
         this.partitioner = partitioner;
     }
 
+    public Integer getMapperCombinerCacheSize() {
+        return mapperCombinerCacheSize;
+    }
+
+    public void setMapperCombinerCacheSize(final Integer mapperCombinerCacheSize) {
+        this.mapperCombinerCacheSize = mapperCombinerCacheSize;
+    }
+
     public String getWorkingPath() {
         return workingPath;
     }
@@ -269,6 +285,7 @@ public class AddElementsFromHdfs implements
                 .useProvidedSplits(useProvidedSplits)
                 .splitsFilePath(splitsFilePath)
                 .partitioner(partitioner)
+                .mapperCombinerCacheSize(mapperCombinerCacheSize)
                 .options(options)
                 .build();
     }
@@ -299,5 +316,10 @@ public class AddElementsFromHdfs implements
             _getOp().setWorkingPath(workingPath);
             return _self();
         }
+
+        public Builder mapperCombinerCacheSize(final Integer mapperCombinerCacheSize) {
+            _getOp().setMapperCombinerCacheSize(mapperCombinerCacheSize);
+            return _self();
+        }
     }
 }
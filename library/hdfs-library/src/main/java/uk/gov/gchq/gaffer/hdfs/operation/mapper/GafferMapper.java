@@ -24,11 +24,15 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.hdfs.operation.mapper.generator.MapperGenerator;
 import uk.gov.gchq.gaffer.store.ElementValidator;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.MAPPER_COMBINER_CACHE_SIZE;
 import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.MAPPER_GENERATOR;
 import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.SCHEMA;
 import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.VALIDATE;
@@ -38,6 +42,15 @@ import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsF
  * {@link MapperGenerator} to map the input data into
  * {@link Element}s and then delegates the elements to an abstract map method to serialise them
  * and add them to the job map context.
+ * <p>
+ * If a positive {@code mapperCombinerCacheSize} is configured, elements of
+ * groups that are aggregated are combined within the mapper before they are
+ * serialised. Elements are held in a bounded cache keyed on their group,
+ * identifiers, group by properties and visibility; elements with the same key
+ * are merged using the schema's ingest aggregator. When the cache is full, and
+ * when the mapper is cleaned up, the combined elements are flushed to the
+ * abstract map method.
+ * </p>
  *
  * @param <KEY_IN>    type of input key
  * @param <VALUE_IN>  type of input value
@@ -50,6 +63,8 @@ public abstract class GafferMapper<KEY_IN, VALUE_IN, KEY_OUT, VALUE_OUT> extends
     private boolean doValidation;
     private ElementValidator elementValidator;
     protected Schema schema;
+    private int combinerCacheSize;
+    private Map<Element, Element> combinerCache;
 
     @Override
     protected void setup(final Context context) {
@@ -67,13 +82,22 @@ public abstract class GafferMapper<KEY_IN, VALUE_IN, KEY_OUT, VALUE_OUT> extends
         } catch (final ClassNotFoundException | InstantiationException | IllegalAccessException e) {
             throw new IllegalArgumentException("Element generator could be created: " + generatorClass, e);
         }
+
+        combinerCacheSize = context.getConfiguration().getInt(MAPPER_COMBINER_CACHE_SIZE, 0);
+        if (combinerCacheSize > 0) {
+            combinerCache = new LinkedHashMap<>();
+        }
     }
 
     @Override
     protected void map(final KEY_IN keyIn, final VALUE_IN valueIn, final Context context) throws IOException, InterruptedException {
         for (final Element element : mapperGenerator.getElements(keyIn, valueIn, context)) {
             if (!doValidation || isValid(element)) {
-                map(element, context);
+                if (null == combinerCache) {
+                    map(element, context);
+                } else {
+                    combine(element, context);
+                }
             } else {
                 LOGGER.warn("Element {} did not validate.", element);
                 context.getCounter("Bulk import", "Invalid element count").increment(1L);
@@ -81,9 +105,58 @@ public abstract class GafferMapper<KEY_IN, VALUE_IN, KEY_OUT, VALUE_OUT> extends
         }
     }
 
+    @Override
+    protected void cleanup(final Context context) throws IOException, InterruptedException {
+        flushCombinerCache(context);
+        super.cleanup(context);
+    }
+
+    protected void combine(final Element element, final Context context) throws IOException, InterruptedException {
+        final SchemaElementDefinition elementDef = schema.getElement(element.getGroup());
+        if (null == elementDef || !elementDef.isAggregate()) {
+            map(element, context);
+            return;
+        }
+
+        final Element key = createCombinerKey(element, elementDef);
+        final Element existing = combinerCache.get(key);
+        if (null == existing) {
+            combinerCache.put(key, element.shallowClone());
+            if (combinerCache.size() >= combinerCacheSize) {
+                flushCombinerCache(context);
+            }
+        } else {
+            elementDef.getIngestAggregator().apply(existing, element);
+            context.getCounter("Bulk import", "In-mapper combined element count").increment(1L);
+        }
+    }
+
+    protected void flushCombinerCache(final Context context) throws IOException, InterruptedException {
+        if (null != combinerCache) {
+            for (final Element element : combinerCache.values()) {
+                map(element, context);
+            }
+            combinerCache.clear();
+        }
+    }
+
     protected boolean isValid(final Element element) {
         return elementValidator.validateWithSchema(element);
     }
 
     protected abstract void map(final Element element, final Context context) throws IOException, InterruptedException;
+
+    // The key holds everything that the store would use to decide whether two
+    // elements can be aggregated together at ingest.
+    private Element createCombinerKey(final Element element, final SchemaElementDefinition elementDef) {
+        final Element key = element.emptyClone();
+        for (final String property : elementDef.getGroupBy()) {
+            key.putProperty(property, element.getProperty(property));
+        }
+        final String visibilityProperty = schema.getVisibilityProperty();
+        if (null != visibilityProperty) {
+            key.putProperty(visibilityProperty, element.getProperty(visibilityProperty));
+        }
+        return key;
+    }
 }
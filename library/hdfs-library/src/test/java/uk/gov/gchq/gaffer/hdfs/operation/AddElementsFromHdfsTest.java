@@ -103,6 +103,7 @@ public class AddElementsFromHdfsTest extends OperationTest<AddElementsFromHdfs>
                 .mappers(10)
                 .reducers(20)
                 .validate(true)
+                .mapperCombinerCacheSize(1000)
                 .option("testOption", "true")
                 .build();
         assertEquals("true", addElements.getOption("testOption"));
@@ -110,6 +111,7 @@ public class AddElementsFromHdfsTest extends OperationTest<AddElementsFromHdfs>
         assertEquals("fail", addElements.getFailurePath());
         assertEquals(new Integer(10), addElements.getNumMapTasks());
         assertEquals(new Integer(20), addElements.getNumReduceTasks());
+        assertEquals(new Integer(1000), addElements.getMapperCombinerCacheSize());
         assertEquals("output", addElements.getOutputPath());
         assertEquals(MapperGenerator.class.getName(), addElements.getInputMapperPairs().get("inputPath"));
     }
@@ -128,6 +130,7 @@ public class AddElementsFromHdfsTest extends OperationTest<AddElementsFromHdfs>
                 .mappers(10)
                 .reducers(20)
                 .validate(true)
+                .mapperCombinerCacheSize(1000)
                 .option("testOption", "true")
                 .build();
 
@@ -141,6 +144,7 @@ public class AddElementsFromHdfsTest extends OperationTest<AddElementsFromHdfs>
         assertEquals("fail", clone.getFailurePath());
         assertEquals(new Integer(10), clone.getNumMapTasks());
         assertEquals(new Integer(20), clone.getNumReduceTasks());
+        assertEquals(new Integer(1000), clone.getMapperCombinerCacheSize());
         assertEquals("output", clone.getOutputPath());
         assertEquals(MapperGenerator.class.getName(), clone.getInputMapperPairs().get("inputPath1"));
         assertEquals(MapperGenerator.class.getName(), clone.getInputMapperPairs().get("inputPath2"));
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hdfs.operation.mapper;
+
+import com.google.common.collect.Lists;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Counter;
+import org.apache.hadoop.mapreduce.MapContext;
+import org.apache.hadoop.mapreduce.Mapper;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.hdfs.operation.mapper.generator.MapperGenerator;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.MAPPER_COMBINER_CACHE_SIZE;
+import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.MAPPER_GENERATOR;
+import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.SCHEMA;
+import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.VALIDATE;
+
+public class GafferMapperTest {
+    private static final List<String> LINES = Lists.newArrayList(
+            "edge,A,B,1",
+            "edge,A,B,2",
+            "entity,A",
+            "edge,B,C,4",
+            "entity,A",
+            "edge,A,B,3"
+    );
+
+    @Test
+    public void shouldEmitEveryElementWhenCombinerCacheSizeIsNotSet() throws IOException, InterruptedException {
+        // Given
+        final TestMapper mapper = new TestMapper();
+        final Mapper.Context context = createContext(null);
+
+        // When
+        run(mapper, context);
+
+        // Then
+        assertEquals(LINES.size(), mapper.getElements().size());
+    }
+
+    @Test
+    public void shouldCombineAggregatedElementsWithinMapper() throws IOException, InterruptedException {
+        // Given
+        final TestMapper mapper = new TestMapper();
+        final Mapper.Context context = createContext(100);
+
+        // When
+        run(mapper, context);
+
+        // Then
+        assertEquals(Lists.newArrayList(
+                createEntity("A"),
+                createEntity("A"),
+                createEdge("A", "B", 6L),
+                createEdge("B", "C", 4L)
+        ), sortEntitiesFirst(mapper.getElements()));
+    }
+
+    @Test
+    public void shouldFlushCombinerCacheWhenFull() throws IOException, InterruptedException {
+        // Given
+        final TestMapper mapper = new TestMapper();
+        final Mapper.Context context = createContext(1);
+
+        // When
+        run(mapper, context);
+
+        // Then
+        long totalCount = 0;
+        for (final Element element : mapper.getElements()) {
+            if (element instanceof Edge) {
+                totalCount += (Long) element.getProperty(TestPropertyNames.COUNT);
+            }
+        }
+        assertEquals(10L, totalCount);
+        assertEquals(LINES.size(), mapper.getElements().size());
+    }
+
+    private void run(final TestMapper mapper, final Mapper.Context context) throws IOException, InterruptedException {
+        mapper.setup(context);
+        long offset = 0;
+        for (final String line : LINES) {
+            mapper.map(new LongWritable(offset++), new Text(line), context);
+        }
+        mapper.cleanup(context);
+    }
+
+    private Mapper.Context createContext(final Integer combinerCacheSize) throws UnsupportedEncodingException {
+        final Configuration conf = new Configuration(false);
+        conf.set(SCHEMA, new String(createSchema().toCompactJson(), CommonConstants.UTF_8));
+        conf.set(MAPPER_GENERATOR, TestMapperGenerator.class.getName());
+        conf.set(VALIDATE, "true");
+        if (null != combinerCacheSize) {
+            conf.setInt(MAPPER_COMBINER_CACHE_SIZE, combinerCacheSize);
+        }
+
+        final Mapper.Context context = mock(Mapper.Context.class);
+        given(context.getConfiguration()).willReturn(conf);
+        given(context.getCounter(anyString(), anyString())).willReturn(mock(Counter.class));
+        return context;
+    }
+
+    private static Schema createSchema() {
+        return new Schema.Builder()
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source("string")
+                        .destination("string")
+                        .directed("true")
+                        .property(TestPropertyNames.COUNT, "long")
+                        .build())
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .aggregate(false)
+                        .build())
+                .type("string", String.class)
+                .type("true", Boolean.class)
+                .type("long", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .aggregateFunction(new Sum())
+                        .build())
+                .build();
+    }
+
+    private static List<Element> sortEntitiesFirst(final List<Element> elements) {
+        final List<Element> sorted = new ArrayList<>(elements);
+        sorted.sort((e1, e2) -> Boolean.compare(e2 instanceof Entity, e1 instanceof Entity));
+        return sorted;
+    }
+
+    private static Edge createEdge(final String source, final String destination, final long count) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest(destination)
+                .directed(true)
+                .property(TestPropertyNames.COUNT, count)
+                .build();
+    }
+
+    private static Entity createEntity(final String vertex) {
+        return new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex(vertex)
+                .build();
+    }
+
+    private static final class TestMapper extends GafferMapper<LongWritable, Text, Object, Object> {
+        private final List<Element> elements = new ArrayList<>();
+
+        @Override
+        protected void map(final Element element, final Context context) {
+            elements.add(element);
+        }
+
+        private List<Element> getElements() {
+            return elements;
+        }
+    }
+
+    public static final class TestMapperGenerator implements MapperGenerator<LongWritable, Text> {
+        @Override
+        public Iterable<? extends Element> getElements(final LongWritable keyIn, final Text valueIn, final MapContext<LongWritable, Text, ?, ?> context) {
+            final String[] parts = valueIn.toString().split(",");
+            if ("edge".equals(parts[0])) {
+                return Collections.singletonList(createEdge(parts[1], parts[2], Long.parseLong(parts[3])));
+            }
+            return Collections.singletonList(createEntity(parts[1]));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.sketches.operation;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import uk.gov.gchq.gaffer.commonutil.Required;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.io.InputOutput;
+import uk.gov.gchq.gaffer.operation.io.MultiInput;
+import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+
+import java.util.Map;
+
+/**
+ * A {@code GetApproximateDistinctCount} operation takes in {@link Element}s,
+ * unions the cardinality sketches stored in the given property and returns
+ * the estimated number of distinct values. The sketches are unioned within the
+ * store, so only the estimate is returned to the client.
+ * <p>
+ * The property must hold a Datasketches {@link com.yahoo.sketches.hll.HllSketch},
+ * {@link com.yahoo.sketches.hll.Union}, {@link com.yahoo.sketches.theta.Sketch} or
+ * {@link com.yahoo.sketches.theta.Union}. Elements without the property are ignored.
+ *
+ * @see GetApproximateDistinctCount.Builder
+ */
+@JsonPropertyOrder(value = {"class", "input", "propertyName"}, alphabetic = true)
+@Since("1.6.0")
+@Summary("Estimates the distinct count by unioning stored cardinality sketches")
+public class GetApproximateDistinctCount implements
+        InputOutput<Iterable<? extends Element>, Long>,
+        MultiInput<Element> {
+    private Iterable<? extends Element> input;
+    @Required
+    private String propertyName;
+    private Map<String, String> options;
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    public void setPropertyName(final String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    @Override
+    public TypeReference<Long> getOutputTypeReference() {
+        return new TypeReferenceImpl.Long();
+    }
+
+    @Override
+    public Iterable<? extends Element> getInput() {
+        return input;
+    }
+
+    @Override
+    public void setInput(final Iterable<? extends Element> input) {
+        this.input = input;
+    }
+
+    @Override
+    public GetApproximateDistinctCount shallowClone() {
+        return new GetApproximateDistinctCount.Builder()
+                .input(input)
+                .propertyName(propertyName)
+                .options(options)
+                .build();
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static class Builder
+            extends Operation.BaseBuilder<GetApproximateDistinctCount, Builder>
+            implements InputOutput.Builder<GetApproximateDistinctCount, Iterable<? extends Element>, Long, Builder>,
+            MultiInput.Builder<GetApproximateDistinctCount, Element, Builder> {
+
+        public Builder() {
+            super(new GetApproximateDistinctCount());
+        }
+
+        /**
+         * @param propertyName the name of the property holding the sketches.
+         * @return this Builder
+         * @see GetApproximateDistinctCount#setPropertyName(String)
+         */
+        public Builder propertyName(final String propertyName) {
+            _getOp().setPropertyName(propertyName);
+            return this;
+        }
+    }
+}
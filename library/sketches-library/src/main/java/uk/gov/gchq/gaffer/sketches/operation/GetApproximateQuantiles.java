@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.sketches.operation;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.type.TypeReference;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import uk.gov.gchq.gaffer.commonutil.Required;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.io.InputOutput;
+import uk.gov.gchq.gaffer.operation.io.MultiInput;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+
+import java.util.Map;
+
+/**
+ * A {@code GetApproximateQuantiles} operation takes in {@link Element}s,
+ * unions the quantiles sketches stored in the given property and returns the
+ * estimated values at the requested fractions. The sketches are unioned within
+ * the store, so only the quantiles are returned to the client.
+ * <p>
+ * The property must hold a Datasketches {@link com.yahoo.sketches.quantiles.DoublesSketch},
+ * {@link com.yahoo.sketches.quantiles.DoublesUnion} or
+ * {@link com.yahoo.sketches.kll.KllFloatsSketch}. Elements without the property
+ * are ignored. If no sketches are found then null is returned.
+ *
+ * @see GetApproximateQuantiles.Builder
+ */
+@JsonPropertyOrder(value = {"class", "input", "propertyName", "fractions"}, alphabetic = true)
+@Since("1.6.0")
+@Summary("Estimates quantiles by unioning stored quantiles sketches")
+public class GetApproximateQuantiles implements
+        InputOutput<Iterable<? extends Element>, double[]>,
+        MultiInput<Element> {
+    private Iterable<? extends Element> input;
+    @Required
+    private String propertyName;
+    @Required
+    private double[] fractions;
+    private Map<String, String> options;
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    public void setPropertyName(final String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP")
+    public double[] getFractions() {
+        return fractions;
+    }
+
+    public void setFractions(final double... fractions) {
+        this.fractions = fractions;
+    }
+
+    @Override
+    public TypeReference<double[]> getOutputTypeReference() {
+        return new TypeReferenceSketchesImpl.DoubleArray();
+    }
+
+    @Override
+    public Iterable<? extends Element> getInput() {
+        return input;
+    }
+
+    @Override
+    public void setInput(final Iterable<? extends Element> input) {
+        this.input = input;
+    }
+
+    @Override
+    public GetApproximateQuantiles shallowClone() {
+        return new GetApproximateQuantiles.Builder()
+                .input(input)
+                .propertyName(propertyName)
+                .fractions(fractions)
+                .options(options)
+                .build();
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static class Builder
+            extends Operation.BaseBuilder<GetApproximateQuantiles, Builder>
+            implements InputOutput.Builder<GetApproximateQuantiles, Iterable<? extends Element>, double[], Builder>,
+            MultiInput.Builder<GetApproximateQuantiles, Element, Builder> {
+
+        public Builder() {
+            super(new GetApproximateQuantiles());
+        }
+
+        /**
+         * @param propertyName the name of the property holding the sketches.
+         * @return this Builder
+         * @see GetApproximateQuantiles#setPropertyName(String)
+         */
+        public Builder propertyName(final String propertyName) {
+            _getOp().setPropertyName(propertyName);
+            return this;
+        }
+
+        /**
+         * @param fractions the fractions, between 0 and 1, to estimate the values of.
+         * @return this Builder
+         * @see GetApproximateQuantiles#setFractions(double[])
+         */
+        public Builder fractions(final double... fractions) {
+            _getOp().setFractions(fractions);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.sketches.operation;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.yahoo.sketches.frequencies.ErrorType;
+
+import uk.gov.gchq.gaffer.commonutil.Required;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.io.InputOutput;
+import uk.gov.gchq.gaffer.operation.io.MultiInput;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+
+import java.util.Map;
+
+/**
+ * A {@code GetTopKFrequencies} operation takes in {@link Element}s, merges
+ * the frequency sketches stored in the given property and returns the most
+ * frequent items, in descending order of estimated frequency, mapped to their
+ * estimated frequencies. The sketches are merged within the store, so only the
+ * top k items are returned to the client.
+ * <p>
+ * The property must hold a Datasketches {@link com.yahoo.sketches.frequencies.LongsSketch}
+ * or {@link com.yahoo.sketches.frequencies.ItemsSketch}. Elements without the
+ * property are ignored. By default the 10 most frequent items are returned using
+ * {@link ErrorType#NO_FALSE_NEGATIVES}.
+ *
+ * @see GetTopKFrequencies.Builder
+ */
+@JsonPropertyOrder(value = {"class", "input", "propertyName", "k"}, alphabetic = true)
+@Since("1.6.0")
+@Summary("Gets the most frequent items by merging stored frequency sketches")
+public class GetTopKFrequencies implements
+        InputOutput<Iterable<? extends Element>, Map<Object, Long>>,
+        MultiInput<Element> {
+    public static final int DEFAULT_K = 10;
+
+    private Iterable<? extends Element> input;
+    @Required
+    private String propertyName;
+    private int k = DEFAULT_K;
+    private ErrorType errorType = ErrorType.NO_FALSE_NEGATIVES;
+    private Map<String, String> options;
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    public void setPropertyName(final String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public void setK(final int k) {
+        this.k = k;
+    }
+
+    public ErrorType getErrorType() {
+        return errorType;
+    }
+
+    public void setErrorType(final ErrorType errorType) {
+        this.errorType = errorType;
+    }
+
+    @Override
+    public TypeReference<Map<Object, Long>> getOutputTypeReference() {
+        return new TypeReferenceSketchesImpl.MapObjectLong();
+    }
+
+    @Override
+    public Iterable<? extends Element> getInput() {
+        return input;
+    }
+
+    @Override
+    public void setInput(final Iterable<? extends Element> input) {
+        this.input = input;
+    }
+
+    @Override
+    public GetTopKFrequencies shallowClone() {
+        return new GetTopKFrequencies.Builder()
+                .input(input)
+                .propertyName(propertyName)
+                .k(k)
+                .errorType(errorType)
+                .options(options)
+                .build();
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static class Builder
+            extends Operation.BaseBuilder<GetTopKFrequencies, Builder>
+            implements InputOutput.Builder<GetTopKFrequencies, Iterable<? extends Element>, Map<Object, Long>, Builder>,
+            MultiInput.Builder<GetTopKFrequencies, Element, Builder> {
+
+        public Builder() {
+            super(new GetTopKFrequencies());
+        }
+
+        /**
+         * @param propertyName the name of the property holding the sketches.
+         * @return this Builder
+         * @see GetTopKFrequencies#setPropertyName(String)
+         */
+        public Builder propertyName(final String propertyName) {
+            _getOp().setPropertyName(propertyName);
+            return this;
+        }
+
+        /**
+         * @param k the maximum number of items to return.
+         * @return this Builder
+         * @see GetTopKFrequencies#setK(int)
+         */
+        public Builder k(final int k) {
+            _getOp().setK(k);
+            return this;
+        }
+
+        /**
+         * @param errorType the error type used to select the frequent items.
+         * @return this Builder
+         * @see GetTopKFrequencies#setErrorType(ErrorType)
+         */
+        public Builder errorType(final ErrorType errorType) {
+            _getOp().setErrorType(errorType);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.sketches.operation;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.util.Map;
+
+/**
+ * Sketches-specific {@link TypeReference} implementations.
+ */
+public final class TypeReferenceSketchesImpl {
+    public static class MapObjectLong extends TypeReference<Map<Object, Long>> {
+    }
+
+    public static class DoubleArray extends TypeReference<double[]> {
+    }
+
+    private TypeReferenceSketchesImpl() {
+        // Private constructor to prevent instantiation.
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.sketches.operation.handler;
+
+import com.yahoo.sketches.hll.HllSketch;
+import com.yahoo.sketches.theta.SetOperation;
+import com.yahoo.sketches.theta.Sketch;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.sketches.operation.GetApproximateDistinctCount;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+
+/**
+ * A {@code GetApproximateDistinctCountHandler} handles {@link GetApproximateDistinctCount}
+ * operations. All the sketches are unioned into a single
+ * {@link com.yahoo.sketches.hll.Union} or {@link com.yahoo.sketches.theta.Union},
+ * rather than creating a new union for each pair of sketches as the
+ * {@link uk.gov.gchq.gaffer.sketches.datasketches.cardinality.binaryoperator.HllSketchAggregator}
+ * does.
+ */
+public class GetApproximateDistinctCountHandler implements OutputOperationHandler<GetApproximateDistinctCount, Long> {
+    @Override
+    public Long doOperation(final GetApproximateDistinctCount operation,
+                            final Context context, final Store store)
+            throws OperationException {
+        com.yahoo.sketches.hll.Union hllUnion = null;
+        com.yahoo.sketches.theta.Union thetaUnion = null;
+        try {
+            if (null != operation.getInput()) {
+                for (final Element element : operation.getInput()) {
+                    final Object sketch = element.getProperty(operation.getPropertyName());
+                    if (null == sketch) {
+                        continue;
+                    }
+                    if (sketch instanceof HllSketch) {
+                        if (null == hllUnion) {
+                            hllUnion = new com.yahoo.sketches.hll.Union(((HllSketch) sketch).getLgConfigK());
+                        }
+                        hllUnion.update((HllSketch) sketch);
+                    } else if (sketch instanceof com.yahoo.sketches.hll.Union) {
+                        final HllSketch result = ((com.yahoo.sketches.hll.Union) sketch).getResult();
+                        if (null == hllUnion) {
+                            hllUnion = new com.yahoo.sketches.hll.Union(result.getLgConfigK());
+                        }
+                        hllUnion.update(result);
+                    } else if (sketch instanceof Sketch) {
+                        if (null == thetaUnion) {
+                            thetaUnion = SetOperation.builder().buildUnion();
+                        }
+                        thetaUnion.update((Sketch) sketch);
+                    } else if (sketch instanceof com.yahoo.sketches.theta.Union) {
+                        if (null == thetaUnion) {
+                            thetaUnion = SetOperation.builder().buildUnion();
+                        }
+                        thetaUnion.update(((com.yahoo.sketches.theta.Union) sketch).getResult());
+                    } else {
+                        throw new OperationException("Unable to estimate a distinct count from property "
+                                + operation.getPropertyName() + " of class " + sketch.getClass().getName());
+                    }
+                }
+            }
+        } finally {
+            CloseableUtil.close(operation);
+        }
+
+        if (null != hllUnion && null != thetaUnion) {
+            throw new OperationException("Unable to union both HLL and theta sketches in property "
+                    + operation.getPropertyName());
+        }
+        if (null != hllUnion) {
+            return Math.round(hllUnion.getEstimate());
+        }
+        if (null != thetaUnion) {
+            return Math.round(thetaUnion.getResult().getEstimate());
+        }
+        return 0L;
+    }
+}
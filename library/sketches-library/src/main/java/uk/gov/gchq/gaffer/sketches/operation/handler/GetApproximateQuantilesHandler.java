@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.sketches.operation.handler;
+
+import com.yahoo.memory.Memory;
+import com.yahoo.sketches.kll.KllFloatsSketch;
+import com.yahoo.sketches.quantiles.DoublesSketch;
+import com.yahoo.sketches.quantiles.DoublesUnion;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.sketches.operation.GetApproximateQuantiles;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+
+/**
+ * A {@code GetApproximateQuantilesHandler} handles {@link GetApproximateQuantiles}
+ * operations. All the sketches are unioned into a single {@link DoublesUnion},
+ * or merged into a copy of the first {@link KllFloatsSketch}, so the stored
+ * sketches are not modified.
+ */
+public class GetApproximateQuantilesHandler implements OutputOperationHandler<GetApproximateQuantiles, double[]> {
+    @Override
+    public double[] doOperation(final GetApproximateQuantiles operation,
+                                final Context context, final Store store)
+            throws OperationException {
+        if (null == operation.getFractions()) {
+            throw new OperationException("Fractions are required to estimate quantiles");
+        }
+
+        DoublesUnion doublesUnion = null;
+        KllFloatsSketch kllSketch = null;
+        try {
+            if (null != operation.getInput()) {
+                for (final Element element : operation.getInput()) {
+                    final Object sketch = element.getProperty(operation.getPropertyName());
+                    if (null == sketch) {
+                        continue;
+                    }
+                    if (sketch instanceof DoublesSketch) {
+                        if (null == doublesUnion) {
+                            doublesUnion = DoublesUnion.builder().setMaxK(((DoublesSketch) sketch).getK()).build();
+                        }
+                        doublesUnion.update((DoublesSketch) sketch);
+                    } else if (sketch instanceof DoublesUnion) {
+                        final DoublesSketch result = ((DoublesUnion) sketch).getResult();
+                        if (null == doublesUnion) {
+                            doublesUnion = DoublesUnion.builder().setMaxK(result.getK()).build();
+                        }
+                        doublesUnion.update(result);
+                    } else if (sketch instanceof KllFloatsSketch) {
+                        if (null == kllSketch) {
+                            // Copy the first sketch to keep its k
+                            kllSketch = KllFloatsSketch.heapify(Memory.wrap(((KllFloatsSketch) sketch).toByteArray()));
+                        } else {
+                            kllSketch.merge((KllFloatsSketch) sketch);
+                        }
+                    } else {
+                        throw new OperationException("Unable to estimate quantiles from property "
+                                + operation.getPropertyName() + " of class " + sketch.getClass().getName());
+                    }
+                }
+            }
+        } finally {
+            CloseableUtil.close(operation);
+        }
+
+        if (null != doublesUnion && null != kllSketch) {
+            throw new OperationException("Unable to union both doubles and KLL sketches in property "
+                    + operation.getPropertyName());
+        }
+        if (null != doublesUnion) {
+            return doublesUnion.getResult().getQuantiles(operation.getFractions());
+        }
+        if (null != kllSketch) {
+            final float[] quantiles = kllSketch.getQuantiles(operation.getFractions());
+            final double[] result = new double[quantiles.length];
+            for (int i = 0; i < quantiles.length; i++) {
+                result[i] = quantiles[i];
+            }
+            return result;
+        }
+        return null;
+    }
+}
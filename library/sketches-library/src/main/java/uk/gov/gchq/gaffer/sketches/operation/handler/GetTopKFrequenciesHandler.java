@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.sketches.operation.handler;
+
+import com.yahoo.sketches.frequencies.ItemsSketch;
+import com.yahoo.sketches.frequencies.LongsSketch;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.sketches.operation.GetTopKFrequencies;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@code GetTopKFrequenciesHandler} handles {@link GetTopKFrequencies}
+ * operations. The sketches are merged into a new sketch, sized to hold the
+ * largest of the stored sketches, so the stored sketches are not modified.
+ */
+public class GetTopKFrequenciesHandler implements OutputOperationHandler<GetTopKFrequencies, Map<Object, Long>> {
+    @Override
+    public Map<Object, Long> doOperation(final GetTopKFrequencies operation,
+                                         final Context context, final Store store)
+            throws OperationException {
+        LongsSketch longsSketch = null;
+        ItemsSketch<Object> itemsSketch = null;
+        try {
+            if (null != operation.getInput()) {
+                for (final Element element : operation.getInput()) {
+                    final Object sketch = element.getProperty(operation.getPropertyName());
+                    if (null == sketch) {
+                        continue;
+                    }
+                    if (sketch instanceof LongsSketch) {
+                        longsSketch = merge(longsSketch, (LongsSketch) sketch);
+                    } else if (sketch instanceof ItemsSketch) {
+                        itemsSketch = merge(itemsSketch, (ItemsSketch<Object>) sketch);
+                    } else {
+                        throw new OperationException("Unable to get frequent items from property "
+                                + operation.getPropertyName() + " of class " + sketch.getClass().getName());
+                    }
+                }
+            }
+        } finally {
+            CloseableUtil.close(operation);
+        }
+
+        if (null != longsSketch && null != itemsSketch) {
+            throw new OperationException("Unable to merge both longs and items sketches in property "
+                    + operation.getPropertyName());
+        }
+
+        final Map<Object, Long> topK = new LinkedHashMap<>();
+        if (null != longsSketch) {
+            for (final LongsSketch.Row row : longsSketch.getFrequentItems(operation.getErrorType())) {
+                if (topK.size() >= operation.getK()) {
+                    break;
+                }
+                topK.put(row.getItem(), row.getEstimate());
+            }
+        } else if (null != itemsSketch) {
+            for (final ItemsSketch.Row<Object> row : itemsSketch.getFrequentItems(operation.getErrorType())) {
+                if (topK.size() >= operation.getK()) {
+                    break;
+                }
+                topK.put(row.getItem(), row.getEstimate());
+            }
+        }
+        return topK;
+    }
+
+    private LongsSketch merge(final LongsSketch merged, final LongsSketch sketch) {
+        if (null == merged || merged.getMaximumMapCapacity() < sketch.getMaximumMapCapacity()) {
+            final LongsSketch resized = new LongsSketch(getMaxMapSize(sketch.getMaximumMapCapacity()));
+            if (null != merged) {
+                resized.merge(merged);
+            }
+            return resized.merge(sketch);
+        }
+        return merged.merge(sketch);
+    }
+
+    private ItemsSketch<Object> merge(final ItemsSketch<Object> merged, final ItemsSketch<Object> sketch) {
+        if (null == merged || merged.getMaximumMapCapacity() < sketch.getMaximumMapCapacity()) {
+            final ItemsSketch<Object> resized = new ItemsSketch<>(getMaxMapSize(sketch.getMaximumMapCapacity()));
+            if (null != merged) {
+                resized.merge(merged);
+            }
+            return resized.merge(sketch);
+        }
+        return merged.merge(sketch);
+    }
+
+    // The maximum map capacity of a frequency sketch is 3/4 of its maximum map
+    // size, which is always a power of 2.
+    private static int getMaxMapSize(final int maxMapCapacity) {
+        return Integer.highestOneBit(maxMapCapacity) << 1;
+    }
+}
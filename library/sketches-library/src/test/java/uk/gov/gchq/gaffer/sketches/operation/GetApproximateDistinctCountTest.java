@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.sketches.operation;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationTest;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class GetApproximateDistinctCountTest extends OperationTest<GetApproximateDistinctCount> {
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        // Given
+        final Entity input = new Entity(TestGroups.ENTITY);
+
+        // When
+        final GetApproximateDistinctCount op = new GetApproximateDistinctCount.Builder()
+                .input(input)
+                .propertyName("hll")
+                .build();
+
+        // Then
+        assertEquals(input, op.getInput().iterator().next());
+        assertEquals("hll", op.getPropertyName());
+    }
+
+    @Test
+    @Override
+    public void shouldShallowCloneOperation() {
+        // Given
+        final Entity input = new Entity(TestGroups.ENTITY);
+        final GetApproximateDistinctCount op = new GetApproximateDistinctCount.Builder()
+                .input(input)
+                .propertyName("hll")
+                .build();
+
+        // When
+        final GetApproximateDistinctCount clone = op.shallowClone();
+
+        // Then
+        assertNotSame(op, clone);
+        assertEquals(input, clone.getInput().iterator().next());
+        assertEquals("hll", clone.getPropertyName());
+    }
+
+    @Test
+    public void shouldJsonSerialiseAndDeserialisePropertyName() throws SerialisationException {
+        // Given
+        final GetApproximateDistinctCount op = new GetApproximateDistinctCount.Builder()
+                .propertyName("hll")
+                .build();
+
+        // When
+        final GetApproximateDistinctCount deserialised = JSONSerialiser.deserialise(
+                JSONSerialiser.serialise(op), GetApproximateDistinctCount.class);
+
+        // Then
+        assertEquals("hll", deserialised.getPropertyName());
+    }
+
+    @Test
+    public void shouldGetOutputClass() {
+        // When
+        final Class<?> outputClass = getTestObject().getOutputClass();
+
+        // Then
+        assertEquals(Long.class, outputClass);
+    }
+
+    @Override
+    protected Set<String> getRequiredFields() {
+        return Sets.newHashSet("propertyName");
+    }
+
+    @Override
+    protected GetApproximateDistinctCount getTestObject() {
+        return new GetApproximateDistinctCount();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.sketches.operation;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationTest;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class GetApproximateQuantilesTest extends OperationTest<GetApproximateQuantiles> {
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        // Given
+        final Entity input = new Entity(TestGroups.ENTITY);
+
+        // When
+        final GetApproximateQuantiles op = new GetApproximateQuantiles.Builder()
+                .input(input)
+                .propertyName("quantiles")
+                .fractions(0.5, 0.99)
+                .build();
+
+        // Then
+        assertEquals(input, op.getInput().iterator().next());
+        assertEquals("quantiles", op.getPropertyName());
+        assertArrayEquals(new double[]{0.5, 0.99}, op.getFractions(), 0);
+    }
+
+    @Test
+    @Override
+    public void shouldShallowCloneOperation() {
+        // Given
+        final Entity input = new Entity(TestGroups.ENTITY);
+        final GetApproximateQuantiles op = new GetApproximateQuantiles.Builder()
+                .input(input)
+                .propertyName("quantiles")
+                .fractions(0.5, 0.99)
+                .build();
+
+        // When
+        final GetApproximateQuantiles clone = op.shallowClone();
+
+        // Then
+        assertNotSame(op, clone);
+        assertEquals(input, clone.getInput().iterator().next());
+        assertEquals("quantiles", clone.getPropertyName());
+        assertArrayEquals(new double[]{0.5, 0.99}, clone.getFractions(), 0);
+    }
+
+    @Test
+    public void shouldJsonSerialiseAndDeserialiseFields() throws SerialisationException {
+        // Given
+        final GetApproximateQuantiles op = new GetApproximateQuantiles.Builder()
+                .propertyName("quantiles")
+                .fractions(0.25, 0.75)
+                .build();
+
+        // When
+        final GetApproximateQuantiles deserialised = JSONSerialiser.deserialise(
+                JSONSerialiser.serialise(op), GetApproximateQuantiles.class);
+
+        // Then
+        assertEquals("quantiles", deserialised.getPropertyName());
+        assertArrayEquals(new double[]{0.25, 0.75}, deserialised.getFractions(), 0);
+    }
+
+    @Override
+    protected Set<String> getRequiredFields() {
+        return Sets.newHashSet("propertyName", "fractions");
+    }
+
+    @Override
+    protected GetApproximateQuantiles getTestObject() {
+        return new GetApproximateQuantiles();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.sketches.operation;
+
+import com.google.common.collect.Sets;
+import com.yahoo.sketches.frequencies.ErrorType;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationTest;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class GetTopKFrequenciesTest extends OperationTest<GetTopKFrequencies> {
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        // Given
+        final Entity input = new Entity(TestGroups.ENTITY);
+
+        // When
+        final GetTopKFrequencies op = new GetTopKFrequencies.Builder()
+                .input(input)
+                .propertyName("frequencies")
+                .k(5)
+                .errorType(ErrorType.NO_FALSE_POSITIVES)
+                .build();
+
+        // Then
+        assertEquals(input, op.getInput().iterator().next());
+        assertEquals("frequencies", op.getPropertyName());
+        assertEquals(5, op.getK());
+        assertEquals(ErrorType.NO_FALSE_POSITIVES, op.getErrorType());
+    }
+
+    @Test
+    @Override
+    public void shouldShallowCloneOperation() {
+        // Given
+        final Entity input = new Entity(TestGroups.ENTITY);
+        final GetTopKFrequencies op = new GetTopKFrequencies.Builder()
+                .input(input)
+                .propertyName("frequencies")
+                .k(5)
+                .errorType(ErrorType.NO_FALSE_POSITIVES)
+                .build();
+
+        // When
+        final GetTopKFrequencies clone = op.shallowClone();
+
+        // Then
+        assertNotSame(op, clone);
+        assertEquals(input, clone.getInput().iterator().next());
+        assertEquals("frequencies", clone.getPropertyName());
+        assertEquals(5, clone.getK());
+        assertEquals(ErrorType.NO_FALSE_POSITIVES, clone.getErrorType());
+    }
+
+    @Test
+    public void shouldDefaultKAndErrorType() {
+        // When
+        final GetTopKFrequencies op = new GetTopKFrequencies();
+
+        // Then
+        assertEquals(GetTopKFrequencies.DEFAULT_K, op.getK());
+        assertEquals(ErrorType.NO_FALSE_NEGATIVES, op.getErrorType());
+    }
+
+    @Test
+    public void shouldJsonSerialiseAndDeserialiseFields() throws SerialisationException {
+        // Given
+        final GetTopKFrequencies op = new GetTopKFrequencies.Builder()
+                .propertyName("frequencies")
+                .k(3)
+                .errorType(ErrorType.NO_FALSE_POSITIVES)
+                .build();
+
+        // When
+        final GetTopKFrequencies deserialised = JSONSerialiser.deserialise(
+                JSONSerialiser.serialise(op), GetTopKFrequencies.class);
+
+        // Then
+        assertEquals("frequencies", deserialised.getPropertyName());
+        assertEquals(3, deserialised.getK());
+        assertEquals(ErrorType.NO_FALSE_POSITIVES, deserialised.getErrorType());
+    }
+
+    @Override
+    protected Set<String> getRequiredFields() {
+        return Sets.newHashSet("propertyName");
+    }
+
+    @Override
+    protected GetTopKFrequencies getTestObject() {
+        return new GetTopKFrequencies();
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.sketches.operation.handler;
+
+import com.yahoo.sketches.hll.HllSketch;
+import com.yahoo.sketches.theta.Sketches;
+import com.yahoo.sketches.theta.UpdateSketch;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.sketches.operation.GetApproximateDistinctCount;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+public class GetApproximateDistinctCountHandlerTest {
+    private static final String PROPERTY = "sketch";
+
+    @Test
+    public void shouldReturnZeroIfInputIsNull() throws OperationException {
+        // Given
+        final GetApproximateDistinctCount op = new GetApproximateDistinctCount.Builder()
+                .propertyName(PROPERTY)
+                .build();
+
+        // When
+        final Long result = new GetApproximateDistinctCountHandler().doOperation(op, new Context(), mock(Store.class));
+
+        // Then
+        assertEquals(0L, (long) result);
+    }
+
+    @Test
+    public void shouldUnionHllSketchesAndIgnoreElementsWithoutTheProperty() throws OperationException {
+        // Given
+        final List<Element> input = Arrays.asList(
+                createEntity(createHllSketch(0, 1000)),
+                createEntity(createHllSketch(500, 1500)),
+                createEntity(createHllSketch(1000, 2000)),
+                new Entity(TestGroups.ENTITY, "vertex"));
+        final GetApproximateDistinctCount op = new GetApproximateDistinctCount.Builder()
+                .input(input)
+                .propertyName(PROPERTY)
+                .build();
+
+        // When
+        final Long result = new GetApproximateDistinctCountHandler().doOperation(op, new Context(), mock(Store.class));
+
+        // Then
+        assertEquals(2000, result, 100);
+    }
+
+    @Test
+    public void shouldUnionHllUnions() throws OperationException {
+        // Given
+        final com.yahoo.sketches.hll.Union union1 = new com.yahoo.sketches.hll.Union(12);
+        union1.update(createHllSketch(0, 1000));
+        final com.yahoo.sketches.hll.Union union2 = new com.yahoo.sketches.hll.Union(12);
+        union2.update(createHllSketch(500, 1500));
+        final GetApproximateDistinctCount op = new GetApproximateDistinctCount.Builder()
+                .input(createEntity(union1), createEntity(union2))
+                .propertyName(PROPERTY)
+                .build();
+
+        // When
+        final Long result = new GetApproximateDistinctCountHandler().doOperation(op, new Context(), mock(Store.class));
+
+        // Then
+        assertEquals(1500, result, 75);
+        assertEquals(1000, union1.getEstimate(), 50);
+    }
+
+    @Test
+    public void shouldUnionThetaSketchesAndUnions() throws OperationException {
+        // Given
+        final com.yahoo.sketches.theta.Union union = Sketches.setOperationBuilder().buildUnion();
+        union.update(createThetaSketch(500, 1500));
+        final GetApproximateDistinctCount op = new GetApproximateDistinctCount.Builder()
+                .input(createEntity(createThetaSketch(0, 1000)), createEntity(union))
+                .propertyName(PROPERTY)
+                .build();
+
+        // When
+        final Long result = new GetApproximateDistinctCountHandler().doOperation(op, new Context(), mock(Store.class));
+
+        // Then
+        assertEquals(1500, result, 75);
+    }
+
+    @Test
+    public void shouldThrowExceptionForUnsupportedProperty() {
+        // Given
+        final GetApproximateDistinctCount op = new GetApproximateDistinctCount.Builder()
+                .input(createEntity("not a sketch"))
+                .propertyName(PROPERTY)
+                .build();
+
+        // When / Then
+        try {
+            new GetApproximateDistinctCountHandler().doOperation(op, new Context(), mock(Store.class));
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertEquals("Unable to estimate a distinct count from property " + PROPERTY
+                    + " of class java.lang.String", e.getMessage());
+        }
+    }
+
+    private static Entity createEntity(final Object sketch) {
+        final Entity entity = new Entity(TestGroups.ENTITY, "vertex");
+        entity.putProperty(PROPERTY, sketch);
+        return entity;
+    }
+
+    private static HllSketch createHllSketch(final int start, final int end) {
+        final HllSketch sketch = new HllSketch(12);
+        for (int i = start; i < end; i++) {
+            sketch.update(i);
+        }
+        return sketch;
+    }
+
+    private static UpdateSketch createThetaSketch(final int start, final int end) {
+        final UpdateSketch sketch = Sketches.updateSketchBuilder().build();
+        for (int i = start; i < end; i++) {
+            sketch.update(i);
+        }
+        return sketch;
+    }
+}
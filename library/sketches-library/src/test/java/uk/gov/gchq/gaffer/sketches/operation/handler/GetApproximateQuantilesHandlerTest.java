@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.sketches.operation.handler;
+
+import com.yahoo.sketches.kll.KllFloatsSketch;
+import com.yahoo.sketches.quantiles.DoublesSketch;
+import com.yahoo.sketches.quantiles.DoublesUnion;
+import com.yahoo.sketches.quantiles.UpdateDoublesSketch;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.sketches.operation.GetApproximateQuantiles;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+
+public class GetApproximateQuantilesHandlerTest {
+    private static final String PROPERTY = "sketch";
+
+    @Test
+    public void shouldReturnNullIfInputIsNull() throws OperationException {
+        // Given
+        final GetApproximateQuantiles op = new GetApproximateQuantiles.Builder()
+                .propertyName(PROPERTY)
+                .fractions(0.5)
+                .build();
+
+        // When
+        final double[] result = new GetApproximateQuantilesHandler().doOperation(op, new Context(), mock(Store.class));
+
+        // Then
+        assertNull(result);
+    }
+
+    @Test
+    public void shouldUnionDoublesSketchesAndUnions() throws OperationException {
+        // Given
+        final UpdateDoublesSketch sketch = DoublesSketch.builder().build();
+        for (int i = 0; i < 50; i++) {
+            sketch.update(i);
+        }
+        final DoublesUnion union = DoublesUnion.builder().build();
+        final UpdateDoublesSketch unionSketch = DoublesSketch.builder().build();
+        for (int i = 50; i < 100; i++) {
+            unionSketch.update(i);
+        }
+        union.update(unionSketch);
+        final GetApproximateQuantiles op = new GetApproximateQuantiles.Builder()
+                .input(createEntity(sketch), createEntity(union), new Entity(TestGroups.ENTITY, "vertex"))
+                .propertyName(PROPERTY)
+                .fractions(0.0, 0.5, 1.0)
+                .build();
+
+        // When
+        final double[] result = new GetApproximateQuantilesHandler().doOperation(op, new Context(), mock(Store.class));
+
+        // Then
+        assertArrayEquals(new double[]{0.0, 50.0, 99.0}, result, 0);
+        assertEquals(50, sketch.getN());
+    }
+
+    @Test
+    public void shouldMergeKllSketchesWithoutModifyingThem() throws OperationException {
+        // Given
+        final KllFloatsSketch sketch1 = new KllFloatsSketch();
+        final KllFloatsSketch sketch2 = new KllFloatsSketch();
+        for (int i = 0; i < 50; i++) {
+            sketch1.update(i);
+            sketch2.update(i + 50);
+        }
+        final GetApproximateQuantiles op = new GetApproximateQuantiles.Builder()
+                .input(createEntity(sketch1), createEntity(sketch2))
+                .propertyName(PROPERTY)
+                .fractions(0.0, 1.0)
+                .build();
+
+        // When
+        final double[] result = new GetApproximateQuantilesHandler().doOperation(op, new Context(), mock(Store.class));
+
+        // Then
+        assertArrayEquals(new double[]{0.0, 99.0}, result, 0);
+        assertEquals(50, sketch1.getN());
+    }
+
+    private static Entity createEntity(final Object sketch) {
+        final Entity entity = new Entity(TestGroups.ENTITY, "vertex");
+        entity.putProperty(PROPERTY, sketch);
+        return entity;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.sketches.operation.handler;
+
+import com.yahoo.sketches.frequencies.ItemsSketch;
+import com.yahoo.sketches.frequencies.LongsSketch;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.sketches.operation.GetTopKFrequencies;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class GetTopKFrequenciesHandlerTest {
+    private static final String PROPERTY = "sketch";
+
+    @Test
+    public void shouldReturnEmptyMapIfInputIsNull() throws OperationException {
+        // Given
+        final GetTopKFrequencies op = new GetTopKFrequencies.Builder()
+                .propertyName(PROPERTY)
+                .build();
+
+        // When
+        final Map<Object, Long> result = new GetTopKFrequenciesHandler().doOperation(op, new Context(), mock(Store.class));
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void shouldMergeLongsSketchesAndReturnTopK() throws OperationException {
+        // Given
+        final LongsSketch sketch1 = new LongsSketch(32);
+        sketch1.update(1L, 10);
+        sketch1.update(2L, 5);
+        sketch1.update(3L, 1);
+        final LongsSketch sketch2 = new LongsSketch(64);
+        sketch2.update(2L, 10);
+        sketch2.update(4L, 3);
+        final GetTopKFrequencies op = new GetTopKFrequencies.Builder()
+                .input(createEntity(sketch1), createEntity(sketch2), new Entity(TestGroups.ENTITY, "vertex"))
+                .propertyName(PROPERTY)
+                .k(2)
+                .build();
+
+        // When
+        final Map<Object, Long> result = new GetTopKFrequenciesHandler().doOperation(op, new Context(), mock(Store.class));
+
+        // Then
+        assertEquals(Arrays.asList(2L, 1L), new ArrayList<>(result.keySet()));
+        assertEquals(15L, (long) result.get(2L));
+        assertEquals(10L, (long) result.get(1L));
+        assertEquals(10L, sketch1.getEstimate(1L));
+        assertEquals(5L, sketch1.getEstimate(2L));
+    }
+
+    @Test
+    public void shouldMergeItemsSketchesAndReturnTopK() throws OperationException {
+        // Given
+        final ItemsSketch<String> sketch1 = new ItemsSketch<>(32);
+        sketch1.update("a", 2);
+        sketch1.update("b", 7);
+        final ItemsSketch<String> sketch2 = new ItemsSketch<>(32);
+        sketch2.update("a", 9);
+        sketch2.update("c", 1);
+        final GetTopKFrequencies op = new GetTopKFrequencies.Builder()
+                .input(createEntity(sketch1), createEntity(sketch2))
+                .propertyName(PROPERTY)
+                .build();
+
+        // When
+        final Map<Object, Long> result = new GetTopKFrequenciesHandler().doOperation(op, new Context(), mock(Store.class));
+
+        // Then
+        assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(result.keySet()));
+        assertEquals(11L, (long) result.get("a"));
+        assertEquals(2L, sketch1.getEstimate("a"));
+    }
+
+    private static Entity createEntity(final Object sketch) {
+        final Entity entity = new Entity(TestGroups.ENTITY, "vertex");
+        entity.putProperty(PROPERTY, sketch);
+        return entity;
+    }
+}
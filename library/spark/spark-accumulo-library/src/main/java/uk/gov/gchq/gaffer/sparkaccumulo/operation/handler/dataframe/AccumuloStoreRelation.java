@@ -15,6 +15,8 @@
  */
 package uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.dataframe;
 
+import com.google.common.collect.Iterators;
+import org.apache.accumulo.core.client.admin.DiskUsage;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.spark.rdd.RDD;
 import org.apache.spark.sql.Row;
@@ -32,20 +34,27 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.spark.SparkContextUtil;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.AggregationToViewConverter;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.ClassTagConstants;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.ConvertElementToRow;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.FiltersToOperationConverter;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.RequiredColumnsToViewConverter;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.SupportsAggregationAndLimitPushDown;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.property.Converter;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.schema.SchemaToStructTypeConverter;
 import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfAllElements;
 import uk.gov.gchq.gaffer.store.Context;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BinaryOperator;
 
 /**
  * Allows Apache Spark to retrieve data from an {@link AccumuloStore} as a {@code DataFrame}. Spark's Java API
@@ -61,9 +70,8 @@ import java.util.Map;
  * <p>
  * {@code AccumuloStoreRelation} implements the {@link PrunedScan} interface which allows all {@link Element}s
  * of the specified groups to be returned to the {@code DataFrame} but with only the specified columns returned.
- * Currently, {@link AccumuloStore} does not allow projection of properties in the tablet server, so this projection
- * is performed within the Spark executors, rather than in Accumulo's tablet servers. Once {@link AccumuloStore}
- * supports this projection in the tablet servers, then this will become more efficient.
+ * The required columns are converted to the properties in the {@link View} so that properties which are not
+ * required are removed in Accumulo's tablet servers, rather than being sent to the Spark executors.
  * <p>
  * {@code AccumuloStoreRelation} implements the {@link PrunedFilteredScan} interface which allows only
  * {@link Element}s that match the the provided {@link Filter}s to be returned. The majority of these are implemented
@@ -72,8 +80,14 @@ import java.util.Map;
  * {@code Entity} or either the source or destination vertex in an {@code Edge} then this is applied by
  * using the appropriate range scan on Accumulo. Queries against this {@code DataFrame} that do this should be
  * very quick.
+ * <p>
+ * {@code AccumuloStoreRelation} implements the {@link SupportsAggregationAndLimitPushDown} interface which allows
+ * {@code SUM}, {@code MIN} and {@code MAX} aggregations to be partially carried out in Accumulo's tablet servers,
+ * by adding a group-by to the {@link View} so that the elements are aggregated at query time, and allows a limit to
+ * be applied to each partition. The size of the Accumulo table is reported to Spark's optimiser.
  */
-public class AccumuloStoreRelation extends BaseRelation implements TableScan, PrunedScan, PrunedFilteredScan {
+public class AccumuloStoreRelation extends BaseRelation
+        implements TableScan, PrunedScan, PrunedFilteredScan, SupportsAggregationAndLimitPushDown {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloStoreRelation.class);
 
@@ -87,6 +101,10 @@ public class AccumuloStoreRelation extends BaseRelation implements TableScan, Pr
     private StructType structType;
     private SchemaToStructTypeConverter schemaConverter;
     private Map<String, String> options;
+    private final Set<String> groupingColumns;
+    private final Map<String, Class<? extends BinaryOperator>> aggregatedColumns;
+    private final Integer limit;
+    private Long sizeInBytes;
 
     public AccumuloStoreRelation(final Context context,
                                  final List<Converter> converters,
@@ -103,6 +121,30 @@ public class AccumuloStoreRelation extends BaseRelation implements TableScan, Pr
         this.propertyNeedsConversion = this.schemaConverter.getPropertyNeedsConversion();
         this.converterByProperty = this.schemaConverter.getConverterByProperty();
         this.options = options;
+        this.groupingColumns = null;
+        this.aggregatedColumns = null;
+        this.limit = null;
+    }
+
+    private AccumuloStoreRelation(final AccumuloStoreRelation relation,
+                                  final View view,
+                                  final Set<String> groupingColumns,
+                                  final Map<String, Class<? extends BinaryOperator>> aggregatedColumns,
+                                  final Integer limit) {
+        this.context = relation.context;
+        this.view = view;
+        this.store = relation.store;
+        this.schemaConverter = relation.schemaConverter;
+        this.groups = relation.groups;
+        this.structType = relation.structType;
+        this.usedProperties = relation.usedProperties;
+        this.propertyNeedsConversion = relation.propertyNeedsConversion;
+        this.converterByProperty = relation.converterByProperty;
+        this.options = relation.options;
+        this.groupingColumns = groupingColumns;
+        this.aggregatedColumns = aggregatedColumns;
+        this.limit = limit;
+        this.sizeInBytes = relation.sizeInBytes;
     }
 
     @Override
@@ -115,6 +157,60 @@ public class AccumuloStoreRelation extends BaseRelation implements TableScan, Pr
         return structType;
     }
 
+    /**
+     * Estimates the size of the data as the disk usage of the Accumulo table, so that Spark's optimiser can decide
+     * whether to broadcast this relation in a join.
+     *
+     * @return the disk usage of the Accumulo table in bytes.
+     */
+    @Override
+    public long sizeInBytes() {
+        if (null == sizeInBytes) {
+            try {
+                long usage = 0L;
+                for (final DiskUsage diskUsage : store.getConnection().tableOperations()
+                        .getDiskUsage(Collections.singleton(store.getTableName()))) {
+                    usage += diskUsage.getUsage();
+                }
+                sizeInBytes = usage;
+            } catch (final Exception e) {
+                LOGGER.warn("Unable to get the disk usage of table {}, using the default size estimate",
+                        store.getTableName(), e);
+                sizeInBytes = super.sizeInBytes();
+            }
+        }
+        return sizeInBytes;
+    }
+
+    @Override
+    public BaseRelation pushDownAggregation(final Set<String> groupingColumns,
+                                            final Map<String, Class<? extends BinaryOperator>> aggregatedColumns) {
+        if (null != this.groupingColumns) {
+            return groupingColumns.equals(this.groupingColumns) && aggregatedColumns.equals(this.aggregatedColumns)
+                    ? this : null;
+        }
+        if (null != limit) {
+            return null;
+        }
+        final View aggregationView = new AggregationToViewConverter(view, store.getSchema(), groupingColumns,
+                aggregatedColumns).getView();
+        if (null == aggregationView) {
+            return null;
+        }
+        return new AccumuloStoreRelation(this, aggregationView, groupingColumns, aggregatedColumns, null);
+    }
+
+    @Override
+    public BaseRelation pushDownLimit(final int limit) {
+        if (null != groupingColumns) {
+            return null;
+        }
+        if (null != this.limit && this.limit <= limit) {
+            return this;
+        }
+        return new AccumuloStoreRelation(this, view, null, null, limit);
+    }
+
     /**
      * Creates a {@code DataFrame} of all {@link Element}s from the specified groups.
      *
@@ -128,8 +224,8 @@ public class AccumuloStoreRelation extends BaseRelation implements TableScan, Pr
             operation.setView(view);
             operation.setOptions(options);
             final RDD<Element> rdd = store.execute(operation, context);
-            return rdd.map(new ConvertElementToRow(usedProperties, propertyNeedsConversion, converterByProperty),
-                    ClassTagConstants.ROW_CLASS_TAG);
+            return applyLimit(rdd.map(new ConvertElementToRow(usedProperties, propertyNeedsConversion, converterByProperty),
+                    ClassTagConstants.ROW_CLASS_TAG));
         } catch (final OperationException e) {
             LOGGER.error("OperationException while executing operation: {}", e);
             return null;
@@ -140,8 +236,7 @@ public class AccumuloStoreRelation extends BaseRelation implements TableScan, Pr
      * Creates a {@code DataFrame} of all {@link Element}s from the specified groups with columns that are not
      * required filtered out.
      * <p>
-     * Currently this does not push the projection down to the store (i.e. it should be implemented in an iterator,
-     * not in the transform). Issue 320 refers to this.
+     * The projection is pushed down to the store by restricting the properties in the {@link View}.
      *
      * @param requiredColumns The columns to return.
      * @return An {@link RDD} of {@link Row}s containing the requested columns.
@@ -152,12 +247,12 @@ public class AccumuloStoreRelation extends BaseRelation implements TableScan, Pr
             LOGGER.info("Building scan with required columns: {}", StringUtils.join(requiredColumns, ','));
             LOGGER.info("Building GetRDDOfAllElements with view set to groups {}", StringUtils.join(groups, ','));
             final GetRDDOfAllElements operation = new GetRDDOfAllElements();
-            operation.setView(view);
+            operation.setView(new RequiredColumnsToViewConverter(view, requiredColumns).getView());
             operation.setOptions(options);
             final RDD<Element> rdd = store.execute(operation, context);
-            return rdd.map(new ConvertElementToRow(new LinkedHashSet<>(Arrays.asList(requiredColumns)),
+            return applyLimit(rdd.map(new ConvertElementToRow(new LinkedHashSet<>(Arrays.asList(requiredColumns)),
                             propertyNeedsConversion, converterByProperty),
-                    ClassTagConstants.ROW_CLASS_TAG);
+                    ClassTagConstants.ROW_CLASS_TAG));
         } catch (final OperationException e) {
             LOGGER.error("OperationException while executing operation {}", e);
             return null;
@@ -171,8 +266,7 @@ public class AccumuloStoreRelation extends BaseRelation implements TableScan, Pr
      * Note that Spark also applies the provided {@link Filter}s - applying them here is an optimisation to reduce
      * the amount of data transferred from the store to Spark's executors (this is known as "predicate pushdown").
      * <p>
-     * Currently this does not push the projection down to the store (i.e. it should be implemented in an iterator,
-     * not in the transform). Issue 320 refers to this.
+     * The projection is pushed down to the store by restricting the properties in the {@link View}.
      *
      * @param requiredColumns The columns to return.
      * @param filters         The {@link Filter}s to apply (these are applied before aggregation).
@@ -191,15 +285,27 @@ public class AccumuloStoreRelation extends BaseRelation implements TableScan, Pr
             // and there is no group X in the schema).
             return sqlContext().emptyDataFrame().rdd();
         }
+        final GraphFilters graphFilters = (GraphFilters) operation;
+        graphFilters.setView(new RequiredColumnsToViewConverter(graphFilters.getView(), requiredColumns).getView());
         operation.setOptions(options);
         try {
             final RDD<Element> rdd = store.execute(operation, context);
-            return rdd.map(new ConvertElementToRow(new LinkedHashSet<>(Arrays.asList(requiredColumns)),
+            return applyLimit(rdd.map(new ConvertElementToRow(new LinkedHashSet<>(Arrays.asList(requiredColumns)),
                             propertyNeedsConversion, converterByProperty),
-                    ClassTagConstants.ROW_CLASS_TAG);
+                    ClassTagConstants.ROW_CLASS_TAG));
         } catch (final OperationException e) {
             LOGGER.error("OperationException while executing operation {}", e);
             return null;
         }
     }
+
+    private RDD<Row> applyLimit(final RDD<Row> rdd) {
+        if (null == limit) {
+            return rdd;
+        }
+        final int partitionLimit = limit;
+        return rdd.toJavaRDD()
+                .mapPartitions(rows -> Iterators.limit(rows, partitionLimit))
+                .rdd();
+    }
 }
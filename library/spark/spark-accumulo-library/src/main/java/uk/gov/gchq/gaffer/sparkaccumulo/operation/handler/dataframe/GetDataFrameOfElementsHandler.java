@@ -17,10 +17,12 @@ package uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.dataframe;
 
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
+import org.apache.spark.sql.SQLContext;
 
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.GetDataFrameOfElements;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.PushDownAggregationAndLimit;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
@@ -50,7 +52,9 @@ public class GetDataFrameOfElementsHandler implements OutputOperationHandler<Get
                 operation.getView(),
                 store,
                 operationOptions);
-        return relation.sqlContext().baseRelationToDataFrame(relation);
+        final SQLContext sqlContext = relation.sqlContext();
+        PushDownAggregationAndLimit.register(sqlContext.sparkSession());
+        return sqlContext.baseRelationToDataFrame(relation);
     }
 
 }
@@ -15,14 +15,20 @@
  */
 package uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.dataframe;
 
+import com.google.common.collect.Sets;
 import org.apache.spark.rdd.RDD;
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
+import org.apache.spark.sql.RowFactory;
 import org.apache.spark.sql.SparkSession;
+import org.apache.spark.sql.catalyst.plans.logical.LogicalPlan;
+import org.apache.spark.sql.execution.datasources.LogicalRelation;
+import org.apache.spark.sql.sources.BaseRelation;
 import org.apache.spark.sql.sources.EqualTo;
 import org.apache.spark.sql.sources.Filter;
 import org.apache.spark.sql.sources.GreaterThan;
 import org.junit.Test;
+import scala.collection.JavaConverters;
 
 import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
 import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
@@ -38,25 +44,34 @@ import uk.gov.gchq.gaffer.spark.SparkContextUtil;
 import uk.gov.gchq.gaffer.spark.SparkSessionProvider;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.ConvertElementToRow;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.GetDataFrameOfElements;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.PushDownAggregationAndLimit;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.schema.SchemaToStructTypeConverter;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BinaryOperator;
 import java.util.function.Predicate;
 
+import static org.apache.spark.sql.functions.col;
+import static org.apache.spark.sql.functions.sum;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -266,6 +281,166 @@ public class AccumuloStoreRelationTest {
 
     }
 
+    @Test
+    public void shouldAggregateInStoreWhenAggregationPushedDown() throws OperationException, StoreException {
+        // Given
+        final SparkSession sparkSession = SparkSessionProvider.getSparkSession();
+        final Schema schema = getSchema();
+        final View view = new View.Builder()
+                .edge(GetDataFrameOfElementsHandlerTest.EDGE_GROUP)
+                .build();
+        final SingleUseMockAccumuloStore store = createStoreWithElements(schema);
+        final AccumuloStoreRelation relation = new AccumuloStoreRelation(
+                SparkContextUtil.createContext(new User(), sparkSession),
+                Collections.emptyList(), view, store, null);
+        final Map<String, Class<? extends BinaryOperator>> aggregatedColumns = new HashMap<>();
+        aggregatedColumns.put("count", Sum.class);
+
+        // When
+        final BaseRelation aggregatedRelation = relation.pushDownAggregation(
+                Sets.newHashSet(SchemaToStructTypeConverter.SRC_COL_NAME, SchemaToStructTypeConverter.DST_COL_NAME),
+                aggregatedColumns);
+        final Row[] rows = (Row[]) ((AccumuloStoreRelation) aggregatedRelation).buildScan(new String[]{
+                SchemaToStructTypeConverter.SRC_COL_NAME, SchemaToStructTypeConverter.DST_COL_NAME, "count"})
+                .collect();
+
+        // Then
+        final Set<Row> results = new HashSet<>(Arrays.asList(rows));
+        final Set<Row> expectedRows = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            expectedRows.add(RowFactory.create("" + i, "B", 101L));
+            expectedRows.add(RowFactory.create("" + i, "C", i * 200L));
+        }
+        assertEquals(expectedRows, results);
+        assertSame(aggregatedRelation, ((AccumuloStoreRelation) aggregatedRelation).pushDownAggregation(
+                Sets.newHashSet(SchemaToStructTypeConverter.SRC_COL_NAME, SchemaToStructTypeConverter.DST_COL_NAME),
+                aggregatedColumns));
+    }
+
+    @Test
+    public void shouldPushDownSumGroupedByKeyColumnsFromDataFrame() throws OperationException, StoreException {
+        // Given
+        final SparkSession sparkSession = SparkSessionProvider.getSparkSession();
+        final Schema schema = getSchema();
+        final SingleUseMockAccumuloStore store = createStoreWithElements(schema);
+        final AccumuloStoreRelation relation = new AccumuloStoreRelation(
+                SparkContextUtil.createContext(new User(), sparkSession),
+                Collections.emptyList(), getViewFromSchema(schema), store, null);
+        PushDownAggregationAndLimit.register(sparkSession);
+        final Dataset<Row> dataFrame = sparkSession.baseRelationToDataFrame(relation)
+                .filter(col(SchemaToStructTypeConverter.GROUP).equalTo(GetDataFrameOfElementsHandlerTest.EDGE_GROUP))
+                .groupBy(SchemaToStructTypeConverter.SRC_COL_NAME)
+                .agg(sum("count"));
+
+        // When
+        final List<Row> rows = dataFrame.collectAsList();
+
+        // Then
+        assertNotSame(relation, getRelation(dataFrame));
+        final Set<Row> expectedRows = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            expectedRows.add(RowFactory.create("" + i, 101L + i * 200L));
+        }
+        assertEquals(expectedRows, new HashSet<>(rows));
+    }
+
+    @Test
+    public void shouldNotPushDownCount() throws OperationException, StoreException {
+        // Given
+        final SparkSession sparkSession = SparkSessionProvider.getSparkSession();
+        final Schema schema = getSchema();
+        final SingleUseMockAccumuloStore store = createStoreWithElements(schema);
+        final AccumuloStoreRelation relation = new AccumuloStoreRelation(
+                SparkContextUtil.createContext(new User(), sparkSession),
+                Collections.emptyList(), getViewFromSchema(schema), store, null);
+        PushDownAggregationAndLimit.register(sparkSession);
+        final Dataset<Row> dataFrame = sparkSession.baseRelationToDataFrame(relation)
+                .groupBy(SchemaToStructTypeConverter.GROUP)
+                .count();
+
+        // When
+        final List<Row> rows = dataFrame.collectAsList();
+
+        // Then
+        assertSame(relation, getRelation(dataFrame));
+        assertEquals(Sets.newHashSet(
+                RowFactory.create(GetDataFrameOfElementsHandlerTest.ENTITY_GROUP, 10L),
+                RowFactory.create(GetDataFrameOfElementsHandlerTest.EDGE_GROUP, 30L),
+                RowFactory.create(GetDataFrameOfElementsHandlerTest.EDGE_GROUP2, 10L)), new HashSet<>(rows));
+    }
+
+    @Test
+    public void shouldPushDownLimit() throws OperationException, StoreException {
+        // Given
+        final SparkSession sparkSession = SparkSessionProvider.getSparkSession();
+        final Schema schema = getSchema();
+        final SingleUseMockAccumuloStore store = createStoreWithElements(schema);
+        final AccumuloStoreRelation relation = new AccumuloStoreRelation(
+                SparkContextUtil.createContext(new User(), sparkSession),
+                Collections.emptyList(), getViewFromSchema(schema), store, null);
+        PushDownAggregationAndLimit.register(sparkSession);
+        final Dataset<Row> dataFrame = sparkSession.baseRelationToDataFrame(relation)
+                .select(SchemaToStructTypeConverter.GROUP, "count")
+                .limit(3);
+
+        // When
+        final List<Row> rows = dataFrame.collectAsList();
+        final RDD<Row> rdd = ((AccumuloStoreRelation) relation.pushDownLimit(3)).buildScan();
+
+        // Then
+        assertEquals(3, rows.size());
+        assertNotSame(relation, getRelation(dataFrame));
+        assertTrue(rdd.count() <= 3L * rdd.getNumPartitions());
+    }
+
+    @Test
+    public void shouldReportTableSizeToOptimiser() throws OperationException, StoreException {
+        // Given
+        final SparkSession sparkSession = SparkSessionProvider.getSparkSession();
+        final Schema schema = getSchema();
+        final SingleUseMockAccumuloStore store = createStoreWithElements(schema);
+
+        // When
+        final AccumuloStoreRelation relation = new AccumuloStoreRelation(
+                SparkContextUtil.createContext(new User(), sparkSession),
+                Collections.emptyList(), getViewFromSchema(schema), store, null);
+
+        // Then
+        assertTrue(relation.sizeInBytes() >= 0L);
+    }
+
+    private static BaseRelation getRelation(final Dataset<Row> dataFrame) {
+        for (final LogicalPlan leaf : JavaConverters.seqAsJavaListConverter(
+                dataFrame.queryExecution().optimizedPlan().collectLeaves()).asJava()) {
+            if (leaf instanceof LogicalRelation) {
+                return ((LogicalRelation) leaf).relation();
+            }
+        }
+        return null;
+    }
+
+    private static SingleUseMockAccumuloStore createStoreWithElements(final Schema schema)
+            throws OperationException, StoreException {
+        final AccumuloProperties properties = AccumuloProperties
+                .loadStoreProperties(AccumuloStoreRelationTest.class.getResourceAsStream("/store.properties"));
+        final SingleUseMockAccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise("graphId", schema, properties);
+        addElements(store);
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            elements.add(new Edge.Builder()
+                    .group(GetDataFrameOfElementsHandlerTest.EDGE_GROUP)
+                    .source("" + i)
+                    .dest("B")
+                    .directed(true)
+                    .property("columnQualifier", 2)
+                    .property("count", 1L)
+                    .build());
+        }
+        store.execute(new AddElements.Builder().input(elements).build(), new Context(new User()));
+        return store;
+    }
+
     private static Schema getSchema() {
         return Schema.fromJson(
                 AccumuloStoreRelationTest.class.getResourceAsStream("/schema-DataFrame/elements.json"),
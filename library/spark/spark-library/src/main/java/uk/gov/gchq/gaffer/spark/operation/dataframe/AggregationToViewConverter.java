@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.operation.dataframe;
+
+import com.google.common.collect.Sets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.schema.SchemaToStructTypeConverter;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+
+/**
+ * Converts a given {@link View} and the grouping and aggregated columns of a Spark aggregation over a
+ * {@code DataFrame} into a {@link View} that asks the store to aggregate the elements at query time, grouping them
+ * by the grouping columns that are properties (this is known as "aggregate pushdown").
+ * <p>
+ * Gaffer always groups elements by their group and identifiers, so the store performs a partial aggregation and
+ * Spark still carries out the final aggregation. This is only correct if aggregating the store's partial results
+ * again gives the same answer, so the aggregation is only pushed down if:
+ * <ul>
+ * <li>every grouping column that is a property of a group is in that group's schema group-by,</li>
+ * <li>every aggregated property is aggregated by the same function that the schema uses for it, e.g. a
+ * {@code SUM} of a property whose aggregate function is {@link Sum},</li>
+ * <li>every summed property is a {@link Long} or a {@link Double}, as Spark sums other numeric types into a wider
+ * type whereas {@link Sum} keeps the type of the property, so the store's partial sums could overflow, and</li>
+ * <li>the view does not already aggregate, filter after aggregation or transform the elements.</li>
+ * </ul>
+ * Otherwise {@link #getView()} returns null.
+ */
+public class AggregationToViewConverter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AggregationToViewConverter.class);
+
+    /**
+     * The columns that are part of the key that Gaffer always groups elements by.
+     */
+    public static final Set<String> KEY_COLUMNS = Collections.unmodifiableSet(Sets.newHashSet(
+            SchemaToStructTypeConverter.GROUP,
+            SchemaToStructTypeConverter.VERTEX_COL_NAME,
+            SchemaToStructTypeConverter.SRC_COL_NAME,
+            SchemaToStructTypeConverter.DST_COL_NAME,
+            SchemaToStructTypeConverter.DIRECTED_COL_NAME));
+
+    private static final Set<Class<?>> SUMMABLE_CLASSES = Collections.unmodifiableSet(
+            Sets.newHashSet(Long.class, Double.class));
+
+    private final View view;
+    private final Schema schema;
+    private final Set<String> groupingColumns;
+    private final Map<String, Class<? extends BinaryOperator>> aggregatedColumns;
+
+    /**
+     * @param view              the view of the {@code DataFrame}
+     * @param schema            the schema of the store
+     * @param groupingColumns   the columns that Spark groups by
+     * @param aggregatedColumns the columns that Spark aggregates, mapped to the class of the Gaffer aggregate
+     *                          function that is equivalent to Spark's aggregate function
+     */
+    public AggregationToViewConverter(final View view,
+                                      final Schema schema,
+                                      final Set<String> groupingColumns,
+                                      final Map<String, Class<? extends BinaryOperator>> aggregatedColumns) {
+        this.view = view;
+        this.schema = schema;
+        this.groupingColumns = new HashSet<>(groupingColumns);
+        this.aggregatedColumns = new HashMap<>(aggregatedColumns);
+    }
+
+    /**
+     * Creates a {@link View} in which each group is aggregated at query time by the grouping columns.
+     *
+     * @return the view, or null if the aggregation cannot be pushed down to the store.
+     */
+    public View getView() {
+        final View.Builder builder = new View.Builder().merge(view);
+        for (final String group : view.getEntityGroups()) {
+            final ViewElementDefinition elementDef = getElementDefinition(group, view.getEntity(group));
+            if (null == elementDef) {
+                return null;
+            }
+            builder.entity(group, elementDef);
+        }
+        for (final String group : view.getEdgeGroups()) {
+            final ViewElementDefinition elementDef = getElementDefinition(group, view.getEdge(group));
+            if (null == elementDef) {
+                return null;
+            }
+            builder.edge(group, elementDef);
+        }
+        return builder.build();
+    }
+
+    private ViewElementDefinition getElementDefinition(final String group, final ViewElementDefinition elementDef) {
+        final SchemaElementDefinition schemaElementDef = schema.getElement(group);
+        if (null == schemaElementDef) {
+            LOGGER.info("Not pushing down the aggregation as group {} is not in the schema", group);
+            return null;
+        }
+        if (null != elementDef && (null != elementDef.getGroupBy() || null != elementDef.getAggregator()
+                || elementDef.hasPostAggregationFilters() || null != elementDef.getTransformer()
+                || elementDef.hasPostTransformFilters())) {
+            LOGGER.info("Not pushing down the aggregation as the view already aggregates or transforms group {}", group);
+            return null;
+        }
+
+        final Set<String> groupBy = new LinkedHashSet<>();
+        for (final String column : groupingColumns) {
+            if (!KEY_COLUMNS.contains(column) && schemaElementDef.containsProperty(column)) {
+                if (!schemaElementDef.getGroupBy().contains(column)) {
+                    LOGGER.info("Not pushing down the aggregation as {} is not in the group-by of group {}", column, group);
+                    return null;
+                }
+                groupBy.add(column);
+            }
+        }
+        for (final Map.Entry<String, Class<? extends BinaryOperator>> entry : aggregatedColumns.entrySet()) {
+            final String column = entry.getKey();
+            if (!KEY_COLUMNS.contains(column) && !groupBy.contains(column) && schemaElementDef.containsProperty(column)) {
+                final TypeDefinition typeDef = schemaElementDef.getPropertyTypeDef(column);
+                final BinaryOperator aggregateFunction = null == typeDef ? null : typeDef.getAggregateFunction();
+                if (null == aggregateFunction || !entry.getValue().equals(aggregateFunction.getClass())) {
+                    LOGGER.info("Not pushing down the aggregation as {} is not aggregated by {} in group {}",
+                            column, entry.getValue().getSimpleName(), group);
+                    return null;
+                }
+                if (Sum.class.equals(entry.getValue()) && !SUMMABLE_CLASSES.contains(typeDef.getClazz())) {
+                    LOGGER.info("Not pushing down the aggregation as {} in group {} is not a Long or Double so cannot be summed",
+                            column, group);
+                    return null;
+                }
+            }
+        }
+
+        final ViewElementDefinition.Builder builder = new ViewElementDefinition.Builder();
+        if (null != elementDef) {
+            builder.merge(elementDef);
+        }
+        return builder.groupBy(groupBy.toArray(new String[groupBy.size()]))
+                .build();
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.operation.dataframe;
+
+import org.apache.spark.sql.ExperimentalMethods;
+import org.apache.spark.sql.SparkSession;
+import org.apache.spark.sql.catalyst.expressions.Attribute;
+import org.apache.spark.sql.catalyst.expressions.AttributeReference;
+import org.apache.spark.sql.catalyst.expressions.Cast;
+import org.apache.spark.sql.catalyst.expressions.Expression;
+import org.apache.spark.sql.catalyst.expressions.Literal;
+import org.apache.spark.sql.catalyst.expressions.NamedExpression;
+import org.apache.spark.sql.catalyst.expressions.aggregate.AggregateExpression;
+import org.apache.spark.sql.catalyst.expressions.aggregate.AggregateFunction;
+import org.apache.spark.sql.catalyst.plans.logical.Aggregate;
+import org.apache.spark.sql.catalyst.plans.logical.Filter;
+import org.apache.spark.sql.catalyst.plans.logical.LocalLimit;
+import org.apache.spark.sql.catalyst.plans.logical.LogicalPlan;
+import org.apache.spark.sql.catalyst.plans.logical.Project;
+import org.apache.spark.sql.catalyst.rules.Rule;
+import org.apache.spark.sql.execution.datasources.LogicalRelation;
+import org.apache.spark.sql.sources.BaseRelation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.Function1;
+import scala.collection.JavaConverters;
+import scala.collection.Seq;
+import scala.runtime.AbstractPartialFunction;
+
+import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Min;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+
+/**
+ * An optimiser rule that pushes aggregations and limits down to relations that implement
+ * {@link SupportsAggregationAndLimitPushDown}. Spark 2.2's data source API only allows projections and filters to
+ * be pushed down, so this rule is added to Spark's extra optimisations using {@link #register(SparkSession)}.
+ * <p>
+ * An {@link Aggregate} is pushed down if it is directly above the relation, or above projections of columns and
+ * filters on the grouping columns, and it only groups by columns and computes {@code SUM}, {@code MIN} and
+ * {@code MAX} of columns. Other aggregate functions, such as {@code COUNT} and {@code AVG}, cannot be computed from
+ * rows that have already been partially aggregated so they prevent the aggregation from being pushed down.
+ * <p>
+ * A {@link LocalLimit} is pushed down if it is directly above the relation or above projections of columns.
+ * <p>
+ * The {@link Aggregate} and {@link LocalLimit} are left in the plan so that Spark finishes the aggregation and
+ * limit.
+ */
+public class PushDownAggregationAndLimit extends Rule<LogicalPlan> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PushDownAggregationAndLimit.class);
+
+    private static final Map<String, Class<? extends BinaryOperator>> AGGREGATE_FUNCTIONS;
+
+    static {
+        final Map<String, Class<? extends BinaryOperator>> aggregateFunctions = new HashMap<>();
+        aggregateFunctions.put(org.apache.spark.sql.catalyst.expressions.aggregate.Sum.class.getName(), Sum.class);
+        aggregateFunctions.put(org.apache.spark.sql.catalyst.expressions.aggregate.Min.class.getName(), Min.class);
+        aggregateFunctions.put(org.apache.spark.sql.catalyst.expressions.aggregate.Max.class.getName(), Max.class);
+        AGGREGATE_FUNCTIONS = Collections.unmodifiableMap(aggregateFunctions);
+    }
+
+    /**
+     * Adds this rule to the extra optimisations of the given {@link SparkSession}, unless it has already been added.
+     *
+     * @param sparkSession the {@link SparkSession}
+     */
+    public static void register(final SparkSession sparkSession) {
+        final ExperimentalMethods experimental = sparkSession.experimental();
+        synchronized (experimental) {
+            final List<Rule<LogicalPlan>> rules = new ArrayList<>(toList(experimental.extraOptimizations()));
+            for (final Rule<LogicalPlan> rule : rules) {
+                if (rule instanceof PushDownAggregationAndLimit) {
+                    return;
+                }
+            }
+            rules.add(new PushDownAggregationAndLimit());
+            experimental.extraOptimizations_$eq(JavaConverters.asScalaBufferConverter(rules).asScala().toSeq());
+        }
+    }
+
+    @Override
+    public LogicalPlan apply(final LogicalPlan plan) {
+        return plan.transformDown(new AbstractPartialFunction<LogicalPlan, LogicalPlan>() {
+            @Override
+            public boolean isDefinedAt(final LogicalPlan node) {
+                return null != pushDown(node);
+            }
+
+            @Override
+            public <A1 extends LogicalPlan, B1> B1 applyOrElse(final A1 node, final Function1<A1, B1> defaultFunction) {
+                final LogicalPlan result = pushDown(node);
+                return null != result ? (B1) result : defaultFunction.apply(node);
+            }
+        });
+    }
+
+    // Returns the plan with the aggregation or limit pushed into the relation, or null if it cannot be
+    private LogicalPlan pushDown(final LogicalPlan node) {
+        if (node instanceof Aggregate) {
+            return pushDownAggregation((Aggregate) node);
+        }
+        if (node instanceof LocalLimit) {
+            return pushDownLimit((LocalLimit) node);
+        }
+        return null;
+    }
+
+    private LogicalPlan pushDownAggregation(final Aggregate aggregate) {
+        final Set<String> filteredColumns = new HashSet<>();
+        final LogicalRelation logicalRelation = findRelation(aggregate.child(), filteredColumns);
+        if (null == logicalRelation) {
+            return null;
+        }
+
+        final Set<String> groupingColumns = new HashSet<>();
+        for (final Expression expression : toList(aggregate.groupingExpressions())) {
+            if (!(expression instanceof AttributeReference)) {
+                return null;
+            }
+            groupingColumns.add(((AttributeReference) expression).name());
+        }
+        final Set<String> allowedFilterColumns = new HashSet<>(groupingColumns);
+        allowedFilterColumns.addAll(AggregationToViewConverter.KEY_COLUMNS);
+        if (!allowedFilterColumns.containsAll(filteredColumns)) {
+            // Filtering on a column that is aggregated would give different results on the aggregated rows
+            return null;
+        }
+
+        final Map<String, Class<? extends BinaryOperator>> aggregatedColumns = new HashMap<>();
+        for (final NamedExpression expression : toList(aggregate.aggregateExpressions())) {
+            if (!addAggregatedColumns((Expression) expression, aggregatedColumns)) {
+                return null;
+            }
+        }
+
+        final BaseRelation relation = ((SupportsAggregationAndLimitPushDown) logicalRelation.relation())
+                .pushDownAggregation(groupingColumns, aggregatedColumns);
+        if (null == relation || relation == logicalRelation.relation()) {
+            return null;
+        }
+        LOGGER.debug("Pushed down the aggregation of {} grouped by {}", aggregatedColumns, groupingColumns);
+        return replaceRelation(aggregate, logicalRelation, relation);
+    }
+
+    private LogicalPlan pushDownLimit(final LocalLimit localLimit) {
+        if (!(localLimit.limitExpr() instanceof Literal) || !(((Literal) localLimit.limitExpr()).value() instanceof Integer)) {
+            return null;
+        }
+        final LogicalRelation logicalRelation = findRelation(localLimit.child(), null);
+        if (null == logicalRelation) {
+            return null;
+        }
+
+        final int limit = (Integer) ((Literal) localLimit.limitExpr()).value();
+        final BaseRelation relation = ((SupportsAggregationAndLimitPushDown) logicalRelation.relation())
+                .pushDownLimit(limit);
+        if (null == relation || relation == logicalRelation.relation()) {
+            return null;
+        }
+        LOGGER.info("Pushed down limit of {}", limit);
+        return replaceRelation(localLimit, logicalRelation, relation);
+    }
+
+    // Finds the relation below any projections of columns and, if filteredColumns is not null, any filters
+    private LogicalRelation findRelation(final LogicalPlan plan, final Set<String> filteredColumns) {
+        LogicalPlan node = plan;
+        while (true) {
+            if (node instanceof Project) {
+                for (final NamedExpression expression : toList(((Project) node).projectList())) {
+                    if (!(expression instanceof AttributeReference)) {
+                        return null;
+                    }
+                }
+                node = ((Project) node).child();
+            } else if (node instanceof Filter && null != filteredColumns) {
+                for (final Attribute attribute : toList(((Filter) node).condition().references().toSeq())) {
+                    filteredColumns.add(attribute.name());
+                }
+                node = ((Filter) node).child();
+            } else if (node instanceof LogicalRelation
+                    && ((LogicalRelation) node).relation() instanceof SupportsAggregationAndLimitPushDown) {
+                return (LogicalRelation) node;
+            } else {
+                return null;
+            }
+        }
+    }
+
+    // Adds the columns aggregated by any aggregate functions in the expression, returning false if any of the
+    // aggregate functions cannot be pushed down
+    private boolean addAggregatedColumns(final Expression expression,
+                                         final Map<String, Class<? extends BinaryOperator>> aggregatedColumns) {
+        if (expression instanceof AggregateExpression) {
+            final AggregateExpression aggregateExpression = (AggregateExpression) expression;
+            final AggregateFunction function = aggregateExpression.aggregateFunction();
+            final Class<? extends BinaryOperator> aggregateFunctionClass
+                    = AGGREGATE_FUNCTIONS.get(function.getClass().getName());
+            if (aggregateExpression.isDistinct() || null == aggregateFunctionClass || 1 != function.children().size()) {
+                return false;
+            }
+            Expression child = function.children().head();
+            while (child instanceof Cast) {
+                child = ((Cast) child).child();
+            }
+            if (!(child instanceof AttributeReference)) {
+                return false;
+            }
+            final String column = ((AttributeReference) child).name();
+            final Class<? extends BinaryOperator> existing = aggregatedColumns.put(column, aggregateFunctionClass);
+            return null == existing || existing.equals(aggregateFunctionClass);
+        }
+        for (final Expression child : toList(expression.children())) {
+            if (!addAggregatedColumns(child, aggregatedColumns)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private LogicalPlan replaceRelation(final LogicalPlan plan, final LogicalRelation logicalRelation,
+                                        final BaseRelation relation) {
+        if (plan == logicalRelation) {
+            return new LogicalRelation(relation, logicalRelation.output(), logicalRelation.catalogTable());
+        }
+        final LogicalPlan child = replaceRelation(plan.children().head(), logicalRelation, relation);
+        return plan.withNewChildren(JavaConverters.asScalaBufferConverter(Collections.singletonList(child)).asScala());
+    }
+
+    private static <T> List<T> toList(final Seq<T> seq) {
+        return JavaConverters.seqAsJavaListConverter(seq).asJava();
+    }
+}
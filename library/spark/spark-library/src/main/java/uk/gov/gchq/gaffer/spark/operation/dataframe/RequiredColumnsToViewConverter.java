@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.operation.dataframe;
+
+import com.google.common.collect.Sets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.schema.SchemaToStructTypeConverter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Converts a given {@link View} and the columns that Spark requires from a {@code DataFrame} to a {@link View}
+ * in which the properties of each group are restricted to those columns. This allows the store to avoid
+ * returning properties that will be discarded by Spark (this is known as "column pruning" or "projection
+ * pushdown").
+ * <p>
+ * Columns that are not properties, e.g. the group, vertex, source and destination columns, are ignored. Any
+ * properties or excludeProperties already set on the {@link View} are respected.
+ */
+public class RequiredColumnsToViewConverter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequiredColumnsToViewConverter.class);
+
+    private static final Set<String> NON_PROPERTY_COLUMNS = Collections.unmodifiableSet(Sets.newHashSet(
+            SchemaToStructTypeConverter.GROUP,
+            SchemaToStructTypeConverter.ID,
+            SchemaToStructTypeConverter.VERTEX_COL_NAME,
+            SchemaToStructTypeConverter.SRC_COL_NAME,
+            SchemaToStructTypeConverter.DST_COL_NAME,
+            SchemaToStructTypeConverter.DIRECTED_COL_NAME,
+            SchemaToStructTypeConverter.MATCHED_VERTEX_COL_NAME));
+
+    private final View view;
+    private final Set<String> requiredProperties;
+
+    public RequiredColumnsToViewConverter(final View view, final String[] requiredColumns) {
+        this.view = view;
+        this.requiredProperties = new HashSet<>(Arrays.asList(requiredColumns));
+        this.requiredProperties.removeAll(NON_PROPERTY_COLUMNS);
+    }
+
+    /**
+     * Creates a {@link View} in which each group only returns the properties that are in the required columns.
+     *
+     * @return the view with the properties of each group restricted to the required columns.
+     */
+    public View getView() {
+        final View.Builder builder = new View.Builder().merge(view);
+        for (final String group : view.getEntityGroups()) {
+            builder.entity(group, project(view.getEntity(group)));
+        }
+        for (final String group : view.getEdgeGroups()) {
+            builder.edge(group, project(view.getEdge(group)));
+        }
+        final View derivedView = builder.build();
+        LOGGER.info("Restricted the properties in the view to {}", requiredProperties);
+        return derivedView;
+    }
+
+    private ViewElementDefinition project(final ViewElementDefinition elementDef) {
+        final ViewElementDefinition.Builder builder = new ViewElementDefinition.Builder();
+        final Set<String> properties = new HashSet<>(requiredProperties);
+        if (null != elementDef) {
+            // Merging does not copy the aggregator so it is set separately
+            builder.merge(elementDef)
+                    .aggregator(elementDef.getAggregator());
+            if (null != elementDef.getProperties()) {
+                properties.retainAll(elementDef.getProperties());
+            } else if (null != elementDef.getExcludeProperties()) {
+                properties.removeAll(elementDef.getExcludeProperties());
+            }
+        }
+        return builder
+                .allProperties()
+                .properties(properties)
+                .build();
+    }
+}
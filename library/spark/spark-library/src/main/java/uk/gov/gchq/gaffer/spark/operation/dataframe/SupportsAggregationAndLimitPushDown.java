@@ -0,0 +1,54 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.operation.dataframe;
+
+import org.apache.spark.sql.sources.BaseRelation;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+
+/**
+ * A {@link BaseRelation} that can partially carry out an aggregation or a limit in the store, so that less data is
+ * sent to Spark. Spark still applies the aggregation or limit to the rows returned from the relation, so the
+ * relation only needs to return rows that give the same answer when Spark does so.
+ * <p>
+ * The pushdown is carried out by the {@link PushDownAggregationAndLimit} optimiser rule.
+ */
+public interface SupportsAggregationAndLimitPushDown {
+
+    /**
+     * Returns a relation that aggregates the rows by (at least) the given grouping columns before returning them.
+     *
+     * @param groupingColumns   the columns that Spark groups by
+     * @param aggregatedColumns the columns that Spark aggregates, mapped to the class of the Gaffer aggregate
+     *                          function that is equivalent to Spark's aggregate function
+     * @return the relation with the aggregation pushed down, this relation if the aggregation has already been
+     * pushed down or null if the aggregation cannot be pushed down
+     */
+    BaseRelation pushDownAggregation(final Set<String> groupingColumns,
+                                     final Map<String, Class<? extends BinaryOperator>> aggregatedColumns);
+
+    /**
+     * Returns a relation that returns at most the given number of rows from each partition.
+     *
+     * @param limit the maximum number of rows
+     * @return the relation with the limit pushed down, this relation if the limit has already been pushed down or
+     * null if the limit cannot be pushed down
+     */
+    BaseRelation pushDownLimit(final int limit);
+}
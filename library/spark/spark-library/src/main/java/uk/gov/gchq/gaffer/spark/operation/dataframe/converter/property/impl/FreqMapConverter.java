@@ -21,18 +21,21 @@ import scala.collection.JavaConverters;
 
 import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.exception.ConversionException;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.property.Converter;
+import uk.gov.gchq.gaffer.types.CompactFreqMap;
 import uk.gov.gchq.gaffer.types.FreqMap;
 
+import java.util.Map;
+
 /**
- * A {@link Converter} that converts a {@link FreqMap} into a Scala map that is suitable for inclusion
- * in a Dataframe.
+ * A {@link Converter} that converts a {@link FreqMap} or a {@link CompactFreqMap} into a Scala map
+ * that is suitable for inclusion in a Dataframe.
  */
 public class FreqMapConverter implements Converter {
     private static final long serialVersionUID = -1247681579101863145L;
 
     @Override
     public boolean canHandle(final Class clazz) {
-        return FreqMap.class.equals(clazz);
+        return FreqMap.class.equals(clazz) || CompactFreqMap.class.equals(clazz);
     }
 
     @Override
@@ -42,6 +45,6 @@ public class FreqMapConverter implements Converter {
 
     @Override
     public scala.collection.mutable.Map<String, Long> convert(final Object object) throws ConversionException {
-        return JavaConverters.mapAsScalaMapConverter((FreqMap) object).asScala();
+        return JavaConverters.mapAsScalaMapConverter((Map<String, Long>) object).asScala();
     }
 }
@@ -29,6 +29,7 @@ import org.apache.spark.serializer.KryoRegistrator;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.CompactFreqMapKryoSerializer;
 import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.EdgeKryoSerializer;
 import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.EntityKryoSerializer;
 import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.FreqMapKryoSerializer;
@@ -42,6 +43,7 @@ import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.datasketches.frequencies
 import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.datasketches.quantiles.StringsUnionKryoSerializer;
 import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.datasketches.sampling.ReservoirLongsSketchKryoSerializer;
 import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.datasketches.sampling.ReservoirLongsUnionKryoSerializer;
+import uk.gov.gchq.gaffer.types.CompactFreqMap;
 import uk.gov.gchq.gaffer.types.FreqMap;
 import uk.gov.gchq.gaffer.types.TypeSubTypeValue;
 import uk.gov.gchq.gaffer.types.TypeValue;
@@ -59,6 +61,7 @@ public class Registrator implements KryoRegistrator {
         kryo.register(Edge.class, new EdgeKryoSerializer());
         kryo.register(Properties.class);
         kryo.register(FreqMap.class, new FreqMapKryoSerializer());
+        kryo.register(CompactFreqMap.class, new CompactFreqMapKryoSerializer());
         kryo.register(HyperLogLogPlus.class, new HyperLogLogPlusKryoSerializer());
         kryo.register(HllSketch.class, new HllSketchKryoSerializer());
         kryo.register(Union.class, new HllUnionKryoSerializer());
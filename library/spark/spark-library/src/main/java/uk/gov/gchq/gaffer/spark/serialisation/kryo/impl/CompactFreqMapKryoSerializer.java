@@ -0,0 +1,62 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.serialisation.kryo.impl;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.CompactFreqMapSerialiser;
+import uk.gov.gchq.gaffer.types.CompactFreqMap;
+
+/**
+ * A {@code CompactFreqMapKryoSerializer} is a {@link Kryo} {@link com.esotericsoftware.kryo.Serializer}
+ * for a Gaffer {@link CompactFreqMap}
+ */
+public class CompactFreqMapKryoSerializer extends Serializer<CompactFreqMap> {
+    private CompactFreqMapSerialiser serialiser;
+
+    public CompactFreqMapKryoSerializer() {
+        this.serialiser = new CompactFreqMapSerialiser();
+    }
+
+    @Override
+    public void write(final Kryo kryo, final Output output, final CompactFreqMap freqMap) {
+        final byte[] serialised;
+        try {
+            serialised = serialiser.serialise(freqMap);
+        } catch (final SerialisationException e) {
+            throw new GafferRuntimeException("Exception serialising CompactFreqMap to a byte array.", e);
+        }
+        output.writeInt(serialised.length);
+        output.writeBytes(serialised);
+    }
+
+    @Override
+    public CompactFreqMap read(final Kryo kryo, final Input input, final Class<CompactFreqMap> aClass) {
+        final int serialisedLength = input.readInt();
+        final byte[] serialised = input.readBytes(serialisedLength);
+        try {
+            return serialiser.deserialise(serialised);
+        } catch (final SerialisationException e) {
+            throw new GafferRuntimeException("Exception deserialising CompactFreqMap from a byte array.", e);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.operation.dataframe;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.schema.SchemaToStructTypeConverter;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class AggregationToViewConverterTest {
+    private static final String ENTITY_GROUP = "BasicEntity";
+    private static final String EDGE_GROUP = "BasicEdge";
+
+    @Test
+    public void shouldGroupByGroupingPropertiesWhenAggregateFunctionsMatchSchema() {
+        // Given
+        final View view = new View.Builder()
+                .entity(ENTITY_GROUP)
+                .edge(EDGE_GROUP)
+                .build();
+        final Map<String, Class<? extends BinaryOperator>> aggregatedColumns = new HashMap<>();
+        aggregatedColumns.put("count", Sum.class);
+
+        // When
+        final View derivedView = new AggregationToViewConverter(view, getSchema(),
+                Sets.newHashSet(SchemaToStructTypeConverter.GROUP, SchemaToStructTypeConverter.SRC_COL_NAME, "columnQualifier"),
+                aggregatedColumns).getView();
+
+        // Then
+        assertEquals(new LinkedHashSet<>(Collections.singletonList("columnQualifier")),
+                derivedView.getEntity(ENTITY_GROUP).getGroupBy());
+        assertEquals(new LinkedHashSet<>(Collections.singletonList("columnQualifier")),
+                derivedView.getEdge(EDGE_GROUP).getGroupBy());
+    }
+
+    @Test
+    public void shouldGroupByNoPropertiesWhenOnlyGroupingByKeyColumns() {
+        // Given
+        final View view = new View.Builder()
+                .edge(EDGE_GROUP)
+                .build();
+        final Map<String, Class<? extends BinaryOperator>> aggregatedColumns = new HashMap<>();
+        aggregatedColumns.put("count", Sum.class);
+
+        // When
+        final View derivedView = new AggregationToViewConverter(view, getSchema(),
+                Sets.newHashSet(SchemaToStructTypeConverter.SRC_COL_NAME, SchemaToStructTypeConverter.DST_COL_NAME),
+                aggregatedColumns).getView();
+
+        // Then
+        assertEquals(Collections.emptySet(), derivedView.getEdge(EDGE_GROUP).getGroupBy());
+    }
+
+    @Test
+    public void shouldKeepPreAggregationFiltersInView() {
+        // Given
+        final ElementFilter filter = new ElementFilter.Builder()
+                .select("count")
+                .execute(new IsMoreThan(1L))
+                .build();
+        final View view = new View.Builder()
+                .edge(EDGE_GROUP, new ViewElementDefinition.Builder()
+                        .preAggregationFilter(filter)
+                        .build())
+                .build();
+
+        // When
+        final View derivedView = new AggregationToViewConverter(view, getSchema(),
+                Collections.singleton(SchemaToStructTypeConverter.GROUP), Collections.emptyMap()).getView();
+
+        // Then
+        assertEquals(filter, derivedView.getEdge(EDGE_GROUP).getPreAggregationFilter());
+        assertEquals(Collections.emptySet(), derivedView.getEdge(EDGE_GROUP).getGroupBy());
+    }
+
+    @Test
+    public void shouldReturnNullWhenGroupingByPropertyThatIsNotInSchemaGroupBy() {
+        // Given
+        final View view = new View.Builder()
+                .edge(EDGE_GROUP)
+                .build();
+
+        // When
+        final View derivedView = new AggregationToViewConverter(view, getSchema(),
+                Collections.singleton("property1"), Collections.emptyMap()).getView();
+
+        // Then
+        assertNull(derivedView);
+    }
+
+    @Test
+    public void shouldReturnNullWhenAggregateFunctionDiffersFromSchema() {
+        // Given
+        final View view = new View.Builder()
+                .edge(EDGE_GROUP)
+                .build();
+        final Map<String, Class<? extends BinaryOperator>> aggregatedColumns = new HashMap<>();
+        aggregatedColumns.put("count", Max.class);
+
+        // When
+        final View derivedView = new AggregationToViewConverter(view, getSchema(),
+                Collections.singleton(SchemaToStructTypeConverter.GROUP), aggregatedColumns).getView();
+
+        // Then
+        assertNull(derivedView);
+    }
+
+    @Test
+    public void shouldReturnNullWhenSummingPropertyThatIsNotLongOrDouble() {
+        // Given
+        final View view = new View.Builder()
+                .edge(EDGE_GROUP)
+                .build();
+        final Map<String, Class<? extends BinaryOperator>> aggregatedColumns = new HashMap<>();
+        aggregatedColumns.put("property1", Sum.class);
+
+        // When
+        final View derivedView = new AggregationToViewConverter(view, getSchema(),
+                Collections.singleton(SchemaToStructTypeConverter.GROUP), aggregatedColumns).getView();
+
+        // Then
+        assertNull(derivedView);
+    }
+
+    @Test
+    public void shouldReturnNullWhenViewAlreadyHasPostAggregationFilter() {
+        // Given
+        final View view = new View.Builder()
+                .edge(EDGE_GROUP, new ViewElementDefinition.Builder()
+                        .postAggregationFilter(new ElementFilter.Builder()
+                                .select("count")
+                                .execute(new IsMoreThan(1L))
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final View derivedView = new AggregationToViewConverter(view, getSchema(),
+                Collections.singleton(SchemaToStructTypeConverter.GROUP), Collections.emptyMap()).getView();
+
+        // Then
+        assertNull(derivedView);
+    }
+
+    private static Schema getSchema() {
+        return new Schema.Builder()
+                .entity(ENTITY_GROUP, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property("columnQualifier", "int")
+                        .property("count", "long")
+                        .groupBy("columnQualifier")
+                        .build())
+                .edge(EDGE_GROUP, new SchemaEdgeDefinition.Builder()
+                        .source("string")
+                        .destination("string")
+                        .directed("true")
+                        .property("columnQualifier", "int")
+                        .property("property1", "int")
+                        .property("count", "long")
+                        .groupBy("columnQualifier")
+                        .build())
+                .type("string", String.class)
+                .type("true", Boolean.class)
+                .type("int", new TypeDefinition.Builder()
+                        .clazz(Integer.class)
+                        .aggregateFunction(new Sum())
+                        .build())
+                .type("long", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .aggregateFunction(new Sum())
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.operation.dataframe;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.schema.SchemaToStructTypeConverter;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class RequiredColumnsToViewConverterTest {
+    private static final String ENTITY_GROUP = "BasicEntity";
+    private static final String EDGE_GROUP = "BasicEdge";
+
+    @Test
+    public void shouldRestrictPropertiesToRequiredColumns() {
+        // Given
+        final View view = new View.Builder()
+                .entity(ENTITY_GROUP)
+                .edge(EDGE_GROUP)
+                .build();
+        final String[] requiredColumns = {SchemaToStructTypeConverter.GROUP, SchemaToStructTypeConverter.SRC_COL_NAME,
+                SchemaToStructTypeConverter.VERTEX_COL_NAME, "property1", "count"};
+
+        // When
+        final View derivedView = new RequiredColumnsToViewConverter(view, requiredColumns).getView();
+
+        // Then
+        assertEquals(Sets.newHashSet("property1", "count"), derivedView.getEntity(ENTITY_GROUP).getProperties());
+        assertEquals(Sets.newHashSet("property1", "count"), derivedView.getEdge(EDGE_GROUP).getProperties());
+        assertNull(derivedView.getEdge(EDGE_GROUP).getExcludeProperties());
+    }
+
+    @Test
+    public void shouldReturnNoPropertiesWhenOnlyNonPropertyColumnsRequired() {
+        // Given
+        final View view = new View.Builder()
+                .edge(EDGE_GROUP)
+                .build();
+        final String[] requiredColumns = {SchemaToStructTypeConverter.SRC_COL_NAME, SchemaToStructTypeConverter.DST_COL_NAME};
+
+        // When
+        final View derivedView = new RequiredColumnsToViewConverter(view, requiredColumns).getView();
+
+        // Then
+        assertEquals(Collections.emptySet(), derivedView.getEdge(EDGE_GROUP).getProperties());
+    }
+
+    @Test
+    public void shouldRespectExistingPropertiesAndExcludePropertiesAndKeepFilters() {
+        // Given
+        final ElementFilter filter = new ElementFilter.Builder()
+                .select("property1")
+                .execute(new IsMoreThan(1))
+                .build();
+        final View view = new View.Builder()
+                .entity(ENTITY_GROUP, new ViewElementDefinition.Builder()
+                        .properties("property1", "property2")
+                        .build())
+                .edge(EDGE_GROUP, new ViewElementDefinition.Builder()
+                        .excludeProperties("count")
+                        .preAggregationFilter(filter)
+                        .build())
+                .build();
+        final String[] requiredColumns = {"property1", "count"};
+
+        // When
+        final View derivedView = new RequiredColumnsToViewConverter(view, requiredColumns).getView();
+
+        // Then
+        assertEquals(Collections.singleton("property1"), derivedView.getEntity(ENTITY_GROUP).getProperties());
+        assertEquals(Collections.singleton("property1"), derivedView.getEdge(EDGE_GROUP).getProperties());
+        assertEquals(filter, derivedView.getEdge(EDGE_GROUP).getPreAggregationFilter());
+    }
+}
@@ -0,0 +1,468 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.time;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTimeUtil.TimeBucket;
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * An {@code ArrayBackedLongTimeSeries} is a time series where the values are
+ * {@code long}s. It behaves in the same way as a {@link LongTimeSeries}, but
+ * the buckets and values are held in two parallel, sorted, primitive
+ * {@code long} arrays rather than in a map of boxed {@link Long}s. This makes
+ * it much cheaper to hold in memory and allows two time series to be merged
+ * in a single pass using {@link #merge(ArrayBackedLongTimeSeries)}.
+ * <p>
+ * Timestamps are rounded to the {@link TimeBucket} specified when the time
+ * series is created. Adding values in time order is cheap; adding values out
+ * of order requires the arrays to be shifted.
+ * </p>
+ */
+@JsonPropertyOrder(alphabetic = true)
+public class ArrayBackedLongTimeSeries implements TimeSeries<Long> {
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private final TimeBucket timeBucket;
+    private long[] buckets;
+    private long[] values;
+    private int size;
+
+    public ArrayBackedLongTimeSeries(final TimeBucket timeBucket) {
+        this(timeBucket, DEFAULT_CAPACITY);
+    }
+
+    public ArrayBackedLongTimeSeries(final TimeBucket timeBucket, final int initialCapacity) {
+        if (!LongTimeSeries.VALID_TIME_BUCKETS.contains(timeBucket)) {
+            throw new IllegalArgumentException("A TimeBucket of " + timeBucket + " is not supported");
+        }
+        this.timeBucket = timeBucket;
+        this.buckets = new long[Math.max(1, initialCapacity)];
+        this.values = new long[buckets.length];
+    }
+
+    @JsonCreator
+    public ArrayBackedLongTimeSeries(@JsonProperty("timeBucket") final TimeBucket timeBucket,
+                                     @JsonProperty("timeSeries") final Map<Instant, Long> timeSeries) {
+        this(timeBucket, null != timeSeries ? timeSeries.size() : DEFAULT_CAPACITY);
+        setTimeSeries(timeSeries);
+    }
+
+    /**
+     * Creates a time series from the given {@link LongTimeSeries}.
+     *
+     * @param timeSeries the time series to copy
+     * @return the array backed time series
+     */
+    public static ArrayBackedLongTimeSeries from(final LongTimeSeries timeSeries) {
+        final ArrayBackedLongTimeSeries result = new ArrayBackedLongTimeSeries(timeSeries.getTimeBucket(), timeSeries.getNumberOfInstants());
+        timeSeries.getTimeSeries().forEach(result::put);
+        return result;
+    }
+
+    /**
+     * Puts the provided <code>value</code> into the time series associated to
+     * the {@link Instant} <code>instant</code>. Note that this overwrites any
+     * previous value in that bucket.
+     *
+     * @param instant The instant at which the value was observed.
+     * @param value   The value observed at the instant.
+     */
+    @Override
+    public void put(final Instant instant, final Long value) {
+        putBucket(LongTimeSeries.toLong(timeBucket, instant.toEpochMilli()), value, false);
+    }
+
+    /**
+     * Returns the value associated to the given {@link Instant}. Note that this
+     * instant is rounded to the nearest time bucket.
+     *
+     * @param instant The instant that the value is required for.
+     * @return The value associated to the instant, or null if there is no value.
+     */
+    @JsonIgnore
+    @Override
+    public Long get(final Instant instant) {
+        final int index = Arrays.binarySearch(buckets, 0, size, LongTimeSeries.toLong(timeBucket, instant.toEpochMilli()));
+        return index < 0 ? null : values[index];
+    }
+
+    /**
+     * Adds the given <code>count</code> to the current value associated to the
+     * given {@link Instant}. If there is no value currently associated to the
+     * {@link Instant} then the <code>count</code> is simply inserted. Note
+     * that the caller of this method is responsible for dealing with the case
+     * where adding <code>count</code> would cause an overflow.
+     *
+     * @param instant The instant at which the value was observed.
+     * @param count   The value observed at the instant.
+     */
+    public void upsert(final Instant instant, final long count) {
+        putBucket(LongTimeSeries.toLong(timeBucket, instant.toEpochMilli()), count, true);
+    }
+
+    /**
+     * Merges the given time series into this one, summing the values of any
+     * buckets that are present in both. Both time series are walked once, in
+     * bucket order. Note that the caller of this method is responsible for
+     * dealing with the case where the sum would cause an overflow.
+     *
+     * @param other the time series to merge into this one
+     * @return this time series
+     */
+    public ArrayBackedLongTimeSeries merge(final ArrayBackedLongTimeSeries other) {
+        if (timeBucket != other.timeBucket) {
+            throw new IllegalArgumentException("Can't merge two time series with different time buckets: "
+                    + timeBucket + " and " + other.timeBucket);
+        }
+        if (0 == other.size) {
+            return this;
+        }
+        if (0 == size || buckets[size - 1] < other.buckets[0]) {
+            ensureCapacity(size + other.size);
+            System.arraycopy(other.buckets, 0, buckets, size, other.size);
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        final long[] mergedBuckets = new long[size + other.size];
+        final long[] mergedValues = new long[mergedBuckets.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < size && j < other.size) {
+            final long a = buckets[i];
+            final long b = other.buckets[j];
+            if (a < b) {
+                mergedBuckets[k] = a;
+                mergedValues[k++] = values[i++];
+            } else if (a > b) {
+                mergedBuckets[k] = b;
+                mergedValues[k++] = other.values[j++];
+            } else {
+                mergedBuckets[k] = a;
+                mergedValues[k++] = values[i++] + other.values[j++];
+            }
+        }
+        while (i < size) {
+            mergedBuckets[k] = buckets[i];
+            mergedValues[k++] = values[i++];
+        }
+        while (j < other.size) {
+            mergedBuckets[k] = other.buckets[j];
+            mergedValues[k++] = other.values[j++];
+        }
+        buckets = mergedBuckets;
+        values = mergedValues;
+        size = k;
+        return this;
+    }
+
+    /**
+     * Returns a new time series containing only the entries whose bucket
+     * starts at or after <code>start</code> and before <code>end</code>.
+     * Either bound may be null to leave that end of the range open.
+     *
+     * @param start the inclusive start of the range, or null
+     * @param end   the exclusive end of the range, or null
+     * @return the sub series
+     */
+    public ArrayBackedLongTimeSeries getSubSeries(final Instant start, final Instant end) {
+        final int from = null == start ? 0 : indexOfFirstBucketAtOrAfter(start.toEpochMilli());
+        final int to = null == end ? size : indexOfFirstBucketAtOrAfter(end.toEpochMilli());
+        final int length = Math.max(0, to - from);
+        final ArrayBackedLongTimeSeries result = new ArrayBackedLongTimeSeries(timeBucket, length);
+        System.arraycopy(buckets, from, result.buckets, 0, length);
+        System.arraycopy(values, from, result.values, 0, length);
+        result.size = length;
+        return result;
+    }
+
+    /**
+     * Returns a new time series where the values have been re-bucketed into
+     * the given, coarser, {@link TimeBucket}. Values that fall into the same
+     * coarser bucket are summed.
+     *
+     * @param coarserTimeBucket the time bucket to roll up to
+     * @return the rolled up time series
+     */
+    public ArrayBackedLongTimeSeries rollUp(final TimeBucket coarserTimeBucket) {
+        if (getRank(coarserTimeBucket) < getRank(timeBucket)) {
+            throw new IllegalArgumentException("Can't roll up a time series with bucket " + timeBucket
+                    + " to the finer bucket " + coarserTimeBucket);
+        }
+        final ArrayBackedLongTimeSeries result = new ArrayBackedLongTimeSeries(coarserTimeBucket, size);
+        for (int i = 0; i < size; i++) {
+            final long bucket = LongTimeSeries.toLong(coarserTimeBucket, LongTimeSeries.fromLong(timeBucket, buckets[i]));
+            if (result.size > 0 && result.buckets[result.size - 1] == bucket) {
+                result.values[result.size - 1] += values[i];
+            } else {
+                result.buckets[result.size] = bucket;
+                result.values[result.size++] = values[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a {@link SortedSet} of all the {@link Instant}s in the time series.
+     *
+     * @return A {@link SortedSet} of all the {@link Instant}s in the time series.
+     */
+    @JsonIgnore
+    public SortedSet<Instant> getInstants() {
+        final SortedSet<Instant> instants = new TreeSet<>();
+        for (int i = 0; i < size; i++) {
+            instants.add(LongTimeSeries.getInstantFromLong(timeBucket, buckets[i]));
+        }
+        return instants;
+    }
+
+    /**
+     * Returns the number of instants in the time series.
+     *
+     * @return The number of instants in the time series.
+     */
+    @JsonIgnore
+    public int getNumberOfInstants() {
+        return size;
+    }
+
+    /**
+     * Returns the bucket at the given index. Buckets are sorted in ascending
+     * order and are expressed in the units used by {@link LongTimeSeries}
+     * for the time bucket of this time series.
+     *
+     * @param index the index, between 0 and the number of instants
+     * @return the bucket at the index
+     */
+    public long getBucket(final int index) {
+        checkIndex(index);
+        return buckets[index];
+    }
+
+    /**
+     * Returns the value at the given index.
+     *
+     * @param index the index, between 0 and the number of instants
+     * @return the value at the index
+     */
+    public long getValue(final int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    /**
+     * Appends a bucket and value to the end of the time series. The bucket
+     * must be greater than the last bucket in the time series. This is used
+     * by serialisers to rebuild a time series without any searching.
+     *
+     * @param bucket the bucket, see {@link #getBucket(int)}
+     * @param value  the value
+     */
+    public void append(final long bucket, final long value) {
+        if (size > 0 && buckets[size - 1] >= bucket) {
+            throw new IllegalArgumentException("Buckets must be appended in ascending order, "
+                    + bucket + " is not greater than " + buckets[size - 1]);
+        }
+        ensureCapacity(size + 1);
+        buckets[size] = bucket;
+        values[size++] = value;
+    }
+
+    /**
+     * Returns the time series as a {@link SortedMap} where the key is an
+     * {@link Instant} rounded to the nearest bucket and the value is the
+     * associated count.
+     *
+     * @return The time series.
+     */
+    public SortedMap<Instant, Long> getTimeSeries() {
+        final SortedMap<Instant, Long> map = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(LongTimeSeries.getInstantFromLong(timeBucket, buckets[i]), values[i]);
+        }
+        return map;
+    }
+
+    /**
+     * Sets the time series to be the given time series.
+     *
+     * @param timeSeries The time series to copy entries from.
+     */
+    public void setTimeSeries(final Map<Instant, Long> timeSeries) {
+        size = 0;
+        if (null != timeSeries) {
+            timeSeries.forEach(this::put);
+        }
+    }
+
+    public TimeBucket getTimeBucket() {
+        return timeBucket;
+    }
+
+    /**
+     * Converts this time series to a {@link LongTimeSeries}.
+     *
+     * @return the equivalent {@link LongTimeSeries}
+     */
+    public LongTimeSeries toLongTimeSeries() {
+        return new LongTimeSeries(timeBucket, getTimeSeries());
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (null == obj || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final ArrayBackedLongTimeSeries that = (ArrayBackedLongTimeSeries) obj;
+        if (timeBucket != that.timeBucket || size != that.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (buckets[i] != that.buckets[i] || values[i] != that.values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        final HashCodeBuilder builder = new HashCodeBuilder(21, 5)
+                .append(timeBucket);
+        for (int i = 0; i < size; i++) {
+            builder.append(buckets[i]).append(values[i]);
+        }
+        return builder.toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("timeBucket", timeBucket)
+                .append("timeSeries", getTimeSeries())
+                .build();
+    }
+
+    private void putBucket(final long bucket, final long value, final boolean sum) {
+        if (0 == size || buckets[size - 1] < bucket) {
+            append(bucket, value);
+            return;
+        }
+        final int index = Arrays.binarySearch(buckets, 0, size, bucket);
+        if (index >= 0) {
+            values[index] = sum ? values[index] + value : value;
+            return;
+        }
+        final int insertionPoint = -(index + 1);
+        ensureCapacity(size + 1);
+        System.arraycopy(buckets, insertionPoint, buckets, insertionPoint + 1, size - insertionPoint);
+        System.arraycopy(values, insertionPoint, values, insertionPoint + 1, size - insertionPoint);
+        buckets[insertionPoint] = bucket;
+        values[insertionPoint] = value;
+        size++;
+    }
+
+    private int indexOfFirstBucketAtOrAfter(final long epochMilli) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (LongTimeSeries.fromLong(timeBucket, buckets[mid]) < epochMilli) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > buckets.length) {
+            final int newCapacity = Math.max(capacity, buckets.length + (buckets.length >> 1));
+            buckets = Arrays.copyOf(buckets, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+        }
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size);
+        }
+    }
+
+    private static int getRank(final TimeBucket timeBucket) {
+        switch (timeBucket) {
+            case MILLISECOND:
+                return 0;
+            case SECOND:
+                return 1;
+            case MINUTE:
+                return 2;
+            case HOUR:
+                return 3;
+            case DAY:
+                return 4;
+            case WEEK:
+                return 5;
+            case MONTH:
+                return 6;
+            case YEAR:
+                return 7;
+            default:
+                throw new IllegalStateException("Unknown time bucket of " + timeBucket);
+        }
+    }
+
+    public static class Builder {
+        private TimeBucket timeBucket;
+        private Map<Instant, Long> timeSeries;
+
+        public Builder timeBucket(final TimeBucket timeBucket) {
+            this.timeBucket = timeBucket;
+            return this;
+        }
+
+        public Builder instantCountPairs(final Map<Instant, Long> timeSeries) {
+            this.timeSeries = timeSeries;
+            return this;
+        }
+
+        public ArrayBackedLongTimeSeries build() {
+            return new ArrayBackedLongTimeSeries(timeBucket, timeSeries);
+        }
+    }
+}
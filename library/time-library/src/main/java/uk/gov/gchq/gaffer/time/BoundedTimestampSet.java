@@ -105,6 +105,29 @@ public class BoundedTimestampSet implements TimestampSet {
         return (long) reservoirLongsUnion.getResult().getNumSamples();
     }
 
+    @Override
+    public long getNumberOfTimestampsBetween(final Instant startInclusive, final Instant endExclusive) {
+        if (state.equals(State.NOT_FULL)) {
+            return rbmBackedTimestampSet.getNumberOfTimestampsBetween(startInclusive, endExclusive);
+        }
+        return getNumberOfSamplesBetween(reservoirLongsUnion.getResult().getSamples(), startInclusive, endExclusive);
+    }
+
+    private static long getNumberOfSamplesBetween(final long[] samples, final Instant startInclusive, final Instant endExclusive) {
+        if (null == samples) {
+            return 0L;
+        }
+        final long start = null == startInclusive ? Long.MIN_VALUE : startInclusive.toEpochMilli();
+        final long end = null == endExclusive ? Long.MAX_VALUE : endExclusive.toEpochMilli();
+        long count = 0L;
+        for (final long sample : samples) {
+            if (sample >= start && sample < end) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     @Override
     public Instant getEarliest() {
         if (state.equals(State.NOT_FULL)) {
@@ -54,7 +54,7 @@ import static uk.gov.gchq.gaffer.commonutil.CommonTimeUtil.TimeBucket.YEAR;
  */
 @JsonPropertyOrder(alphabetic = true)
 public class LongTimeSeries implements TimeSeries<Long> {
-    private static final Set<TimeBucket> VALID_TIME_BUCKETS = Sets.newHashSet(
+    static final Set<TimeBucket> VALID_TIME_BUCKETS = Sets.newHashSet(
             MILLISECOND,
             SECOND,
             MINUTE,
@@ -215,7 +215,7 @@ public class LongTimeSeries implements TimeSeries<Long> {
                 .build();
     }
 
-    private static long toLong(final TimeBucket timeBucket, final long time) {
+    static long toLong(final TimeBucket timeBucket, final long time) {
         final long timeTruncatedToBucket = CommonTimeUtil.timeToBucket(time, timeBucket);
         switch (timeBucket) {
             case MILLISECOND:
@@ -239,7 +239,7 @@ public class LongTimeSeries implements TimeSeries<Long> {
         }
     }
 
-    private static long fromLong(final TimeBucket timeBucket, final long l) {
+    static long fromLong(final TimeBucket timeBucket, final long l) {
         switch (timeBucket) {
             case MILLISECOND:
                 return l;
@@ -262,7 +262,7 @@ public class LongTimeSeries implements TimeSeries<Long> {
         }
     }
 
-    private static Instant getInstantFromLong(final TimeBucket timeBucket, final long l) {
+    static Instant getInstantFromLong(final TimeBucket timeBucket, final long l) {
         return Instant.ofEpochMilli(fromLong(timeBucket, l));
     }
 
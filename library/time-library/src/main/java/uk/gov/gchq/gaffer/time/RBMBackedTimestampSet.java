@@ -61,6 +61,7 @@ import static uk.gov.gchq.gaffer.commonutil.CommonTimeUtil.TimeBucket;
 public class RBMBackedTimestampSet implements TimestampSet {
     private static final Instant MIN_TIME = Instant.ofEpochMilli(0L);
     private static final Instant MAX_TIME = Instant.ofEpochMilli(Integer.MAX_VALUE * CommonTimeUtil.MILLISECONDS_IN_SECOND);
+    private static final long MAX_INT_BOUND = Integer.MAX_VALUE + 1L;
     private static final Set<TimeBucket> VALID_TIMEBUCKETS = new HashSet<>(Arrays.asList(
             TimeBucket.SECOND,
             TimeBucket.MINUTE,
@@ -111,6 +112,32 @@ public class RBMBackedTimestampSet implements TimestampSet {
         return rbm.getCardinality();
     }
 
+    /**
+     * Returns the number of timestamps in the given range, using a binary
+     * search over the underlying {@link RoaringBitmap} rather than iterating
+     * over the timestamps.
+     *
+     * @param startInclusive The start of the range, or null.
+     * @param endExclusive   The end of the range, or null.
+     * @return The number of distinct timestamps in the range.
+     */
+    @Override
+    public long getNumberOfTimestampsBetween(final Instant startInclusive, final Instant endExclusive) {
+        return getNumberOfTimestampsBetween(rbm, timeBucket, startInclusive, endExclusive);
+    }
+
+    private static long getNumberOfTimestampsBetween(final RoaringBitmap rbm,
+                                                     final TimeBucket timeBucket,
+                                                     final Instant startInclusive,
+                                                     final Instant endExclusive) {
+        final long lower = null == startInclusive ? 0L : toIntBound(timeBucket, startInclusive);
+        final long upper = null == endExclusive ? MAX_INT_BOUND : toIntBound(timeBucket, endExclusive);
+        if (upper <= lower) {
+            return 0L;
+        }
+        return countLessThan(rbm, upper) - countLessThan(rbm, lower);
+    }
+
     @Override
     public Instant getEarliest() {
         final IntIterator it = rbm.getIntIterator();
@@ -216,6 +243,51 @@ public class RBMBackedTimestampSet implements TimestampSet {
         }
     }
 
+    // Binary searches using select as rank gives incorrect results in this
+    // version of RoaringBitmap for values whose high bits are not present.
+    private static long countLessThan(final RoaringBitmap rbm, final long bound) {
+        if (0L == bound) {
+            return 0L;
+        }
+        long low = 0L;
+        long high = rbm.getCardinality();
+        while (low < high) {
+            final long mid = (low + high) >>> 1;
+            if (Integer.toUnsignedLong(rbm.select((int) mid)) < bound) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // The smallest int whose time bucket starts at or after the instant,
+    // clamped to the range of the bitmap.
+    private static long toIntBound(final TimeBucket timeBucket, final Instant instant) {
+        final long unit = getMillisInUnit(timeBucket);
+        final long bound = -Math.floorDiv(-instant.toEpochMilli(), unit);
+        return Math.max(0L, Math.min(MAX_INT_BOUND, bound));
+    }
+
+    private static long getMillisInUnit(final TimeBucket timeBucket) {
+        switch (timeBucket) {
+            case SECOND:
+                return CommonTimeUtil.MILLISECONDS_IN_SECOND;
+            case MINUTE:
+                return CommonTimeUtil.MILLISECONDS_IN_MINUTE;
+            case HOUR:
+                return CommonTimeUtil.MILLISECONDS_IN_HOUR;
+            case DAY:
+            case WEEK:
+            case MONTH:
+            case YEAR:
+                return CommonTimeUtil.MILLISECONDS_IN_DAY;
+            default:
+                throw new IllegalStateException("Unknown time bucket of " + timeBucket);
+        }
+    }
+
     private long fromInt(final int i) {
         return fromInt(timeBucket, i);
     }
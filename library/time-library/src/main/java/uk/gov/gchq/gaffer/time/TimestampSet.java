@@ -52,6 +52,31 @@ public interface TimestampSet {
      */
     long getNumberOfTimestamps();
 
+    /**
+     * Returns the number of distinct timestamps in the set that are at or
+     * after <code>startInclusive</code> and before <code>endExclusive</code>.
+     * Either bound may be null to leave that end of the range open.
+     * Implementations should override this to avoid creating the full set
+     * of timestamps.
+     *
+     * @param startInclusive The start of the range, or null.
+     * @param endExclusive   The end of the range, or null.
+     * @return The number of distinct timestamps in the range.
+     */
+    default long getNumberOfTimestampsBetween(final Instant startInclusive, final Instant endExclusive) {
+        if (null != startInclusive && null != endExclusive && !startInclusive.isBefore(endExclusive)) {
+            return 0L;
+        }
+        SortedSet<Instant> timestamps = getTimestamps();
+        if (null != startInclusive) {
+            timestamps = timestamps.tailSet(startInclusive);
+        }
+        if (null != endExclusive) {
+            timestamps = timestamps.headSet(endExclusive);
+        }
+        return timestamps.size();
+    }
+
     /**
      * The earliest timestamp in the set.
      *
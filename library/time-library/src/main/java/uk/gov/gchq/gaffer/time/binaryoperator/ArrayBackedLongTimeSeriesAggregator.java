@@ -0,0 +1,42 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.time.binaryoperator;
+
+import uk.gov.gchq.gaffer.time.ArrayBackedLongTimeSeries;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+import uk.gov.gchq.koryphe.binaryoperator.KorypheBinaryOperator;
+
+/**
+ * An {@code ArrayBackedLongTimeSeriesAggregator} is a {@link java.util.function.BinaryOperator}
+ * that takes in {@link ArrayBackedLongTimeSeries}s and aggregates the time series
+ * using a single merge-join pass. If both time series contain a value for the
+ * same timestamp then the two values are summed.
+ */
+@Since("1.6.0")
+@Summary("Aggregates ArrayBackedLongTimeSeries objects")
+public class ArrayBackedLongTimeSeriesAggregator extends KorypheBinaryOperator<ArrayBackedLongTimeSeries> {
+
+    @Override
+    protected ArrayBackedLongTimeSeries _apply(final ArrayBackedLongTimeSeries a, final ArrayBackedLongTimeSeries b) {
+        if (!b.getTimeBucket().equals(a.getTimeBucket())) {
+            throw new RuntimeException("Can't aggregate two ArrayBackedLongTimeSeries with different time buckets: "
+                    + "a had bucket " + a.getTimeBucket() + ", b had bucket " + b.getTimeBucket());
+        }
+        return a.merge(b);
+    }
+}
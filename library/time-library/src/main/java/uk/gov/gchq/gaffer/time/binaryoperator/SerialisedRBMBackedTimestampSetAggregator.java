@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.time.binaryoperator;
+
+import org.roaringbitmap.buffer.BufferFastAggregation;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+import uk.gov.gchq.gaffer.bitmap.serialisation.utils.RoaringBitmapUtils;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+import uk.gov.gchq.koryphe.binaryoperator.KorypheBinaryOperator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@code SerialisedRBMBackedTimestampSetAggregator} is a {@link java.util.function.BinaryOperator}
+ * that merges {@link uk.gov.gchq.gaffer.time.RBMBackedTimestampSet}s in the serialised form produced by
+ * {@link uk.gov.gchq.gaffer.time.serialisation.RBMBackedTimestampSetSerialiser}, without
+ * deserialising them. The underlying {@code RoaringBitmap}s are read as immutable views over the
+ * serialised bytes and merged with a single lazy OR, see {@link #aggregate(Iterable)}.
+ * To use it in a store, declare the property in the schema with class {@code byte[]}, the
+ * {@link uk.gov.gchq.gaffer.serialisation.implementation.BytesSerialiser} and this class as the
+ * aggregate function.
+ */
+@Since("1.6.0")
+@Summary("Aggregates serialised RBMBackedTimestampSet objects")
+public class SerialisedRBMBackedTimestampSetAggregator extends KorypheBinaryOperator<byte[]> {
+
+    @Override
+    protected byte[] _apply(final byte[] a, final byte[] b) {
+        return aggregate(Arrays.asList(a, b));
+    }
+
+    /**
+     * Merges all of the provided serialised timestamp sets. Null or empty
+     * arrays are ignored. All the timestamp sets must have the same time
+     * bucket.
+     *
+     * @param serialisedTimestampSets the serialised timestamp sets to merge
+     * @return the serialised merged timestamp set, or null if there were no
+     * non-empty inputs
+     */
+    public byte[] aggregate(final Iterable<byte[]> serialisedTimestampSets) {
+        try {
+            Long timeBucket = null;
+            int timeBucketLength = 0;
+            final List<ImmutableRoaringBitmap> bitmaps = new ArrayList<>();
+            for (final byte[] serialised : serialisedTimestampSets) {
+                if (null == serialised || serialised.length == 0) {
+                    continue;
+                }
+                final long currentTimeBucket = CompactRawSerialisationUtils.readLong(serialised, 0);
+                final int currentTimeBucketLength = CompactRawSerialisationUtils.decodeVIntSize(serialised[0]);
+                if (null == timeBucket) {
+                    timeBucket = currentTimeBucket;
+                    timeBucketLength = currentTimeBucketLength;
+                } else if (timeBucket != currentTimeBucket) {
+                    throw new RuntimeException("Can't aggregate two RBMBackedTimestampSet with different time buckets: "
+                            + "a had bucket ordinal " + timeBucket + ", b had bucket ordinal " + currentTimeBucket);
+                }
+                bitmaps.add(RoaringBitmapUtils.toImmutableRoaringBitmap(serialised,
+                        currentTimeBucketLength, serialised.length - currentTimeBucketLength));
+            }
+            if (null == timeBucket) {
+                return null;
+            }
+
+            final byte[] mergedBitmap = RoaringBitmapUtils.serialise(BufferFastAggregation.horizontal_or(
+                    bitmaps.toArray(new ImmutableRoaringBitmap[bitmaps.size()])));
+            final byte[] result = new byte[timeBucketLength + mergedBitmap.length];
+            System.arraycopy(CompactRawSerialisationUtils.writeLong(timeBucket), 0, result, 0, timeBucketLength);
+            System.arraycopy(mergedBitmap, 0, result, timeBucketLength, mergedBitmap.length);
+            return result;
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException("Unable to aggregate serialised RBMBackedTimestampSets: " + e.getMessage(), e);
+        }
+    }
+}
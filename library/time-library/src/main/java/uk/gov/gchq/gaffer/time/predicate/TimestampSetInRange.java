@@ -0,0 +1,156 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.time.predicate;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.time.TimestampSet;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+import uk.gov.gchq.koryphe.predicate.KoryphePredicate;
+
+import java.time.Instant;
+
+/**
+ * A {@code TimestampSetInRange} is a {@link java.util.function.Predicate} that
+ * tests whether a {@link TimestampSet}, such as an
+ * {@link uk.gov.gchq.gaffer.time.RBMBackedTimestampSet} or a
+ * {@link uk.gov.gchq.gaffer.time.BoundedTimestampSet}, has any timestamps in a
+ * time range or, if {@code includeAllTimestamps} is set, whether all of its
+ * timestamps are in the range. The range is from {@code start} (inclusive) to
+ * {@code end} (exclusive), both in milliseconds since the epoch. Either bound
+ * may be null to leave that end of the range open. An empty set never matches.
+ * The range is counted directly on the underlying bitmap or sample without
+ * creating the set of timestamps.
+ */
+@Since("1.6.0")
+@Summary("Tests if a TimestampSet has timestamps within a time range")
+public class TimestampSetInRange extends KoryphePredicate<TimestampSet> {
+    private Long start;
+    private Long end;
+    private boolean includeAllTimestamps;
+
+    public TimestampSetInRange() {
+        // Required for serialisation
+    }
+
+    public TimestampSetInRange(final Long start, final Long end) {
+        this(start, end, false);
+    }
+
+    public TimestampSetInRange(final Long start, final Long end, final boolean includeAllTimestamps) {
+        this.start = start;
+        this.end = end;
+        this.includeAllTimestamps = includeAllTimestamps;
+    }
+
+    public Long getStart() {
+        return start;
+    }
+
+    public void setStart(final Long start) {
+        this.start = start;
+    }
+
+    public Long getEnd() {
+        return end;
+    }
+
+    public void setEnd(final Long end) {
+        this.end = end;
+    }
+
+    public boolean isIncludeAllTimestamps() {
+        return includeAllTimestamps;
+    }
+
+    public void setIncludeAllTimestamps(final boolean includeAllTimestamps) {
+        this.includeAllTimestamps = includeAllTimestamps;
+    }
+
+    @Override
+    public boolean test(final TimestampSet input) {
+        if (null == input) {
+            return false;
+        }
+        return isInRange(input.getNumberOfTimestampsBetween(getStartInstant(), getEndInstant()),
+                input.getNumberOfTimestamps());
+    }
+
+    private Instant getStartInstant() {
+        return null == start ? null : Instant.ofEpochMilli(start);
+    }
+
+    private Instant getEndInstant() {
+        return null == end ? null : Instant.ofEpochMilli(end);
+    }
+
+    /**
+     * Decides whether the input matches given the number of its timestamps
+     * that are in the range and the total number of its timestamps.
+     *
+     * @param numberInRange the number of timestamps in the range
+     * @param total         the total number of timestamps
+     * @return true if the input matches
+     */
+    private boolean isInRange(final long numberInRange, final long total) {
+        if (0 == total) {
+            return false;
+        }
+        return includeAllTimestamps ? numberInRange == total : numberInRange > 0;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (null == obj || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final TimestampSetInRange that = (TimestampSetInRange) obj;
+
+        return new EqualsBuilder()
+                .append(start, that.start)
+                .append(end, that.end)
+                .append(includeAllTimestamps, that.includeAllTimestamps)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(53, 29)
+                .append(getClass())
+                .append(start)
+                .append(end)
+                .append(includeAllTimestamps)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("start", start)
+                .append("end", end)
+                .append("includeAllTimestamps", includeAllTimestamps)
+                .toString();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.time.serialisation;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTimeUtil.TimeBucket;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.gaffer.time.ArrayBackedLongTimeSeries;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Serialises an {@link ArrayBackedLongTimeSeries} by writing out the deltas
+ * between consecutive buckets and consecutive values, in the same way as
+ * {@link DeltaLongTimeSeriesSerialiser}. The buckets are written in units of
+ * the time bucket, rather than milliseconds, so regular time series are
+ * stored very compactly. The arrays are encoded and decoded directly, without
+ * creating any intermediate {@link java.time.Instant}s or boxed values.
+ *
+ * <p>If the buckets or values of the time series are extreme, i.e. greater
+ * than half of <code>Long.MAX_VALUE</code> in absolute size, then the deltas
+ * might overflow. In this case the buckets and values are written out directly.
+ */
+public class DeltaArrayBackedLongTimeSeriesSerialiser implements ToBytesSerialiser<ArrayBackedLongTimeSeries> {
+    private static final long HALF_MAX_VALUE = Long.MAX_VALUE / 2;
+    private static final long serialVersionUID = 2985129564377254380L;
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return ArrayBackedLongTimeSeries.class.equals(clazz);
+    }
+
+    @Override
+    public byte[] serialise(final ArrayBackedLongTimeSeries timeSeries) throws SerialisationException {
+        if (null == timeSeries) {
+            return EMPTY_BYTES;
+        }
+        final int size = timeSeries.getNumberOfInstants();
+        final boolean deltaMode = isDeltaMode(timeSeries);
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream(3 + 4 * size);
+        CompactRawSerialisationUtils.write(timeSeries.getTimeBucket().ordinal(), baos);
+        CompactRawSerialisationUtils.write(size, baos);
+        baos.write(deltaMode ? 1 : 0);
+        long previousBucket = 0L;
+        long previousValue = 0L;
+        for (int i = 0; i < size; i++) {
+            final long bucket = timeSeries.getBucket(i);
+            final long value = timeSeries.getValue(i);
+            if (deltaMode) {
+                CompactRawSerialisationUtils.write(bucket - previousBucket, baos);
+                CompactRawSerialisationUtils.write(value - previousValue, baos);
+                previousBucket = bucket;
+                previousValue = value;
+            } else {
+                CompactRawSerialisationUtils.write(bucket, baos);
+                CompactRawSerialisationUtils.write(value, baos);
+            }
+        }
+        return baos.toByteArray();
+    }
+
+    @Override
+    public ArrayBackedLongTimeSeries deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        if (allBytes.length == 0 || length == 0) {
+            return null;
+        }
+        final int end = offset + length;
+        int carriage = offset;
+        final int bucketInt = (int) CompactRawSerialisationUtils.readLong(allBytes, carriage);
+        carriage += CompactRawSerialisationUtils.decodeVIntSize(allBytes[carriage]);
+        final int numEntries = (int) CompactRawSerialisationUtils.readLong(allBytes, carriage);
+        carriage += CompactRawSerialisationUtils.decodeVIntSize(allBytes[carriage]);
+        if (carriage >= end) {
+            throw new SerialisationException("Unexpected end of bytes reading ArrayBackedLongTimeSeries");
+        }
+        final boolean deltaMode = 1 == allBytes[carriage++];
+
+        final ArrayBackedLongTimeSeries timeSeries = new ArrayBackedLongTimeSeries(TimeBucket.values()[bucketInt], numEntries);
+        long bucket = 0L;
+        long value = 0L;
+        for (int i = 0; i < numEntries; i++) {
+            if (carriage >= end) {
+                throw new SerialisationException("Unexpected end of bytes reading ArrayBackedLongTimeSeries");
+            }
+            final long currentBucket = CompactRawSerialisationUtils.readLong(allBytes, carriage);
+            carriage += CompactRawSerialisationUtils.decodeVIntSize(allBytes[carriage]);
+            final long currentValue = CompactRawSerialisationUtils.readLong(allBytes, carriage);
+            carriage += CompactRawSerialisationUtils.decodeVIntSize(allBytes[carriage]);
+            if (deltaMode) {
+                bucket += currentBucket;
+                value += currentValue;
+            } else {
+                bucket = currentBucket;
+                value = currentValue;
+            }
+            timeSeries.append(bucket, value);
+        }
+        return timeSeries;
+    }
+
+    @Override
+    public ArrayBackedLongTimeSeries deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public ArrayBackedLongTimeSeries deserialiseEmpty() throws SerialisationException {
+        return null;
+    }
+
+    @Override
+    public boolean preservesObjectOrdering() {
+        return false;
+    }
+
+    @Override
+    public boolean isConsistent() {
+        return true;
+    }
+
+    private static boolean isDeltaMode(final ArrayBackedLongTimeSeries timeSeries) {
+        for (int i = 0; i < timeSeries.getNumberOfInstants(); i++) {
+            final long bucket = timeSeries.getBucket(i);
+            final long value = timeSeries.getValue(i);
+            if (bucket < -HALF_MAX_VALUE || bucket > HALF_MAX_VALUE
+                    || value < -HALF_MAX_VALUE || value > HALF_MAX_VALUE) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.time;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.JSONSerialisationTest;
+import uk.gov.gchq.gaffer.commonutil.CommonTimeUtil;
+import uk.gov.gchq.gaffer.commonutil.CommonTimeUtil.TimeBucket;
+import uk.gov.gchq.gaffer.commonutil.JsonAssert;
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+
+import java.time.Instant;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class ArrayBackedLongTimeSeriesTest extends JSONSerialisationTest<ArrayBackedLongTimeSeries> {
+
+    @Test
+    public void shouldPutAndGet() {
+        // Given
+        final ArrayBackedLongTimeSeries timeSeries = new ArrayBackedLongTimeSeries(TimeBucket.MINUTE);
+        final Instant instant1 = Instant.ofEpochMilli(1000L * 60);
+        final Instant instant2 = Instant.ofEpochMilli(1000L * 61);
+
+        // When
+        timeSeries.put(instant1, 100L);
+        timeSeries.put(instant2, 200L);
+
+        // Then
+        assertEquals(200L, (long) timeSeries.get(instant1));
+        assertNull(timeSeries.get(Instant.ofEpochMilli(1000L * 120)));
+        assertEquals(1, timeSeries.getNumberOfInstants());
+    }
+
+    @Test
+    public void shouldBehaveTheSameAsLongTimeSeriesForRandomUpserts() {
+        // Given
+        final Random random = new Random(1L);
+        final ArrayBackedLongTimeSeries timeSeries = new ArrayBackedLongTimeSeries(TimeBucket.SECOND);
+        final LongTimeSeries expected = new LongTimeSeries(TimeBucket.SECOND);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            final Instant instant = Instant.ofEpochMilli(random.nextInt(100_000));
+            final long value = random.nextInt(100);
+            timeSeries.upsert(instant, value);
+            expected.upsert(instant, value);
+        }
+
+        // Then
+        assertEquals(expected.getTimeSeries(), timeSeries.getTimeSeries());
+        assertEquals(expected.getInstants(), timeSeries.getInstants());
+        assertEquals(expected, timeSeries.toLongTimeSeries());
+        assertEquals(timeSeries, ArrayBackedLongTimeSeries.from(expected));
+    }
+
+    @Test
+    public void shouldMergeTimeSeries() {
+        // Given
+        final ArrayBackedLongTimeSeries timeSeries1 = new ArrayBackedLongTimeSeries(TimeBucket.SECOND);
+        timeSeries1.put(Instant.ofEpochMilli(1_000L), 1L);
+        timeSeries1.put(Instant.ofEpochMilli(3_000L), 3L);
+        final ArrayBackedLongTimeSeries timeSeries2 = new ArrayBackedLongTimeSeries(TimeBucket.SECOND);
+        timeSeries2.put(Instant.ofEpochMilli(2_000L), 2L);
+        timeSeries2.put(Instant.ofEpochMilli(3_000L), 3L);
+        timeSeries2.put(Instant.ofEpochMilli(4_000L), 4L);
+
+        // When
+        final ArrayBackedLongTimeSeries merged = timeSeries1.merge(timeSeries2);
+
+        // Then
+        final ArrayBackedLongTimeSeries expected = new ArrayBackedLongTimeSeries(TimeBucket.SECOND);
+        expected.put(Instant.ofEpochMilli(1_000L), 1L);
+        expected.put(Instant.ofEpochMilli(2_000L), 2L);
+        expected.put(Instant.ofEpochMilli(3_000L), 6L);
+        expected.put(Instant.ofEpochMilli(4_000L), 4L);
+        assertEquals(expected, merged);
+    }
+
+    @Test
+    public void shouldGetSubSeries() {
+        // Given
+        final ArrayBackedLongTimeSeries timeSeries = new ArrayBackedLongTimeSeries(TimeBucket.SECOND);
+        for (int i = 0; i < 10; i++) {
+            timeSeries.put(Instant.ofEpochMilli(i * 1_000L), (long) i);
+        }
+
+        // When
+        final ArrayBackedLongTimeSeries subSeries = timeSeries.getSubSeries(Instant.ofEpochMilli(2_500L), Instant.ofEpochMilli(5_000L));
+        final ArrayBackedLongTimeSeries openEnded = timeSeries.getSubSeries(Instant.ofEpochMilli(8_000L), null);
+
+        // Then
+        final ArrayBackedLongTimeSeries expected = new ArrayBackedLongTimeSeries(TimeBucket.SECOND);
+        expected.put(Instant.ofEpochMilli(3_000L), 3L);
+        expected.put(Instant.ofEpochMilli(4_000L), 4L);
+        assertEquals(expected, subSeries);
+        assertEquals(2, openEnded.getNumberOfInstants());
+        assertEquals(0, timeSeries.getSubSeries(Instant.ofEpochMilli(20_000L), Instant.ofEpochMilli(10_000L)).getNumberOfInstants());
+    }
+
+    @Test
+    public void shouldRollUpToCoarserTimeBucket() {
+        // Given
+        final ArrayBackedLongTimeSeries timeSeries = new ArrayBackedLongTimeSeries(TimeBucket.MINUTE);
+        for (int i = 0; i < 180; i++) {
+            timeSeries.put(Instant.ofEpochMilli(i * CommonTimeUtil.MILLISECONDS_IN_MINUTE), 1L);
+        }
+
+        // When
+        final ArrayBackedLongTimeSeries rolledUp = timeSeries.rollUp(TimeBucket.HOUR);
+
+        // Then
+        final ArrayBackedLongTimeSeries expected = new ArrayBackedLongTimeSeries(TimeBucket.HOUR);
+        expected.put(Instant.ofEpochMilli(0L), 60L);
+        expected.put(Instant.ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_HOUR), 60L);
+        expected.put(Instant.ofEpochMilli(2 * CommonTimeUtil.MILLISECONDS_IN_HOUR), 60L);
+        assertEquals(expected, rolledUp);
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenRollingUpToFinerTimeBucket() {
+        // Given
+        final ArrayBackedLongTimeSeries timeSeries = new ArrayBackedLongTimeSeries(TimeBucket.HOUR);
+
+        // When / Then
+        try {
+            timeSeries.rollUp(TimeBucket.MILLISECOND);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenAppendingOutOfOrder() {
+        // Given
+        final ArrayBackedLongTimeSeries timeSeries = new ArrayBackedLongTimeSeries(TimeBucket.SECOND);
+        timeSeries.append(10L, 1L);
+
+        // When / Then
+        try {
+            timeSeries.append(10L, 1L);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Override
+    public void shouldJsonSerialiseAndDeserialise() {
+        // Given
+        final ArrayBackedLongTimeSeries obj = getTestObject();
+
+        // When
+        final byte[] json = toJson(obj);
+        final ArrayBackedLongTimeSeries deserialisedObj = fromJson(json);
+
+        // Then
+        JsonAssert.assertEquals(String.format("{%n" +
+                "  \"timeBucket\" : \"SECOND\",%n" +
+                "  \"timeSeries\" : {%n" +
+                "    \"1970-01-01T00:00:01Z\" : 10,%n" +
+                "    \"1970-01-01T00:01:40Z\" : 1000%n" +
+                "  }%n" +
+                "}"), StringUtil.toString(json));
+        assertNotNull(deserialisedObj);
+        assertEquals(obj, deserialisedObj);
+    }
+
+    @Override
+    protected ArrayBackedLongTimeSeries getTestObject() {
+        final ArrayBackedLongTimeSeries timeSeries = new ArrayBackedLongTimeSeries(TimeBucket.SECOND);
+        timeSeries.put(Instant.ofEpochMilli(1000L), 10L);
+        timeSeries.put(Instant.ofEpochMilli(100000L), 1000L);
+        return timeSeries;
+    }
+}
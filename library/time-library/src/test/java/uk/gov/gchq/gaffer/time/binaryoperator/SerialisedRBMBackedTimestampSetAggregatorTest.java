@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.time.binaryoperator;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTimeUtil;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.time.RBMBackedTimestampSet;
+import uk.gov.gchq.gaffer.time.serialisation.RBMBackedTimestampSetSerialiser;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class SerialisedRBMBackedTimestampSetAggregatorTest {
+    private static final SerialisedRBMBackedTimestampSetAggregator AGGREGATOR
+            = new SerialisedRBMBackedTimestampSetAggregator();
+    private static final RBMBackedTimestampSetSerialiser SERIALISER = new RBMBackedTimestampSetSerialiser();
+
+    @Test
+    public void testAggregate() throws SerialisationException {
+        // Given
+        final RBMBackedTimestampSet rbmBackedTimestampSet1 = new RBMBackedTimestampSet(CommonTimeUtil.TimeBucket.SECOND);
+        rbmBackedTimestampSet1.add(Instant.ofEpochMilli(1000L));
+        rbmBackedTimestampSet1.add(Instant.ofEpochMilli(1000000L));
+        final RBMBackedTimestampSet rbmBackedTimestampSet2 = new RBMBackedTimestampSet(CommonTimeUtil.TimeBucket.SECOND);
+        rbmBackedTimestampSet2.add(Instant.ofEpochMilli(1000L));
+        rbmBackedTimestampSet2.add(Instant.ofEpochMilli(2000000L));
+
+        // When
+        final byte[] aggregated = AGGREGATOR._apply(SERIALISER.serialise(rbmBackedTimestampSet1),
+                SERIALISER.serialise(rbmBackedTimestampSet2));
+        final RBMBackedTimestampSet expected = new RBMBackedTimestampSet(CommonTimeUtil.TimeBucket.SECOND);
+        expected.add(Instant.ofEpochMilli(1000L));
+        expected.add(Instant.ofEpochMilli(1000000L));
+        expected.add(Instant.ofEpochMilli(2000000L));
+
+        // Then
+        assertEquals(expected, SERIALISER.deserialise(aggregated));
+    }
+
+    @Test
+    public void testAggregateManyVersions() throws SerialisationException {
+        // Given
+        final List<byte[]> serialised = new ArrayList<>();
+        final RBMBackedTimestampSet expected = new RBMBackedTimestampSet(CommonTimeUtil.TimeBucket.MINUTE);
+        for (int i = 0; i < 300; i++) {
+            final RBMBackedTimestampSet rbmBackedTimestampSet = new RBMBackedTimestampSet(CommonTimeUtil.TimeBucket.MINUTE);
+            for (int j = 0; j < 20; j++) {
+                final Instant instant = Instant.ofEpochMilli((i * 7L + j * 1000L) * CommonTimeUtil.MILLISECONDS_IN_MINUTE);
+                rbmBackedTimestampSet.add(instant);
+                expected.add(instant);
+            }
+            serialised.add(SERIALISER.serialise(rbmBackedTimestampSet));
+        }
+        serialised.add(null);
+
+        // When
+        final byte[] aggregated = AGGREGATOR.aggregate(serialised);
+
+        // Then
+        assertEquals(expected, SERIALISER.deserialise(aggregated));
+    }
+
+    @Test
+    public void testAggregateNullInputs() {
+        assertNull(AGGREGATOR.apply(null, null));
+        assertNull(AGGREGATOR.aggregate(new ArrayList<>()));
+    }
+
+    @Test
+    public void testCantMergeIfDifferentTimeBucket() throws SerialisationException {
+        // Given
+        final byte[] rbmBackedTimestampSet1 = SERIALISER.serialise(new RBMBackedTimestampSet(CommonTimeUtil.TimeBucket.SECOND));
+        final byte[] rbmBackedTimestampSet2 = SERIALISER.serialise(new RBMBackedTimestampSet(CommonTimeUtil.TimeBucket.MINUTE));
+
+        // When / Then
+        try {
+            AGGREGATOR._apply(rbmBackedTimestampSet1, rbmBackedTimestampSet2);
+            fail("Exception expected");
+        } catch (final RuntimeException e) {
+            // Expected
+        }
+    }
+}
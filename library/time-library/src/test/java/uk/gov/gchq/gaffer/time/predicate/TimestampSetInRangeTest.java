@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.time.predicate;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTimeUtil.TimeBucket;
+import uk.gov.gchq.gaffer.commonutil.JsonAssert;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.time.BoundedTimestampSet;
+import uk.gov.gchq.gaffer.time.RBMBackedTimestampSet;
+
+import java.time.Instant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class TimestampSetInRangeTest {
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    @Test
+    public void shouldAcceptWhenAnyTimestampInRange() {
+        // Given
+        final RBMBackedTimestampSet timestampSet = new RBMBackedTimestampSet(TimeBucket.DAY,
+                Instant.ofEpochMilli(DAY), Instant.ofEpochMilli(10 * DAY));
+        final TimestampSetInRange filter = new TimestampSetInRange(5 * DAY, 11 * DAY);
+
+        // When
+        final boolean accepted = filter.test(timestampSet);
+
+        // Then
+        assertTrue(accepted);
+    }
+
+    @Test
+    public void shouldRejectWhenNoTimestampInRange() {
+        // Given
+        final RBMBackedTimestampSet timestampSet = new RBMBackedTimestampSet(TimeBucket.DAY,
+                Instant.ofEpochMilli(DAY), Instant.ofEpochMilli(10 * DAY));
+        final TimestampSetInRange filter = new TimestampSetInRange(2 * DAY, 10 * DAY);
+
+        // When
+        final boolean accepted = filter.test(timestampSet);
+
+        // Then
+        assertFalse(accepted);
+    }
+
+    @Test
+    public void shouldOnlyAcceptWhenAllTimestampsInRangeIfIncludeAllTimestamps() {
+        // Given
+        final RBMBackedTimestampSet timestampSet = new RBMBackedTimestampSet(TimeBucket.DAY,
+                Instant.ofEpochMilli(DAY), Instant.ofEpochMilli(10 * DAY));
+
+        // When / Then
+        assertFalse(new TimestampSetInRange(5 * DAY, null, true).test(timestampSet));
+        assertTrue(new TimestampSetInRange(null, 11 * DAY, true).test(timestampSet));
+    }
+
+    @Test
+    public void shouldTestBoundedTimestampSetInSampleState() {
+        // Given
+        final BoundedTimestampSet timestampSet = new BoundedTimestampSet(TimeBucket.SECOND, 10);
+        for (int i = 0; i < 100; i++) {
+            timestampSet.add(Instant.ofEpochMilli(i * 1000L));
+        }
+        assertEquals(BoundedTimestampSet.State.SAMPLE, timestampSet.getState());
+
+        // When / Then
+        assertTrue(new TimestampSetInRange(0L, 100 * 1000L, true).test(timestampSet));
+        assertFalse(new TimestampSetInRange(100 * 1000L, null).test(timestampSet));
+    }
+
+    @Test
+    public void shouldRejectWhenInputIsNullOrEmpty() {
+        // Given
+        final TimestampSetInRange filter = new TimestampSetInRange(null, null);
+
+        // When / Then
+        assertFalse(filter.test(null));
+        assertFalse(filter.test(new RBMBackedTimestampSet(TimeBucket.DAY)));
+    }
+
+    @Test
+    public void shouldJsonSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final TimestampSetInRange filter = new TimestampSetInRange(1000L, 2000L, true);
+
+        // When 1
+        final String json = new String(JSONSerialiser.serialise(filter, true));
+
+        // Then 1
+        JsonAssert.assertEquals(String.format("{%n" +
+                "  \"class\" : \"uk.gov.gchq.gaffer.time.predicate.TimestampSetInRange\",%n" +
+                "  \"start\" : 1000,%n" +
+                "  \"end\" : 2000,%n" +
+                "  \"includeAllTimestamps\" : true%n" +
+                "}"), json);
+
+        // When 2
+        final TimestampSetInRange deserialised = JSONSerialiser.deserialise(json.getBytes(), TimestampSetInRange.class);
+
+        // Then 2
+        assertNotNull(deserialised);
+        assertEquals(filter, deserialised);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.time.serialisation;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTimeUtil;
+import uk.gov.gchq.gaffer.commonutil.CommonTimeUtil.TimeBucket;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialisationTest;
+import uk.gov.gchq.gaffer.time.ArrayBackedLongTimeSeries;
+
+import java.time.Instant;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DeltaArrayBackedLongTimeSeriesSerialiserTest extends ToBytesSerialisationTest<ArrayBackedLongTimeSeries> {
+    private static final DeltaArrayBackedLongTimeSeriesSerialiser serialiser = new DeltaArrayBackedLongTimeSeriesSerialiser();
+
+    @Test
+    public void testSerialiser() throws SerialisationException {
+        testSerialiser(getExampleValueMillisecond());
+        testSerialiser(getExampleValueMinute());
+        testSerialiser(getExampleValueWeek());
+    }
+
+    private void testSerialiser(final ArrayBackedLongTimeSeries timeSeries) throws SerialisationException {
+        // When
+        final byte[] serialised = serialiser.serialise(timeSeries);
+        final ArrayBackedLongTimeSeries deserialised = serialiser.deserialise(serialised);
+
+        // Then
+        assertEquals(timeSeries, deserialised);
+        assertEquals(timeSeries.getTimeSeries(), deserialised.getTimeSeries());
+    }
+
+    @Test
+    public void testSerialiserForEmptyTimeSeries() throws SerialisationException {
+        // Given
+        final ArrayBackedLongTimeSeries timeSeries = new ArrayBackedLongTimeSeries(TimeBucket.SECOND);
+
+        // When
+        final byte[] serialised = serialiser.serialise(timeSeries);
+        final ArrayBackedLongTimeSeries deserialised = serialiser.deserialise(serialised);
+
+        // Then
+        assertEquals(timeSeries, deserialised);
+    }
+
+    @Test
+    public void testSerialiserWithOffset() throws SerialisationException {
+        // Given
+        final ArrayBackedLongTimeSeries timeSeries = getExampleValueMinute();
+        final byte[] serialised = serialiser.serialise(timeSeries);
+        final byte[] padded = new byte[serialised.length + 4];
+        System.arraycopy(serialised, 0, padded, 2, serialised.length);
+
+        // When
+        final ArrayBackedLongTimeSeries deserialised = serialiser.deserialise(padded, 2, serialised.length);
+
+        // Then
+        assertEquals(timeSeries, deserialised);
+    }
+
+    @Test
+    public void testValueCloseToLongMax() throws SerialisationException {
+        // Given
+        final ArrayBackedLongTimeSeries timeSeries = new ArrayBackedLongTimeSeries(TimeBucket.SECOND);
+        timeSeries.upsert(Instant.ofEpochMilli(1000L), Long.MAX_VALUE);
+        timeSeries.upsert(Instant.ofEpochMilli(2000L), Long.MIN_VALUE);
+
+        // When
+        final byte[] serialised = serialiser.serialise(timeSeries);
+        final ArrayBackedLongTimeSeries deserialised = serialiser.deserialise(serialised);
+
+        // Then
+        assertEquals(timeSeries, deserialised);
+        assertEquals(Long.MAX_VALUE, (long) deserialised.get(Instant.ofEpochMilli(1000L)));
+    }
+
+    @Test
+    public void testCanHandle() throws SerialisationException {
+        assertTrue(serialiser.canHandle(ArrayBackedLongTimeSeries.class));
+        assertFalse(serialiser.canHandle(String.class));
+    }
+
+    @Test
+    public void testConsistent() throws SerialisationException {
+        // Given
+        final ArrayBackedLongTimeSeries timeSeries1 = new ArrayBackedLongTimeSeries(TimeBucket.SECOND);
+        timeSeries1.upsert(Instant.ofEpochMilli(1000L), 10L);
+        final ArrayBackedLongTimeSeries timeSeries2 = new ArrayBackedLongTimeSeries(TimeBucket.SECOND);
+        timeSeries2.upsert(Instant.ofEpochMilli(1000L), 5L);
+        timeSeries2.upsert(Instant.ofEpochMilli(1000L), 5L);
+
+        // When
+        final byte[] serialised1 = serialiser.serialise(timeSeries1);
+        final byte[] serialised2 = serialiser.serialise(timeSeries2);
+
+        // Then
+        assertArrayEquals(serialised1, serialised2);
+    }
+
+    @Override
+    public Serialiser<ArrayBackedLongTimeSeries, byte[]> getSerialisation() {
+        return new DeltaArrayBackedLongTimeSeriesSerialiser();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Pair<ArrayBackedLongTimeSeries, byte[]>[] getHistoricSerialisationPairs() {
+        return new Pair[]{
+                new Pair(getExampleValueMillisecond(),
+                        new byte[]{7,3,1,-114,3,-24,1,-114,7,-48,9,-115,15,54,-120,-115,-104,-106,118}),
+                new Pair(getExampleValueMinute(),
+                        new byte[]{1,3,1,100,100,-114,38,-84,-114,38,-84,-115,15,27,48,-115,15,27,48}),
+                new Pair(getExampleValueWeek(),
+                        new byte[]{4,3,1,4,7,63,63,-114,2,118,-114,2,118})
+        };
+    }
+
+    private ArrayBackedLongTimeSeries getExampleValueMillisecond() {
+        final ArrayBackedLongTimeSeries timeSeries = new ArrayBackedLongTimeSeries(TimeBucket.MILLISECOND);
+        timeSeries.upsert(Instant.ofEpochMilli(1_000L), 1L);
+        timeSeries.upsert(Instant.ofEpochMilli(3_000L), 10L);
+        timeSeries.upsert(Instant.ofEpochMilli(1_000_000L), 10_000_000L);
+        return timeSeries;
+    }
+
+    private ArrayBackedLongTimeSeries getExampleValueMinute() {
+        final ArrayBackedLongTimeSeries timeSeries = new ArrayBackedLongTimeSeries(TimeBucket.MINUTE);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_MINUTE * 100), 100L);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_MINUTE * 10_000), 10_000L);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_MINUTE * 1_000_000), 1_000_000L);
+        return timeSeries;
+    }
+
+    private ArrayBackedLongTimeSeries getExampleValueWeek() {
+        final ArrayBackedLongTimeSeries timeSeries = new ArrayBackedLongTimeSeries(TimeBucket.WEEK);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_DAY * 7), 7L);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_DAY * 70), 70L);
+        timeSeries.upsert(Instant
+                .ofEpochMilli(CommonTimeUtil.MILLISECONDS_IN_DAY * 700), 700L);
+        return timeSeries;
+    }
+}
@@ -46,6 +46,13 @@ public abstract class SystemProperty {
     public static final String JSON_SERIALISER_MODULES = JSONSerialiser.JSON_SERIALISER_MODULES;
     public static final String REST_DEBUG = DebugUtil.DEBUG;
 
+    /**
+     * If true, responses are gzip or deflate encoded for clients that accept
+     * it. Compressed requests are always accepted. Chunked responses are
+     * compressed in blocks, so chunks may be delayed.
+     */
+    public static final String COMPRESSION = "gaffer.rest-api.compression";
+
     // Exposed Property Keys
     /**
      * A CSV of properties to expose via the properties endpoint.
@@ -98,6 +105,7 @@ public abstract class SystemProperty {
     public static final String GRAPH_FACTORY_CLASS_DEFAULT = DefaultGraphFactory.class.getName();
     public static final String USER_FACTORY_CLASS_DEFAULT = UnknownUserFactory.class.getName();
     public static final String REST_DEBUG_DEFAULT = DebugUtil.DEBUG_DEFAULT;
+    public static final String COMPRESSION_DEFAULT = "false";
     public static final String APP_TITLE_DEFAULT = "Gaffer REST";
     public static final String APP_DESCRIPTION_DEFAULT = "The Gaffer REST service.";
     public static final String APP_DOCUMENTATION_URL_DEFAULT = "https://gchq.github.io/gaffer-doc/";
@@ -18,9 +18,13 @@ package uk.gov.gchq.gaffer.rest.application;
 
 import io.swagger.jaxrs.listing.ApiListingResource;
 import io.swagger.jaxrs.listing.SwaggerSerializers;
+import org.glassfish.jersey.message.DeflateEncoder;
+import org.glassfish.jersey.message.GZipEncoder;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.filter.EncodingFilter;
 
 import uk.gov.gchq.gaffer.rest.FactoriesBinder;
+import uk.gov.gchq.gaffer.rest.SystemProperty;
 import uk.gov.gchq.gaffer.rest.mapper.GafferCheckedExceptionMapper;
 import uk.gov.gchq.gaffer.rest.mapper.GafferRuntimeExceptionMapper;
 import uk.gov.gchq.gaffer.rest.mapper.GenericExceptionMapper;
@@ -47,6 +51,7 @@ public abstract class ApplicationConfig extends ResourceConfig {
         setupBeanConfig();
         registerClasses(resources);
         register(new FactoriesBinder());
+        addContentEncoders();
     }
 
     protected void addSystemResources() {
@@ -65,6 +70,20 @@ public abstract class ApplicationConfig extends ResourceConfig {
         resources.add(GenericExceptionMapper.class);
     }
 
+    /**
+     * Registers the gzip and deflate encoders so that requests with a
+     * compressed body can always be read. If compression is enabled via the
+     * {@link SystemProperty#COMPRESSION} system property, responses are also
+     * compressed for clients that send a matching Accept-Encoding header.
+     */
+    protected void addContentEncoders() {
+        if (Boolean.parseBoolean(System.getProperty(SystemProperty.COMPRESSION, SystemProperty.COMPRESSION_DEFAULT))) {
+            EncodingFilter.enableFor(this, GZipEncoder.class, DeflateEncoder.class);
+        } else {
+            registerClasses(GZipEncoder.class, DeflateEncoder.class);
+        }
+    }
+
     /**
      * Should add version-specific classes to the collection of resources.
      */
@@ -29,6 +29,7 @@ import uk.gov.gchq.gaffer.commonutil.Required;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.core.exception.Error;
+import uk.gov.gchq.gaffer.core.exception.ErrorFactory;
 import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.core.exception.Status;
 import uk.gov.gchq.gaffer.graph.GraphRequest;
@@ -51,6 +52,7 @@ import javax.ws.rs.core.Response;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -123,13 +125,22 @@ public class OperationServiceV2 implements IOperationServiceV2 {
     @SuppressFBWarnings
     @Override
     public ChunkedOutput<String> executeChunkedChain(final OperationChain opChain) {
+        // Execute the chain before the response is committed, so failures are
+        // returned as an error response rather than as an empty result
+        final Object result;
+        try {
+            result = _execute(opChain).getFirst();
+        } catch (final RuntimeException e) {
+            CloseableUtil.close(opChain);
+            throw e;
+        }
+
         // Create chunked output instance
         final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, "\r\n");
 
         // write chunks to the chunked output object
         new Thread(() -> {
             try {
-                final Object result = _execute(opChain).getFirst();
                 chunkResult(result, output);
             } finally {
                 CloseableUtil.close(output);
@@ -255,6 +266,8 @@ public class OperationServiceV2 implements IOperationServiceV2 {
                 }
             } catch (final IOException ioe) {
                 LOGGER.warn("IOException (chunks)", ioe);
+            } catch (final RuntimeException e) {
+                chunkError(e, output);
             } finally {
                 CloseableUtil.close(itr);
             }
@@ -267,6 +280,24 @@ public class OperationServiceV2 implements IOperationServiceV2 {
         }
     }
 
+    /**
+     * Writes an {@link Error}, wrapped in a field named
+     * {@link Error#CHUNKED_ERROR_FIELD}, as the final chunk of the output.
+     * The response status has already been sent by this point, so this is
+     * how clients are told that the results are incomplete.
+     *
+     * @param e      the exception thrown while the results were being written
+     * @param output the chunked output
+     */
+    protected void chunkError(final Exception e, final ChunkedOutput<String> output) {
+        final Error error = ErrorFactory.from(e);
+        try {
+            output.write(mapper.writeValueAsString(Collections.singletonMap(Error.CHUNKED_ERROR_FIELD, error)));
+        } catch (final IOException ioe) {
+            LOGGER.warn("IOException (chunks)", ioe);
+        }
+    }
+
     private Operation generateExampleJson(final Class<? extends Operation> opClass) throws IllegalAccessException, InstantiationException {
         return examplesFactory.generateExample(opClass);
     }
@@ -76,6 +76,23 @@ public class OperationServiceV2IT extends OperationServiceIT {
         assertEquals(403, response.getStatus());
     }
 
+    @Test
+    public void shouldReturnErrorStatusWhenChunkedExecutionFails() throws IOException {
+        // Given
+        Graph graph = new Graph.Builder()
+                .config(StreamUtil.graphConfig(this.getClass()))
+                .storeProperties(StreamUtil.STORE_PROPERTIES)
+                .addSchema(new Schema())
+                .build();
+        client.reinitialiseGraph(graph);
+
+        // When
+        final Response response = client.executeOperationChunked(new GetAllElements());
+
+        // Then
+        assertEquals(403, response.getStatus());
+    }
+
     @Test
     public void shouldReturnSameJobIdInHeaderAsGetAllJobDetailsOperation() throws IOException {
         // Given
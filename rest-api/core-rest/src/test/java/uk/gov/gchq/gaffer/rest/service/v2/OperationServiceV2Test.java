@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.service.v2;
+
+import org.glassfish.jersey.server.ChunkedOutput;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.core.exception.Error;
+import uk.gov.gchq.gaffer.data.element.Entity;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class OperationServiceV2Test {
+
+    @Test
+    public void shouldWriteErrorAsFinalChunkWhenIterationFails() throws IOException {
+        // Given
+        final OperationServiceV2 service = new OperationServiceV2();
+        final ChunkedOutput<String> output = mock(ChunkedOutput.class);
+        final Entity entity = new Entity(TestGroups.ENTITY, "A");
+        final Iterable<Entity> result = () -> new Iterator<Entity>() {
+            private boolean returned;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Entity next() {
+                if (returned) {
+                    throw new RuntimeException("Store failed");
+                }
+                returned = true;
+                return entity;
+            }
+        };
+
+        // When
+        service.chunkResult(result, output);
+
+        // Then
+        final ArgumentCaptor<String> chunks = ArgumentCaptor.forClass(String.class);
+        verify(output, times(2)).write(chunks.capture());
+        final List<String> written = chunks.getAllValues();
+        assertEquals(service.mapper.writeValueAsString(entity), written.get(0));
+        final Map<String, Error> errorChunk = service.mapper.readValue(written.get(1),
+                service.mapper.getTypeFactory().constructMapType(Map.class, String.class, Error.class));
+        assertEquals(1, errorChunk.size());
+        assertTrue(errorChunk.get(Error.CHUNKED_ERROR_FIELD).getSimpleMessage().contains("Store failed"));
+    }
+}
@@ -53,6 +53,9 @@ public class AccumuloProperties extends StoreProperties {
     public static final String TABLE_REPLICATION_FACTOR = "accumulo.file.replication";
     public static final String ENABLE_VALIDATOR_ITERATOR = "gaffer.store.accumulo.enable.validator.iterator";
     public static final String HDFS_SKIP_PERMISSIONS = "accumulostore.operation.hdfs.skip_permissions";
+    public static final String BULK_IMPORT_ADD_ELEMENTS = "accumulo.addElements.bulkImport";
+    public static final String BULK_IMPORT_WORKING_DIRECTORY = "accumulo.bulkImport.workingDirectory";
+    public static final String BULK_IMPORT_MAX_ENTRIES_IN_MEMORY = "accumulo.bulkImport.maxEntriesInMemory";
 
     // default values
     private static final String NUM_THREADS_FOR_BATCH_WRITER_DEFAULT = "10";
@@ -64,6 +67,8 @@ public class AccumuloProperties extends StoreProperties {
     private static final String MAX_TIME_OUT_FOR_BATCH_WRITER_DEFAULT = "1000";
     private static final String THREADS_FOR_BATCH_SCANNER_DEFAULT = "10";
     public static final String ENABLE_VALIDATOR_ITERATOR_DEFAULT = "true";
+    private static final String BULK_IMPORT_ADD_ELEMENTS_DEFAULT = "false";
+    private static final String BULK_IMPORT_MAX_ENTRIES_IN_MEMORY_DEFAULT = "1000000";
 
     public AccumuloProperties() {
         super(AccumuloStore.class);
@@ -412,6 +417,68 @@ public class AccumuloProperties extends StoreProperties {
         set(ENABLE_VALIDATOR_ITERATOR, Boolean.toString(enableValidatorIterator));
     }
 
+    /**
+     * Gets the flag determining whether {@link uk.gov.gchq.gaffer.operation.impl.add.AddElements}
+     * should write RFiles locally and bulk import them, rather than using a
+     * batch writer.
+     *
+     * @return true if AddElements should bulk import the elements.
+     */
+    public boolean getBulkImportAddElements() {
+        return Boolean.parseBoolean(get(BULK_IMPORT_ADD_ELEMENTS, BULK_IMPORT_ADD_ELEMENTS_DEFAULT));
+    }
+
+    /**
+     * Sets the flag determining whether {@link uk.gov.gchq.gaffer.operation.impl.add.AddElements}
+     * should write RFiles locally and bulk import them, rather than using a
+     * batch writer.
+     *
+     * @param bulkImportAddElements true if AddElements should bulk import the elements.
+     */
+    public void setBulkImportAddElements(final boolean bulkImportAddElements) {
+        set(BULK_IMPORT_ADD_ELEMENTS, Boolean.toString(bulkImportAddElements));
+    }
+
+    /**
+     * Gets the directory in which RFiles are written before being bulk
+     * imported. If not set then the java temporary directory is used.
+     *
+     * @return the bulk import working directory.
+     */
+    public String getBulkImportWorkingDirectory() {
+        return get(BULK_IMPORT_WORKING_DIRECTORY, System.getProperty("java.io.tmpdir"));
+    }
+
+    /**
+     * Sets the directory in which RFiles are written before being bulk
+     * imported.
+     *
+     * @param bulkImportWorkingDirectory the bulk import working directory.
+     */
+    public void setBulkImportWorkingDirectory(final String bulkImportWorkingDirectory) {
+        set(BULK_IMPORT_WORKING_DIRECTORY, bulkImportWorkingDirectory);
+    }
+
+    /**
+     * Gets the maximum number of key value pairs to hold in memory, whilst
+     * sorting and aggregating, before they are written out to RFiles.
+     *
+     * @return the maximum number of key value pairs to hold in memory.
+     */
+    public int getBulkImportMaxEntriesInMemory() {
+        return Integer.parseInt(get(BULK_IMPORT_MAX_ENTRIES_IN_MEMORY, BULK_IMPORT_MAX_ENTRIES_IN_MEMORY_DEFAULT));
+    }
+
+    /**
+     * Sets the maximum number of key value pairs to hold in memory, whilst
+     * sorting and aggregating, before they are written out to RFiles.
+     *
+     * @param bulkImportMaxEntriesInMemory the maximum number of key value pairs to hold in memory.
+     */
+    public void setBulkImportMaxEntriesInMemory(final String bulkImportMaxEntriesInMemory) {
+        set(BULK_IMPORT_MAX_ENTRIES_IN_MEMORY, bulkImportMaxEntriesInMemory);
+    }
+
     @Override
     public String getJsonSerialiserModules() {
         return new StringDeduplicateConcat().apply(
@@ -62,6 +62,7 @@ import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsInRanges;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsWithinSet;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.SummariseGroupOverRanges;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.RFileBulkImporter;
 import uk.gov.gchq.gaffer.accumulostore.utils.TableUtils;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
@@ -295,6 +296,13 @@ public class AccumuloStore extends Store {
                     InputConfigurator.addIterator(AccumuloInputFormat.class, conf, elementPostFilter);
                     LOGGER.info("Added post-aggregation filter iterator of {}", elementPostFilter);
                 }
+                final IteratorSetting propertyProjection = getKeyPackage()
+                        .getIteratorFactory()
+                        .getElementPropertyProjectionIteratorSetting(view, this);
+                if (null != propertyProjection) {
+                    InputConfigurator.addIterator(AccumuloInputFormat.class, conf, propertyProjection);
+                    LOGGER.info("Added property projection iterator of {}", propertyProjection);
+                }
                 final IteratorSetting edgeEntityDirFilter = getKeyPackage()
                         .getIteratorFactory()
                         .getEdgeEntityDirectionFilterIteratorSetting(graphFilters);
@@ -418,6 +426,18 @@ public class AccumuloStore extends Store {
         insertGraphElements(elements);
     }
 
+    /**
+     * Method to add {@link Element}s into Accumulo by writing them to RFiles
+     * and bulk importing them, rather than using a batch writer.
+     *
+     * @param elements The elements to be added.
+     * @throws StoreException If there is a failure to write or import the RFiles.
+     * @see RFileBulkImporter
+     */
+    public void bulkImportElements(final Iterable<? extends Element> elements) throws StoreException {
+        new RFileBulkImporter(this).importElements(elements);
+    }
+
     protected void insertGraphElements(final Iterable<? extends Element> elements) throws StoreException {
         // Create BatchWriter
         final BatchWriter writer = TableUtils.createBatchWriter(this);
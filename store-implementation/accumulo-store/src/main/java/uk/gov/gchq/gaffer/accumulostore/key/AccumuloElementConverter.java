@@ -27,6 +27,8 @@ import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
 
+import java.util.Set;
+
 /**
  * The Accumulo ElementConverter Interface details the methods necessary to
  * convert Gaffer {@link Element}s to Accumulo {@link Key}s and {@link Value}s
@@ -95,6 +97,26 @@ public interface AccumuloElementConverter {
      */
     Properties getPropertiesFromValue(final String group, final Value value);
 
+    /**
+     * Creates a copy of an Accumulo {@link Value} in which only the specified
+     * properties are populated. All other properties stored in the value are
+     * replaced with empty values.
+     * <p>
+     * The default implementation deserialises the value and serialises the
+     * remaining properties. Implementations that know the layout of the value
+     * should override this to avoid deserialising the properties.
+     *
+     * @param group         the element group
+     * @param value         the Value containing the serialised properties
+     * @param propertyNames the names of the properties to keep
+     * @return A new Accumulo {@link Value} containing only the requested properties
+     */
+    default Value getValueWithOnlyProperties(final String group, final Value value, final Set<String> propertyNames) {
+        final Properties properties = getPropertiesFromValue(group, value);
+        properties.keepOnly(propertyNames);
+        return getValueFromProperties(group, properties);
+    }
+
     /**
      * Gets a new {@link ElementId} from an Accumulo {@link Key}.
      *
@@ -72,6 +72,21 @@ public interface IteratorSettingFactory {
     IteratorSetting getElementPostAggregationFilterIteratorSetting(final View view, final AccumuloStore store)
             throws IteratorSettingException;
 
+    /**
+     * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that
+     * can be used to apply an iterator that will remove properties that are not
+     * required by the properties/excludeProperties in the view from the values
+     * returned by a {@link org.apache.accumulo.core.client.Scanner}.
+     * May return null if the view requires all properties.
+     *
+     * @param view  the operation view
+     * @param store the accumulo store
+     * @return A new {@link IteratorSetting} for an Iterator capable of projecting the properties of {@link uk.gov.gchq.gaffer.data.element.Element}s based on a {@link View}
+     * @throws IteratorSettingException if an iterator setting could not be created
+     */
+    IteratorSetting getElementPropertyProjectionIteratorSetting(final View view, final AccumuloStore store)
+            throws IteratorSettingException;
+
     /**
      * Returns an Iterator that will filter out
      * Edges/Entities/Undirected/Directed Edges based on the options in the
@@ -160,6 +160,41 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return properties;
     }
 
+    @Override
+    public Value getValueWithOnlyProperties(final String group, final Value value, final Set<String> propertyNames) {
+        if (!isNotEmpty(value)) {
+            return value;
+        }
+
+        final byte[] bytes = value.get();
+        final int arrayLength = bytes.length;
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream(arrayLength);
+        final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
+        final Iterator<String> schemaPropertyNames = elementDefinition.getProperties().iterator();
+        int delimiterPosition = 0;
+        while (schemaPropertyNames.hasNext() && delimiterPosition < arrayLength) {
+            final String propertyName = schemaPropertyNames.next();
+            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+            // Mirrors getPropertiesFromValue - properties without a serialiser are not read from the value
+            if (isStoredInValue(propertyName, elementDefinition)
+                    && null != typeDefinition && null != typeDefinition.getSerialiser()) {
+                final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[delimiterPosition]);
+                final int currentPropLength = getCurrentPropLength(bytes, delimiterPosition);
+                if (propertyNames.contains(propertyName)) {
+                    stream.write(bytes, delimiterPosition, numBytesForLength + currentPropLength);
+                } else {
+                    try {
+                        CompactRawSerialisationUtils.write(0, stream);
+                    } catch (final IOException e) {
+                        throw new AccumuloElementConversionException("Failed to write empty property " + propertyName, e);
+                    }
+                }
+                delimiterPosition += numBytesForLength + currentPropLength;
+            }
+        }
+        return new Value(stream.toByteArray());
+    }
+
     @Override
     public Element getElementFromKey(final Key key, final boolean includeMatchedVertex) {
         final byte[] row = key.getRowData().getBackingArray();
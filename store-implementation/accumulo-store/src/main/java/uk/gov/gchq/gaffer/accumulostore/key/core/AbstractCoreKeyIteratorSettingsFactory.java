@@ -29,6 +29,7 @@ import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.AggregatorIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPostAggregationFilter;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPreAggregationFilter;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPropertyProjectionIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.RowIDAggregator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ValidatorFilter;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
@@ -100,6 +101,28 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
         return is;
     }
 
+    @Override
+    public IteratorSetting getElementPropertyProjectionIteratorSetting(final View view, final AccumuloStore store)
+            throws IteratorSettingException {
+        if (ElementPropertyProjectionIterator.getRequiredProperties(view, store.getSchema()).isEmpty()) {
+            LOGGER.debug("Returning null from getElementPropertyProjectionIteratorSetting as all properties are required by the view");
+            return null;
+        }
+
+        final IteratorSetting is = new IteratorSettingBuilder(AccumuloStoreConstants.ELEMENT_PROPERTY_PROJECTION_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.ELEMENT_PROPERTY_PROJECTION_ITERATOR_NAME, ElementPropertyProjectionIterator.class)
+                .schema(store.getSchema())
+                .view(view)
+                .keyConverter(store.getKeyPackage().getKeyConverter())
+                .build();
+        LOGGER.debug("Creating IteratorSetting for iterator class {} with priority = {}, "
+                        + "schema = {}, view = {}, keyConverter = {}",
+                ElementPropertyProjectionIterator.class.getName(),
+                AccumuloStoreConstants.ELEMENT_PROPERTY_PROJECTION_ITERATOR_PRIORITY,
+                store.getSchema(), view, store.getKeyPackage().getKeyConverter());
+        return is;
+    }
+
     @Override
     public IteratorSetting getAggregatorIteratorSetting(final AccumuloStore store) throws IteratorSettingException {
         final IteratorSetting is = new IteratorSettingBuilder(AccumuloStoreConstants.AGGREGATOR_ITERATOR_PRIORITY,
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunction;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The ElementPropertyProjectionIterator removes properties that are not required
+ * by the {@link View} from each {@link Value} before it is returned from the tablet
+ * server. The properties that are kept for a group are those requested in the
+ * view's properties/excludeProperties, plus any properties selected by the
+ * transformer or post transform filter, as these are applied by the client.
+ * <p>
+ * Removed properties are replaced by empty values, so the element's key is
+ * unchanged and the value can still be read by the element converter.
+ */
+public class ElementPropertyProjectionIterator extends WrappingIterator implements OptionDescriber {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElementPropertyProjectionIterator.class);
+
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "elementConverter is initialised in init method, which is always called first")
+    private AccumuloElementConverter elementConverter;
+
+    private Map<String, Set<String>> groupToProperties = Collections.emptyMap();
+    private Value topValue;
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.ELEMENT_PROPERTY_PROJECTION_ITERATOR_NAME,
+                "Only returns the properties of elements that are required by the given view")
+                .addViewNamedOption()
+                .addSchemaNamedOption()
+                .addElementConverterClassNamedOption()
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
+        }
+        if (!options.containsKey(AccumuloStoreConstants.VIEW)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.VIEW);
+        }
+        if (!options.containsKey(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS);
+        }
+        return true;
+    }
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source,
+                     final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+
+        final Schema schema = Schema.fromJson(StringUtil.toBytes(options.get(AccumuloStoreConstants.SCHEMA)));
+        final View view = View.fromJson(StringUtil.toBytes(options.get(AccumuloStoreConstants.VIEW)));
+        LOGGER.debug("Initialising ElementPropertyProjectionIterator with schema {} and view {}", schema, view);
+
+        final String elementConverterClass = options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS);
+        try {
+            elementConverter = Class
+                    .forName(elementConverterClass)
+                    .asSubclass(AccumuloElementConverter.class)
+                    .getConstructor(Schema.class)
+                    .newInstance(schema);
+            LOGGER.debug("Creating AccumuloElementConverter of class {}", elementConverterClass);
+        } catch (final ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
+                | InvocationTargetException | NoSuchMethodException | SecurityException e) {
+            throw new AccumuloElementConversionException("Failed to create element converter of the class name provided ("
+                    + elementConverterClass + ")", e);
+        }
+
+        groupToProperties = getRequiredProperties(view, schema);
+        LOGGER.debug("Projecting properties {}", groupToProperties);
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final ElementPropertyProjectionIterator newInstance = new ElementPropertyProjectionIterator();
+        newInstance.setSource(getSource().deepCopy(env));
+        newInstance.elementConverter = elementConverter;
+        newInstance.groupToProperties = groupToProperties;
+        return newInstance;
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive) throws IOException {
+        topValue = null;
+        super.seek(range, columnFamilies, inclusive);
+    }
+
+    @Override
+    public void next() throws IOException {
+        topValue = null;
+        super.next();
+    }
+
+    @Override
+    public Value getTopValue() {
+        if (null == topValue) {
+            final Value value = super.getTopValue();
+            final String group = elementConverter.getGroupFromColumnFamily(getTopKey().getColumnFamilyData().getBackingArray());
+            final Set<String> properties = groupToProperties.get(group);
+            if (null == properties) {
+                topValue = value;
+            } else {
+                topValue = elementConverter.getValueWithOnlyProperties(group, value, properties);
+            }
+        }
+        return topValue;
+    }
+
+    /**
+     * Calculates the properties that need to be returned for each group in the
+     * {@link View}. Groups that require all of their properties are not included
+     * in the returned map.
+     *
+     * @param view   the view
+     * @param schema the schema
+     * @return a map from group to the properties that are required
+     */
+    public static Map<String, Set<String>> getRequiredProperties(final View view, final Schema schema) {
+        final Map<String, Set<String>> groupToProperties = new HashMap<>();
+        for (final String group : view.getGroups()) {
+            final Set<String> properties = getRequiredProperties(view.getElement(group), schema.getElement(group));
+            if (null != properties) {
+                groupToProperties.put(group, properties);
+            }
+        }
+        return groupToProperties;
+    }
+
+    private static Set<String> getRequiredProperties(final ViewElementDefinition viewElDef,
+                                                     final SchemaElementDefinition schemaElDef) {
+        if (null == viewElDef || null == schemaElDef || viewElDef.isAllProperties()) {
+            return null;
+        }
+
+        final Set<String> properties = new HashSet<>();
+        if (null != viewElDef.getProperties()) {
+            properties.addAll(viewElDef.getProperties());
+        } else {
+            properties.addAll(schemaElDef.getProperties());
+            properties.removeAll(viewElDef.getExcludeProperties());
+        }
+
+        final ElementTransformer transformer = viewElDef.getTransformer();
+        if (null != transformer && null != transformer.getComponents()) {
+            for (final TupleAdaptedFunction<String, ?, ?> function : transformer.getComponents()) {
+                Collections.addAll(properties, function.getSelection());
+            }
+        }
+
+        final ElementFilter postTransformFilter = viewElDef.getPostTransformFilter();
+        if (null != postTransformFilter && null != postTransformFilter.getComponents()) {
+            for (final TupleAdaptedPredicate<String, ?> predicate : postTransformFilter.getComponents()) {
+                Collections.addAll(properties, predicate.getSelection());
+            }
+        }
+
+        if (properties.containsAll(schemaElDef.getProperties())) {
+            return null;
+        }
+        return properties;
+    }
+}
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.accumulostore.operation.handler;
 
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.operation.OperationException;
@@ -38,15 +39,27 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
     private void addElements(final AddElements operation, final AccumuloStore store)
             throws OperationException {
         try {
-            final Iterable<?extends Element> validatedElements;
+            final Iterable<? extends Element> validatedElements;
             if (operation.isValidate()) {
                 validatedElements = new ValidatedElements(operation.getInput(), store.getSchema(), operation.isSkipInvalidElements());
             } else {
                 validatedElements = operation.getInput();
             }
-            store.addElements(validatedElements);
+            if (isBulkImport(operation, store)) {
+                store.bulkImportElements(validatedElements);
+            } else {
+                store.addElements(validatedElements);
+            }
         } catch (final StoreException e) {
             throw new OperationException("Failed to add elements", e);
         }
     }
+
+    private boolean isBulkImport(final AddElements operation, final AccumuloStore store) {
+        final String bulkImportOption = operation.getOption(AccumuloProperties.BULK_IMPORT_ADD_ELEMENTS);
+        if (null != bulkImportOption) {
+            return Boolean.parseBoolean(bulkImportOption);
+        }
+        return store.getProperties().getBulkImportAddElements();
+    }
 }
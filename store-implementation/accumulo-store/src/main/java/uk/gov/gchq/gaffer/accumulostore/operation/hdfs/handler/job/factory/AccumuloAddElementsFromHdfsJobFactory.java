@@ -65,6 +65,12 @@ public class AccumuloAddElementsFromHdfsJobFactory implements AddElementsFromHdf
         jobConf.set(VALIDATE, String.valueOf(operation.isValidate()));
         LOGGER.info("Added {} option of {} to job conf", VALIDATE, operation.isValidate());
 
+        final Integer combinerCacheSize = operation.getMapperCombinerCacheSize();
+        if (null != combinerCacheSize) {
+            jobConf.setInt(MAPPER_COMBINER_CACHE_SIZE, combinerCacheSize);
+            LOGGER.info("Added {} option of {} to job conf", MAPPER_COMBINER_CACHE_SIZE, combinerCacheSize);
+        }
+
         if (null != operation.getNumMapTasks()) {
             jobConf.setNumMapTasks(operation.getNumMapTasks());
             LOGGER.info("Set number of map tasks to {} on job conf", operation.getNumMapTasks());
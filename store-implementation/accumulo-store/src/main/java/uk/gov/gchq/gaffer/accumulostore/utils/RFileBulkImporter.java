@@ -0,0 +1,298 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.client.rfile.RFile;
+import org.apache.accumulo.core.client.rfile.RFileWriter;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.core.exception.Status;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static uk.gov.gchq.gaffer.accumulostore.AccumuloStore.FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS;
+
+/**
+ * <p>
+ * An {@code RFileBulkImporter} adds {@link Element}s to an {@link AccumuloStore}
+ * without a MapReduce job and without writing each mutation to the write-ahead
+ * log. The elements are converted to Accumulo key value pairs and buffered in
+ * memory. When the buffer is full, it is sorted, the values of identical keys
+ * are merged using the schema's ingest aggregator and the result is written
+ * to RFiles, one for each tablet of the table's current split points. Once all
+ * the elements have been written, the RFiles are bulk imported into the table.
+ * </p>
+ * <p>
+ * The RFiles are written to the {@link FileSystem} of the default Hadoop
+ * {@link Configuration}, under the bulk import working directory set in the
+ * {@link uk.gov.gchq.gaffer.accumulostore.AccumuloProperties}. This directory
+ * must be readable by the Accumulo tablet servers.
+ * </p>
+ */
+public class RFileBulkImporter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RFileBulkImporter.class);
+    private static final Comparator<Pair<Key, Value>> KEY_COMPARATOR = Comparator.comparing(Pair::getFirst);
+    private static final String FILES_DIRECTORY = "files";
+    private static final String FAILURES_DIRECTORY = "failures";
+
+    private final AccumuloStore store;
+    private final AccumuloElementConverter elementConverter;
+    private final Schema schema;
+    private final int maxEntriesInMemory;
+    private final FileSystem fs;
+    private final Path filesDir;
+    private final Path failuresDir;
+    private final Path workingDir;
+    private int numFiles;
+
+    public RFileBulkImporter(final AccumuloStore store) throws StoreException {
+        this(store, new Configuration());
+    }
+
+    public RFileBulkImporter(final AccumuloStore store, final Configuration conf) throws StoreException {
+        this.store = store;
+        this.elementConverter = store.getKeyPackage().getKeyConverter();
+        this.schema = store.getSchema();
+        this.maxEntriesInMemory = store.getProperties().getBulkImportMaxEntriesInMemory();
+        if (maxEntriesInMemory < 1) {
+            throw new IllegalArgumentException("The maximum number of entries to hold in memory must be at least 1");
+        }
+        try {
+            this.fs = FileSystem.get(conf);
+        } catch (final IOException e) {
+            throw new StoreException("Unable to get the file system for the bulk import", e);
+        }
+        this.workingDir = new Path(store.getProperties().getBulkImportWorkingDirectory(),
+                "gaffer-bulk-import-" + store.getTableName() + "-" + UUID.randomUUID());
+        this.filesDir = new Path(workingDir, FILES_DIRECTORY);
+        this.failuresDir = new Path(workingDir, FAILURES_DIRECTORY);
+    }
+
+    /**
+     * Writes the elements to RFiles and bulk imports them into the store's
+     * table. The working directory is removed once the import has finished,
+     * whether or not it succeeded.
+     *
+     * @param elements the elements to add
+     * @throws StoreException if the RFiles could not be written or imported
+     */
+    public void importElements(final Iterable<? extends Element> elements) throws StoreException {
+        if (null == elements) {
+            throw new GafferRuntimeException("Could not find any elements to add to graph.", Status.BAD_REQUEST);
+        }
+
+        try {
+            fs.mkdirs(filesDir);
+            fs.mkdirs(failuresDir);
+        } catch (final IOException e) {
+            throw new StoreException("Unable to create bulk import working directory " + workingDir, e);
+        }
+
+        try {
+            final List<Text> splits = getSplits();
+            final List<Pair<Key, Value>> buffer = new ArrayList<>();
+            for (final Element element : elements) {
+                addToBuffer(element, buffer);
+                if (buffer.size() >= maxEntriesInMemory) {
+                    writeFiles(buffer, splits);
+                    buffer.clear();
+                }
+            }
+            writeFiles(buffer, splits);
+
+            if (numFiles > 0) {
+                importFiles();
+            }
+        } finally {
+            try {
+                fs.delete(workingDir, true);
+            } catch (final IOException e) {
+                LOGGER.warn("Unable to delete bulk import working directory {}", workingDir, e);
+            }
+        }
+    }
+
+    /**
+     * @return the directory that the RFiles are written to before they are imported
+     */
+    public Path getWorkingDirectory() {
+        return workingDir;
+    }
+
+    private void addToBuffer(final Element element, final List<Pair<Key, Value>> buffer) {
+        final Pair<Key, Key> keys;
+        try {
+            keys = elementConverter.getKeysFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "key", element.getGroup());
+            return;
+        }
+        final Value value;
+        try {
+            value = elementConverter.getValueFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "value", element.getGroup());
+            return;
+        }
+        buffer.add(new Pair<>(keys.getFirst(), value));
+        // If the element is an Entity there will only be 1 key.
+        if (null != keys.getSecond()) {
+            buffer.add(new Pair<>(keys.getSecond(), value));
+        }
+    }
+
+    private List<Text> getSplits() throws StoreException {
+        final Collection<Text> splits;
+        try {
+            splits = store.getConnection().tableOperations().listSplits(store.getTableName());
+        } catch (final Exception e) {
+            throw new StoreException("Unable to get the split points for table " + store.getTableName(), e);
+        }
+        final List<Text> sortedSplits = new ArrayList<>(splits);
+        sortedSplits.sort(null);
+        return sortedSplits;
+    }
+
+    private void writeFiles(final List<Pair<Key, Value>> buffer, final List<Text> splits) throws StoreException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+
+        buffer.sort(KEY_COMPARATOR);
+
+        final Iterator<Text> splitsItr = splits.iterator();
+        Text tabletEndRow = splitsItr.hasNext() ? splitsItr.next() : null;
+        RFileWriter writer = null;
+        try {
+            int i = 0;
+            while (i < buffer.size()) {
+                final Key key = buffer.get(i).getFirst();
+                int end = i + 1;
+                while (end < buffer.size() && key.equals(buffer.get(end).getFirst())) {
+                    end++;
+                }
+
+                // Tablets contain their end row, so move on when the row is after it.
+                while (null != tabletEndRow && key.compareRow(tabletEndRow) > 0) {
+                    if (null != writer) {
+                        writer.close();
+                        writer = null;
+                    }
+                    tabletEndRow = splitsItr.hasNext() ? splitsItr.next() : null;
+                }
+                if (null == writer) {
+                    writer = createWriter();
+                }
+
+                writeMerged(writer, key, buffer.subList(i, end));
+                i = end;
+            }
+        } catch (final IOException e) {
+            throw new StoreException("Failed to write RFiles for bulk import to " + filesDir, e);
+        } finally {
+            if (null != writer) {
+                try {
+                    writer.close();
+                } catch (final IOException e) {
+                    LOGGER.warn("Failed to close RFile writer", e);
+                }
+            }
+        }
+    }
+
+    private void writeMerged(final RFileWriter writer, final Key key, final List<Pair<Key, Value>> values) throws IOException {
+        final Value firstValue = values.get(0).getSecond();
+        if (1 == values.size()) {
+            writer.append(key, firstValue);
+            return;
+        }
+
+        final String group = elementConverter.getGroupFromColumnFamily(key.getColumnFamilyData().toArray());
+        final SchemaElementDefinition elementDef = schema.getElement(group);
+        if (elementDef.isAggregate()) {
+            final ElementAggregator aggregator = elementDef.getIngestAggregator();
+            Properties state = elementConverter.getPropertiesFromValue(group, firstValue);
+            for (int i = 1; i < values.size(); i++) {
+                state = aggregator.apply(state, elementConverter.getPropertiesFromValue(group, values.get(i).getSecond()));
+            }
+            writer.append(key, elementConverter.getValueFromProperties(group, state));
+        } else {
+            // The group has aggregation disabled - so write all values out.
+            for (final Pair<Key, Value> pair : values) {
+                writer.append(key, pair.getSecond());
+            }
+        }
+    }
+
+    private RFileWriter createWriter() throws IOException {
+        final Path file = new Path(filesDir, String.format("part-%05d.rf", numFiles++));
+        LOGGER.debug("Writing RFile {}", file);
+        return RFile.newWriter()
+                .to(file.toString())
+                .withFileSystem(fs)
+                .build();
+    }
+
+    private void importFiles() throws StoreException {
+        LOGGER.info("Importing {} RFiles in {} to table {}", numFiles, filesDir, store.getTableName());
+        try {
+            store.getConnection().tableOperations().importDirectory(store.getTableName(),
+                    filesDir.toString(), failuresDir.toString(), false);
+        } catch (final Exception e) {
+            throw new StoreException("Failed to bulk import RFiles in " + filesDir + " to table " + store.getTableName(), e);
+        }
+
+        final FileStatus[] failures;
+        try {
+            failures = fs.listStatus(failuresDir);
+        } catch (final IOException e) {
+            throw new StoreException("Unable to check bulk import failure directory " + failuresDir, e);
+        }
+        if (failures.length > 0) {
+            final List<String> failedFiles = new ArrayList<>();
+            for (final FileStatus failure : failures) {
+                failedFiles.add(failure.getPath().getName());
+            }
+            throw new StoreException("RFiles " + failedFiles + " failed to bulk import to table " + store.getTableName());
+        }
+    }
+}
@@ -69,6 +69,8 @@ public class AccumuloPropertiesTest {
         final String MAX_BLOOM_FILTER = "7864320";
         final String KEY_PACKAGE_CLASS = "gaffer.store.accumulo.keypackage.class";
         final String REPLICATION_FACTOR = "accumulo.file.replication";
+        final String BULK_IMPORT_DIR = "/tmp/bulkImport";
+        final String BULK_IMPORT_MAX_ENTRIES = "1000";
 
         // When
         props.setNumThreadsForBatchWriter(NUM_THREADS_WRITER);
@@ -83,6 +85,9 @@ public class AccumuloPropertiesTest {
         props.setKeyPackageClass(KEY_PACKAGE_CLASS);
         props.setTableFileReplicationFactor(REPLICATION_FACTOR);
         props.setEnableValidatorIterator(true);
+        props.setBulkImportAddElements(true);
+        props.setBulkImportWorkingDirectory(BULK_IMPORT_DIR);
+        props.setBulkImportMaxEntriesInMemory(BULK_IMPORT_MAX_ENTRIES);
 
         // Then
         assertEquals(Integer.parseInt(NUM_THREADS_WRITER), props.getNumThreadsForBatchWriter());
@@ -97,6 +102,9 @@ public class AccumuloPropertiesTest {
         assertEquals(KEY_PACKAGE_CLASS, props.getKeyPackageClass());
         assertEquals(REPLICATION_FACTOR, props.getTableFileReplicationFactor());
         assertTrue(props.getEnableValidatorIterator());
+        assertTrue(props.getBulkImportAddElements());
+        assertEquals(BULK_IMPORT_DIR, props.getBulkImportWorkingDirectory());
+        assertEquals(Integer.parseInt(BULK_IMPORT_MAX_ENTRIES), props.getBulkImportMaxEntriesInMemory());
 
     }
 
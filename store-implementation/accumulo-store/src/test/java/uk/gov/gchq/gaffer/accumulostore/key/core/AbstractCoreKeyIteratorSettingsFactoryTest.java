@@ -23,6 +23,7 @@ import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloKeyPackage;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPostAggregationFilter;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPreAggregationFilter;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPropertyProjectionIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ValidatorFilter;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.commonutil.JsonAssert;
@@ -199,6 +200,54 @@ public abstract class AbstractCoreKeyIteratorSettingsFactoryTest {
         assertEquals(converter.getClass().getName(), iterator.getOptions().get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
     }
 
+    @Test
+    public void shouldReturnNullPropertyProjectionIfAllPropertiesRequired() throws Exception {
+        // Given
+        final AccumuloStore store = mock(AccumuloStore.class);
+        final Schema schema = createSchema();
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .properties(TestPropertyNames.PROP_1)
+                        .build())
+                .build();
+        given(store.getSchema()).willReturn(schema);
+
+        // When
+        final IteratorSetting iterator = factory.getElementPropertyProjectionIteratorSetting(view, store);
+
+        // Then
+        assertNull(iterator);
+    }
+
+    @Test
+    public void shouldReturnPropertyProjectionIterator() throws Exception {
+        // Given
+        final AccumuloStore store = mock(AccumuloStore.class);
+        final Schema schema = createSchema();
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .excludeProperties(TestPropertyNames.PROP_1)
+                        .build())
+                .build();
+        final AccumuloKeyPackage keyPackage = mock(AccumuloKeyPackage.class);
+        final AccumuloElementConverter converter = mock(AccumuloElementConverter.class);
+
+        given(store.getSchema()).willReturn(schema);
+        given(store.getKeyPackage()).willReturn(keyPackage);
+        given(keyPackage.getKeyConverter()).willReturn(converter);
+
+        // When
+        final IteratorSetting iterator = factory.getElementPropertyProjectionIteratorSetting(view, store);
+
+        // Then
+        assertEquals(AccumuloStoreConstants.ELEMENT_PROPERTY_PROJECTION_ITERATOR_NAME, iterator.getName());
+        assertEquals(AccumuloStoreConstants.ELEMENT_PROPERTY_PROJECTION_ITERATOR_PRIORITY, iterator.getPriority());
+        assertEquals(ElementPropertyProjectionIterator.class.getName(), iterator.getIteratorClass());
+        JsonAssert.assertEquals(schema.toCompactJson(), iterator.getOptions().get(AccumuloStoreConstants.SCHEMA).getBytes());
+        JsonAssert.assertEquals(view.toCompactJson(), iterator.getOptions().get(AccumuloStoreConstants.VIEW).getBytes());
+        assertEquals(converter.getClass().getName(), iterator.getOptions().get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
+    }
+
     private Schema createSchema() {
         return new Schema.Builder()
                 .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
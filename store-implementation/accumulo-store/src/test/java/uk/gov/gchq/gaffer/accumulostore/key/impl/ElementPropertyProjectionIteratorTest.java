@@ -0,0 +1,174 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import com.google.common.collect.Sets;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.SortedMapIterator;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.function.Identity;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ElementPropertyProjectionIteratorTest {
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenValidateOptionsWithNoView() throws Exception {
+        // Given
+        final ElementPropertyProjectionIterator iterator = new ElementPropertyProjectionIterator();
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.SCHEMA, StringUtil.toString(getSchema().toCompactJson()));
+        options.put(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS,
+                ByteEntityAccumuloElementConverter.class.getName());
+
+        // When / Then
+        try {
+            iterator.validateOptions(options);
+            fail("Expected IllegalArgumentException to be thrown on method invocation");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(AccumuloStoreConstants.VIEW));
+        }
+    }
+
+    @Test
+    public void shouldNotRequireProjectionWhenViewRequiresAllProperties() {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE)
+                .build();
+
+        // When
+        final Map<String, Set<String>> requiredProperties = ElementPropertyProjectionIterator.getRequiredProperties(view, getSchema());
+
+        // Then
+        assertTrue(requiredProperties.isEmpty());
+    }
+
+    @Test
+    public void shouldIncludePropertiesSelectedByTransformerInRequiredProperties() {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .properties(TestPropertyNames.PROP_1)
+                        .transientProperty(TestPropertyNames.TRANSIENT_1, String.class)
+                        .transformer(new ElementTransformer.Builder()
+                                .select(TestPropertyNames.PROP_2)
+                                .execute(new Identity())
+                                .project(TestPropertyNames.TRANSIENT_1)
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final Map<String, Set<String>> requiredProperties = ElementPropertyProjectionIterator.getRequiredProperties(view, getSchema());
+
+        // Then
+        final Map<String, Set<String>> expected = Collections.singletonMap(TestGroups.EDGE,
+                Sets.newHashSet(TestPropertyNames.PROP_1, TestPropertyNames.PROP_2));
+        assertEquals(expected, requiredProperties);
+    }
+
+    @Test
+    public void shouldOnlyReturnPropertiesRequiredByView() throws Exception {
+        // Given
+        final Schema schema = getSchema();
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .excludeProperties(TestPropertyNames.PROP_2)
+                        .build())
+                .build();
+        final ByteEntityAccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(schema);
+        final Element element = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("dest")
+                .directed(true)
+                .property(TestPropertyNames.PROP_1, "value1")
+                .property(TestPropertyNames.PROP_2, "value2")
+                .property(TestPropertyNames.PROP_3, "value3")
+                .build();
+        final TreeMap<Key, Value> data = new TreeMap<>();
+        data.put(converter.getKeysFromElement(element).getFirst(), converter.getValueFromElement(element));
+
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.SCHEMA, StringUtil.toString(schema.toCompactJson()));
+        options.put(AccumuloStoreConstants.VIEW, StringUtil.toString(view.toCompactJson()));
+        options.put(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS,
+                ByteEntityAccumuloElementConverter.class.getName());
+
+        final ElementPropertyProjectionIterator iterator = new ElementPropertyProjectionIterator();
+        iterator.init(new SortedMapIterator(data), options, null);
+
+        // When
+        iterator.seek(new Range(), Collections.<ByteSequence>emptySet(), false);
+        final Value value = iterator.getTopValue();
+
+        // Then
+        final Properties expectedProperties = new Properties();
+        expectedProperties.put(TestPropertyNames.PROP_1, "value1");
+        expectedProperties.put(TestPropertyNames.PROP_3, "value3");
+        assertEquals(converter.getValueFromProperties(TestGroups.EDGE, expectedProperties), value);
+        assertEquals(converter.getValueWithOnlyProperties(TestGroups.EDGE, data.firstEntry().getValue(),
+                Sets.newHashSet(TestPropertyNames.PROP_1, TestPropertyNames.PROP_3)), value);
+    }
+
+    private Schema getSchema() {
+        return new Schema.Builder()
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source("string")
+                        .destination("string")
+                        .directed("true")
+                        .property(TestPropertyNames.PROP_1, "string")
+                        .property(TestPropertyNames.PROP_2, "string")
+                        .property(TestPropertyNames.PROP_3, "string")
+                        .build())
+                .type("true", Boolean.class)
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+    }
+}
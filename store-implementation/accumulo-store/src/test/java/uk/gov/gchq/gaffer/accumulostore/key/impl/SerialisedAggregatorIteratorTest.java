@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.bitmap.function.aggregate.SerialisedRoaringBitmapAggregator;
+import uk.gov.gchq.gaffer.bitmap.serialisation.RoaringBitmapSerialiser;
+import uk.gov.gchq.gaffer.commonutil.CommonTimeUtil;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.serialisation.implementation.BytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.time.RBMBackedTimestampSet;
+import uk.gov.gchq.gaffer.time.binaryoperator.SerialisedRBMBackedTimestampSetAggregator;
+import uk.gov.gchq.gaffer.time.serialisation.RBMBackedTimestampSetSerialiser;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the serialised bitmap aggregators can be used as schema
+ * aggregate functions for byte[] properties, so the Accumulo aggregator
+ * iterator merges the stored bytes without deserialising the bitmaps.
+ */
+public class SerialisedAggregatorIteratorTest {
+    private static final String BITMAP = "bitmap";
+    private static final String TIMESTAMPS = "timestamps";
+    private static final RoaringBitmapSerialiser BITMAP_SERIALISER = new RoaringBitmapSerialiser();
+    private static final RBMBackedTimestampSetSerialiser TIMESTAMP_SET_SERIALISER = new RBMBackedTimestampSetSerialiser();
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(
+            StreamUtil.storeProps(SerialisedAggregatorIteratorTest.class));
+
+    private SingleUseMockAccumuloStore store;
+
+    @Before
+    public void before() throws Exception {
+        final Schema schema = new Schema.Builder()
+                .type("id", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .type("serialisedBitmap", new TypeDefinition.Builder()
+                        .clazz(byte[].class)
+                        .serialiser(new BytesSerialiser())
+                        .aggregateFunction(new SerialisedRoaringBitmapAggregator())
+                        .build())
+                .type("serialisedTimestampSet", new TypeDefinition.Builder()
+                        .clazz(byte[].class)
+                        .serialiser(new BytesSerialiser())
+                        .aggregateFunction(new SerialisedRBMBackedTimestampSetAggregator())
+                        .build())
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("id")
+                        .property(BITMAP, "serialisedBitmap")
+                        .property(TIMESTAMPS, "serialisedTimestampSet")
+                        .build())
+                .build();
+        store = new SingleUseMockAccumuloStore();
+        store.initialise("serialisedAggregatorGraph", schema, PROPERTIES);
+    }
+
+    @Test
+    public void shouldAggregateSerialisedBitmapPropertiesInTheStore() throws Exception {
+        // Given
+        final RoaringBitmap bitmap1 = RoaringBitmap.bitmapOf(1, 100, 70000);
+        final RoaringBitmap bitmap2 = RoaringBitmap.bitmapOf(2, 100, 1000000);
+        final RBMBackedTimestampSet timestampSet1 = new RBMBackedTimestampSet(CommonTimeUtil.TimeBucket.SECOND);
+        timestampSet1.add(Instant.ofEpochMilli(1000L));
+        final RBMBackedTimestampSet timestampSet2 = new RBMBackedTimestampSet(CommonTimeUtil.TimeBucket.SECOND);
+        timestampSet2.add(Instant.ofEpochMilli(5000L));
+
+        // When
+        store.execute(new AddElements.Builder()
+                .input(createEntity(bitmap1, timestampSet1), createEntity(bitmap2, timestampSet2))
+                .build(), new Context());
+        final GetElements get = new GetElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .input(new EntitySeed("A"))
+                .build();
+        final List<Element> results = Lists.newArrayList(store.execute(get, new Context()));
+
+        // Then
+        assertEquals(1, results.size());
+        assertEquals(RoaringBitmap.or(bitmap1, bitmap2),
+                BITMAP_SERIALISER.deserialise((byte[]) results.get(0).getProperty(BITMAP)));
+        final RBMBackedTimestampSet expectedTimestampSet = new RBMBackedTimestampSet(CommonTimeUtil.TimeBucket.SECOND);
+        expectedTimestampSet.add(Instant.ofEpochMilli(1000L));
+        expectedTimestampSet.add(Instant.ofEpochMilli(5000L));
+        assertEquals(expectedTimestampSet,
+                TIMESTAMP_SET_SERIALISER.deserialise((byte[]) results.get(0).getProperty(TIMESTAMPS)));
+    }
+
+    private Entity createEntity(final RoaringBitmap bitmap, final RBMBackedTimestampSet timestampSet) throws Exception {
+        return new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("A")
+                .property(BITMAP, BITMAP_SERIALISER.serialise(bitmap))
+                .property(TIMESTAMPS, TIMESTAMP_SET_SERIALISER.serialise(timestampSet))
+                .build();
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import com.google.common.collect.Lists;
+import org.apache.accumulo.core.client.Scanner;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.hadoop.io.Text;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class RFileBulkImporterTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(RFileBulkImporterTest.class));
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private SingleUseMockAccumuloStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        final AccumuloProperties properties = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(RFileBulkImporterTest.class));
+        properties.setBulkImportWorkingDirectory(tempFolder.getRoot().getAbsolutePath());
+        properties.setBulkImportMaxEntriesInMemory("3");
+        store = new SingleUseMockAccumuloStore();
+        store.initialise("bulkImportGraph", SCHEMA, properties);
+        store.getConnection().tableOperations().addSplits(store.getTableName(),
+                new TreeSet<>(Arrays.asList(new Text(new byte[]{'c'}), new Text(new byte[]{'m'}))));
+    }
+
+    @Test
+    public void shouldBulkImportAndAggregateElements() throws Exception {
+        // Given
+        final List<Element> elements = new ArrayList<>();
+        for (final String vertex : Arrays.asList("a", "d", "p", "a", "d", "p")) {
+            elements.add(createEntity(vertex));
+            elements.add(createEdge(vertex, "z"));
+        }
+
+        final RFileBulkImporter importer = new RFileBulkImporter(store);
+
+        // When
+        importer.importElements(elements);
+
+        // Then
+        final List<Element> results = Lists.newArrayList(store.execute(createGetAllElements(), new Context(new User())));
+        assertEquals(6, results.size());
+        for (final Element result : results) {
+            assertEquals(2, result.getProperty(TestPropertyNames.COUNT));
+        }
+        assertFalse(new File(importer.getWorkingDirectory().toUri().getPath()).exists());
+        assertEquals(0, tempFolder.getRoot().list().length);
+    }
+
+    @Test
+    public void shouldRemoveWorkingDirectoryWhenImportFails() throws Exception {
+        // Given
+        final RFileBulkImporter importer = new RFileBulkImporter(store);
+        store.getConnection().tableOperations().delete(store.getTableName());
+
+        // When
+        try {
+            importer.importElements(Arrays.asList(createEntity("a"), createEdge("p", "b")));
+            fail("Exception expected");
+        } catch (final StoreException e) {
+            // Expected
+        }
+
+        // Then
+        assertFalse(new File(importer.getWorkingDirectory().toUri().getPath()).exists());
+        assertEquals(0, tempFolder.getRoot().list().length);
+    }
+
+    @Test
+    public void shouldAggregateDuplicatesBeforeWritingRFiles() throws Exception {
+        // Given
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            elements.add(createEntity("d"));
+        }
+        store.getProperties().setBulkImportMaxEntriesInMemory("100");
+
+        // When
+        new RFileBulkImporter(store).importElements(elements);
+
+        // Then - remove the aggregator so the raw table entries are visible
+        AddUpdateTableIterator.removeIterator(store, AccumuloStoreConstants.AGGREGATOR_ITERATOR_NAME);
+        final Scanner scanner = store.getConnection().createScanner(store.getTableName(), new Authorizations());
+        final List<Map.Entry<Key, Value>> entries = Lists.newArrayList(scanner);
+        assertEquals(1, entries.size());
+    }
+
+    @Test
+    public void shouldBulkImportWhenOptionSetOnAddElements() throws Exception {
+        // Given
+        final AddElements addElements = new AddElements.Builder()
+                .input(createEntity("a"), createEntity("a"), createEdge("p", "b"))
+                .option(AccumuloProperties.BULK_IMPORT_ADD_ELEMENTS, "true")
+                .build();
+
+        // When
+        store.execute(addElements, new Context(new User()));
+
+        // Then
+        final List<Element> results = Lists.newArrayList(store.execute(createGetAllElements(), new Context(new User())));
+        assertEquals(2, results.size());
+    }
+
+    private GetAllElements createGetAllElements() {
+        return new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+    }
+
+    private Entity createEntity(final String vertex) {
+        return new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex(vertex)
+                .property(TestPropertyNames.COUNT, 1)
+                .build();
+    }
+
+    private Edge createEdge(final String source, final String destination) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest(destination)
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 1)
+                .build();
+    }
+}
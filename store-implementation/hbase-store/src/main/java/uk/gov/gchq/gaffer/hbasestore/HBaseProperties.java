@@ -42,9 +42,23 @@ public class HBaseProperties extends StoreProperties {
     public static final String WRITE_BUFFER_SIZE = "hbase.writeBufferSize";
     public static final String DEPENDENCY_JARS_HDFS_DIR_PATH = "hbase.hdfs.jars.path";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "hbase.entriesForBatchScanner";
+    public static final String BUFFERED_MUTATOR_INGEST = "hbase.ingest.bufferedMutator";
+    public static final String BUFFERED_MUTATOR_WRITE_BUFFER_SIZE = "hbase.bufferedMutator.writeBufferSizeInBytes";
+    public static final String INGEST_CONVERSION_THREADS = "hbase.ingest.conversionThreads";
+    public static final String SCANNER_THREADS = "hbase.scanner.threads";
+    public static final String SCANNER_CACHING = "hbase.scanner.caching";
+    public static final String SCANNER_MAX_RESULT_SIZE = "hbase.scanner.maxResultSizeInBytes";
+    public static final String SCANNER_QUEUE_SIZE = "hbase.scanner.queueSize";
+    public static final String SCANNER_MAX_CONCURRENT_SCANS_PER_QUERY = "hbase.scanner.maxConcurrentScansPerQuery";
+    public static final String SCANNER_ABANDON_TIMEOUT = "hbase.scanner.abandonTimeoutMillis";
 
     public static final int WRITE_BUFFER_SIZE_DEFAULT = 1000000;
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
+    public static final String BUFFERED_MUTATOR_INGEST_DEFAULT = "false";
+    public static final String INGEST_CONVERSION_THREADS_DEFAULT = "1";
+    public static final String SCANNER_THREADS_DEFAULT = "1";
+    public static final String SCANNER_QUEUE_SIZE_DEFAULT = "10000";
+    public static final String SCANNER_ABANDON_TIMEOUT_DEFAULT = "300000";
 
     public HBaseProperties() {
         super(HBaseStore.class);
@@ -164,6 +178,194 @@ public class HBaseProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Get the flag determining whether elements should be added using a
+     * {@link org.apache.hadoop.hbase.client.BufferedMutator},
+     * which flushes batches asynchronously, rather than synchronous table puts.
+     *
+     * @return true if the buffered mutator should be used for ingest
+     */
+    public boolean getBufferedMutatorIngest() {
+        return Boolean.parseBoolean(get(BUFFERED_MUTATOR_INGEST, BUFFERED_MUTATOR_INGEST_DEFAULT));
+    }
+
+    /**
+     * Set the flag determining whether elements should be added using a
+     * {@link org.apache.hadoop.hbase.client.BufferedMutator}.
+     *
+     * @param bufferedMutatorIngest true if the buffered mutator should be used for ingest
+     */
+    public void setBufferedMutatorIngest(final String bufferedMutatorIngest) {
+        set(BUFFERED_MUTATOR_INGEST, bufferedMutatorIngest);
+    }
+
+    /**
+     * Get the size in bytes of the buffered mutator's write buffer. If this
+     * is not set then the HBase client default is used.
+     *
+     * @return the write buffer size in bytes, or null if not set
+     */
+    public Long getBufferedMutatorWriteBufferSize() {
+        final String size = get(BUFFERED_MUTATOR_WRITE_BUFFER_SIZE, null);
+        return null != size ? Long.parseLong(size) : null;
+    }
+
+    /**
+     * Set the size in bytes of the buffered mutator's write buffer.
+     *
+     * @param size the write buffer size in bytes
+     */
+    public void setBufferedMutatorWriteBufferSize(final String size) {
+        set(BUFFERED_MUTATOR_WRITE_BUFFER_SIZE, size);
+    }
+
+    /**
+     * Get the number of threads used to convert elements into HBase puts and
+     * cells during ingest.
+     *
+     * @return the number of conversion threads
+     */
+    public int getIngestConversionThreads() {
+        return Integer.parseInt(get(INGEST_CONVERSION_THREADS, INGEST_CONVERSION_THREADS_DEFAULT));
+    }
+
+    /**
+     * Set the number of threads used to convert elements into HBase puts and
+     * cells during ingest.
+     *
+     * @param threads the number of conversion threads
+     */
+    public void setIngestConversionThreads(final String threads) {
+        set(INGEST_CONVERSION_THREADS, threads);
+    }
+
+    /**
+     * Get the number of threads used to scan regions concurrently. If this is
+     * 1 then row ranges are scanned serially in a single scan.
+     *
+     * @return the number of scanner threads
+     */
+    public int getScannerThreads() {
+        return Integer.parseInt(get(SCANNER_THREADS, SCANNER_THREADS_DEFAULT));
+    }
+
+    /**
+     * Set the number of threads used to scan regions concurrently.
+     *
+     * @param threads the number of scanner threads
+     */
+    public void setScannerThreads(final String threads) {
+        set(SCANNER_THREADS, threads);
+    }
+
+    /**
+     * Get the number of rows fetched from a region server in each scanner
+     * RPC. If this is not set then the HBase client default is used.
+     *
+     * @return the scanner caching, or null if not set
+     */
+    public Integer getScannerCaching() {
+        final String caching = get(SCANNER_CACHING, null);
+        return null != caching ? Integer.parseInt(caching) : null;
+    }
+
+    /**
+     * Set the number of rows fetched from a region server in each scanner RPC.
+     *
+     * @param caching the scanner caching
+     */
+    public void setScannerCaching(final String caching) {
+        set(SCANNER_CACHING, caching);
+    }
+
+    /**
+     * Get the maximum size in bytes of each batch of results returned by a
+     * scanner RPC. If this is not set then the HBase client default is used.
+     *
+     * @return the max result size in bytes, or null if not set
+     */
+    public Long getScannerMaxResultSize() {
+        final String size = get(SCANNER_MAX_RESULT_SIZE, null);
+        return null != size ? Long.parseLong(size) : null;
+    }
+
+    /**
+     * Set the maximum size in bytes of each batch of results returned by a
+     * scanner RPC.
+     *
+     * @param size the max result size in bytes
+     */
+    public void setScannerMaxResultSize(final String size) {
+        set(SCANNER_MAX_RESULT_SIZE, size);
+    }
+
+    /**
+     * Get the number of results that parallel region scans may buffer ahead
+     * of the consumer.
+     *
+     * @return the scanner queue size
+     */
+    public int getScannerQueueSize() {
+        return Integer.parseInt(get(SCANNER_QUEUE_SIZE, SCANNER_QUEUE_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the number of results that parallel region scans may buffer ahead
+     * of the consumer.
+     *
+     * @param queueSize the scanner queue size
+     */
+    public void setScannerQueueSize(final String queueSize) {
+        set(SCANNER_QUEUE_SIZE, queueSize);
+    }
+
+    /**
+     * Get the maximum number of region scans a single query may run
+     * concurrently on the shared scanner threads. If this is not set then
+     * half of the scanner threads are used. The result is always capped at
+     * one fewer than the number of scanner threads, so a single query can
+     * never occupy the whole pool.
+     *
+     * @return the maximum number of concurrent scans per query
+     */
+    public int getScannerMaxConcurrentScansPerQuery() {
+        final int threads = getScannerThreads();
+        final String maxScans = get(SCANNER_MAX_CONCURRENT_SCANS_PER_QUERY, null);
+        final int requested = null != maxScans ? Integer.parseInt(maxScans) : threads / 2;
+        return Math.max(1, Math.min(requested, threads - 1));
+    }
+
+    /**
+     * Set the maximum number of region scans a single query may run
+     * concurrently on the shared scanner threads.
+     *
+     * @param maxScans the maximum number of concurrent scans per query
+     */
+    public void setScannerMaxConcurrentScansPerQuery(final String maxScans) {
+        set(SCANNER_MAX_CONCURRENT_SCANS_PER_QUERY, maxScans);
+    }
+
+    /**
+     * Get the time in milliseconds that a parallel region scan will wait for
+     * the consumer to take results before abandoning the query. This frees
+     * the scanner threads held by results that are never consumed or closed.
+     *
+     * @return the abandon timeout in milliseconds
+     */
+    public long getScannerAbandonTimeout() {
+        return Long.parseLong(get(SCANNER_ABANDON_TIMEOUT, SCANNER_ABANDON_TIMEOUT_DEFAULT));
+    }
+
+    /**
+     * Set the time in milliseconds that a parallel region scan will wait for
+     * the consumer to take results before abandoning the query.
+     *
+     * @param timeoutMillis the abandon timeout in milliseconds
+     */
+    public void setScannerAbandonTimeout(final String timeoutMillis) {
+        set(SCANNER_ABANDON_TIMEOUT, timeoutMillis);
+    }
+
     @Override
     public String getJsonSerialiserModules() {
         return new StringDeduplicateConcat().apply(
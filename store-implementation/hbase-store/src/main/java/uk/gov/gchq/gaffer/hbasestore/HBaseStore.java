@@ -17,10 +17,13 @@
 package uk.gov.gchq.gaffer.hbasestore;
 
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hbase.HBaseConfiguration;
 import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.ConnectionFactory;
 import org.apache.hadoop.hbase.client.Table;
@@ -67,6 +70,9 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
 import static uk.gov.gchq.gaffer.store.StoreTrait.MATCHED_VERTEX;
@@ -105,7 +111,11 @@ public class HBaseStore extends Store {
                     STORE_VALIDATION,
                     MATCHED_VERTEX
             ));
+    private static final Set<StoreTrait> UNORDERED_TRAITS =
+            Sets.difference(TRAITS, Collections.singleton(ORDERED)).immutableCopy();
     private Connection connection;
+    private ExecutorService ingestExecutorService;
+    private ExecutorService scannerExecutorService;
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties)
@@ -178,6 +188,85 @@ public class HBaseStore extends Store {
         }
     }
 
+    /**
+     * Creates a {@link BufferedMutator} for the table. Mutations are flushed
+     * in the background once the write buffer is full and any failures are
+     * reported to the provided listener. A buffered mutator is lightweight, so
+     * one should be created for each operation and closed once the operation
+     * has completed, allowing failures to be reported back to the operation
+     * that caused them.
+     *
+     * @param listener the listener to notify of failed mutations
+     * @return the buffered mutator.
+     * @throws StoreException if the buffered mutator could not be created.
+     */
+    public BufferedMutator createBufferedMutator(final BufferedMutator.ExceptionListener listener) throws StoreException {
+        final BufferedMutatorParams params = new BufferedMutatorParams(getTableName())
+                .listener(listener);
+        final Long writeBufferSize = getProperties().getBufferedMutatorWriteBufferSize();
+        if (null != writeBufferSize) {
+            params.writeBufferSize(writeBufferSize);
+        }
+        try {
+            return getConnection().getBufferedMutator(params);
+        } catch (final IOException e) {
+            throw new StoreException(e);
+        }
+    }
+
+    /**
+     * Gets the executor used to convert elements into puts in parallel during
+     * ingest, creating it if required.
+     *
+     * @return the ingest executor service.
+     */
+    public synchronized ExecutorService getIngestExecutorService() {
+        if (null == ingestExecutorService) {
+            final ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                    .setNameFormat("hbase-ingest-" + getGraphId() + "-%d")
+                    .setDaemon(true)
+                    .build();
+            ingestExecutorService = Executors.newFixedThreadPool(getProperties().getIngestConversionThreads(), threadFactory);
+        }
+        return ingestExecutorService;
+    }
+
+    /**
+     * Gets the executor used to scan regions in parallel, creating it if
+     * required.
+     *
+     * @return the scanner executor service.
+     */
+    public synchronized ExecutorService getScannerExecutorService() {
+        if (null == scannerExecutorService) {
+            final ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                    .setNameFormat("hbase-scanner-" + getGraphId() + "-%d")
+                    .setDaemon(true)
+                    .build();
+            scannerExecutorService = Executors.newFixedThreadPool(getProperties().getScannerThreads(), threadFactory);
+        }
+        return scannerExecutorService;
+    }
+
+    /**
+     * Shuts down the ingest and scanner executors and closes the connection
+     * to HBase. Tasks that are still running are interrupted. The executors
+     * use daemon threads, so they do not stop the JVM from exiting if this is
+     * not called.
+     */
+    public synchronized void shutdown() {
+        if (null != ingestExecutorService) {
+            ingestExecutorService.shutdownNow();
+            ingestExecutorService = null;
+        }
+        if (null != scannerExecutorService) {
+            scannerExecutorService.shutdownNow();
+            scannerExecutorService = null;
+        }
+        CloseableUtil.close(connection);
+        connection = null;
+    }
+
     public <OP extends Output<CloseableIterable<? extends Element>> & GraphFilters> HBaseRetriever<OP>
     createRetriever(final OP operation,
                     final User user,
@@ -206,6 +295,10 @@ public class HBaseStore extends Store {
 
     @Override
     public Set<StoreTrait> getTraits() {
+        // Parallel region scans interleave results so they are not ordered
+        if (null != getProperties() && getProperties().getScannerThreads() > 1) {
+            return UNORDERED_TRAITS;
+        }
         return TRAITS;
     }
 
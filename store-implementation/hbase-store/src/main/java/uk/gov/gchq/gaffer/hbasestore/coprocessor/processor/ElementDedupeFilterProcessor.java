@@ -80,8 +80,7 @@ public class ElementDedupeFilterProcessor extends FilterProcessor {
     }
 
     private byte getFlag(final Cell cell) {
-        final byte[] rowID = CellUtil.cloneRow(cell);
-        return rowID[rowID.length - 1];
+        return cell.getRowArray()[cell.getRowOffset() + cell.getRowLength() - 1];
     }
 
     private boolean testEdge(final byte flag, final Cell cell) {
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.coprocessor.processor;
+
+import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@code FusedFilterProcessor} applies a sequence of {@link FilterProcessor}s
+ * in a single pass over the element cells, rather than one pass per filter.
+ * The filters are tested in order and testing stops at the first filter that
+ * rejects a cell.
+ */
+@Since("1.6.0")
+@Summary("Applies multiple filters in a single pass")
+public class FusedFilterProcessor extends FilterProcessor {
+    private final List<FilterProcessor> filters;
+
+    public FusedFilterProcessor(final List<FilterProcessor> filters) {
+        this.filters = Collections.unmodifiableList(new ArrayList<>(filters));
+    }
+
+    @Override
+    public boolean test(final LazyElementCell elementCell) {
+        for (final FilterProcessor filter : filters) {
+            if (!filter.test(elementCell)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public List<FilterProcessor> getFilters() {
+        return filters;
+    }
+}
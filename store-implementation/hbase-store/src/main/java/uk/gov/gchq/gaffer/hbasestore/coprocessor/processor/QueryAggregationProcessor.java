@@ -31,6 +31,7 @@ import uk.gov.gchq.gaffer.hbasestore.utils.HBaseUtil;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -38,7 +39,8 @@ public class QueryAggregationProcessor implements GafferScannerProcessor {
     private final ElementSerialisation serialisation;
     private final Schema schema;
     private final View view;
-    private final List<String> aggregatedGroups;
+    private final Set<String> aggregatedGroups;
+    private final List<LazyElementCell> output = new ArrayList<>();
 
     public QueryAggregationProcessor(final ElementSerialisation serialisation,
                                      final Schema schema,
@@ -46,7 +48,7 @@ public class QueryAggregationProcessor implements GafferScannerProcessor {
         this.serialisation = serialisation;
         this.schema = schema;
         this.view = view;
-        aggregatedGroups = schema.getAggregatedGroups();
+        aggregatedGroups = new HashSet<>(schema.getAggregatedGroups());
     }
 
     @Override
@@ -55,7 +57,8 @@ public class QueryAggregationProcessor implements GafferScannerProcessor {
             return elementCells;
         }
 
-        final List<LazyElementCell> output = new ArrayList<>();
+        // The output list is reused across calls to avoid allocating per row
+        output.clear();
         ElementAggregator aggregator = null;
         Properties aggregatedProperties = null;
         LazyElementCell firstElementCell = null;
@@ -28,18 +28,21 @@ import uk.gov.gchq.gaffer.hbasestore.utils.HBaseUtil;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class StoreAggregationProcessor implements GafferScannerProcessor {
     private final ElementSerialisation serialisation;
     private final Schema schema;
-    private final List<String> aggregatedGroups;
+    private final Set<String> aggregatedGroups;
+    private final List<LazyElementCell> output = new ArrayList<>();
 
     public StoreAggregationProcessor(final ElementSerialisation serialisation,
                                      final Schema schema) {
         this.serialisation = serialisation;
         this.schema = schema;
-        aggregatedGroups = schema.getAggregatedGroups();
+        aggregatedGroups = new HashSet<>(schema.getAggregatedGroups());
     }
 
     @Override
@@ -48,7 +51,8 @@ public class StoreAggregationProcessor implements GafferScannerProcessor {
             return elementCells;
         }
 
-        final List<LazyElementCell> output = new ArrayList<>();
+        // The output list is reused across calls to avoid allocating per row
+        output.clear();
         ElementAggregator aggregator = null;
         Properties aggregatedProperties = null;
         LazyElementCell firstElementCell = null;
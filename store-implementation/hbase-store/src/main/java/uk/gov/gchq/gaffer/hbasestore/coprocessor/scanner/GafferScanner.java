@@ -19,6 +19,8 @@ import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.regionserver.InternalScanner;
 import org.apache.hadoop.hbase.regionserver.ScannerContext;
 
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.FilterProcessor;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.FusedFilterProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GafferScannerProcessor;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
@@ -34,6 +36,11 @@ public abstract class GafferScanner implements InternalScanner {
     private final List<GafferScannerProcessor> processors;
     private final boolean includeMatchedVertex;
 
+    // Buffers reused across calls to next to avoid allocating per row
+    private final List<Cell> input = new ArrayList<>();
+    private final List<LazyElementCell> elementCells = new ArrayList<>();
+    private final List<LazyElementCell> elementCellPool = new ArrayList<>();
+
     public GafferScanner(final InternalScanner scanner,
                          final ElementSerialisation serialisation,
                          final List<GafferScannerProcessor> processors,
@@ -43,14 +50,14 @@ public abstract class GafferScanner implements InternalScanner {
         if (null == processors) {
             this.processors = Collections.emptyList();
         } else {
-            this.processors = processors;
+            this.processors = fuseFilters(processors);
         }
         this.includeMatchedVertex = includeMatchedVertex;
     }
 
     @Override
     public boolean next(final List<Cell> output) throws IOException {
-        final List<Cell> input = new ArrayList<>();
+        final List<Cell> input = getInput();
         final boolean shouldContinue = scanner.next(input);
         _next(input, output);
         return shouldContinue;
@@ -67,20 +74,75 @@ public abstract class GafferScanner implements InternalScanner {
     }
 
     protected void _next(final List<Cell> input, final List<Cell> output) throws IOException {
-        List<LazyElementCell> elementCells = new ArrayList<>(input.size());
-        for (final Cell cell : input) {
-            elementCells.add(new LazyElementCell(cell, serialisation, includeMatchedVertex));
+        elementCells.clear();
+        for (int i = 0; i < input.size(); i++) {
+            elementCells.add(getElementCell(i, input.get(i)));
         }
 
+        List<LazyElementCell> processedCells = elementCells;
         for (final GafferScannerProcessor processor : processors) {
-            elementCells = processor.process(elementCells);
+            processedCells = processor.process(processedCells);
         }
 
-        for (final LazyElementCell elementCell : elementCells) {
+        for (final LazyElementCell elementCell : processedCells) {
             output.add(elementCell.getCell());
         }
     }
 
+    /**
+     * Gets the reusable list that the wrapped scanner should write its cells
+     * into. The list is cleared before it is returned.
+     *
+     * @return the empty input list
+     */
+    protected List<Cell> getInput() {
+        input.clear();
+        return input;
+    }
+
+    private LazyElementCell getElementCell(final int index, final Cell cell) {
+        final LazyElementCell elementCell;
+        if (index < elementCellPool.size()) {
+            elementCell = elementCellPool.get(index);
+            elementCell.reset(cell);
+        } else {
+            elementCell = new LazyElementCell(cell, serialisation, includeMatchedVertex);
+            elementCellPool.add(elementCell);
+        }
+        return elementCell;
+    }
+
+    /**
+     * Combines each run of consecutive {@link FilterProcessor}s into a single
+     * {@link FusedFilterProcessor} so the filters are applied in one pass.
+     *
+     * @param processors the processors to fuse
+     * @return the fused processors
+     */
+    protected static List<GafferScannerProcessor> fuseFilters(final List<GafferScannerProcessor> processors) {
+        final List<GafferScannerProcessor> fused = new ArrayList<>(processors.size());
+        List<FilterProcessor> filters = new ArrayList<>();
+        for (final GafferScannerProcessor processor : processors) {
+            if (processor instanceof FilterProcessor) {
+                filters.add((FilterProcessor) processor);
+            } else {
+                addFilters(filters, fused);
+                filters = new ArrayList<>();
+                fused.add(processor);
+            }
+        }
+        addFilters(filters, fused);
+        return fused;
+    }
+
+    private static void addFilters(final List<FilterProcessor> filters, final List<GafferScannerProcessor> processors) {
+        if (1 == filters.size()) {
+            processors.add(filters.get(0));
+        } else if (filters.size() > 1) {
+            processors.add(new FusedFilterProcessor(filters));
+        }
+    }
+
     protected InternalScanner getScanner() {
         return scanner;
     }
@@ -16,14 +16,17 @@
 
 package uk.gov.gchq.gaffer.hbasestore.operation.handler;
 
+import org.apache.hadoop.hbase.client.BufferedMutator;
 import org.apache.hadoop.hbase.client.HTable;
 import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.RetriesExhaustedWithDetailsException;
 import org.apache.hadoop.hbase.client.Table;
 
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
+import uk.gov.gchq.gaffer.hbasestore.utils.IngestExceptionListener;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.store.Context;
@@ -35,12 +38,20 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * HBase will skip 'puts' if there are multiple 'puts' with the same rowId and column qualifier.
  * To work around this issue, we need to aggregate elements within each batch before adding them to HBase.
  * Due to this, optimising the batch size could have a big impact on performance.
  * Configure the batch size using store property: hbase.writeBufferSize
+ * <p>
+ * If the store property hbase.ingest.bufferedMutator is set then each operation
+ * sends its puts using its own {@link BufferedMutator}, which flushes them
+ * asynchronously, and the elements in each batch are converted into puts
+ * using hbase.ingest.conversionThreads threads. The mutator is flushed and
+ * closed when the operation finishes, and any mutations that failed are
+ * reported by throwing an exception from that operation only.
  */
 public class AddElementsHandler implements OperationHandler<AddElements> {
     @Override
@@ -57,6 +68,11 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             return;
         }
 
+        if (store.getProperties().getBufferedMutatorIngest()) {
+            addElementsWithBufferedMutator(addElementsOperation, store);
+            return;
+        }
+
         try {
             final Table table = store.getTable();
             final Iterator<? extends Element> elements = addElementsOperation.getInput().iterator();
@@ -90,6 +106,40 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         }
     }
 
+    private void addElementsWithBufferedMutator(final AddElements addElementsOperation, final HBaseStore store)
+            throws OperationException {
+        // Each operation uses its own mutator and listener so failures are
+        // only reported to the operation that wrote the failed mutations.
+        final IngestExceptionListener listener = new IngestExceptionListener();
+        try (final BufferedMutator mutator = store.createBufferedMutator(listener)) {
+            final ElementSerialisation serialisation = new ElementSerialisation(store.getSchema());
+            final int batchSize = store.getProperties().getWriteBufferSize();
+            final int conversionThreads = store.getProperties().getIngestConversionThreads();
+            final ExecutorService executorService = conversionThreads > 1 ? store.getIngestExecutorService() : null;
+            List<Element> batch = new ArrayList<>(batchSize);
+            for (final Element element : addElementsOperation.getInput()) {
+                if (null != element) {
+                    batch.add(element);
+                    if (batch.size() >= batchSize) {
+                        mutator.mutate(serialisation.getPuts(batch, executorService, conversionThreads));
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                mutator.mutate(serialisation.getPuts(batch, executorService, conversionThreads));
+            }
+            mutator.flush();
+        } catch (final IOException | StoreException e) {
+            throw new OperationException("Failed to add elements", e);
+        }
+
+        final RetriesExhaustedWithDetailsException failure = listener.getAndClearException();
+        if (null != failure) {
+            throw new OperationException("Failed to add elements", failure);
+        }
+    }
+
     private void executePuts(final Table table, final List<Put> puts) throws IOException {
         if (!puts.isEmpty()) {
             table.put(puts);
@@ -23,6 +23,7 @@ import org.apache.hadoop.hbase.mapreduce.HFileOutputFormat2;
 import org.apache.hadoop.io.RawComparator;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.lib.map.MultithreadedMapper;
 import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,6 +61,12 @@ public class HBaseAddElementsFromHdfsJobFactory implements AddElementsFromHdfsJo
         jobConf.set(VALIDATE, String.valueOf(operation.isValidate()));
         LOGGER.info("Added {} option of {} to job conf", VALIDATE, operation.isValidate());
 
+        final Integer combinerCacheSize = operation.getMapperCombinerCacheSize();
+        if (null != combinerCacheSize) {
+            jobConf.setInt(MAPPER_COMBINER_CACHE_SIZE, combinerCacheSize);
+            LOGGER.info("Added {} option of {} to job conf", MAPPER_COMBINER_CACHE_SIZE, combinerCacheSize);
+        }
+
         Integer numTasks = operation.getNumMapTasks();
         if (null != numTasks) {
             jobConf.setNumMapTasks(numTasks);
@@ -79,9 +86,10 @@ public class HBaseAddElementsFromHdfsJobFactory implements AddElementsFromHdfsJo
         job.setJarByClass(getClass());
         job.setJobName(getJobName(mapperGeneratorClassName, operation.getOutputPath()));
 
-        setupMapper(job);
+        setupMapper(job, (HBaseStore) store);
         setupOutput(job, operation, (HBaseStore) store);
         job.setSortComparatorClass(HBaseComparator.class);
+        setupCombiner(job);
         setupReducer(job);
     }
 
@@ -109,6 +117,31 @@ public class HBaseAddElementsFromHdfsJobFactory implements AddElementsFromHdfsJo
         job.setMapOutputValueClass(KeyValue.class);
     }
 
+    /**
+     * Sets up the mapper. If the store is configured with more than one ingest
+     * conversion thread then the {@link AddElementsFromHdfsMapper} is run
+     * inside a {@link MultithreadedMapper}, so that elements are generated and
+     * converted into cells concurrently within each map task.
+     *
+     * @param job   the job to configure
+     * @param store the store the elements are being added to
+     */
+    @SuppressWarnings("unchecked")
+    protected void setupMapper(final Job job, final HBaseStore store) {
+        setupMapper(job);
+        final int conversionThreads = store.getProperties().getIngestConversionThreads();
+        if (conversionThreads > 1) {
+            job.setMapperClass(MultithreadedMapper.class);
+            MultithreadedMapper.setMapperClass(job, (Class) AddElementsFromHdfsMapper.class);
+            MultithreadedMapper.setNumberOfThreads(job, conversionThreads);
+            LOGGER.info("Set number of mapper threads to {}", conversionThreads);
+        }
+    }
+
+    protected void setupCombiner(final Job job) {
+        job.setCombinerClass(AddElementsFromHdfsReducer.class);
+    }
+
     protected void setupReducer(final Job job) {
         job.setReducerClass(AddElementsFromHdfsReducer.class);
     }
@@ -17,12 +17,14 @@
 package uk.gov.gchq.gaffer.hbasestore.retriever;
 
 import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.RegionLocator;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
 import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
 import org.apache.hadoop.hbase.security.visibility.Authorizations;
 import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.Pair;
 
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
@@ -152,10 +154,9 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
 
         Table table = null;
         try {
-            final Scan scan = new Scan();
-
+            List<MultiRowRangeFilter.RowRange> rowRanges = null;
             if (null != idsIterator) {
-                final List<MultiRowRangeFilter.RowRange> rowRanges = new ArrayList<>();
+                rowRanges = new ArrayList<>();
                 final int maxEntriesForBatchScanner = store.getProperties().getMaxEntriesForBatchScanner();
                 int count = 0;
                 while (idsIterator.hasNext() && count < maxEntriesForBatchScanner) {
@@ -166,21 +167,16 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
                 if (rowRanges.isEmpty()) {
                     return new WrappedCloseableIterable<>(Collections.emptyList());
                 }
-
-                scan.setFilter(new MultiRowRangeFilter(rowRanges));
             }
 
-            scan.setAuthorizations(authorisations);
-            scan.setAttribute(HBaseStoreConstants.SCHEMA, store.getSchema().toCompactJson());
-            scan.setAttribute(HBaseStoreConstants.INCLUDE_MATCHED_VERTEX, Bytes.toBytes(Boolean.toString(includeMatchedVertex)));
-            scan.setAttribute(HBaseStoreConstants.VIEW, operation.getView().toCompactJson());
-            if (null != operation.getDirectedType()) {
-                scan.setAttribute(HBaseStoreConstants.DIRECTED_TYPE, Bytes.toBytes(operation.getDirectedType().name()));
+            final Scan scan = createBaseScan();
+            if (store.getProperties().getScannerThreads() > 1) {
+                return createParallelScanner(scan, rowRanges);
             }
-            if (null != extraProcessors) {
-                scan.setAttribute(HBaseStoreConstants.EXTRA_PROCESSORS, extraProcessors);
+
+            if (null != rowRanges) {
+                scan.setFilter(new MultiRowRangeFilter(rowRanges));
             }
-            scan.setMaxVersions();
             table = store.getTable();
             return new WrappedCloseableIterable<>(table.getScanner(scan));
         } catch (final IOException | StoreException e) {
@@ -191,6 +187,46 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         }
     }
 
+    private Scan createBaseScan() {
+        final Scan scan = new Scan();
+        scan.setAuthorizations(authorisations);
+        scan.setAttribute(HBaseStoreConstants.SCHEMA, store.getSchema().toCompactJson());
+        scan.setAttribute(HBaseStoreConstants.INCLUDE_MATCHED_VERTEX, Bytes.toBytes(Boolean.toString(includeMatchedVertex)));
+        scan.setAttribute(HBaseStoreConstants.VIEW, operation.getView().toCompactJson());
+        if (null != operation.getDirectedType()) {
+            scan.setAttribute(HBaseStoreConstants.DIRECTED_TYPE, Bytes.toBytes(operation.getDirectedType().name()));
+        }
+        if (null != extraProcessors) {
+            scan.setAttribute(HBaseStoreConstants.EXTRA_PROCESSORS, extraProcessors);
+        }
+        scan.setMaxVersions();
+
+        final Integer caching = store.getProperties().getScannerCaching();
+        if (null != caching) {
+            scan.setCaching(caching);
+        }
+        final Long maxResultSize = store.getProperties().getScannerMaxResultSize();
+        if (null != maxResultSize) {
+            scan.setMaxResultSize(maxResultSize);
+        }
+        return scan;
+    }
+
+    private CloseableIterable<Result> createParallelScanner(final Scan scan, final List<MultiRowRangeFilter.RowRange> rowRanges)
+            throws IOException, StoreException {
+        final Pair<byte[][], byte[][]> startEndKeys;
+        try (final RegionLocator regionLocator = store.getConnection().getRegionLocator(store.getTableName())) {
+            startEndKeys = regionLocator.getStartEndKeys();
+        }
+
+        final List<Scan> regionScans = ParallelRegionScanner.createRegionScans(
+                scan, rowRanges, startEndKeys.getFirst(), startEndKeys.getSecond());
+        return new ParallelRegionScanner(store, regionScans,
+                store.getScannerExecutorService(), store.getProperties().getScannerQueueSize(),
+                store.getProperties().getScannerMaxConcurrentScansPerQuery(),
+                store.getProperties().getScannerAbandonTimeout());
+    }
+
     public class BatchedResultScanner extends BatchedIterable<Result> {
         @Override
         protected Iterable<Result> createBatch() {
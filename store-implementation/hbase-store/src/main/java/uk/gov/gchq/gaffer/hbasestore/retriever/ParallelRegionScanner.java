@@ -0,0 +1,289 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.retriever;
+
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
+import uk.gov.gchq.gaffer.store.StoreException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@code ParallelRegionScanner} runs a set of {@link Scan}s, normally one
+ * per region, concurrently on an {@link ExecutorService} and merges the
+ * {@link Result}s into a single iterator via a bounded queue. Results are
+ * returned in the order they arrive, so results from different scans are
+ * interleaved.
+ * <p>
+ * The executor is shared between queries, so each query runs at most
+ * {@code maxConcurrentScans} scans at a time. If the consumer stops taking
+ * results, for example because the iterator was never closed, the scans are
+ * abandoned once no results have been taken for {@code abandonTimeoutMillis}
+ * so the executor threads are released.
+ */
+public class ParallelRegionScanner implements CloseableIterable<Result> {
+    private static final Result END_OF_SCAN = new Result();
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final HBaseStore store;
+    private final List<Scan> scans;
+    private final ExecutorService executorService;
+    private final BlockingQueue<Result> queue;
+    private final int maxConcurrentScans;
+    private final long abandonTimeoutMillis;
+    private final AtomicInteger nextScan = new AtomicInteger();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final List<Future<?>> futures = new ArrayList<>();
+
+    private volatile boolean closed;
+    private volatile long lastConsumerProgress;
+    private boolean started;
+
+    public ParallelRegionScanner(final HBaseStore store, final List<Scan> scans,
+                                 final ExecutorService executorService, final int queueSize,
+                                 final int maxConcurrentScans, final long abandonTimeoutMillis) {
+        this.store = store;
+        this.scans = scans;
+        this.executorService = executorService;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.maxConcurrentScans = Math.max(1, maxConcurrentScans);
+        this.abandonTimeoutMillis = abandonTimeoutMillis;
+    }
+
+    /**
+     * Creates one scan per region of the table, restricted to the row ranges
+     * that overlap that region. If the row ranges are null then every region
+     * is scanned in full.
+     *
+     * @param baseScan  the scan to copy the attributes and settings from
+     * @param rowRanges the row ranges to scan, or null to scan the whole table
+     * @param startKeys the region start keys
+     * @param endKeys   the region end keys
+     * @return the scans, one per region that overlaps the row ranges
+     * @throws IOException if a scan could not be copied
+     */
+    public static List<Scan> createRegionScans(final Scan baseScan,
+                                               final List<RowRange> rowRanges,
+                                               final byte[][] startKeys,
+                                               final byte[][] endKeys) throws IOException {
+        final List<RowRange> sortedRanges;
+        if (null == rowRanges) {
+            sortedRanges = null;
+        } else {
+            sortedRanges = new ArrayList<>(rowRanges);
+            Collections.sort(sortedRanges);
+        }
+
+        final List<Scan> scans = new ArrayList<>(startKeys.length);
+        for (int i = 0; i < startKeys.length; i++) {
+            final byte[] regionStart = startKeys[i];
+            final byte[] regionEnd = endKeys[i];
+            final Scan scan = new Scan(baseScan);
+            scan.setStartRow(regionStart);
+            scan.setStopRow(regionEnd);
+            if (null != sortedRanges) {
+                final List<RowRange> regionRanges = new ArrayList<>();
+                for (final RowRange range : sortedRanges) {
+                    if (overlaps(range, regionStart, regionEnd)) {
+                        regionRanges.add(range);
+                    }
+                }
+                if (regionRanges.isEmpty()) {
+                    continue;
+                }
+                scan.setFilter(new MultiRowRangeFilter(regionRanges));
+            }
+            scans.add(scan);
+        }
+        return scans;
+    }
+
+    private static boolean overlaps(final RowRange range, final byte[] regionStart, final byte[] regionEnd) {
+        final byte[] rangeStart = range.getStartRow();
+        final byte[] rangeStop = range.getStopRow();
+        final boolean startsBeforeRegionEnd = isEmpty(regionEnd)
+                || isEmpty(rangeStart)
+                || Bytes.compareTo(rangeStart, regionEnd) < 0;
+        final boolean stopsAfterRegionStart = isEmpty(regionStart)
+                || isEmpty(rangeStop)
+                || Bytes.compareTo(rangeStop, regionStart) >= 0;
+        return startsBeforeRegionEnd && stopsAfterRegionStart;
+    }
+
+    private static boolean isEmpty(final byte[] bytes) {
+        return null == bytes || 0 == bytes.length;
+    }
+
+    @Override
+    public CloseableIterator<Result> iterator() {
+        if (started) {
+            throw new IllegalStateException("Parallel region scans can only be iterated once");
+        }
+        started = true;
+        lastConsumerProgress = System.currentTimeMillis();
+        final int workers = Math.min(maxConcurrentScans, scans.size());
+        for (int i = 0; i < workers; i++) {
+            futures.add(executorService.submit(this::runScans));
+        }
+        return new ResultIterator();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (final Future<?> future : futures) {
+            future.cancel(true);
+        }
+        queue.clear();
+    }
+
+    private void runScans() {
+        int scanIndex = nextScan.getAndIncrement();
+        while (!closed && scanIndex < scans.size()) {
+            if (!runScan(scans.get(scanIndex))) {
+                return;
+            }
+            scanIndex = nextScan.getAndIncrement();
+        }
+    }
+
+    private boolean runScan(final Scan scan) {
+        Table table = null;
+        ResultScanner scanner = null;
+        try {
+            table = store.getTable();
+            scanner = table.getScanner(scan);
+            for (final Result result : scanner) {
+                if (!offer(result)) {
+                    return false;
+                }
+            }
+        } catch (final IOException | StoreException | RuntimeException e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            CloseableUtil.close(scanner);
+            CloseableUtil.close(table);
+        }
+        return offer(END_OF_SCAN);
+    }
+
+    private boolean offer(final Result result) {
+        try {
+            while (!closed) {
+                if (queue.offer(result, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+                if (System.currentTimeMillis() - lastConsumerProgress > abandonTimeoutMillis) {
+                    abandon();
+                    return false;
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    // Stops all scans for this query without interrupting the calling worker.
+    // The failure is reported if the consumer ever resumes.
+    private void abandon() {
+        failure.compareAndSet(null, new TimeoutException("No scan results were consumed for "
+                + abandonTimeoutMillis + "ms so the scans were abandoned"));
+        closed = true;
+        queue.clear();
+    }
+
+    private final class ResultIterator implements CloseableIterator<Result> {
+        private int completedScans;
+        private Result next;
+
+        @Override
+        public boolean hasNext() {
+            while (null == next && completedScans < scans.size()) {
+                final Result result;
+                try {
+                    result = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    close();
+                    throw new RuntimeException("Interrupted whilst waiting for scan results", e);
+                }
+                if (null == result) {
+                    checkForFailure();
+                    if (closed) {
+                        return false;
+                    }
+                } else {
+                    lastConsumerProgress = System.currentTimeMillis();
+                    if (END_OF_SCAN == result) {
+                        completedScans++;
+                        checkForFailure();
+                    } else {
+                        next = result;
+                    }
+                }
+            }
+            return null != next;
+        }
+
+        @Override
+        public Result next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Reached the end of the iterator");
+            }
+            final Result result = next;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            ParallelRegionScanner.this.close();
+        }
+
+        private void checkForFailure() {
+            final Throwable e = failure.get();
+            if (null != e) {
+                ParallelRegionScanner.this.close();
+                throw new RuntimeException("Failed to scan region", e);
+            }
+        }
+    }
+}
@@ -48,8 +48,13 @@ import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 public class ElementSerialisation {
     private static final Logger LOGGER = LoggerFactory.getLogger(ElementSerialisation.class);
@@ -504,6 +509,59 @@ public class ElementSerialisation {
         return getPuts(element, row, cq);
     }
 
+    /**
+     * Converts the elements into puts, splitting the elements into chunks that
+     * are serialised concurrently using the provided executor. The order of the
+     * puts matches the order of the elements, with the second put of an edge
+     * directly following the first.
+     *
+     * @param elements        the elements to convert
+     * @param executorService the executor used to run the conversions
+     * @param numChunks       the number of chunks to split the elements into
+     * @return the puts for the elements
+     * @throws SerialisationException if any element could not be serialised
+     */
+    public List<Put> getPuts(final List<? extends Element> elements, final ExecutorService executorService, final int numChunks) throws SerialisationException {
+        if (numChunks < 2 || elements.size() < 2) {
+            return getPuts(elements);
+        }
+
+        final int chunkSize = (elements.size() + numChunks - 1) / numChunks;
+        final List<Future<List<Put>>> futures = new ArrayList<>(numChunks);
+        for (int start = 0; start < elements.size(); start += chunkSize) {
+            final List<? extends Element> chunk = elements.subList(start, Math.min(start + chunkSize, elements.size()));
+            futures.add(executorService.submit(() -> getPuts(chunk)));
+        }
+
+        final List<Put> puts = new ArrayList<>(elements.size() * 2);
+        try {
+            for (final Future<List<Put>> future : futures) {
+                puts.addAll(future.get());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SerialisationException("Interrupted whilst converting elements to puts", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof SerialisationException) {
+                throw (SerialisationException) e.getCause();
+            }
+            throw new SerialisationException("Unable to convert elements to puts", e.getCause());
+        }
+        return puts;
+    }
+
+    private List<Put> getPuts(final List<? extends Element> elements) throws SerialisationException {
+        final List<Put> puts = new ArrayList<>(elements.size() * 2);
+        for (final Element element : elements) {
+            final Pair<Put, Put> putPair = getPuts(element);
+            puts.add(putPair.getFirst());
+            if (null != putPair.getSecond()) {
+                puts.add(putPair.getSecond());
+            }
+        }
+        return puts;
+    }
+
     public Pair<Put, Put> getPuts(final Element element, final Pair<byte[], byte[]> row, final byte[] cq) throws SerialisationException {
         final long ts = getTimestamp(element);
         final byte[] value = getValue(element);
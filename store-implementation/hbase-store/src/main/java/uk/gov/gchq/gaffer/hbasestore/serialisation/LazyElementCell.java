@@ -39,6 +39,19 @@ public class LazyElementCell {
         this.includeMatchedVertex = includeMatchedVertex;
     }
 
+    /**
+     * Resets this wrapper to hold a different cell, clearing any cached
+     * element and group, so that a wrapper can be reused for each cell
+     * returned by a scanner.
+     *
+     * @param cell the new cell
+     */
+    public void reset(final Cell cell) {
+        this.cell = cell;
+        element = null;
+        group = null;
+    }
+
     public Cell getCell() {
         return cell;
     }
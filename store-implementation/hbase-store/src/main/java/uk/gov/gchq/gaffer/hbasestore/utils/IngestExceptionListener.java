@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.utils;
+
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.RetriesExhaustedWithDetailsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An {@code IngestExceptionListener} is notified by a {@link BufferedMutator}
+ * when mutations that were flushed in the background fail. The failure is
+ * logged and held until it is collected using {@link #getAndClearException()},
+ * so it can be reported back to the caller that added the elements. A new
+ * listener should be used for each operation so failures are not reported to
+ * the wrong caller.
+ */
+public class IngestExceptionListener implements BufferedMutator.ExceptionListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IngestExceptionListener.class);
+
+    private final AtomicReference<RetriesExhaustedWithDetailsException> exception = new AtomicReference<>();
+
+    @Override
+    public void onException(final RetriesExhaustedWithDetailsException e, final BufferedMutator mutator) {
+        LOGGER.error("Failed to write {} mutations to table {}: {}", e.getNumExceptions(), mutator.getName(), e.getExhaustiveDescription());
+        exception.set(e);
+    }
+
+    /**
+     * Gets the most recent failure and clears it.
+     *
+     * @return the most recent failure, or null if there have been no failures
+     */
+    public RetriesExhaustedWithDetailsException getAndClearException() {
+        return exception.getAndSet(null);
+    }
+}
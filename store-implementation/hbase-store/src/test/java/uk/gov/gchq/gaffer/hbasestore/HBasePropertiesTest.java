@@ -28,6 +28,7 @@ import java.io.IOException;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class HBasePropertiesTest {
     @Test
@@ -39,11 +40,45 @@ public class HBasePropertiesTest {
         properties.setDependencyJarsHdfsDirPath("pathTo/jars");
         properties.setWriteBufferSize(10);
         properties.setZookeepers("zookeeper1,zookeeper2");
+        properties.setBufferedMutatorIngest("true");
+        properties.setBufferedMutatorWriteBufferSize("1024");
+        properties.setIngestConversionThreads("4");
+        properties.setScannerThreads("8");
+        properties.setScannerCaching("500");
+        properties.setScannerMaxResultSize("2048");
+        properties.setScannerQueueSize("100");
+        properties.setScannerMaxConcurrentScansPerQuery("3");
+        properties.setScannerAbandonTimeout("1000");
 
         // Then
         assertEquals(new Path("pathTo/jars"), properties.getDependencyJarsHdfsDirPath());
         assertEquals(10, properties.getWriteBufferSize());
         assertEquals("zookeeper1,zookeeper2", properties.getZookeepers());
+        assertTrue(properties.getBufferedMutatorIngest());
+        assertEquals(Long.valueOf(1024L), properties.getBufferedMutatorWriteBufferSize());
+        assertEquals(4, properties.getIngestConversionThreads());
+        assertEquals(8, properties.getScannerThreads());
+        assertEquals(Integer.valueOf(500), properties.getScannerCaching());
+        assertEquals(Long.valueOf(2048L), properties.getScannerMaxResultSize());
+        assertEquals(100, properties.getScannerQueueSize());
+        assertEquals(3, properties.getScannerMaxConcurrentScansPerQuery());
+        assertEquals(1000L, properties.getScannerAbandonTimeout());
+    }
+
+    @Test
+    public void shouldLimitConcurrentScansPerQueryToLessThanScannerThreads() {
+        // Given
+        final HBaseProperties properties = new HBaseProperties();
+        properties.setScannerThreads("8");
+
+        // When
+        final int defaultMaxScans = properties.getScannerMaxConcurrentScansPerQuery();
+        properties.setScannerMaxConcurrentScansPerQuery("20");
+        final int cappedMaxScans = properties.getScannerMaxConcurrentScansPerQuery();
+
+        // Then
+        assertEquals(4, defaultMaxScans);
+        assertEquals(7, cappedMaxScans);
     }
 
     @Test
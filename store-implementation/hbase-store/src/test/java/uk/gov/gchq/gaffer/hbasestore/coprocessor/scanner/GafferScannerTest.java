@@ -27,6 +27,8 @@ import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.FilterProcessor;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.FusedFilterProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GafferScannerProcessor;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
@@ -40,6 +42,7 @@ import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -129,6 +132,62 @@ public class GafferScannerTest {
         assertEquals(cells, outputResult);
     }
 
+    @Test
+    public void shouldReuseElementCellsAcrossCallsToNext() throws OperationException, IOException {
+        // Given
+        final List<LazyElementCell> lazyCells = CellUtil.getLazyCells(ELEMENTS, serialisation);
+        final List<Cell> cells = new ArrayList<>();
+        for (final LazyElementCell lazyElementCell : lazyCells) {
+            cells.add(lazyElementCell.getCell());
+        }
+        final InternalScanner internalScanner = mock(InternalScanner.class);
+        given(internalScanner.next(Mockito.anyList())).will(invocation -> {
+            ((List<Cell>) invocation.getArguments()[0]).addAll(cells);
+            return true;
+        });
+
+        final List<List<LazyElementCell>> processedCells = new ArrayList<>();
+        final GafferScannerProcessor processor = elementCells -> {
+            processedCells.add(new ArrayList<>(elementCells));
+            return elementCells;
+        };
+        final GafferScanner scanner = new GafferScanner(internalScanner, serialisation, Collections.singletonList(processor), false) {
+        };
+
+        // When
+        final List<Cell> outputResult1 = new ArrayList<>();
+        scanner.next(outputResult1);
+        final List<Cell> outputResult2 = new ArrayList<>();
+        scanner.next(outputResult2);
+
+        // Then
+        assertEquals(cells, outputResult1);
+        assertEquals(cells, outputResult2);
+        assertEquals(2, processedCells.size());
+        for (int i = 0; i < cells.size(); i++) {
+            assertSame(processedCells.get(0).get(i), processedCells.get(1).get(i));
+        }
+    }
+
+    @Test
+    public void shouldFuseConsecutiveFilterProcessors() {
+        // Given
+        final FilterProcessor filter1 = mock(FilterProcessor.class);
+        final FilterProcessor filter2 = mock(FilterProcessor.class);
+        final FilterProcessor filter3 = mock(FilterProcessor.class);
+        final GafferScannerProcessor processor = mock(GafferScannerProcessor.class);
+
+        // When
+        final List<GafferScannerProcessor> fused = GafferScanner.fuseFilters(
+                Arrays.asList(filter1, filter2, processor, filter3));
+
+        // Then
+        assertEquals(3, fused.size());
+        assertEquals(Arrays.asList(filter1, filter2), ((FusedFilterProcessor) fused.get(0)).getFilters());
+        assertSame(processor, fused.get(1));
+        assertSame(filter3, fused.get(2));
+    }
+
     @Test
     public void shouldCloseScanner() throws IOException {
         // Given
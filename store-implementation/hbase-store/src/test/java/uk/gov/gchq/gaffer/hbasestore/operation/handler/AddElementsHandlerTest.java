@@ -17,8 +17,10 @@
 package uk.gov.gchq.gaffer.hbasestore.operation.handler;
 
 import com.google.common.collect.Lists;
+import org.apache.hadoop.hbase.client.BufferedMutator;
 import org.apache.hadoop.hbase.client.HTable;
 import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.RetriesExhaustedWithDetailsException;
 import org.apache.hadoop.hbase.client.Table;
 import org.hamcrest.core.IsCollectionContaining;
 import org.junit.Test;
@@ -33,6 +35,7 @@ import uk.gov.gchq.gaffer.hbasestore.HBaseProperties;
 import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import uk.gov.gchq.gaffer.hbasestore.util.CellUtil;
+import uk.gov.gchq.gaffer.hbasestore.utils.IngestExceptionListener;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
@@ -49,11 +52,18 @@ import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -174,6 +184,131 @@ public class AddElementsHandlerTest {
         assertThat(elementsAdded, IsCollectionContaining.hasItems(expectedElementsArr));
     }
 
+    @Test
+    public void shouldAddElementsWithBufferedMutator() throws OperationException, StoreException, IOException {
+        // Given
+        final AddElementsHandler handler = new AddElementsHandler();
+        final List<Element> elements = createElements();
+        final List<Element> elementsWithNull = new ArrayList<>(elements);
+        elementsWithNull.add(null); // null should be skipped
+
+        final AddElements addElements = new AddElements.Builder()
+                .input(elementsWithNull)
+                .build();
+        final Context context = mock(Context.class);
+        final HBaseStore store = mock(HBaseStore.class);
+
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+        given(store.createBufferedMutator(any(IngestExceptionListener.class))).willReturn(mutator);
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+        given(store.getIngestExecutorService()).willReturn(executorService);
+
+        final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setBufferedMutatorIngest("true");
+        properties.setIngestConversionThreads("2");
+        properties.setWriteBufferSize(4);
+        given(store.getProperties()).willReturn(properties);
+
+        given(store.getSchema()).willReturn(SCHEMA);
+
+        // When
+        try {
+            handler.doOperation(addElements, context, store);
+        } finally {
+            executorService.shutdown();
+        }
+
+        // Then
+        final ArgumentCaptor<List<Put>> putsCaptor = (ArgumentCaptor) ArgumentCaptor.forClass(List.class);
+        verify(mutator, times(2)).mutate(putsCaptor.capture());
+        verify(mutator).flush();
+        verify(mutator).close();
+        final List<Put> combinedPuts = new ArrayList<>();
+        for (final List<Put> puts : putsCaptor.getAllValues()) {
+            combinedPuts.addAll(puts);
+        }
+
+        final List<Element> expectedElements = new ArrayList<>();
+        for (final Element element : elements) {
+            expectedElements.add(element);
+            if (element instanceof Edge && !((Edge) element).getSource().equals(((Edge) element).getDestination())) {
+                expectedElements.add(element);
+            }
+        }
+        final List<Element> elementsAdded = CellUtil.getElements(combinedPuts, new ElementSerialisation(SCHEMA), false);
+        assertEquals(expectedElements, elementsAdded);
+    }
+
+    @Test
+    public void shouldThrowExceptionIfBufferedMutatorReportsFailure() throws StoreException, IOException {
+        // Given
+        final AddElementsHandler handler = new AddElementsHandler();
+        final AddElements addElements = new AddElements.Builder()
+                .input(createElements())
+                .build();
+        final Context context = mock(Context.class);
+        final HBaseStore store = mock(HBaseStore.class);
+
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+        final List<IngestExceptionListener> listeners = new ArrayList<>();
+        given(store.createBufferedMutator(any(IngestExceptionListener.class))).willAnswer(invocation -> {
+            listeners.add((IngestExceptionListener) invocation.getArguments()[0]);
+            return mutator;
+        });
+        doAnswer(invocation -> {
+            listeners.get(listeners.size() - 1).onException(new RetriesExhaustedWithDetailsException(new ArrayList<>(), new ArrayList<>(), new ArrayList<>()), mutator);
+            return null;
+        }).when(mutator).flush();
+
+        final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setBufferedMutatorIngest("true");
+        given(store.getProperties()).willReturn(properties);
+
+        given(store.getSchema()).willReturn(SCHEMA);
+
+        // When / Then
+        try {
+            handler.doOperation(addElements, context, store);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertTrue(e.getCause() instanceof RetriesExhaustedWithDetailsException);
+        }
+        verify(mutator).close();
+        assertEquals(1, listeners.size());
+        assertNull(listeners.get(0).getAndClearException());
+    }
+
+    @Test
+    public void shouldNotReportFailuresFromOtherOperations() throws OperationException, StoreException, IOException {
+        // Given
+        final AddElementsHandler handler = new AddElementsHandler();
+        final AddElements addElements = new AddElements.Builder()
+                .input(createElements())
+                .build();
+        final Context context = mock(Context.class);
+        final HBaseStore store = mock(HBaseStore.class);
+
+        final BufferedMutator otherOperationMutator = mock(BufferedMutator.class);
+        final IngestExceptionListener otherOperationListener = new IngestExceptionListener();
+        otherOperationListener.onException(new RetriesExhaustedWithDetailsException(new ArrayList<>(), new ArrayList<>(), new ArrayList<>()), otherOperationMutator);
+
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+        given(store.createBufferedMutator(any(IngestExceptionListener.class))).willReturn(mutator);
+
+        final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setBufferedMutatorIngest("true");
+        given(store.getProperties()).willReturn(properties);
+
+        given(store.getSchema()).willReturn(SCHEMA);
+
+        // When
+        handler.doOperation(addElements, context, store);
+
+        // Then
+        verify(mutator).flush();
+        assertTrue(otherOperationListener.getAndClearException() instanceof RetriesExhaustedWithDetailsException);
+    }
+
     @Test
     public void shouldDoNothingIfNoElementsProvided() throws OperationException, StoreException, IOException {
         // Given
@@ -23,6 +23,7 @@ import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
 import org.apache.hadoop.hbase.mapreduce.HFileOutputFormat2;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.lib.map.MultithreadedMapper;
 import org.apache.hadoop.mapreduce.server.jobtracker.JTConfig;
 import org.junit.Before;
 import org.junit.Rule;
@@ -105,6 +106,7 @@ public class HBaseAddElementsFromHdfsJobFactoryTest {
         verify(job).setMapOutputKeyClass(ImmutableBytesWritable.class);
         verify(job).setMapOutputValueClass(KeyValue.class);
 
+        verify(job).setCombinerClass(AddElementsFromHdfsReducer.class);
         verify(job).setReducerClass(AddElementsFromHdfsReducer.class);
         verify(job).setOutputKeyClass(ImmutableBytesWritable.class);
         verify(job).setOutputValueClass(KeyValue.class);
@@ -115,6 +117,40 @@ public class HBaseAddElementsFromHdfsJobFactoryTest {
         verify(job).setNumReduceTasks(1);
     }
 
+    @Test
+    public void shouldSetupMultithreadedMapperWhenConversionThreadsSet() throws IOException, StoreException {
+        // Given
+        final JobConf localConf = createLocalConf();
+        final FileSystem fs = FileSystem.getLocal(localConf);
+        fs.mkdirs(new Path(outputDir));
+
+        final HBaseAddElementsFromHdfsJobFactory factory = new HBaseAddElementsFromHdfsJobFactory();
+        final Job job = mock(Job.class);
+        final AddElementsFromHdfs operation = new AddElementsFromHdfs.Builder()
+                .addInputMapperPair(new Path(inputDir).toString(), TextMapperGeneratorImpl.class.getName())
+                .outputPath(outputDir)
+                .failurePath(failureDir)
+                .jobInitialiser(new TextJobInitialiser())
+                .option(HBaseStoreConstants.OPERATION_HDFS_STAGING_PATH, stagingDir)
+                .build();
+
+        final HBaseStore store = new SingleUseMiniHBaseStore();
+        final Schema schema = Schema.fromJson(StreamUtil.schemas(getClass()));
+        final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setIngestConversionThreads("4");
+        store.initialise("graphId", schema, properties);
+
+        given(job.getConfiguration()).willReturn(localConf);
+
+        // When
+        factory.setupJob(job, operation, TextMapperGeneratorImpl.class.getName(), store);
+
+        // Then
+        verify(job).setMapperClass(MultithreadedMapper.class);
+        assertEquals(AddElementsFromHdfsMapper.class, localConf.getClass(MultithreadedMapper.MAP_CLASS, null));
+        assertEquals(4, MultithreadedMapper.getNumberOfThreads(job));
+    }
+
     private JobConf createLocalConf() {
         // Set up local conf
         final JobConf conf = new JobConf();
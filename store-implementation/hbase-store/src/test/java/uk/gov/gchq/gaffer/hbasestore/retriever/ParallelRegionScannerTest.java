@@ -0,0 +1,335 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.retriever;
+
+import com.google.common.collect.Lists;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.hbasestore.HBaseProperties;
+import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
+import uk.gov.gchq.gaffer.hbasestore.SingleUseMiniHBaseStore;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.StoreTrait;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class ParallelRegionScannerTest {
+    private static final byte[] EMPTY = new byte[0];
+    private static final byte[][] START_KEYS = {EMPTY, Bytes.toBytes("c"), Bytes.toBytes("m")};
+    private static final byte[][] END_KEYS = {Bytes.toBytes("c"), Bytes.toBytes("m"), EMPTY};
+
+    private ExecutorService executorService;
+
+    @Before
+    public void before() {
+        executorService = Executors.newFixedThreadPool(3);
+    }
+
+    @After
+    public void after() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void shouldCreateOneScanPerRegionForFullTableScan() throws IOException {
+        // Given
+        final Scan baseScan = new Scan();
+        baseScan.setAttribute("attr", Bytes.toBytes("value"));
+
+        // When
+        final List<Scan> scans = ParallelRegionScanner.createRegionScans(baseScan, null, START_KEYS, END_KEYS);
+
+        // Then
+        assertEquals(3, scans.size());
+        for (int i = 0; i < scans.size(); i++) {
+            final Scan scan = scans.get(i);
+            assertArrayEquals(START_KEYS[i], scan.getStartRow());
+            assertArrayEquals(END_KEYS[i], scan.getStopRow());
+            assertArrayEquals(Bytes.toBytes("value"), scan.getAttribute("attr"));
+            assertNull(scan.getFilter());
+        }
+    }
+
+    @Test
+    public void shouldGroupRowRangesByRegionAndSkipRegionsWithoutRanges() throws IOException {
+        // Given
+        final RowRange rangeA = new RowRange("a", true, "b", true);
+        final RowRange rangeB = new RowRange("b1", true, "b2", true);
+        final RowRange rangeAcrossRegions = new RowRange("k", true, "n", true);
+
+        // When
+        final List<Scan> scans = ParallelRegionScanner.createRegionScans(
+                new Scan(), Arrays.asList(rangeAcrossRegions, rangeB, rangeA), START_KEYS, END_KEYS);
+
+        // Then
+        assertEquals(3, scans.size());
+        assertEquals(Arrays.asList("a", "b1"), getRangeStartRows(scans.get(0)));
+        assertEquals(Collections.singletonList("k"), getRangeStartRows(scans.get(1)));
+        assertEquals(Collections.singletonList("k"), getRangeStartRows(scans.get(2)));
+
+        // When
+        final List<Scan> singleRegionScans = ParallelRegionScanner.createRegionScans(
+                new Scan(), Collections.singletonList(rangeA), START_KEYS, END_KEYS);
+
+        // Then
+        assertEquals(1, singleRegionScans.size());
+        assertArrayEquals(END_KEYS[0], singleRegionScans.get(0).getStopRow());
+    }
+
+    @Test
+    public void shouldMergeResultsFromAllScans() throws Exception {
+        // Given
+        final List<Scan> scans = Arrays.asList(new Scan(), new Scan(), new Scan());
+        final Result[] results = new Result[6];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = new Result();
+        }
+        final HBaseStore store = mock(HBaseStore.class);
+        final Table table = mock(Table.class);
+        given(store.getTable()).willReturn(table);
+        final ResultScanner scanner1 = createScanner(results[0], results[1]);
+        final ResultScanner scanner2 = createScanner();
+        final ResultScanner scanner3 = createScanner(results[2], results[3], results[4], results[5]);
+        given(table.getScanner(scans.get(0))).willReturn(scanner1);
+        given(table.getScanner(scans.get(1))).willReturn(scanner2);
+        given(table.getScanner(scans.get(2))).willReturn(scanner3);
+
+        // When
+        final List<Result> mergedResults = new ArrayList<>();
+        try (final ParallelRegionScanner scanner = new ParallelRegionScanner(store, scans, executorService, 1, 3, 60000)) {
+            Lists.newArrayList(scanner.iterator()).forEach(mergedResults::add);
+        }
+
+        // Then
+        assertEquals(results.length, mergedResults.size());
+        for (final Result result : results) {
+            assertTrue(mergedResults.stream().anyMatch(r -> r == result));
+        }
+    }
+
+    @Test
+    public void shouldPropagateScanFailures() throws Exception {
+        // Given
+        final List<Scan> scans = Arrays.asList(new Scan(), new Scan());
+        final HBaseStore store = mock(HBaseStore.class);
+        final Table table = mock(Table.class);
+        given(store.getTable()).willReturn(table);
+        final ResultScanner resultScanner = createScanner(new Result());
+        given(table.getScanner(scans.get(0))).willReturn(resultScanner);
+        given(table.getScanner(scans.get(1))).willThrow(new IOException("Region unavailable"));
+
+        // When / Then
+        try (final ParallelRegionScanner scanner = new ParallelRegionScanner(store, scans, executorService, 10, 3, 60000)) {
+            Lists.newArrayList(scanner.iterator());
+            fail("Exception expected");
+        } catch (final RuntimeException e) {
+            assertEquals("Region unavailable", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void shouldStopScanningWhenClosedEarly() throws Exception {
+        // Given
+        final List<Scan> scans = Collections.singletonList(new Scan());
+        final HBaseStore store = mock(HBaseStore.class);
+        final Table table = mock(Table.class);
+        given(store.getTable()).willReturn(table);
+        final ResultScanner resultScanner = createScanner(new Result(), new Result(), new Result(), new Result());
+        given(table.getScanner(any(Scan.class))).willReturn(resultScanner);
+        final ParallelRegionScanner scanner = new ParallelRegionScanner(store, scans, executorService, 1, 3, 60000);
+        final CloseableIterator<Result> itr = scanner.iterator();
+
+        // When
+        assertTrue(itr.hasNext());
+        itr.next();
+        itr.close();
+
+        // Then
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldLimitConcurrentScansPerQuery() throws Exception {
+        // Given
+        final List<Scan> scans = Arrays.asList(new Scan(), new Scan(), new Scan());
+        final HBaseStore store = mock(HBaseStore.class);
+        final Table table = mock(Table.class);
+        given(store.getTable()).willReturn(table);
+        final AtomicInteger activeScans = new AtomicInteger();
+        final AtomicInteger maxActiveScans = new AtomicInteger();
+        given(table.getScanner(any(Scan.class))).willAnswer(invocation -> {
+            maxActiveScans.accumulateAndGet(activeScans.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            final ResultScanner resultScanner = createScanner(new Result(), new Result());
+            doAnswer(closeInvocation -> activeScans.decrementAndGet()).when(resultScanner).close();
+            return resultScanner;
+        });
+
+        // When
+        final List<Result> results;
+        try (final ParallelRegionScanner scanner = new ParallelRegionScanner(store, scans, executorService, 10, 1, 60000)) {
+            results = Lists.newArrayList(scanner.iterator());
+        }
+
+        // Then
+        assertEquals(6, results.size());
+        assertEquals(1, maxActiveScans.get());
+    }
+
+    @Test
+    public void shouldAbandonScansWhenResultsAreNotConsumed() throws Exception {
+        // Given
+        final List<Scan> scans = Collections.singletonList(new Scan());
+        final HBaseStore store = mock(HBaseStore.class);
+        final Table table = mock(Table.class);
+        given(store.getTable()).willReturn(table);
+        final ResultScanner resultScanner = createScanner(new Result(), new Result(), new Result(), new Result());
+        given(table.getScanner(any(Scan.class))).willReturn(resultScanner);
+        final ParallelRegionScanner scanner = new ParallelRegionScanner(store, scans, executorService, 1, 1, 200);
+
+        // When
+        final CloseableIterator<Result> itr = scanner.iterator();
+        executorService.shutdown();
+
+        // Then
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+        try {
+            itr.hasNext();
+            fail("Exception expected");
+        } catch (final RuntimeException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+    }
+
+    @Test
+    public void shouldRetrieveSameElementsWithParallelScans() throws Exception {
+        // Given
+        final Schema schema = Schema.fromJson(StreamUtil.schemas(getClass()));
+        final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setScannerThreads("4");
+        properties.setScannerCaching("2");
+        final SingleUseMiniHBaseStore store = new SingleUseMiniHBaseStore();
+        store.initialise("parallelScanGraph", schema, properties);
+
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + i)
+                    .property(TestPropertyNames.VISIBILITY, "")
+                    .build());
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("vertex" + i)
+                    .dest("vertex" + (i + 1))
+                    .directed(true)
+                    .property(TestPropertyNames.VISIBILITY, "")
+                    .build());
+        }
+        store.execute(new AddElements.Builder().input(elements).build(), new Context());
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .edge(TestGroups.EDGE)
+                .build();
+
+        // When
+        final CloseableIterable<? extends Element> allElements = store.execute(
+                new GetAllElements.Builder().view(view).build(), new Context());
+        final CloseableIterable<? extends Element> seededElements = store.execute(
+                new GetElements.Builder()
+                        .input(new EntitySeed("vertex1"), new EntitySeed("vertex15"))
+                        .view(view)
+                        .build(), new Context());
+
+        // Then
+        assertFalse(store.hasTrait(StoreTrait.ORDERED));
+        assertEquals(new HashSet<>(elements), toSet(allElements));
+        assertEquals(new HashSet<>(Arrays.asList(
+                elements.get(2), elements.get(1), elements.get(3),
+                elements.get(30), elements.get(29), elements.get(31))), toSet(seededElements));
+    }
+
+    private static Set<Element> toSet(final CloseableIterable<? extends Element> elements) {
+        final Set<Element> set = new HashSet<>();
+        try {
+            elements.forEach(set::add);
+        } finally {
+            elements.close();
+        }
+        return set;
+    }
+
+    private static List<String> getRangeStartRows(final Scan scan) {
+        final List<String> startRows = new ArrayList<>();
+        for (final RowRange range : ((MultiRowRangeFilter) scan.getFilter()).getRowRanges()) {
+            startRows.add(Bytes.toString(range.getStartRow()));
+        }
+        return startRows;
+    }
+
+    private static ResultScanner createScanner(final Result... results) {
+        final ResultScanner scanner = mock(ResultScanner.class);
+        given(scanner.iterator()).willReturn(Arrays.asList(results).iterator());
+        return scanner;
+    }
+}
@@ -114,4 +114,26 @@ public class LazyElementCellTest {
         assertFalse(lazyElementCell.isElementLoaded());
         verify(serialisation, times(1)).getGroup(cell);
     }
+
+    @Test
+    public void shouldClearCachedElementAndGroupWhenReset() throws SerialisationException {
+        // Given
+        final Cell cell1 = mock(Cell.class);
+        final Cell cell2 = mock(Cell.class);
+        final ElementSerialisation serialisation = mock(ElementSerialisation.class);
+        final Element element1 = mock(Element.class);
+        given(element1.getGroup()).willReturn("group1");
+        given(serialisation.getElement(cell1, false)).willReturn(element1);
+        given(serialisation.getGroup(cell2)).willReturn("group2");
+        final LazyElementCell lazyElementCell = new LazyElementCell(cell1, serialisation, false);
+        assertSame(element1, lazyElementCell.getElement());
+
+        // When
+        lazyElementCell.reset(cell2);
+
+        // Then
+        assertSame(cell2, lazyElementCell.getCell());
+        assertFalse(lazyElementCell.isElementLoaded());
+        assertEquals("group2", lazyElementCell.getGroup());
+    }
 }
@@ -16,8 +16,12 @@
 package uk.gov.gchq.gaffer.parquetstore;
 
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.commons.io.IOUtils;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -25,6 +29,7 @@ import org.apache.spark.SparkConf;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
@@ -58,9 +63,19 @@ import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
 import uk.gov.gchq.koryphe.ValidationResult;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
 import static uk.gov.gchq.gaffer.store.StoreTrait.ORDERED;
@@ -86,9 +101,18 @@ public class ParquetStore extends Store {
                     STORE_VALIDATION
             ));
 
-    private GraphIndex graphIndex;
+    private volatile GraphIndex graphIndex;
     private SchemaUtils schemaUtils;
     private FileSystem fs;
+    private ExecutorService readerExecutorService;
+    private ExecutorService compactionExecutorService;
+    private final AtomicBoolean compactionPending = new AtomicBoolean(false);
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private long lastDeltaId;
+    // The number of readers holding an index that contains each delta, and the folded deltas that are waiting for
+    // those readers to release them before being deleted
+    private final Map<Long, Integer> deltaReaders = new HashMap<>();
+    private final Set<Long> foldedDeltasToDelete = new HashSet<>();
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
@@ -135,8 +159,171 @@ public class ParquetStore extends Store {
         return getProperties().getTempFilesDir() + "/" + getGraphId();
     }
 
-    public void setGraphIndex(final GraphIndex graphIndex) {
-        this.graphIndex = graphIndex;
+    /**
+     * Gets the executor that is shared by all queries to read Parquet files in parallel, creating it if required.
+     *
+     * @return the reader executor service.
+     */
+    public synchronized ExecutorService getReaderExecutorService() {
+        if (null == readerExecutorService) {
+            final ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                    .setNameFormat("parquet-reader-" + getGraphId() + "-%d")
+                    .setDaemon(true)
+                    .build();
+            readerExecutorService = Executors.newFixedThreadPool(getProperties().getReaderThreads(), threadFactory);
+        }
+        return readerExecutorService;
+    }
+
+    public String getDeltasDir() {
+        return getDataDir() + "/" + ParquetStoreConstants.DELTAS;
+    }
+
+    /**
+     * Gets the lock that must be held whilst a new snapshot is being written, so that only one full ingest or
+     * compaction of the deltas runs at a time.
+     *
+     * @return the snapshot lock.
+     */
+    public ReentrantLock getSnapshotLock() {
+        return snapshotLock;
+    }
+
+    /**
+     * Sets the index of a new snapshot. Any deltas of the current snapshot are carried over to the new snapshot.
+     *
+     * @param graphIndex the index of the new snapshot
+     * @throws StoreException if the list of deltas could not be written
+     */
+    public void setGraphIndex(final GraphIndex graphIndex) throws StoreException {
+        setGraphIndex(graphIndex, Collections.emptySet());
+    }
+
+    /**
+     * Sets the index of a new snapshot that contains the data of the given deltas. The deltas of the current snapshot
+     * that were not folded into the new snapshot are carried over to it. Once the new snapshot has been published the
+     * directory of each folded delta is deleted, as soon as no reader holds an index containing it, see
+     * {@link #acquireGraphIndex()}.
+     *
+     * @param newGraphIndex  the index of the new snapshot
+     * @param foldedDeltaIds the ids of the deltas whose data is contained in the new snapshot
+     * @throws StoreException if the list of deltas could not be written
+     */
+    public synchronized void setGraphIndex(final GraphIndex newGraphIndex, final Set<Long> foldedDeltaIds) throws StoreException {
+        final List<GraphIndex> deltas = new ArrayList<>();
+        final List<Long> foldedDeltas = new ArrayList<>();
+        if (null != graphIndex) {
+            for (final GraphIndex delta : graphIndex.getDeltas()) {
+                if (foldedDeltaIds.contains(delta.getSnapshotTimestamp())) {
+                    foldedDeltas.add(delta.getSnapshotTimestamp());
+                } else {
+                    deltas.add(delta);
+                }
+            }
+        }
+        if (!deltas.isEmpty()) {
+            writeDeltaList(newGraphIndex.getSnapshotTimestamp(), deltas);
+        }
+        this.graphIndex = newGraphIndex.withDeltas(deltas);
+        final List<Long> unreadDeltas = new ArrayList<>();
+        for (final long deltaId : foldedDeltas) {
+            if (deltaReaders.containsKey(deltaId)) {
+                foldedDeltasToDelete.add(deltaId);
+            } else {
+                unreadDeltas.add(deltaId);
+            }
+        }
+        deleteDeltas(unreadDeltas);
+    }
+
+    /**
+     * Gets the current index for a reader that may read the files of its deltas later. The deltas' directories are
+     * not deleted until the index is released with {@link #releaseGraphIndex(GraphIndex)}.
+     *
+     * @return the current index, or null if the graph does not contain a snapshot
+     */
+    public synchronized GraphIndex acquireGraphIndex() {
+        if (null != graphIndex) {
+            for (final GraphIndex delta : graphIndex.getDeltas()) {
+                deltaReaders.merge(delta.getSnapshotTimestamp(), 1, Integer::sum);
+            }
+        }
+        return graphIndex;
+    }
+
+    /**
+     * Releases an index obtained from {@link #acquireGraphIndex()}, deleting the directories of any of its deltas that
+     * have been folded into a snapshot and are no longer held by another reader.
+     *
+     * @param index the index to release, may be null
+     */
+    public synchronized void releaseGraphIndex(final GraphIndex index) {
+        if (null == index) {
+            return;
+        }
+        final List<Long> unreadDeltas = new ArrayList<>();
+        for (final GraphIndex delta : index.getDeltas()) {
+            final long deltaId = delta.getSnapshotTimestamp();
+            if (null == deltaReaders.computeIfPresent(deltaId, (id, readers) -> readers > 1 ? readers - 1 : null)
+                    && foldedDeltasToDelete.remove(deltaId)) {
+                unreadDeltas.add(deltaId);
+            }
+        }
+        deleteDeltas(unreadDeltas);
+    }
+
+    /**
+     * Adds a delta to the current snapshot. The delta's data must already have been written to
+     * {@link #getDeltasDir()}/&lt;id&gt;, where the id is the delta index's snapshot timestamp.
+     *
+     * @param delta the index of the delta
+     * @return the number of deltas the current snapshot now has
+     * @throws StoreException if there is no snapshot or the list of deltas could not be written
+     */
+    public synchronized int addDelta(final GraphIndex delta) throws StoreException {
+        if (null == graphIndex) {
+            throw new StoreException("A delta can only be added once the graph contains a snapshot");
+        }
+        final List<GraphIndex> deltas = new ArrayList<>(graphIndex.getDeltas());
+        deltas.add(delta);
+        writeDeltaList(graphIndex.getSnapshotTimestamp(), deltas);
+        graphIndex = graphIndex.withDeltas(deltas);
+        return deltas.size();
+    }
+
+    /**
+     * Gets a new id for a delta. Ids are increasing timestamps.
+     *
+     * @return the delta id.
+     */
+    public synchronized long nextDeltaId() {
+        lastDeltaId = Math.max(System.currentTimeMillis(), lastDeltaId + 1);
+        return lastDeltaId;
+    }
+
+    /**
+     * Runs the compaction of the deltas in the background, unless a compaction is already waiting to run.
+     *
+     * @param compaction the compaction to run
+     */
+    public void submitCompaction(final Runnable compaction) {
+        if (compactionPending.compareAndSet(false, true)) {
+            getCompactionExecutorService().submit(() -> {
+                compactionPending.set(false);
+                compaction.run();
+            });
+        }
+    }
+
+    private synchronized ExecutorService getCompactionExecutorService() {
+        if (null == compactionExecutorService) {
+            final ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                    .setNameFormat("parquet-compaction-" + getGraphId() + "-%d")
+                    .setDaemon(true)
+                    .build();
+            compactionExecutorService = Executors.newSingleThreadExecutor(threadFactory);
+        }
+        return compactionExecutorService;
     }
 
     public GraphIndex getGraphIndex() {
@@ -216,20 +403,75 @@ public class ParquetStore extends Store {
         final String rootDir = getDataDir();
         try {
             if (fs.exists(new Path(rootDir))) {
-                graphIndex = new GraphIndex();
+                final GraphIndex newGraphIndex = new GraphIndex();
                 final long snapshot = getLatestSnapshot(rootDir);
-                graphIndex.readGroups(schemaUtils, rootDir + "/" + snapshot, fs);
-                graphIndex.setSnapshotTimestamp(snapshot);
+                newGraphIndex.readGroups(schemaUtils, rootDir + "/" + snapshot, fs);
+                newGraphIndex.setSnapshotTimestamp(snapshot);
+                final List<GraphIndex> deltas = new ArrayList<>();
+                for (final long deltaId : readDeltaList(snapshot)) {
+                    final GraphIndex delta = new GraphIndex();
+                    delta.readGroups(schemaUtils, getDeltasDir() + "/" + deltaId, fs);
+                    delta.setSnapshotTimestamp(deltaId);
+                    deltas.add(delta);
+                    lastDeltaId = Math.max(lastDeltaId, deltaId);
+                }
+                graphIndex = newGraphIndex.withDeltas(deltas);
             }
         } catch (final IOException e) {
             throw new StoreException(e.getMessage());
         }
     }
 
+    // The new snapshot has already been published, so failing to delete a folded delta only leaves unused files.
+    private void deleteDeltas(final List<Long> deltaIds) {
+        for (final long deltaId : deltaIds) {
+            final Path deltaDir = new Path(getDeltasDir() + "/" + deltaId);
+            try {
+                fs.delete(deltaDir, true);
+                LOGGER.debug("Folded delta directory '{}' has been deleted.", deltaDir);
+            } catch (final IOException e) {
+                LOGGER.warn("Failed to delete the folded delta directory '{}'", deltaDir, e);
+            }
+        }
+    }
+
+    // The ids of a snapshot's deltas are written one per line, in the order they were added, to a file in the
+    // snapshot's directory. Rewriting this file is what publishes a delta.
+    private void writeDeltaList(final long snapshot, final List<GraphIndex> deltas) throws StoreException {
+        final StringBuilder ids = new StringBuilder();
+        for (final GraphIndex delta : deltas) {
+            ids.append(delta.getSnapshotTimestamp()).append('\n');
+        }
+        final Path path = new Path(getDataDir() + "/" + snapshot + "/" + ParquetStoreConstants.DELTA_LIST);
+        try (final FSDataOutputStream out = fs.create(path, true)) {
+            out.write(ids.toString().getBytes(CommonConstants.UTF_8));
+        } catch (final IOException e) {
+            throw new StoreException("Failed to write the list of deltas to " + path, e);
+        }
+    }
+
+    private List<Long> readDeltaList(final long snapshot) throws IOException {
+        final List<Long> deltaIds = new ArrayList<>();
+        final Path path = new Path(getDataDir() + "/" + snapshot + "/" + ParquetStoreConstants.DELTA_LIST);
+        if (fs.exists(path)) {
+            try (final FSDataInputStream in = fs.open(path)) {
+                for (final String line : IOUtils.readLines(in, CommonConstants.UTF_8)) {
+                    if (!line.trim().isEmpty()) {
+                        deltaIds.add(Long.parseLong(line.trim()));
+                    }
+                }
+            }
+        }
+        return deltaIds;
+    }
+
     private long getLatestSnapshot(final String rootDir) throws StoreException {
         long latestSnapshot = 0L;
         try {
             for (final FileStatus status : fs.listStatus(new Path(rootDir))) {
+                if (ParquetStoreConstants.DELTAS.equals(status.getPath().getName())) {
+                    continue;
+                }
                 final long currentSnapshot = Long.parseLong(status.getPath().getName());
                 if (latestSnapshot < currentSnapshot) {
                     latestSnapshot = currentSnapshot;
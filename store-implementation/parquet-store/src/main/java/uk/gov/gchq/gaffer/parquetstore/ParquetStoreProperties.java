@@ -46,6 +46,19 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     public static final String PARQUET_ADD_ELEMENTS_OUTPUT_FILES_PER_GROUP = "parquet.add_elements.output_files_per_group";
     public static final String SPARK_MASTER = "spark.master";
     public static final String PARQUET_SKIP_VALIDATION = "parquet.skip_validation";
+    public static final String PARQUET_ADD_ELEMENTS_SINGLE_PASS = "parquet.add_elements.single_pass";
+    public static final String PARQUET_SPLIT_POINTS_RESERVOIR_SIZE = "parquet.add_elements.split_points.reservoir_size";
+    public static final String PARQUET_ADD_ELEMENTS_SPOOL_DIR = "parquet.add_elements.spool.dir";
+    public static final String PARQUET_ADD_ELEMENTS_INCREMENTAL = "parquet.add_elements.incremental";
+    public static final String PARQUET_ADD_ELEMENTS_INCREMENTAL_MAX_DELTAS = "parquet.add_elements.incremental.max_deltas";
+    public static final String PARQUET_VECTORISED_READ = "parquet.get_elements.vectorised_read";
+    public static final String PARQUET_READER_THREADS = "parquet.get_elements.reader_threads";
+    public static final String PARQUET_READER_MAX_CONCURRENT_FILES = "parquet.get_elements.max_concurrent_files";
+    public static final String PARQUET_READER_QUEUE_SIZE = "parquet.get_elements.queue_size";
+    public static final String PARQUET_READER_ORDERED_OUTPUT = "parquet.get_elements.ordered_output";
+    public static final String PARQUET_READER_ABANDON_TIMEOUT = "parquet.get_elements.abandon_timeout_millis";
+    public static final String PARQUET_INDEX_BLOOM_FILTER = "parquet.add_elements.index.bloom_filter";
+    public static final String PARQUET_INDEX_BLOOM_FILTER_FALSE_POSITIVE_RATE = "parquet.add_elements.index.bloom_filter.false_positive_rate";
 
     // Default values - NB No default values for DATA_DIR or TEMP_FILES_DIR to
     // avoid the inadvertent storage of data in unexpected folders.
@@ -58,6 +71,16 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     private static final String PARQUET_ADD_ELEMENTS_OUTPUT_FILES_PER_GROUP_DEFAULT = "10";
     private static final String SPARK_MASTER_DEFAULT = "local[*]";
     private static final String PARQUET_SKIP_VALIDATION_DEFAULT = "false";
+    public static final String PARQUET_ADD_ELEMENTS_SINGLE_PASS_DEFAULT = "false";
+    private static final String PARQUET_SPLIT_POINTS_RESERVOIR_SIZE_DEFAULT = "100000";
+    public static final String PARQUET_ADD_ELEMENTS_INCREMENTAL_DEFAULT = "false";
+    private static final String PARQUET_ADD_ELEMENTS_INCREMENTAL_MAX_DELTAS_DEFAULT = "10";
+    public static final String PARQUET_VECTORISED_READ_DEFAULT = "false";
+    private static final String PARQUET_READER_QUEUE_SIZE_DEFAULT = "10000";
+    public static final String PARQUET_READER_ORDERED_OUTPUT_DEFAULT = "false";
+    private static final String PARQUET_READER_ABANDON_TIMEOUT_DEFAULT = "300000";
+    public static final String PARQUET_INDEX_BLOOM_FILTER_DEFAULT = "false";
+    private static final String PARQUET_INDEX_BLOOM_FILTER_FALSE_POSITIVE_RATE_DEFAULT = "0.01";
     private static final long serialVersionUID = 7695540336792378185L;
 
     public ParquetStoreProperties() {
@@ -186,4 +209,176 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     public void setSortBySplitsOnIngest(final boolean sortBySplits) {
         set(PARQUET_SORT_BY_SPLITS_ON_INGEST, String.valueOf(sortBySplits));
     }
+
+    /**
+     * If true then the input to an AddElements operation is read only once. The split points for every group are
+     * sampled with a fixed size reservoir while the input is spooled to a local temporary file, and the spooled
+     * elements are then written out, rather than re-reading the input once per group.
+     *
+     * @return true if elements should be added in a single pass of the input.
+     */
+    public boolean getSinglePassAddElements() {
+        return Boolean.parseBoolean(get(PARQUET_ADD_ELEMENTS_SINGLE_PASS, PARQUET_ADD_ELEMENTS_SINGLE_PASS_DEFAULT));
+    }
+
+    public void setSinglePassAddElements(final boolean singlePass) {
+        set(PARQUET_ADD_ELEMENTS_SINGLE_PASS, String.valueOf(singlePass));
+    }
+
+    public int getSplitPointsReservoirSize() {
+        return Integer.parseInt(get(PARQUET_SPLIT_POINTS_RESERVOIR_SIZE, PARQUET_SPLIT_POINTS_RESERVOIR_SIZE_DEFAULT));
+    }
+
+    public void setSplitPointsReservoirSize(final int reservoirSize) {
+        set(PARQUET_SPLIT_POINTS_RESERVOIR_SIZE, String.valueOf(reservoirSize));
+    }
+
+    /**
+     * The local directory that the input is spooled to when adding elements in a single pass. Defaults to the
+     * java.io.tmpdir directory.
+     *
+     * @return The local spool directory.
+     */
+    public String getAddElementsSpoolDir() {
+        return get(PARQUET_ADD_ELEMENTS_SPOOL_DIR, System.getProperty("java.io.tmpdir"));
+    }
+
+    public void setAddElementsSpoolDir(final String spoolDir) {
+        set(PARQUET_ADD_ELEMENTS_SPOOL_DIR, spoolDir);
+    }
+
+    /**
+     * If true then get elements operations read each Parquet row group into column batches and apply the filters to
+     * the columns, only materialising the elements that pass, rather than materialising every record.
+     *
+     * @return true if the vectorised reader should be used.
+     */
+    public boolean getVectorisedRead() {
+        return Boolean.parseBoolean(get(PARQUET_VECTORISED_READ, PARQUET_VECTORISED_READ_DEFAULT));
+    }
+
+    public void setVectorisedRead(final boolean vectorisedRead) {
+        set(PARQUET_VECTORISED_READ, String.valueOf(vectorisedRead));
+    }
+
+    /**
+     * If true then, once the graph contains data, each {@code AddElements} operation writes its elements as a delta:
+     * a small set of sorted and aggregated files with their own index. Queries merge the deltas with the current
+     * snapshot, aggregating elements with the same key, and the deltas are compacted into a new snapshot in the
+     * background once there are {@link #getIncrementalAddElementsMaxDeltas()} of them. The elements of the deltas
+     * that match a query are merged in memory, so the deltas should be kept small.
+     *
+     * @return true if elements should be added incrementally.
+     */
+    public boolean getIncrementalAddElements() {
+        return Boolean.parseBoolean(get(PARQUET_ADD_ELEMENTS_INCREMENTAL, PARQUET_ADD_ELEMENTS_INCREMENTAL_DEFAULT));
+    }
+
+    public void setIncrementalAddElements(final boolean incremental) {
+        set(PARQUET_ADD_ELEMENTS_INCREMENTAL, String.valueOf(incremental));
+    }
+
+    public int getIncrementalAddElementsMaxDeltas() {
+        return Integer.parseInt(get(PARQUET_ADD_ELEMENTS_INCREMENTAL_MAX_DELTAS, PARQUET_ADD_ELEMENTS_INCREMENTAL_MAX_DELTAS_DEFAULT));
+    }
+
+    public void setIncrementalAddElementsMaxDeltas(final int maxDeltas) {
+        set(PARQUET_ADD_ELEMENTS_INCREMENTAL_MAX_DELTAS, String.valueOf(maxDeltas));
+    }
+
+    /**
+     * The number of threads in the executor that is shared by all queries to read Parquet files. Defaults to the
+     * number of threads available.
+     *
+     * @return the number of reader threads.
+     */
+    public int getReaderThreads() {
+        return Integer.parseInt(get(PARQUET_READER_THREADS, String.valueOf(getThreadsAvailable())));
+    }
+
+    public void setReaderThreads(final int readerThreads) {
+        set(PARQUET_READER_THREADS, String.valueOf(readerThreads));
+    }
+
+    /**
+     * The maximum number of files a single query reads at the same time, so that one large query cannot occupy every
+     * reader thread. Defaults to half the number of reader threads, and is at least 1.
+     *
+     * @return the maximum number of files read concurrently by a query.
+     */
+    public int getReaderMaxConcurrentFiles() {
+        return Integer.parseInt(get(PARQUET_READER_MAX_CONCURRENT_FILES, String.valueOf(Math.max(1, getReaderThreads() / 2))));
+    }
+
+    public void setReaderMaxConcurrentFiles(final int maxConcurrentFiles) {
+        set(PARQUET_READER_MAX_CONCURRENT_FILES, String.valueOf(maxConcurrentFiles));
+    }
+
+    /**
+     * The maximum number of elements a query buffers between the threads reading files and the consumer of the
+     * results. Readers wait when the buffer is full.
+     *
+     * @return the size of the buffer of retrieved elements.
+     */
+    public int getReaderQueueSize() {
+        return Integer.parseInt(get(PARQUET_READER_QUEUE_SIZE, PARQUET_READER_QUEUE_SIZE_DEFAULT));
+    }
+
+    public void setReaderQueueSize(final int queueSize) {
+        set(PARQUET_READER_QUEUE_SIZE, String.valueOf(queueSize));
+    }
+
+    /**
+     * The number of milliseconds a reader waits for the consumer of a query's results to make progress before it
+     * abandons reading its file, so that a query whose results are never read to the end or closed does not hold on
+     * to a reader thread. The consumer is then given an exception if it does resume.
+     *
+     * @return the number of milliseconds to wait for the consumer.
+     */
+    public long getReaderAbandonTimeoutMillis() {
+        return Long.parseLong(get(PARQUET_READER_ABANDON_TIMEOUT, PARQUET_READER_ABANDON_TIMEOUT_DEFAULT));
+    }
+
+    public void setReaderAbandonTimeoutMillis(final long abandonTimeoutMillis) {
+        set(PARQUET_READER_ABANDON_TIMEOUT, String.valueOf(abandonTimeoutMillis));
+    }
+
+    /**
+     * If true then the elements retrieved by a query are returned a file at a time in the order of the files' paths,
+     * rather than in the order they are read. As each group's files are sorted by vertex, or by source and
+     * destination, the results of a query with sorted seeds are then returned in the order of the seeds within each
+     * group.
+     *
+     * @return true if the results should be returned in file order.
+     */
+    public boolean getReaderOrderedOutput() {
+        return Boolean.parseBoolean(get(PARQUET_READER_ORDERED_OUTPUT, PARQUET_READER_ORDERED_OUTPUT_DEFAULT));
+    }
+
+    public void setReaderOrderedOutput(final boolean orderedOutput) {
+        set(PARQUET_READER_ORDERED_OUTPUT, String.valueOf(orderedOutput));
+    }
+
+    /**
+     * If true then the index generated after adding elements contains a bloom filter of the vertex, source and
+     * destination values in each row group, in addition to each row group's minimum and maximum values. This allows
+     * seeded queries to skip row groups whose range covers a seed that they do not contain.
+     *
+     * @return true if bloom filters should be added to the index.
+     */
+    public boolean getIndexBloomFilter() {
+        return Boolean.parseBoolean(get(PARQUET_INDEX_BLOOM_FILTER, PARQUET_INDEX_BLOOM_FILTER_DEFAULT));
+    }
+
+    public void setIndexBloomFilter(final boolean bloomFilter) {
+        set(PARQUET_INDEX_BLOOM_FILTER, String.valueOf(bloomFilter));
+    }
+
+    public double getIndexBloomFilterFalsePositiveRate() {
+        return Double.parseDouble(get(PARQUET_INDEX_BLOOM_FILTER_FALSE_POSITIVE_RATE, PARQUET_INDEX_BLOOM_FILTER_FALSE_POSITIVE_RATE_DEFAULT));
+    }
+
+    public void setIndexBloomFilterFalsePositiveRate(final double falsePositiveRate) {
+        set(PARQUET_INDEX_BLOOM_FILTER_FALSE_POSITIVE_RATE, String.valueOf(falsePositiveRate));
+    }
 }
@@ -17,21 +17,27 @@ package uk.gov.gchq.gaffer.parquetstore.index;
 
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.util.bloom.BloomFilter;
 import org.apache.parquet.bytes.BytesUtils;
 
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.store.StoreException;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
 /**
  * This class is used to store a file-based index for a single gaffer column, i.e. it stores a set of
  * {@link MinValuesWithPath}s. Each {@link MinValuesWithPath} contains a path to a file that has been sorted by the column this index
- * is for and contains the min and max parquet objects from that parquet file.
+ * is for and contains the min and max parquet objects from that parquet file. The {@link RowGroupIndex}s of each file,
+ * if they were generated, are written to a separate file so that indices written before they existed can still be read.
  */
 public class ColumnIndex {
     private static final Comparator<MinValuesWithPath> BY_PATH =
@@ -61,19 +67,8 @@ public class ColumnIndex {
     protected void write(final FSDataOutputStream outputFile) throws StoreException {
         try {
             for (final MinValuesWithPath minValuesWithPath : minValuesWithPaths) {
-                final Object[] min = minValuesWithPath.getMin();
                 final String path = minValuesWithPath.getPath();
-                outputFile.writeInt(min.length);
-                for (int colIndex = 0; colIndex < min.length; colIndex++) {
-                    final Object minCol = min[colIndex];
-                    final String minColType = minCol.getClass().getSimpleName();
-                    final byte[] columnType = StringUtil.toBytes(minColType);
-                    outputFile.writeInt(columnType.length);
-                    outputFile.write(columnType);
-                    final byte[] minValue = serialiseObject(min[colIndex]);
-                    outputFile.writeInt(minValue.length);
-                    outputFile.write(minValue);
-                }
+                writeObjects(minValuesWithPath.getMin(), outputFile);
                 byte[] filePath = StringUtil.toBytes(path);
                 outputFile.writeInt(filePath.length);
                 outputFile.write(filePath);
@@ -86,6 +81,55 @@ public class ColumnIndex {
         }
     }
 
+    protected void writeRowGroups(final FSDataOutputStream outputFile) throws StoreException {
+        try {
+            for (final MinValuesWithPath minValuesWithPath : minValuesWithPaths) {
+                final List<RowGroupIndex> rowGroups = minValuesWithPath.getRowGroups();
+                if (null != rowGroups) {
+                    final byte[] filePath = StringUtil.toBytes(minValuesWithPath.getPath());
+                    outputFile.writeInt(filePath.length);
+                    outputFile.write(filePath);
+                    outputFile.writeInt(rowGroups.size());
+                    for (final RowGroupIndex rowGroup : rowGroups) {
+                        outputFile.writeInt(rowGroup.getRowGroup());
+                        writeObjects(rowGroup.getMin(), outputFile);
+                        writeObjects(rowGroup.getMax(), outputFile);
+                        final BloomFilter bloomFilter = rowGroup.getBloomFilter();
+                        outputFile.writeBoolean(null != bloomFilter);
+                        if (null != bloomFilter) {
+                            bloomFilter.write(outputFile);
+                        }
+                    }
+                }
+            }
+            outputFile.hsync();
+            outputFile.close();
+        } catch (final IOException e) {
+            throw new StoreException(e.getMessage());
+        }
+    }
+
+    public boolean hasRowGroups() {
+        for (final MinValuesWithPath minValuesWithPath : minValuesWithPaths) {
+            if (null != minValuesWithPath.getRowGroups()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeObjects(final Object[] objects, final FSDataOutputStream outputFile) throws IOException, StoreException {
+        outputFile.writeInt(objects.length);
+        for (final Object object : objects) {
+            final byte[] columnType = StringUtil.toBytes(object.getClass().getSimpleName());
+            outputFile.writeInt(columnType.length);
+            outputFile.write(columnType);
+            final byte[] value = serialiseObject(object);
+            outputFile.writeInt(value.length);
+            outputFile.write(value);
+        }
+    }
+
     private byte[] serialiseObject(final Object value) throws StoreException {
         final String objectType = value.getClass().getSimpleName();
         if ("Long".equals(objectType)) {
@@ -108,15 +152,7 @@ public class ColumnIndex {
     public void read(final FSDataInputStream reader) throws StoreException {
         try {
             while (reader.available() > 0) {
-                final int numOfCols = reader.readInt();
-                Object[] min = new Object[numOfCols];
-                for (int i = 0; i < numOfCols; i++) {
-                    final int colTypeLength = reader.readInt();
-                    final byte[] colType = readBytes(colTypeLength, reader);
-                    final int minLength = reader.readInt();
-                    final byte[] minBytes = readBytes(minLength, reader);
-                    min[i] = deserialiseColumn(colType, minBytes);
-                }
+                final Object[] min = readObjects(reader);
                 final int filePathLength = reader.readInt();
                 final byte[] filePath = readBytes(filePathLength, reader);
                 add(new MinValuesWithPath(min, StringUtil.toString(filePath)));
@@ -127,6 +163,52 @@ public class ColumnIndex {
         }
     }
 
+    public void readRowGroups(final FSDataInputStream reader) throws StoreException {
+        try {
+            final Map<String, MinValuesWithPath> pathToMinValues = new HashMap<>();
+            for (final MinValuesWithPath minValuesWithPath : minValuesWithPaths) {
+                pathToMinValues.put(minValuesWithPath.getPath(), minValuesWithPath);
+            }
+            while (reader.available() > 0) {
+                final int filePathLength = reader.readInt();
+                final String filePath = StringUtil.toString(readBytes(filePathLength, reader));
+                final int numberOfRowGroups = reader.readInt();
+                final List<RowGroupIndex> rowGroups = new ArrayList<>(numberOfRowGroups);
+                for (int i = 0; i < numberOfRowGroups; i++) {
+                    final int rowGroup = reader.readInt();
+                    final Object[] min = readObjects(reader);
+                    final Object[] max = readObjects(reader);
+                    BloomFilter bloomFilter = null;
+                    if (reader.readBoolean()) {
+                        bloomFilter = new BloomFilter();
+                        bloomFilter.readFields(reader);
+                    }
+                    rowGroups.add(new RowGroupIndex(rowGroup, min, max, bloomFilter));
+                }
+                final MinValuesWithPath minValuesWithPath = pathToMinValues.get(filePath);
+                if (null != minValuesWithPath) {
+                    minValuesWithPath.setRowGroups(rowGroups);
+                }
+            }
+            reader.close();
+        } catch (final IOException e) {
+            throw new StoreException(e.getMessage());
+        }
+    }
+
+    private Object[] readObjects(final FSDataInputStream reader) throws IOException, StoreException {
+        final int numOfCols = reader.readInt();
+        final Object[] objects = new Object[numOfCols];
+        for (int i = 0; i < numOfCols; i++) {
+            final int colTypeLength = reader.readInt();
+            final byte[] colType = readBytes(colTypeLength, reader);
+            final int valueLength = reader.readInt();
+            final byte[] valueBytes = readBytes(valueLength, reader);
+            objects[i] = deserialiseColumn(colType, valueBytes);
+        }
+        return objects;
+    }
+
     private byte[] readBytes(final int length, final FSDataInputStream reader) throws StoreException {
         try {
             final byte[] bytes = new byte[length];
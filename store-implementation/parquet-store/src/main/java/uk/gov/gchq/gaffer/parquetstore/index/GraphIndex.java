@@ -21,8 +21,10 @@ import uk.gov.gchq.gaffer.parquetstore.utils.ParquetStoreConstants;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.gaffer.store.StoreException;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -31,13 +33,23 @@ import java.util.Set;
  * which is a set of {@link ColumnIndex}s. Each {@link ColumnIndex} contains a path to a file that contains data for
  * that group along with minimum and maximum values of the indexed columns within that file. This allows queries for
  * particular values of the indexed columns to skip files that do not contain relevant data.
+ * <p>
+ * The index of a snapshot also holds the indices of the deltas that have been added to it incrementally, in the order
+ * they were added. The snapshot timestamp of a delta's index is the delta's id.
  */
 public class GraphIndex {
     private final Map<String, GroupIndex> groupToIndex;
+    private final List<GraphIndex> deltas;
     private long snapshot;
 
     public GraphIndex() {
-        this.groupToIndex = new HashMap<>();
+        this(new HashMap<>(), Collections.emptyList(), 0L);
+    }
+
+    private GraphIndex(final Map<String, GroupIndex> groupToIndex, final List<GraphIndex> deltas, final long snapshot) {
+        this.groupToIndex = groupToIndex;
+        this.deltas = deltas;
+        this.snapshot = snapshot;
     }
 
     public void add(final String group, final GroupIndex groupIndex) {
@@ -63,6 +75,20 @@ public class GraphIndex {
         snapshot = snapshotTimestamp;
     }
 
+    public List<GraphIndex> getDeltas() {
+        return deltas;
+    }
+
+    /**
+     * Creates an index of the same snapshot with the given deltas.
+     *
+     * @param newDeltas the indices of the deltas, in the order they were added
+     * @return the new index
+     */
+    public GraphIndex withDeltas(final List<GraphIndex> newDeltas) {
+        return new GraphIndex(groupToIndex, Collections.unmodifiableList(new ArrayList<>(newDeltas)), snapshot);
+    }
+
     public void writeGroups(final String rootDir, final FileSystem fs) throws StoreException {
         for (final Map.Entry<String, GroupIndex> groupIndexEntry : groupToIndex.entrySet()) {
             final String group = groupIndexEntry.getKey();
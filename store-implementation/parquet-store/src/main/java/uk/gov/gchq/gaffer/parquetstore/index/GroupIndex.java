@@ -64,6 +64,9 @@ public class GroupIndex {
                 final String indexDir = ParquetStore.getGroupDirectory(group, column, rootDir) + "/";
                 final Path path = new Path(indexDir + ParquetStoreConstants.INDEX);
                 colIndex.write(fs.create(path));
+                if (colIndex.hasRowGroups()) {
+                    colIndex.writeRowGroups(fs.create(new Path(indexDir + ParquetStoreConstants.ROW_GROUP_INDEX)));
+                }
             }
         } catch (final IOException e) {
             throw new StoreException(e.getMessage());
@@ -78,6 +81,10 @@ public class GroupIndex {
                 if (fs.exists(path)) {
                     final ColumnIndex colIndex = new ColumnIndex();
                     colIndex.read(fs.open(path));
+                    final Path rowGroupPath = new Path(indexDir + ParquetStoreConstants.ROW_GROUP_INDEX);
+                    if (fs.exists(rowGroupPath)) {
+                        colIndex.readRowGroups(fs.open(rowGroupPath));
+                    }
                     if (colIndex.getIterator().hasNext()) {
                         add(column, colIndex);
                     }
@@ -20,15 +20,21 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import uk.gov.gchq.gaffer.store.StoreException;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * This class is used to store a single parquet file's path along with the first rows parquet objects that are contained in that file
  * for a specific gaffer column, i.e. if the vertex was a {@link uk.gov.gchq.gaffer.types.TypeValue} object then the Min would consist of two Strings,
- * the first representing the type and the second representing the value.
+ * the first representing the type and the second representing the value. It may also store a {@link RowGroupIndex} for
+ * each row group in the file, which allows a seed to be mapped to the row groups that might contain it.
  */
 public class MinValuesWithPath {
     private final Object[] min;
     private final String path;
+    private List<RowGroupIndex> rowGroups;
 
     @SuppressFBWarnings(value = "EI_EXPOSE_REP2",
             justification = "This method is only used in this package and users will not mutate the values returned.")
@@ -47,6 +53,33 @@ public class MinValuesWithPath {
         return path;
     }
 
+    public List<RowGroupIndex> getRowGroups() {
+        return null == rowGroups ? null : Collections.unmodifiableList(rowGroups);
+    }
+
+    public void setRowGroups(final List<RowGroupIndex> rowGroups) {
+        this.rowGroups = rowGroups;
+    }
+
+    /**
+     * Uses the row group indices, if there are any, to find the row groups of the file that might contain the value.
+     *
+     * @param value the parquet objects representing a value of the indexed column
+     * @return the ordinals of the row groups that might contain the value, or null if the file has no row group index
+     */
+    public Set<Integer> getRowGroupsThatMightContain(final Object[] value) {
+        if (null == rowGroups) {
+            return null;
+        }
+        final Set<Integer> matches = new HashSet<>();
+        for (final RowGroupIndex rowGroup : rowGroups) {
+            if (rowGroup.mightContain(value)) {
+                matches.add(rowGroup.getRowGroup());
+            }
+        }
+        return matches;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder();
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.index;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.apache.hadoop.util.bloom.Key;
+import org.apache.hadoop.util.hash.Hash;
+import org.apache.parquet.bytes.BytesUtils;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.parquetstore.utils.SeedComparator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * This class is used to store the index of a single row group within a parquet file that has been sorted by the
+ * indexed gaffer column. It contains the minimum and maximum parquet objects of the column in the row group and optionally a
+ * {@link BloomFilter} of every value of the column in the row group, so that seeds can be mapped to the row groups
+ * that might contain them rather than to whole files.
+ */
+public class RowGroupIndex {
+    private static final SeedComparator COMPARATOR = new SeedComparator();
+    private final int rowGroup;
+    private final Object[] min;
+    private final Object[] max;
+    private final BloomFilter bloomFilter;
+
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2",
+            justification = "This method is only used in this package and users will not mutate the values returned.")
+    public RowGroupIndex(final int rowGroup, final Object[] min, final Object[] max, final BloomFilter bloomFilter) {
+        this.rowGroup = rowGroup;
+        this.min = min;
+        this.max = max;
+        this.bloomFilter = bloomFilter;
+    }
+
+    public int getRowGroup() {
+        return rowGroup;
+    }
+
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP",
+            justification = "This method is only used in this package and users will not mutate the values returned.")
+    public Object[] getMin() {
+        return min;
+    }
+
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP",
+            justification = "This method is only used in this package and users will not mutate the values returned.")
+    public Object[] getMax() {
+        return max;
+    }
+
+    public BloomFilter getBloomFilter() {
+        return bloomFilter;
+    }
+
+    /**
+     * Tests whether this row group might contain rows with the given parquet objects in the indexed column.
+     *
+     * @param value the parquet objects representing a value of the indexed column
+     * @return false if the row group definitely does not contain the value
+     */
+    public boolean mightContain(final Object[] value) {
+        if (COMPARATOR.compare(min, value) > 0 || COMPARATOR.compare(max, value) < 0) {
+            return false;
+        }
+        return null == bloomFilter || bloomFilter.membershipTest(toKey(value));
+    }
+
+    /**
+     * Creates a {@link BloomFilter} sized to achieve the given false positive rate for the given number of values.
+     *
+     * @param numberOfValues    the number of values that will be added
+     * @param falsePositiveRate the desired false positive rate
+     * @return the new bloom filter
+     */
+    public static BloomFilter createBloomFilter(final int numberOfValues, final double falsePositiveRate) {
+        final int values = Math.max(1, numberOfValues);
+        final int size = Math.max(64, (int) (-values * Math.log(falsePositiveRate) / Math.pow(Math.log(2.0), 2.0)));
+        final int numberOfHashes = Math.max(1, (int) Math.round((double) size / values * Math.log(2.0)));
+        return new BloomFilter(size, numberOfHashes, Hash.MURMUR_HASH);
+    }
+
+    /**
+     * Converts the parquet objects representing a value of the indexed column to the {@link Key} that is added to the
+     * bloom filter. Integral and floating point numbers are widened so the key does not depend on the exact type the
+     * serialiser produced.
+     *
+     * @param value the parquet objects
+     * @return the bloom filter key
+     */
+    public static Key toKey(final Object[] value) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            for (final Object object : value) {
+                final byte[] objectBytes;
+                if (null == object) {
+                    objectBytes = new byte[0];
+                } else if (object instanceof byte[]) {
+                    objectBytes = (byte[]) object;
+                } else if (object instanceof String) {
+                    objectBytes = StringUtil.toBytes((String) object);
+                } else if (object instanceof Boolean) {
+                    objectBytes = BytesUtils.booleanToBytes((Boolean) object);
+                } else if (object instanceof Float || object instanceof Double) {
+                    objectBytes = BytesUtils.longToBytes(Double.doubleToLongBits(((Number) object).doubleValue()));
+                } else if (object instanceof Number) {
+                    objectBytes = BytesUtils.longToBytes(((Number) object).longValue());
+                } else {
+                    objectBytes = StringUtil.toBytes(object.toString());
+                }
+                out.writeInt(objectBytes.length);
+                out.write(objectBytes);
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException("Unable to create the bloom filter key", e);
+        }
+        return new Key(bytes.toByteArray());
+    }
+
+    @Override
+    public String toString() {
+        return "RowGroupIndex{ rowGroup=" + rowGroup
+                + ", min=" + Arrays.toString(min)
+                + ", max=" + Arrays.toString(max)
+                + ", hasBloomFilter=" + (null != bloomFilter) + " }";
+    }
+}
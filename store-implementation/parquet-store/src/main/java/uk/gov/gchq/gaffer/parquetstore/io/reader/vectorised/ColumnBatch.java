@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.io.reader.vectorised;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@code ColumnBatch} holds the decoded {@link ColumnVector}s for every column of a single Parquet row group, keyed
+ * by the column's dot separated path.
+ */
+public class ColumnBatch {
+    private final int rowGroup;
+    private final int numberOfRows;
+    private final Map<String, ColumnVector> columns;
+
+    public ColumnBatch(final int rowGroup, final int numberOfRows, final Map<String, ColumnVector> columns) {
+        this.rowGroup = rowGroup;
+        this.numberOfRows = numberOfRows;
+        this.columns = columns;
+    }
+
+    /**
+     * Gets the ordinal of the row group within its file that this batch was decoded from.
+     *
+     * @return the row group ordinal
+     */
+    public int getRowGroup() {
+        return rowGroup;
+    }
+
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    public Map<String, ColumnVector> getColumns() {
+        return columns;
+    }
+
+    public ColumnVector getColumn(final String path) {
+        return columns.get(path);
+    }
+
+    /**
+     * Builds the same mapping from Parquet column path to values that the
+     * {@link uk.gov.gchq.gaffer.parquetstore.io.reader.converter.GafferElementConverter} builds for a record, so the row
+     * can be materialised using
+     * {@link uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter#buildElementFromParquetObjects(Map, boolean)}.
+     *
+     * @param row the row
+     * @return the mapping from Parquet column path to the values of the row
+     */
+    public Map<String, Object[]> getParquetObjects(final int row) {
+        return getParquetObjects(row, columns.keySet());
+    }
+
+    /**
+     * Builds the mapping from Parquet column path to values for the given row, only including the provided paths.
+     *
+     * @param row   the row
+     * @param paths the Parquet column paths to include
+     * @return the mapping from Parquet column path to the values of the row
+     */
+    public Map<String, Object[]> getParquetObjects(final int row, final Collection<String> paths) {
+        final Map<String, Object[]> parquetObjects = new HashMap<>(paths.size());
+        for (final String path : paths) {
+            final ColumnVector column = columns.get(path);
+            if (null != column) {
+                final Object[] objects = column.getObjects(row);
+                if (null != objects) {
+                    parquetObjects.put(path, objects);
+                }
+            }
+        }
+        return parquetObjects;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.io.reader.vectorised;
+
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.LogicalInverseRewriter;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
+
+import java.util.Arrays;
+
+/**
+ * Evaluates a Parquet {@link FilterPredicate} against a {@link ColumnBatch} a column at a time, producing a selection
+ * of the rows that pass. As with Parquet's record level filtering, the filter is first rewritten by the
+ * {@link LogicalInverseRewriter} so that it contains no {@link Operators.Not}, e.g. {@code not(lt(x, 1))} becomes
+ * {@code gtEq(x, 1)}, so a null never passes a comparison. A row of a repeated column passes if any of its values
+ * pass.
+ */
+public final class ColumnBatchFilter implements FilterPredicate.Visitor<boolean[]> {
+    private final ColumnBatch batch;
+
+    private ColumnBatchFilter(final ColumnBatch batch) {
+        this.batch = batch;
+    }
+
+    /**
+     * Applies the filter to the batch.
+     *
+     * @param filter the filter to apply, if null then every row is selected
+     * @param batch  the batch to filter
+     * @return an array with an entry for each row in the batch which is true if the row passes the filter
+     */
+    public static boolean[] select(final FilterPredicate filter, final ColumnBatch batch) {
+        if (null == filter) {
+            final boolean[] selected = new boolean[batch.getNumberOfRows()];
+            Arrays.fill(selected, true);
+            return selected;
+        }
+        return LogicalInverseRewriter.rewrite(filter).accept(new ColumnBatchFilter(batch));
+    }
+
+    @Override
+    public <T extends Comparable<T>> boolean[] visit(final Operators.Eq<T> eq) {
+        final T value = eq.getValue();
+        if (null == value) {
+            return select(eq.getColumn(), (column, i) -> false, true);
+        }
+        return select(eq.getColumn(), (column, i) -> 0 == column.compareTo(i, value), false);
+    }
+
+    @Override
+    public <T extends Comparable<T>> boolean[] visit(final Operators.NotEq<T> notEq) {
+        final T value = notEq.getValue();
+        if (null == value) {
+            return select(notEq.getColumn(), (column, i) -> true, false);
+        }
+        return select(notEq.getColumn(), (column, i) -> 0 != column.compareTo(i, value), true);
+    }
+
+    @Override
+    public <T extends Comparable<T>> boolean[] visit(final Operators.Lt<T> lt) {
+        final T value = lt.getValue();
+        return select(lt.getColumn(), (column, i) -> column.compareTo(i, value) < 0, false);
+    }
+
+    @Override
+    public <T extends Comparable<T>> boolean[] visit(final Operators.LtEq<T> ltEq) {
+        final T value = ltEq.getValue();
+        return select(ltEq.getColumn(), (column, i) -> column.compareTo(i, value) <= 0, false);
+    }
+
+    @Override
+    public <T extends Comparable<T>> boolean[] visit(final Operators.Gt<T> gt) {
+        final T value = gt.getValue();
+        return select(gt.getColumn(), (column, i) -> column.compareTo(i, value) > 0, false);
+    }
+
+    @Override
+    public <T extends Comparable<T>> boolean[] visit(final Operators.GtEq<T> gtEq) {
+        final T value = gtEq.getValue();
+        return select(gtEq.getColumn(), (column, i) -> column.compareTo(i, value) >= 0, false);
+    }
+
+    @Override
+    public boolean[] visit(final Operators.And and) {
+        final boolean[] left = and.getLeft().accept(this);
+        final boolean[] right = and.getRight().accept(this);
+        for (int row = 0; row < left.length; row++) {
+            left[row] = left[row] && right[row];
+        }
+        return left;
+    }
+
+    @Override
+    public boolean[] visit(final Operators.Or or) {
+        final boolean[] left = or.getLeft().accept(this);
+        final boolean[] right = or.getRight().accept(this);
+        for (int row = 0; row < left.length; row++) {
+            left[row] = left[row] || right[row];
+        }
+        return left;
+    }
+
+    @Override
+    public boolean[] visit(final Operators.Not not) {
+        throw new IllegalArgumentException("This predicate contains a not! Did you forget to run this predicate through LogicalInverseRewriter? " + not);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> boolean[] visit(final Operators.UserDefined<T, U> udp) {
+        final U predicate = udp.getUserDefinedPredicate();
+        return select(udp.getColumn(), (column, i) -> predicate.keep((T) column.getComparable(i)), predicate.keep(null));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> boolean[] visit(final Operators.LogicalNotUserDefined<T, U> udp) {
+        final U predicate = udp.getUserDefined().getUserDefinedPredicate();
+        return select(udp.getUserDefined().getColumn(), (column, i) -> !predicate.keep((T) column.getComparable(i)), !predicate.keep(null));
+    }
+
+    private boolean[] select(final Operators.Column<?> filterColumn, final ValuePredicate predicate, final boolean nullResult) {
+        final boolean[] selected = new boolean[batch.getNumberOfRows()];
+        final ColumnVector column = batch.getColumn(filterColumn.getColumnPath().toDotString());
+        if (null == column) {
+            Arrays.fill(selected, nullResult);
+            return selected;
+        }
+        for (int row = 0; row < selected.length; row++) {
+            if (column.isNull(row)) {
+                selected[row] = nullResult;
+            } else {
+                final int end = column.getFirstValueIndex(row + 1);
+                for (int i = column.getFirstValueIndex(row); i < end && !selected[row]; i++) {
+                    selected[row] = predicate.test(column, i);
+                }
+            }
+        }
+        return selected;
+    }
+
+    private interface ValuePredicate {
+        boolean test(ColumnVector column, int valueIndex);
+    }
+}
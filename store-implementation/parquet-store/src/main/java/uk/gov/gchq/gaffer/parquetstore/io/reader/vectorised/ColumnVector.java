@@ -0,0 +1,323 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.io.reader.vectorised;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+
+import java.util.Arrays;
+
+/**
+ * A {@code ColumnVector} holds all the values of a single Parquet column for one row group. The values are stored in a
+ * primitive array of the column's type along with the offset of each row's first value, so repeated columns (lists and
+ * maps) can hold any number of values per row and a row with no values represents a null.
+ */
+public final class ColumnVector {
+    private final String path;
+    private final PrimitiveTypeName type;
+    private final boolean utf8;
+    private final int numberOfRows;
+    private final int[] offsets;
+    private int numberOfValues;
+    private int[] ints;
+    private long[] longs;
+    private float[] floats;
+    private double[] doubles;
+    private boolean[] booleans;
+    private Binary[] binaries;
+
+    private ColumnVector(final String path, final PrimitiveTypeName type, final boolean utf8, final int numberOfRows) {
+        this.path = path;
+        this.type = type;
+        this.utf8 = utf8;
+        this.numberOfRows = numberOfRows;
+        this.offsets = new int[numberOfRows + 1];
+        allocate(Math.max(numberOfRows, 1));
+    }
+
+    /**
+     * Decodes all the values from the provided {@link ColumnReader} into a new {@code ColumnVector}.
+     *
+     * @param reader       the reader for the column chunk
+     * @param originalType the original type of the column, used to decide whether binary values are strings
+     * @param numberOfRows the number of rows in the row group
+     * @return the decoded column
+     */
+    public static ColumnVector read(final ColumnReader reader, final OriginalType originalType, final int numberOfRows) {
+        final ColumnDescriptor descriptor = reader.getDescriptor();
+        final ColumnVector vector = new ColumnVector(String.join(".", descriptor.getPath()), descriptor.getType(),
+                OriginalType.UTF8 == originalType, numberOfRows);
+        final int maxDefinitionLevel = descriptor.getMaxDefinitionLevel();
+        final long totalValueCount = reader.getTotalValueCount();
+        int row = -1;
+        for (long i = 0; i < totalValueCount; i++) {
+            if (0 == reader.getCurrentRepetitionLevel()) {
+                row++;
+                vector.offsets[row] = vector.numberOfValues;
+            }
+            if (maxDefinitionLevel == reader.getCurrentDefinitionLevel()) {
+                vector.append(reader);
+            }
+            reader.consume();
+        }
+        for (int r = row + 1; r <= numberOfRows; r++) {
+            vector.offsets[r] = vector.numberOfValues;
+        }
+        return vector;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public PrimitiveTypeName getType() {
+        return type;
+    }
+
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    public int getNumberOfValues() {
+        return numberOfValues;
+    }
+
+    public int getFirstValueIndex(final int row) {
+        return offsets[row];
+    }
+
+    public int getNumberOfValues(final int row) {
+        return offsets[row + 1] - offsets[row];
+    }
+
+    public boolean isNull(final int row) {
+        return offsets[row + 1] == offsets[row];
+    }
+
+    /**
+     * Compares the value at the given index with the provided value, which must be of the type Parquet uses for this
+     * column in its filter predicates.
+     *
+     * @param valueIndex the index of the value
+     * @param value      the value to compare against
+     * @return a negative integer, zero or a positive integer as the value at the index is less than, equal to or
+     * greater than the provided value
+     */
+    @SuppressWarnings("unchecked")
+    public int compareTo(final int valueIndex, final Comparable value) {
+        switch (type) {
+            case INT32:
+                return Integer.compare(ints[valueIndex], (Integer) value);
+            case INT64:
+                return Long.compare(longs[valueIndex], (Long) value);
+            case FLOAT:
+                return Float.compare(floats[valueIndex], (Float) value);
+            case DOUBLE:
+                return Double.compare(doubles[valueIndex], (Double) value);
+            case BOOLEAN:
+                return Boolean.compare(booleans[valueIndex], (Boolean) value);
+            default:
+                return binaries[valueIndex].compareTo((Binary) value);
+        }
+    }
+
+    /**
+     * Gets the value at the given index in the form used by Parquet's filter predicates, i.e. binary values are
+     * returned as {@link Binary}s.
+     *
+     * @param valueIndex the index of the value
+     * @return the value
+     */
+    public Comparable getComparable(final int valueIndex) {
+        switch (type) {
+            case INT32:
+                return ints[valueIndex];
+            case INT64:
+                return longs[valueIndex];
+            case FLOAT:
+                return floats[valueIndex];
+            case DOUBLE:
+                return doubles[valueIndex];
+            case BOOLEAN:
+                return booleans[valueIndex];
+            default:
+                return binaries[valueIndex];
+        }
+    }
+
+    /**
+     * Gets the values of the given row in the same form that the
+     * {@link uk.gov.gchq.gaffer.parquetstore.io.reader.converter.PrimitiveConverter} produces them, i.e. as an array
+     * of the boxed type with binary values converted to {@link String}s or byte arrays.
+     *
+     * @param row the row
+     * @return the values of the row, or null if the row has no values in this column
+     */
+    public Object[] getObjects(final int row) {
+        final int start = offsets[row];
+        final int length = offsets[row + 1] - start;
+        if (0 == length) {
+            return null;
+        }
+        final Object[] objects;
+        switch (type) {
+            case INT32:
+                objects = new Integer[length];
+                for (int i = 0; i < length; i++) {
+                    objects[i] = ints[start + i];
+                }
+                break;
+            case INT64:
+                objects = new Long[length];
+                for (int i = 0; i < length; i++) {
+                    objects[i] = longs[start + i];
+                }
+                break;
+            case FLOAT:
+                objects = new Float[length];
+                for (int i = 0; i < length; i++) {
+                    objects[i] = floats[start + i];
+                }
+                break;
+            case DOUBLE:
+                objects = new Double[length];
+                for (int i = 0; i < length; i++) {
+                    objects[i] = doubles[start + i];
+                }
+                break;
+            case BOOLEAN:
+                objects = new Boolean[length];
+                for (int i = 0; i < length; i++) {
+                    objects[i] = booleans[start + i];
+                }
+                break;
+            default:
+                if (utf8) {
+                    objects = new String[length];
+                    for (int i = 0; i < length; i++) {
+                        objects[i] = binaries[start + i].toStringUsingUTF8();
+                    }
+                } else {
+                    objects = new byte[length][];
+                    for (int i = 0; i < length; i++) {
+                        objects[i] = binaries[start + i].getBytes();
+                    }
+                }
+                break;
+        }
+        return objects;
+    }
+
+    private void append(final ColumnReader reader) {
+        ensureCapacity(numberOfValues + 1);
+        switch (type) {
+            case INT32:
+                ints[numberOfValues] = reader.getInteger();
+                break;
+            case INT64:
+                longs[numberOfValues] = reader.getLong();
+                break;
+            case FLOAT:
+                floats[numberOfValues] = reader.getFloat();
+                break;
+            case DOUBLE:
+                doubles[numberOfValues] = reader.getDouble();
+                break;
+            case BOOLEAN:
+                booleans[numberOfValues] = reader.getBoolean();
+                break;
+            default:
+                binaries[numberOfValues] = reader.getBinary().copy();
+                break;
+        }
+        numberOfValues++;
+    }
+
+    private void allocate(final int capacity) {
+        switch (type) {
+            case INT32:
+                ints = new int[capacity];
+                break;
+            case INT64:
+                longs = new long[capacity];
+                break;
+            case FLOAT:
+                floats = new float[capacity];
+                break;
+            case DOUBLE:
+                doubles = new double[capacity];
+                break;
+            case BOOLEAN:
+                booleans = new boolean[capacity];
+                break;
+            default:
+                binaries = new Binary[capacity];
+                break;
+        }
+    }
+
+    private void ensureCapacity(final int capacity) {
+        final int currentCapacity;
+        switch (type) {
+            case INT32:
+                currentCapacity = ints.length;
+                break;
+            case INT64:
+                currentCapacity = longs.length;
+                break;
+            case FLOAT:
+                currentCapacity = floats.length;
+                break;
+            case DOUBLE:
+                currentCapacity = doubles.length;
+                break;
+            case BOOLEAN:
+                currentCapacity = booleans.length;
+                break;
+            default:
+                currentCapacity = binaries.length;
+                break;
+        }
+        if (capacity <= currentCapacity) {
+            return;
+        }
+        final int newCapacity = Math.max(capacity, currentCapacity * 2);
+        switch (type) {
+            case INT32:
+                ints = Arrays.copyOf(ints, newCapacity);
+                break;
+            case INT64:
+                longs = Arrays.copyOf(longs, newCapacity);
+                break;
+            case FLOAT:
+                floats = Arrays.copyOf(floats, newCapacity);
+                break;
+            case DOUBLE:
+                doubles = Arrays.copyOf(doubles, newCapacity);
+                break;
+            case BOOLEAN:
+                booleans = Arrays.copyOf(booleans, newCapacity);
+                break;
+            default:
+                binaries = Arrays.copyOf(binaries, newCapacity);
+                break;
+        }
+    }
+}
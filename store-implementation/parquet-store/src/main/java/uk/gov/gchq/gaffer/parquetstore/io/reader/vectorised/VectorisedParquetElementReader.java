@@ -0,0 +1,235 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.io.reader.vectorised;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.compat.RowGroupFilter;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.hadoop.util.HiddenFileFilter;
+import org.apache.parquet.schema.MessageType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.converter.GafferElementConverter;
+import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A vectorised alternative to the {@link uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader} which decodes
+ * a whole row group at a time into a {@link ColumnBatch} rather than materialising each record through Parquet's row
+ * oriented converters. Filters can then be applied to the columns of the batch, using {@link ColumnBatchFilter}, and
+ * only the rows that pass need to be materialised into {@link Element}s.
+ * <p>
+ * The path can either be a single file or a directory of files, in which case every non-hidden file in the directory
+ * is read. If a filter is provided it is only used to skip row groups using their statistics; the caller should apply
+ * it to each batch to remove the individual rows that do not match. The columns that are decoded and the row groups
+ * that are read can also be restricted, e.g. to the row groups that a
+ * {@link uk.gov.gchq.gaffer.parquetstore.index.RowGroupIndex} says might contain a seed.
+ */
+public class VectorisedParquetElementReader implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(VectorisedParquetElementReader.class);
+
+    private final Configuration conf;
+    private final boolean isEntity;
+    private final GafferGroupObjectConverter converter;
+    private final FilterPredicate filter;
+    private final Set<String> columns;
+    private final Set<Integer> rowGroups;
+    private final Iterator<Path> files;
+    private Iterator<Integer> rowGroupOrdinals;
+    private ParquetFileReader fileReader;
+    private MessageType schema;
+    private String createdBy;
+    private GafferElementConverter rootConverter;
+
+    public VectorisedParquetElementReader(final Path path, final boolean isEntity, final GafferGroupObjectConverter converter,
+                                          final FilterPredicate filter) throws IOException {
+        this(new Configuration(), path, isEntity, converter, filter, null, null);
+    }
+
+    /**
+     * Constructs a reader that only decodes some of the columns and only reads some of the row groups.
+     *
+     * @param conf      the Hadoop configuration
+     * @param path      the file or directory to read
+     * @param isEntity  whether the files contain entities
+     * @param converter the converter used to materialise elements
+     * @param filter    the filter used to skip row groups, or null
+     * @param columns   the Parquet column paths to decode, or null to decode every column
+     * @param rowGroups the ordinals of the row groups in each file to read, or null to read every row group
+     * @throws IOException if the path could not be listed
+     */
+    public VectorisedParquetElementReader(final Configuration conf, final Path path, final boolean isEntity,
+                                          final GafferGroupObjectConverter converter, final FilterPredicate filter,
+                                          final Set<String> columns, final Set<Integer> rowGroups) throws IOException {
+        this.conf = conf;
+        this.isEntity = isEntity;
+        this.converter = converter;
+        this.filter = filter;
+        this.columns = columns;
+        this.rowGroups = rowGroups;
+        final FileSystem fs = path.getFileSystem(conf);
+        final List<Path> paths = new ArrayList<>();
+        if (fs.getFileStatus(path).isDirectory()) {
+            final FileStatus[] statuses = fs.listStatus(path, HiddenFileFilter.INSTANCE);
+            Arrays.sort(statuses);
+            for (final FileStatus status : statuses) {
+                if (status.isFile()) {
+                    paths.add(status.getPath());
+                }
+            }
+        } else {
+            paths.add(path);
+        }
+        this.files = paths.iterator();
+    }
+
+    /**
+     * Reads the next row group into a {@link ColumnBatch}.
+     *
+     * @return the batch, or null if there are no more row groups to read
+     * @throws IOException if there was a problem reading the files
+     */
+    public ColumnBatch readNextBatch() throws IOException {
+        while (true) {
+            if (null == fileReader) {
+                if (!files.hasNext()) {
+                    return null;
+                }
+                openFile(files.next());
+            }
+            final PageReadStore rowGroup = fileReader.readNextRowGroup();
+            if (null != rowGroup) {
+                return decode(rowGroupOrdinals.next(), rowGroup);
+            }
+            fileReader.close();
+            fileReader = null;
+        }
+    }
+
+    /**
+     * Materialises a single row of a batch into an {@link Element}.
+     *
+     * @param batch the batch
+     * @param row   the row to materialise
+     * @return the element
+     * @throws SerialisationException if the Parquet objects can not be de-serialised
+     */
+    public Element materialise(final ColumnBatch batch, final int row) throws SerialisationException {
+        return converter.buildElementFromParquetObjects(batch.getParquetObjects(row), isEntity);
+    }
+
+    /**
+     * Partially materialises a single row of a batch into an {@link Element}, only de-serialising the given Gaffer
+     * columns. This is used to test filters that only refer to a few columns without paying the cost of
+     * de-serialising every property.
+     *
+     * @param batch         the batch
+     * @param row           the row to materialise
+     * @param gafferColumns the Gaffer columns to include, if null then every column is included
+     * @return the element
+     * @throws SerialisationException if the Parquet objects can not be de-serialised
+     */
+    public Element materialise(final ColumnBatch batch, final int row, final Set<String> gafferColumns) throws SerialisationException {
+        if (null == gafferColumns) {
+            return materialise(batch, row);
+        }
+        final List<String> paths = new ArrayList<>();
+        for (final String gafferColumn : gafferColumns) {
+            final String[] parquetPaths = converter.getParquetPaths(gafferColumn);
+            if (null != parquetPaths) {
+                paths.addAll(Arrays.asList(parquetPaths));
+            }
+        }
+        return converter.buildElementFromParquetObjects(batch.getParquetObjects(row, paths), isEntity, gafferColumns);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (null != fileReader) {
+            fileReader.close();
+            fileReader = null;
+        }
+    }
+
+    private void openFile(final Path file) throws IOException {
+        LOGGER.debug("Opening a new vectorised Parquet reader for file: {}", file);
+        final ParquetMetadata footer = ParquetFileReader.readFooter(conf, file);
+        schema = footer.getFileMetaData().getSchema();
+        createdBy = footer.getFileMetaData().getCreatedBy();
+        final List<BlockMetaData> blocks = footer.getBlocks();
+        List<BlockMetaData> selectedBlocks = new ArrayList<>(blocks.size());
+        for (int i = 0; i < blocks.size(); i++) {
+            if (null == rowGroups || rowGroups.contains(i)) {
+                selectedBlocks.add(blocks.get(i));
+            }
+        }
+        if (null != filter) {
+            selectedBlocks = RowGroupFilter.filterRowGroups(FilterCompat.get(filter), selectedBlocks, schema);
+        }
+        final List<Integer> ordinals = new ArrayList<>(selectedBlocks.size());
+        for (final BlockMetaData block : selectedBlocks) {
+            ordinals.add(blocks.indexOf(block));
+        }
+        rowGroupOrdinals = ordinals.iterator();
+        final List<ColumnDescriptor> descriptors = new ArrayList<>();
+        for (final ColumnDescriptor descriptor : schema.getColumns()) {
+            if (null == columns || columns.contains(String.join(".", descriptor.getPath()))) {
+                descriptors.add(descriptor);
+            }
+        }
+        fileReader = new ParquetFileReader(conf, footer.getFileMetaData(), file, selectedBlocks, descriptors);
+        rootConverter = new GafferElementConverter(isEntity, schema, converter);
+    }
+
+    private ColumnBatch decode(final int ordinal, final PageReadStore rowGroup) {
+        final int numberOfRows = (int) rowGroup.getRowCount();
+        final ColumnReadStoreImpl columnReadStore = new ColumnReadStoreImpl(rowGroup, rootConverter, schema, createdBy);
+        final List<ColumnDescriptor> descriptors = schema.getColumns();
+        final Map<String, ColumnVector> vectors = new HashMap<>(descriptors.size());
+        for (final ColumnDescriptor descriptor : descriptors) {
+            final String path = String.join(".", descriptor.getPath());
+            if (null == columns || columns.contains(path)) {
+                final ColumnVector column = ColumnVector.read(columnReadStore.getColumnReader(descriptor),
+                        schema.getType(descriptor.getPath()).getOriginalType(), numberOfRows);
+                vectors.put(path, column);
+            }
+        }
+        return new ColumnBatch(ordinal, numberOfRows, vectors);
+    }
+}
@@ -22,6 +22,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.Tuple2;
 
+import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -34,8 +35,12 @@ import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.AggregateAndS
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CalculateSplitPointsFromIndex;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CalculateSplitPointsFromIterable;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.GenerateIndices;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.RetrieveDeltaElements;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.SampleAndSpoolElements;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.WriteDelta;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.WriteUnsortedData;
 import uk.gov.gchq.gaffer.parquetstore.utils.ParquetStoreConstants;
+import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.gaffer.parquetstore.utils.SparkParquetUtils;
 import uk.gov.gchq.gaffer.spark.SparkContextUtil;
 import uk.gov.gchq.gaffer.store.Context;
@@ -46,10 +51,13 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 
@@ -69,16 +77,55 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         final SparkSession spark = SparkContextUtil.getSparkSession(context, store.getProperties());
         final ParquetStore parquetStore = (ParquetStore) store;
         SparkParquetUtils.configureSparkForAddElements(spark, parquetStore.getProperties());
-        addElements(operation, parquetStore, spark);
+        if (parquetStore.getProperties().getIncrementalAddElements() && null != parquetStore.getGraphIndex()) {
+            addDelta(operation.getInput(), parquetStore, spark);
+        } else {
+            addElements(operation.getInput(), parquetStore, spark);
+        }
         return null;
     }
 
-    private void addElements(final AddElements addElementsOperation, final ParquetStore store, final SparkSession spark)
+    private void addDelta(final Iterable<? extends Element> input, final ParquetStore store, final SparkSession spark)
             throws OperationException {
+        final GraphIndex delta = new WriteDelta(store).writeElements(input, store.nextDeltaId());
+        if (input instanceof CloseableIterable) {
+            ((CloseableIterable) input).close();
+        }
+        if (delta.groupsIndexed().isEmpty()) {
+            return;
+        }
+        final int numberOfDeltas;
+        try {
+            numberOfDeltas = store.addDelta(delta);
+        } catch (final StoreException e) {
+            throw new OperationException(e.getMessage(), e);
+        }
+        LOGGER.debug("Added delta {}, the current snapshot now has {} deltas", delta.getSnapshotTimestamp(), numberOfDeltas);
+        if (numberOfDeltas >= store.getProperties().getIncrementalAddElementsMaxDeltas()) {
+            store.submitCompaction(() -> compactDeltas(store, spark));
+        }
+    }
+
+    private void compactDeltas(final ParquetStore store, final SparkSession spark) {
+        store.getSnapshotLock().lock();
+        try {
+            if (!store.getGraphIndex().getDeltas().isEmpty()) {
+                LOGGER.info("Compacting {} deltas into a new snapshot", store.getGraphIndex().getDeltas().size());
+                addElements(Collections.emptyList(), store, spark);
+            }
+        } catch (final OperationException e) {
+            LOGGER.error("Failed to compact the deltas into a new snapshot", e);
+        } finally {
+            store.getSnapshotLock().unlock();
+        }
+    }
+
+    private void addElements(final Iterable<? extends Element> elements, final ParquetStore store, final SparkSession spark)
+            throws OperationException {
+        store.getSnapshotLock().lock();
         try {
             final FileSystem fs = store.getFS();
             final ParquetStoreProperties parquetStoreProperties = store.getProperties();
-            final Schema gafferSchema = store.getSchema();
             final String rootDataDirString = store.getDataDir();
             final String tempDirString = store.getTempFilesDir();
             final Path tempDir = new Path(tempDirString);
@@ -88,33 +135,21 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             }
             // Write the data out
             LOGGER.info("Starting to write the input Parquet data to {} split by group and split points", tempDirString);
-            final Iterable<? extends Element> input = addElementsOperation.getInput();
+            // Fold any deltas of the current snapshot into the new snapshot
+            final List<GraphIndex> deltas = null == store.getGraphIndex()
+                    ? Collections.emptyList() : store.getGraphIndex().getDeltas();
+            final Set<Long> foldedDeltaIds = new HashSet<>();
+            for (final GraphIndex delta : deltas) {
+                foldedDeltaIds.add(delta.getSnapshotTimestamp());
+            }
+            final Iterable<? extends Element> input = deltas.isEmpty()
+                    ? elements : new ChainedIterable<Element>(elements, new RetrieveDeltaElements(store, deltas));
             final ExecutorService pool = createThreadPool(spark, parquetStoreProperties);
-            final List<Callable<Tuple2<String, Map<Object, Integer>>>> tasks = new ArrayList<>();
             final Map<String, Map<Object, Integer>> groupToSplitPoints;
-            final GraphIndex index = store.getGraphIndex();
-            if (null == index) {
-                groupToSplitPoints = new HashMap<>();
-                for (final String group : gafferSchema.getEdgeGroups()) {
-                    tasks.add(new CalculateSplitPointsFromIterable(parquetStoreProperties.getSampleRate(),
-                            parquetStoreProperties.getAddElementsOutputFilesPerGroup() - 1, input, group, false));
-                }
-                for (final String group : gafferSchema.getEntityGroups()) {
-                    tasks.add(new CalculateSplitPointsFromIterable(parquetStoreProperties.getSampleRate(),
-                            parquetStoreProperties.getAddElementsOutputFilesPerGroup() - 1, input, group, true));
-                }
-                invokeSplitPointCalculations(pool, tasks, groupToSplitPoints);
+            if (parquetStoreProperties.getSinglePassAddElements()) {
+                groupToSplitPoints = writeUnsortedDataInSinglePass(input, store);
             } else {
-                groupToSplitPoints = CalculateSplitPointsFromIndex.apply(index, store.getSchemaUtils(), parquetStoreProperties, input, pool);
-            }
-
-            final Iterator<? extends Element> inputIter = input.iterator();
-            new WriteUnsortedData(store, groupToSplitPoints).writeElements(inputIter);
-            if (inputIter instanceof CloseableIterator) {
-                ((CloseableIterator) inputIter).close();
-            }
-            if (input instanceof CloseableIterable) {
-                ((CloseableIterable) input).close();
+                groupToSplitPoints = writeUnsortedData(input, store, pool);
             }
             LOGGER.debug("Finished writing the input Parquet data to {}", tempDirString);
             // Use to Spark read in all the data, aggregate and sort it
@@ -127,7 +162,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             final GraphIndex newGraphIndex = new GenerateIndices(store, spark).getGraphIndex();
             LOGGER.debug("Finished writing the indexes");
             try {
-                moveDataToDataDir(store, fs, rootDataDirString, tempDirString, newGraphIndex);
+                moveDataToDataDir(store, fs, rootDataDirString, tempDirString, newGraphIndex, foldedDeltaIds);
                 tidyUp(fs, tempDirString);
             } catch (final IOException | StoreException e) {
                 throw new OperationException("Failed to reload the indices", e);
@@ -136,11 +171,79 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             throw new OperationException("IOException: Failed to connect to the file system", e);
         } catch (final StoreException e) {
             throw new OperationException(e.getMessage(), e);
+        } finally {
+            store.getSnapshotLock().unlock();
+        }
+    }
+
+    private Map<String, Map<Object, Integer>> writeUnsortedData(final Iterable<? extends Element> input,
+                                                                final ParquetStore store,
+                                                                final ExecutorService pool) throws OperationException, IOException {
+        final ParquetStoreProperties parquetStoreProperties = store.getProperties();
+        final Schema gafferSchema = store.getSchema();
+        final List<Callable<Tuple2<String, Map<Object, Integer>>>> tasks = new ArrayList<>();
+        final Map<String, Map<Object, Integer>> groupToSplitPoints;
+        final GraphIndex index = store.getGraphIndex();
+        if (null == index) {
+            groupToSplitPoints = new HashMap<>();
+            for (final String group : gafferSchema.getEdgeGroups()) {
+                tasks.add(new CalculateSplitPointsFromIterable(parquetStoreProperties.getSampleRate(),
+                        parquetStoreProperties.getAddElementsOutputFilesPerGroup() - 1, input, group, false));
+            }
+            for (final String group : gafferSchema.getEntityGroups()) {
+                tasks.add(new CalculateSplitPointsFromIterable(parquetStoreProperties.getSampleRate(),
+                        parquetStoreProperties.getAddElementsOutputFilesPerGroup() - 1, input, group, true));
+            }
+            invokeSplitPointCalculations(pool, tasks, groupToSplitPoints);
+        } else {
+            groupToSplitPoints = CalculateSplitPointsFromIndex.apply(index, store.getSchemaUtils(), parquetStoreProperties, input, pool);
+        }
+
+        final Iterator<? extends Element> inputIter = input.iterator();
+        new WriteUnsortedData(store, groupToSplitPoints).writeElements(inputIter);
+        if (inputIter instanceof CloseableIterator) {
+            ((CloseableIterator) inputIter).close();
         }
+        if (input instanceof CloseableIterable) {
+            ((CloseableIterable) input).close();
+        }
+        return groupToSplitPoints;
+    }
 
+    private Map<String, Map<Object, Integer>> writeUnsortedDataInSinglePass(final Iterable<? extends Element> input,
+                                                                            final ParquetStore store) throws OperationException, IOException {
+        final ParquetStoreProperties parquetStoreProperties = store.getProperties();
+        final SchemaUtils schemaUtils = store.getSchemaUtils();
+        final GraphIndex index = store.getGraphIndex();
+        final Map<String, Map<Object, Integer>> groupToSplitPoints;
+        if (null == index) {
+            groupToSplitPoints = new HashMap<>();
+        } else {
+            groupToSplitPoints = CalculateSplitPointsFromIndex.calculateSplitPointsFromIndex(index, schemaUtils);
+        }
+        final Set<String> groupsToSample = new HashSet<>(schemaUtils.getEntityGroups());
+        groupsToSample.addAll(schemaUtils.getEdgeGroups());
+        groupsToSample.removeAll(groupToSplitPoints.keySet());
+
+        try (final SampleAndSpoolElements sampleAndSpool = new SampleAndSpoolElements(schemaUtils.getEntityGroups(),
+                groupsToSample, parquetStoreProperties.getSplitPointsReservoirSize(),
+                parquetStoreProperties.getAddElementsOutputFilesPerGroup() - 1,
+                parquetStoreProperties.getAddElementsSpoolDir())) {
+            for (final Map.Entry<String, Map<Object, Integer>> entry : sampleAndSpool.sampleAndSpool(input).entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    groupToSplitPoints.put(entry.getKey(), entry.getValue());
+                }
+            }
+            if (input instanceof CloseableIterable) {
+                ((CloseableIterable) input).close();
+            }
+            new WriteUnsortedData(store, groupToSplitPoints).writeElements(sampleAndSpool.getSpooledElements());
+        }
+        return groupToSplitPoints;
     }
 
-    private void moveDataToDataDir(final ParquetStore store, final FileSystem fs, final String dataDirString, final String tempDataDirString, final GraphIndex newGraphIndex) throws StoreException, IOException {
+    private void moveDataToDataDir(final ParquetStore store, final FileSystem fs, final String dataDirString, final String tempDataDirString,
+                                   final GraphIndex newGraphIndex, final Set<Long> foldedDeltaIds) throws StoreException, IOException {
         // Move data from temp to data
         final long snapshot = System.currentTimeMillis();
         final String destPath = dataDirString + "/" + snapshot;
@@ -153,7 +256,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         }
         // Reload indices
         newGraphIndex.setSnapshotTimestamp(snapshot);
-        store.setGraphIndex(newGraphIndex);
+        store.setGraphIndex(newGraphIndex, foldedDeltaIds);
     }
 
     private void tidyUp(final FileSystem fs, final String tempDataDirString) throws IOException {
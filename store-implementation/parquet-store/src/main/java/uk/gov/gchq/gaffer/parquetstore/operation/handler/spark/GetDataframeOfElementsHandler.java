@@ -16,32 +16,46 @@
 
 package uk.gov.gchq.gaffer.parquetstore.operation.handler.spark;
 
-import org.apache.spark.api.java.function.FilterFunction;
+import org.apache.spark.sql.Column;
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
 import org.apache.spark.sql.SparkSession;
+import org.apache.spark.sql.functions;
+import org.apache.spark.sql.types.DataTypes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import scala.collection.JavaConversions;
+import scala.runtime.AbstractFunction1;
 
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.Authorisations;
-import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.ElementVisibility;
-import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.VisibilityEvaluator;
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.CachingVisibilityEvaluator;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.utils.ParquetStoreConstants;
+import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.gaffer.spark.SparkContextUtil;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.GetDataFrameOfElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * An {@link uk.gov.gchq.gaffer.store.operation.handler.OperationHandler} for the {@link GetDataFrameOfElements}
  * operation on the {@link ParquetStore}.
+ * <p>
+ * The visibility filter is applied as a {@link Column} expression rather than as a typed filter, so that Spark
+ * can still prune the columns that are read from the Parquet files. Any properties or excludeProperties in the
+ * {@link View} are also used to remove columns from the returned {@code Dataset}, so those columns are not read.
  */
 public class GetDataframeOfElementsHandler implements OutputOperationHandler<GetDataFrameOfElements, Dataset<Row>>, Serializable {
     private static final Logger LOGGER = LoggerFactory.getLogger(GetDataframeOfElementsHandler.class);
@@ -84,19 +98,19 @@ public class GetDataframeOfElementsHandler implements OutputOperationHandler<Get
                 return spark.emptyDataFrame();
             }
 
-            final Dataset<Row> dataset;
+            Dataset<Row> dataset = spark
+                    .read()
+                    .option("mergeSchema", true)
+                    .parquet(rootDir + ParquetStoreConstants.GRAPH);
             if (!visibility.isEmpty()) {
-                final FilterFunction<Row> filter = e -> isVisible(e, visibility, auths);
-                dataset = spark
-                        .read()
-                        .option("mergeSchema", true)
-                        .parquet(rootDir + ParquetStoreConstants.GRAPH)
-                        .filter(filter);
-            } else {
-                dataset = spark
-                        .read()
-                        .option("mergeSchema", true)
-                        .parquet(rootDir + ParquetStoreConstants.GRAPH);
+                final Column isVisible = functions.udf(new IsVisible(auths), DataTypes.BooleanType)
+                        .apply(JavaConversions.asScalaBuffer(Collections.singletonList(functions.col(visibility))));
+                dataset = dataset.filter(isVisible);
+            }
+            final Set<String> columnsToRemove = getColumnsToRemove(operation.getView(), store.getSchemaUtils(), visibility, dataset.columns());
+            if (!columnsToRemove.isEmpty()) {
+                LOGGER.debug("Removing columns {} as they are not required by the view", columnsToRemove);
+                dataset = dataset.drop(columnsToRemove.toArray(new String[columnsToRemove.size()]));
             }
             LOGGER.debug("The merged schema that the data is being loaded using is: {}", dataset.schema().treeString());
             return dataset;
@@ -105,13 +119,67 @@ public class GetDataframeOfElementsHandler implements OutputOperationHandler<Get
         }
     }
 
-    private boolean isVisible(final Row e, final String visibility, final Authorisations auths) throws VisibilityParseException {
-        if (e.getAs(visibility) != null) {
-            final VisibilityEvaluator visibilityEvaluator = new VisibilityEvaluator(auths);
-            final ElementVisibility elementVisibility = new ElementVisibility((String) e.getAs(visibility));
-            return visibilityEvaluator.evaluate(elementVisibility);
-        } else {
-            return true;
+    private Set<String> getColumnsToRemove(final View view, final SchemaUtils schemaUtils, final String visibility,
+                                           final String[] columns) {
+        final Set<String> allProperties = new HashSet<>();
+        final Set<String> requiredProperties = new HashSet<>();
+        // The visibility property is always kept, as it is in the elements returned by the other operations
+        if (!visibility.isEmpty()) {
+            requiredProperties.add(visibility);
+        }
+        for (final String group : schemaUtils.getGroups()) {
+            final SchemaElementDefinition schemaElDef = schemaUtils.getGafferSchema().getElement(group);
+            allProperties.addAll(schemaElDef.getProperties());
+            final ViewElementDefinition viewElDef = view.getElement(group);
+            if (null == viewElDef || viewElDef.isAllProperties()) {
+                requiredProperties.addAll(schemaElDef.getProperties());
+            } else if (null != viewElDef.getProperties()) {
+                requiredProperties.addAll(viewElDef.getProperties());
+            } else {
+                final Set<String> properties = new HashSet<>(schemaElDef.getProperties());
+                properties.removeAll(viewElDef.getExcludeProperties());
+                requiredProperties.addAll(properties);
+            }
+        }
+
+        final Set<String> columnsToRemove = new HashSet<>();
+        for (final String column : columns) {
+            // Properties that are serialised to more than one column are stored in columns named property_subColumn
+            final String property;
+            if (allProperties.contains(column) || !column.contains("_")) {
+                property = column;
+            } else {
+                property = column.substring(0, column.indexOf("_"));
+            }
+            if (allProperties.contains(property) && !requiredProperties.contains(property)) {
+                columnsToRemove.add(column);
+            }
+        }
+        return columnsToRemove;
+    }
+
+    private static class IsVisible extends AbstractFunction1<String, Object> implements Serializable {
+        private static final long serialVersionUID = -5417497545429826375L;
+        private final Authorisations auths;
+        private transient CachingVisibilityEvaluator visibilityEvaluator;
+
+        IsVisible(final Authorisations auths) {
+            this.auths = auths;
+        }
+
+        @Override
+        public Object apply(final String visibility) {
+            if (null == visibility) {
+                return true;
+            }
+            try {
+                if (null == visibilityEvaluator) {
+                    visibilityEvaluator = new CachingVisibilityEvaluator(auths);
+                }
+                return visibilityEvaluator.evaluate(visibility);
+            } catch (final VisibilityParseException e) {
+                throw new IllegalArgumentException("Unable to parse the visibility " + visibility, e);
+            }
         }
     }
 }
@@ -94,7 +94,15 @@ public final class CalculateSplitPointsFromIndex {
         return groupToSplitPoints;
     }
 
-    private static Map<String, Map<Object, Integer>> calculateSplitPointsFromIndex(final GraphIndex index, final SchemaUtils schemaUtils) throws SerialisationException {
+    /**
+     * Uses the min values per file in the {@link GraphIndex} as the split points for each indexed group.
+     *
+     * @param index       the graph index
+     * @param schemaUtils the schema utils
+     * @return the split points for each group that has a non-empty index
+     * @throws SerialisationException if the min values could not be converted to Gaffer objects
+     */
+    public static Map<String, Map<Object, Integer>> calculateSplitPointsFromIndex(final GraphIndex index, final SchemaUtils schemaUtils) throws SerialisationException {
         final Set<String> entityGroups = schemaUtils.getEntityGroups();
         final Map<String, Map<Object, Integer>> groupToSplitPoints = new HashMap<>();
         for (final String group : index.groupsIndexed()) {
@@ -23,6 +23,7 @@ import uk.gov.gchq.gaffer.data.element.comparison.ComparableOrToStringComparator
 
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.Callable;
@@ -67,20 +68,30 @@ public class CalculateSplitPointsFromIterable implements Callable<Tuple2<String,
                 }
             }
         }
+        return new Tuple2<>(group, calculateSplitPoints(sample, numOfSplits));
+    }
+
+    /**
+     * Sorts the sample and pulls out evenly spaced objects from it to act as the split points.
+     *
+     * @param sample      the sampled vertices or sources, this will be sorted in place
+     * @param numOfSplits the number of splits required
+     * @return the split points mapped to their split number, or an empty map if the sample is empty
+     */
+    public static Map<Object, Integer> calculateSplitPoints(final List<Object> sample, final int numOfSplits) {
+        final Map<Object, Integer> splitPoints = new TreeMap<>(COMPARATOR);
         if (sample.isEmpty()) {
-            return new Tuple2<>(group, new TreeMap<>(COMPARATOR));
-        } else {
-            sample.sort(COMPARATOR);
-            final int sampleSize = sample.size();
-            final int splitRate = (sampleSize / (numOfSplits + 1)) + 1;
-            final Map<Object, Integer> splitPoints = new TreeMap<>(COMPARATOR);
-            for (int i = 0; i < sampleSize; i += splitRate) {
-                splitPoints.put(sample.get(i), i / splitRate);
-            }
-            if (splitPoints.isEmpty()) {
-                splitPoints.put(sample.get(0), 0);
-            }
-            return new Tuple2<>(group, splitPoints);
+            return splitPoints;
+        }
+        sample.sort(COMPARATOR);
+        final int sampleSize = sample.size();
+        final int splitRate = (sampleSize / (numOfSplits + 1)) + 1;
+        for (int i = 0; i < sampleSize; i += splitRate) {
+            splitPoints.put(sample.get(i), i / splitRate);
+        }
+        if (splitPoints.isEmpty()) {
+            splitPoints.put(sample.get(0), 0);
         }
+        return splitPoints;
     }
 }
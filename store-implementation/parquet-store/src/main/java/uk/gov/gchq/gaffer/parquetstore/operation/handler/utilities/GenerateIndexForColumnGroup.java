@@ -20,6 +20,7 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.util.bloom.BloomFilter;
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
 import org.apache.spark.sql.SparkSession;
@@ -31,33 +32,59 @@ import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.parquetstore.index.ColumnIndex;
 import uk.gov.gchq.gaffer.parquetstore.index.MinValuesWithPath;
+import uk.gov.gchq.gaffer.parquetstore.index.RowGroupIndex;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.vectorised.ColumnBatch;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.vectorised.ColumnVector;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.vectorised.VectorisedParquetElementReader;
+import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
+import uk.gov.gchq.gaffer.parquetstore.utils.SeedComparator;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.koryphe.tuple.n.Tuple4;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.concurrent.Callable;
 
 /**
- * Generates the index for a single group directory.
+ * Generates the index for a single group directory. As well as the minimum value of each file, the minimum and maximum
+ * values of each row group, and optionally a bloom filter of every value in each row group, are added to the index by
+ * decoding just the indexed columns of each file.
  */
 public class GenerateIndexForColumnGroup implements Callable<Tuple4<String, String, ColumnIndex, OperationException>>, Serializable {
     private static final long serialVersionUID = 2287226248631201061L;
+    private static final SeedComparator COMPARATOR = new SeedComparator();
     private final String directoryPath;
     private final String[] paths;
     private final ColumnIndex columnIndex;
     private final String group;
     private final String column;
+    private final boolean isEntity;
+    private final GafferGroupObjectConverter converter;
+    private final Double bloomFilterFalsePositiveRate;
     private final SparkSession spark;
 
     public GenerateIndexForColumnGroup(final String directoryPath, final String[] paths, final String group, final String column, final SparkSession spark) throws OperationException,
             SerialisationException, StoreException {
+        this(directoryPath, paths, group, column, false, null, null, spark);
+    }
+
+    public GenerateIndexForColumnGroup(final String directoryPath, final String[] paths, final String group, final String column,
+                                       final boolean isEntity, final GafferGroupObjectConverter converter,
+                                       final Double bloomFilterFalsePositiveRate, final SparkSession spark) throws OperationException,
+            SerialisationException, StoreException {
         this.directoryPath = directoryPath;
         this.paths = paths;
         this.columnIndex = new ColumnIndex();
         this.group = group;
         this.column = column;
+        this.isEntity = isEntity;
+        this.converter = converter;
+        this.bloomFilterFalsePositiveRate = bloomFilterFalsePositiveRate;
         this.spark = spark;
     }
 
@@ -78,7 +105,9 @@ public class GenerateIndexForColumnGroup implements Callable<Tuple4<String, Stri
                     final Dataset<Row> fileData = spark.read().parquet(file.getPath().toString()).select(firstColumn, seqBuilder.result());
                     try {
                         final Row minRow = fileData.head();
-                        columnIndex.add(generateGafferObjectsIndex(minRow, file.getPath().getName()));
+                        final MinValuesWithPath minValuesWithPath = generateGafferObjectsIndex(minRow, file.getPath().getName());
+                        minValuesWithPath.setRowGroups(generateRowGroupIndices(file.getPath()));
+                        columnIndex.add(minValuesWithPath);
                     } catch (final NoSuchElementException ignored) {
                         // ignore as dataframe was empty
                     }
@@ -100,4 +129,54 @@ public class GenerateIndexForColumnGroup implements Callable<Tuple4<String, Stri
         }
         return new MinValuesWithPath(min, path);
     }
+
+    // Returns null if any row of the file has a null or repeated value in the indexed columns, in which case the file
+    // is only indexed by its minimum value.
+    private List<RowGroupIndex> generateRowGroupIndices(final Path file) throws IOException {
+        final List<RowGroupIndex> rowGroups = new ArrayList<>();
+        try (final VectorisedParquetElementReader reader = new VectorisedParquetElementReader(new Configuration(), file,
+                isEntity, converter, null, new HashSet<>(Arrays.asList(paths)), null)) {
+            ColumnBatch batch = reader.readNextBatch();
+            while (null != batch) {
+                final int numberOfRows = batch.getNumberOfRows();
+                final BloomFilter bloomFilter = null == bloomFilterFalsePositiveRate
+                        ? null : RowGroupIndex.createBloomFilter(numberOfRows, bloomFilterFalsePositiveRate);
+                Object[] min = null;
+                Object[] max = null;
+                for (int row = 0; row < numberOfRows; row++) {
+                    final Object[] value = getValue(batch, row);
+                    if (null == value) {
+                        return null;
+                    }
+                    if (null == min || COMPARATOR.compare(value, min) < 0) {
+                        min = value;
+                    }
+                    if (null == max || COMPARATOR.compare(value, max) > 0) {
+                        max = value;
+                    }
+                    if (null != bloomFilter) {
+                        bloomFilter.add(RowGroupIndex.toKey(value));
+                    }
+                }
+                if (null != min) {
+                    rowGroups.add(new RowGroupIndex(batch.getRowGroup(), min, max, bloomFilter));
+                }
+                batch = reader.readNextBatch();
+            }
+        }
+        return rowGroups;
+    }
+
+    private Object[] getValue(final ColumnBatch batch, final int row) {
+        final Object[] value = new Object[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            final ColumnVector vector = batch.getColumn(paths[i]);
+            final Object[] objects = null == vector ? null : vector.getObjects(row);
+            if (null == objects || 1 != objects.length) {
+                return null;
+            }
+            value[i] = objects[0];
+        }
+        return value;
+    }
 }
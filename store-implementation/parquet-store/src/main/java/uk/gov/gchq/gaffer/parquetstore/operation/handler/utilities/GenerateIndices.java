@@ -63,10 +63,13 @@ public class GenerateIndices {
         final String tempFileDir = store.getTempFilesDir();
         final SchemaUtils schemaUtils = store.getSchemaUtils();
         final String rootDir = tempFileDir + "/" + ParquetStoreConstants.SORTED;
+        final Double bloomFilterFalsePositiveRate = store.getProperties().getIndexBloomFilter()
+                ? store.getProperties().getIndexBloomFilterFalsePositiveRate() : null;
         final List<Callable<Tuple4<String, String, ColumnIndex, OperationException>>> tasks = new ArrayList<>();
         for (final String group : schemaUtils.getEntityGroups()) {
             final String directory = ParquetStore.getGroupDirectory(group, ParquetStoreConstants.VERTEX, rootDir);
-            tasks.add(new GenerateIndexForColumnGroup(directory, schemaUtils.getPaths(group, ParquetStoreConstants.VERTEX), group, ParquetStoreConstants.VERTEX, spark));
+            tasks.add(new GenerateIndexForColumnGroup(directory, schemaUtils.getPaths(group, ParquetStoreConstants.VERTEX), group, ParquetStoreConstants.VERTEX,
+                    true, schemaUtils.getConverter(group), bloomFilterFalsePositiveRate, spark));
             LOGGER.debug("Created a task to create the graphIndex for group {} from directory {} and paths {}",
                     group, directory, schemaUtils.getPaths(group, ParquetStoreConstants.VERTEX));
         }
@@ -75,11 +78,13 @@ public class GenerateIndices {
             final String directorySource = ParquetStore.getGroupDirectory(group, ParquetStoreConstants.SOURCE, rootDir);
             LOGGER.debug("Creating a task to create the graphIndex for group {} from directory {} and paths {}",
                     group, directorySource, StringUtils.join(columnToPaths.get(ParquetStoreConstants.SOURCE)));
-            tasks.add(new GenerateIndexForColumnGroup(directorySource, columnToPaths.get(ParquetStoreConstants.SOURCE), group, ParquetStoreConstants.SOURCE, spark));
+            tasks.add(new GenerateIndexForColumnGroup(directorySource, columnToPaths.get(ParquetStoreConstants.SOURCE), group, ParquetStoreConstants.SOURCE,
+                    false, schemaUtils.getConverter(group), bloomFilterFalsePositiveRate, spark));
             final String directoryDestination = ParquetStore.getGroupDirectory(group, ParquetStoreConstants.DESTINATION, rootDir);
             LOGGER.debug("Creating a task to create the graphIndex for group {} from directory {} and paths {}",
                     group, directorySource, StringUtils.join(columnToPaths.get(ParquetStoreConstants.DESTINATION)));
-            tasks.add(new GenerateIndexForColumnGroup(directoryDestination, columnToPaths.get(ParquetStoreConstants.DESTINATION), group, ParquetStoreConstants.DESTINATION, spark));
+            tasks.add(new GenerateIndexForColumnGroup(directoryDestination, columnToPaths.get(ParquetStoreConstants.DESTINATION), group, ParquetStoreConstants.DESTINATION,
+                    false, schemaUtils.getConverter(group), bloomFilterFalsePositiveRate, spark));
         }
 
         try {
@@ -21,15 +21,23 @@ import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.SeedMatching;
+import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
@@ -37,18 +45,27 @@ import uk.gov.gchq.gaffer.parquetstore.index.GraphIndex;
 import uk.gov.gchq.gaffer.parquetstore.utils.ParquetFilterUtils;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.stream.Collectors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 /**
  * Converts the inputs for get element operations and converts them to a mapping of files to Parquet filters which is
@@ -70,10 +87,14 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
 
     private final Iterable<? extends ElementId> seeds;
     private final ParquetFilterUtils parquetFilterUtils;
-    private GraphIndex graphIndex;
+    private final GraphIndex graphIndex;
     private final ParquetStoreProperties properties;
     private final Schema gafferSchema;
     private final User user;
+    private final ExecutorService executorService;
+    private final ParquetStore store;
+    private final List<CloseableIterator<Element>> iterators = new ArrayList<>();
+    private boolean released;
 
     public ParquetElementRetriever(final View view,
                                    final ParquetStore store,
@@ -88,26 +109,70 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
         this.includeIncomingOutgoingType = includeIncomingOutgoingType;
         this.seedMatchingType = seedMatchingType;
         this.seeds = seeds;
-        this.graphIndex = store.getGraphIndex();
         this.parquetFilterUtils = new ParquetFilterUtils(store);
         this.properties = store.getProperties();
         this.user = user;
+        this.executorService = store.getReaderExecutorService();
+        this.store = store;
+        this.graphIndex = store.acquireGraphIndex();
     }
 
+    /**
+     * Closes every iterator created by this retriever, cancelling the tasks that are still reading files for them, and
+     * releases the index so that the files of deltas that have since been folded into a snapshot can be deleted.
+     */
     @Override
     public void close() {
+        synchronized (iterators) {
+            for (final CloseableIterator<Element> iterator : iterators) {
+                iterator.close();
+            }
+            iterators.clear();
+            if (!released) {
+                released = true;
+                store.releaseGraphIndex(graphIndex);
+            }
+        }
     }
 
     @Override
     public CloseableIterator<Element> iterator() {
-        return new ParquetIterator(view, directedType, includeIncomingOutgoingType,
-                seedMatchingType, seeds, parquetFilterUtils, graphIndex, properties, gafferSchema, user);
+        final CloseableIterator<Element> iterator;
+        if (null != graphIndex && !graphIndex.getDeltas().isEmpty()) {
+            iterator = new DeltaMergingIterator(view, directedType, includeIncomingOutgoingType, seedMatchingType, seeds,
+                    parquetFilterUtils, graphIndex, store, user);
+        } else {
+            iterator = new ParquetIterator(view, directedType, includeIncomingOutgoingType,
+                    seedMatchingType, seeds, parquetFilterUtils, graphIndex, properties, gafferSchema, user, executorService);
+        }
+        synchronized (iterators) {
+            iterators.add(iterator);
+        }
+        return iterator;
     }
 
+    /**
+     * Submits a task per file to the store's shared reader executor, at most {@link ParquetStoreProperties#getReaderMaxConcurrentFiles()}
+     * at a time, and returns the elements they put into a bounded queue. Readers wait whilst the queue is full, so a
+     * slow consumer limits how many elements are buffered. Closing the iterator cancels the outstanding tasks, and a
+     * task that has waited for {@link ParquetStoreProperties#getReaderAbandonTimeoutMillis()} without the consumer
+     * making progress gives up, so the iterator then throws an exception. If
+     * {@link ParquetStoreProperties#getReaderOrderedOutput()} is true then each file has its own queue and the files'
+     * elements are returned in the order of the files' paths.
+     */
     protected static class ParquetIterator implements CloseableIterator<Element> {
-        private ConcurrentLinkedQueue<Element> queue;
-        private List<Future<OperationException>> runningTasks;
-        private ExecutorService executorServicePool;
+        private static final long POLL_TIMEOUT_MILLIS = 100L;
+
+        private final Deque<FileTask> pendingTasks = new ArrayDeque<>();
+        private final Deque<FileTask> runningTasks = new ArrayDeque<>();
+        private final ExecutorService executorService;
+        private final int maxConcurrentFiles;
+        private final boolean orderedOutput;
+        private final long abandonTimeoutMillis;
+        private final AtomicLong abandonDeadline = new AtomicLong();
+        private BlockingQueue<Element> queue;
+        private Element next;
+        private boolean closed;
 
         protected ParquetIterator(final View view,
                                   final DirectedType directedType,
@@ -118,18 +183,36 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
                                   final GraphIndex graphIndex,
                                   final ParquetStoreProperties properties,
                                   final Schema gafferSchema,
-                                  final User user) {
+                                  final User user,
+                                  final ExecutorService executorService) {
+            this.executorService = executorService;
+            this.maxConcurrentFiles = Math.max(1, properties.getReaderMaxConcurrentFiles());
+            this.orderedOutput = properties.getReaderOrderedOutput();
+            this.abandonTimeoutMillis = properties.getReaderAbandonTimeoutMillis();
+            this.abandonDeadline.set(System.currentTimeMillis() + abandonTimeoutMillis);
             try {
                 if (null != graphIndex) {
                     parquetFilterUtils.buildPathToFilterMap(view, directedType, includeIncomingOutgoingType, seedMatchingType, seeds, graphIndex);
                     final Map<Path, FilterPredicate> pathToFilterMap = parquetFilterUtils.getPathToFilterMap();
                     LOGGER.debug("pathToFilterMap: {}", pathToFilterMap);
                     if (!pathToFilterMap.isEmpty()) {
-                        queue = new ConcurrentLinkedQueue<>();
-                        executorServicePool = Executors.newFixedThreadPool(properties.getThreadsAvailable());
-                        final List<RetrieveElementsFromFile> tasks = new ArrayList<>(pathToFilterMap.size());
-                        tasks.addAll(pathToFilterMap.entrySet().stream().map(entry -> new RetrieveElementsFromFile(entry.getKey(), entry.getValue(), gafferSchema, queue, parquetFilterUtils.needsValidatorsAndFiltersApplying(), properties.getSkipValidation(), view, user)).collect(Collectors.toList()));
-                        runningTasks = executorServicePool.invokeAll(tasks);
+                        final int queueSize = Math.max(1, properties.getReaderQueueSize());
+                        if (!orderedOutput) {
+                            queue = new LinkedBlockingQueue<>(queueSize);
+                        }
+                        final List<Path> paths = new ArrayList<>(pathToFilterMap.keySet());
+                        if (orderedOutput) {
+                            Collections.sort(paths);
+                        }
+                        for (final Path path : paths) {
+                            final BlockingQueue<Element> fileQueue = orderedOutput
+                                    ? new LinkedBlockingQueue<>(Math.max(1, queueSize / maxConcurrentFiles)) : queue;
+                            pendingTasks.add(new FileTask(fileQueue, new RetrieveElementsFromFile(path,
+                                    pathToFilterMap.get(path), gafferSchema, fileQueue,
+                                    parquetFilterUtils.needsValidatorsAndFiltersApplying(), properties.getSkipValidation(),
+                                    properties.getVectorisedRead(), parquetFilterUtils.getPathToRowGroupsMap().get(path),
+                                    view, user, abandonDeadline)));
+                        }
                     } else {
                         LOGGER.debug(THERE_ARE_NO_RESULTS_FOR_THIS_QUERY);
                     }
@@ -139,74 +222,284 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
                 }
             } catch (final OperationException | SerialisationException e) {
                 LOGGER.error("Exception while creating the mapping of file paths to Parquet filters: {}", e.getMessage());
-            } catch (final InterruptedException e) {
-                LOGGER.error(e.getMessage(), e);
             }
         }
 
-
         @Override
         public boolean hasNext() {
-            if (null != queue) {
-                if (queue.isEmpty()) {
-                    boolean finishedAllTasks = runningTasks.isEmpty();
-                    while (!finishedAllTasks && queue.isEmpty()) {
-                        try {
-                            finishedAllTasks = hasFinishedAllTasks();
-                            if (!finishedAllTasks) {
-                                wait(100L);
-                            }
-                        } catch (final Exception e) {
-                            LOGGER.error(e.getMessage(), e);
-                            finishedAllTasks = true;
-                        }
+            if (null == next && !closed) {
+                try {
+                    next = poll();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    close();
+                    throw new RuntimeException("Interrupted whilst waiting for elements", e);
+                } catch (final ExecutionException | OperationException e) {
+                    close();
+                    throw new RuntimeException("Failed to retrieve elements", e);
+                }
+                if (null == next) {
+                    close();
+                }
+            }
+            return null != next;
+        }
+
+        @Override
+        public Element next() throws NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element e = next;
+            next = null;
+            return e;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            for (final FileTask task : runningTasks) {
+                task.future.cancel(true);
+            }
+            runningTasks.clear();
+            pendingTasks.clear();
+            queue = null;
+        }
+
+        // Returns the next element, or null once every task has finished and its elements have been returned. Whilst
+        // the consumer is waiting here it counts as making progress, so tasks for later files are not abandoned.
+        private Element poll() throws InterruptedException, ExecutionException, OperationException {
+            while (true) {
+                abandonDeadline.set(System.currentTimeMillis() + abandonTimeoutMillis);
+                submitTasks();
+                final BlockingQueue<Element> currentQueue = orderedOutput
+                        ? (runningTasks.isEmpty() ? null : runningTasks.getFirst().queue) : queue;
+                if (null == currentQueue || (runningTasks.isEmpty() && currentQueue.isEmpty())) {
+                    return null;
+                }
+                Element e = currentQueue.poll();
+                if (null == e && !removeFinishedTasks()) {
+                    e = currentQueue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                if (null != e) {
+                    return e;
+                }
+            }
+        }
+
+        private void submitTasks() {
+            while (runningTasks.size() < maxConcurrentFiles && !pendingTasks.isEmpty()) {
+                final FileTask task = pendingTasks.removeFirst();
+                task.future = executorService.submit(task.retriever);
+                runningTasks.addLast(task);
+            }
+        }
+
+        // In ordered mode only the first task is removed, and only once all of its elements have been returned.
+        private boolean removeFinishedTasks() throws InterruptedException, ExecutionException, OperationException {
+            boolean removed = false;
+            final Iterator<FileTask> tasks = runningTasks.iterator();
+            while (tasks.hasNext()) {
+                final FileTask task = tasks.next();
+                if (!task.future.isDone()) {
+                    if (orderedOutput) {
+                        break;
                     }
-                    return !queue.isEmpty();
-                } else {
-                    return true;
+                    continue;
+                }
+                final OperationException taskResult = task.future.get();
+                if (null != taskResult) {
+                    throw taskResult;
+                }
+                if (orderedOutput && !task.queue.isEmpty()) {
+                    break;
+                }
+                tasks.remove();
+                removed = true;
+                if (orderedOutput) {
+                    break;
                 }
-            } else {
-                return false;
             }
+            return removed;
         }
+    }
 
-        private boolean hasFinishedAllTasks() throws ExecutionException, InterruptedException, OperationException {
-            final List<Future<OperationException>> completedTasks = new ArrayList<>();
-            for (final Future<OperationException> task : runningTasks) {
-                if (task.isDone()) {
-                    final OperationException taskResult = task.get();
-                    if (null != taskResult) {
-                        throw taskResult;
-                    } else {
-                        completedTasks.add(task);
+    /**
+     * Merges the elements of the current snapshot with those of its deltas. The elements in the deltas that match the
+     * query are read without applying the view's filters, and the elements in the snapshot with the same keys are
+     * looked up. These are aggregated in memory, in the order the data was added, and then the validators and view
+     * filters are applied to the aggregated elements. The snapshot is then queried as normal, skipping the elements
+     * with those keys, followed by the aggregated elements. Elements in groups that are not aggregated are returned
+     * from both the snapshot and the deltas.
+     * <p>
+     * The merge is not streamed: every element in the deltas that matches the query, and every element in the snapshot
+     * with the same key, is read into memory when the iterator is created. The memory used by a query therefore grows
+     * with the size of the deltas, which is bounded by compacting them once there are
+     * {@link ParquetStoreProperties#getIncrementalAddElementsMaxDeltas()} of them.
+     */
+    protected static class DeltaMergingIterator implements CloseableIterator<Element> {
+        private final View view;
+        private final ParquetIterator snapshotIterator;
+        private final Iterator<Element> mergedIterator;
+        private final Function<Element, Element> toKey;
+        private final Set<String> aggregatedGroups;
+        private final Set<Element> mergedKeys = new HashSet<>();
+        private Element next;
+
+        protected DeltaMergingIterator(final View view,
+                                       final DirectedType directedType,
+                                       final SeededGraphFilters.IncludeIncomingOutgoingType includeIncomingOutgoingType,
+                                       final SeedMatching.SeedMatchingType seedMatchingType,
+                                       final Iterable<? extends ElementId> seeds,
+                                       final ParquetFilterUtils parquetFilterUtils,
+                                       final GraphIndex graphIndex,
+                                       final ParquetStore store,
+                                       final User user) {
+            final Schema schema = store.getSchema();
+            final ParquetStoreProperties properties = store.getProperties();
+            final ParquetStoreProperties rawProperties = (ParquetStoreProperties) properties.clone();
+            rawProperties.setSkipValidation(true);
+            rawProperties.setReaderOrderedOutput(false);
+            final View rawView = getRawView(null == view ? store.getSchemaUtils().getEmptyView() : view);
+            this.view = view;
+            this.toKey = new AggregatorUtil.ToIngestElementKey(schema);
+            this.aggregatedGroups = new HashSet<>(schema.getAggregatedGroups());
+
+            final List<Element> deltaElements = new ArrayList<>();
+            for (final GraphIndex delta : graphIndex.getDeltas()) {
+                addAll(new ParquetIterator(rawView, directedType, includeIncomingOutgoingType, seedMatchingType, seeds,
+                        new ParquetFilterUtils(store, store.getDeltasDir(), true), delta, rawProperties, schema, user,
+                        store.getReaderExecutorService()), deltaElements);
+            }
+            final List<ElementId> keySeeds = new ArrayList<>();
+            for (final Element element : deltaElements) {
+                if (aggregatedGroups.contains(element.getGroup())) {
+                    final Element key = toKey.apply(element);
+                    if (mergedKeys.add(key)) {
+                        if (key instanceof Entity) {
+                            keySeeds.add(new EntitySeed(((Entity) key).getVertex()));
+                        } else {
+                            final Edge edge = (Edge) key;
+                            keySeeds.add(new EdgeSeed(edge.getSource(), edge.getDestination(), edge.isDirected()));
+                        }
+                    }
+                }
+            }
+            final List<Element> snapshotElements = new ArrayList<>();
+            if (!keySeeds.isEmpty()) {
+                final ParquetIterator keyIterator = new ParquetIterator(rawView, DirectedType.EITHER,
+                        SeededGraphFilters.IncludeIncomingOutgoingType.EITHER, SeedMatching.SeedMatchingType.EQUAL,
+                        keySeeds, new ParquetFilterUtils(store, store.getDataDir(), true), graphIndex, rawProperties,
+                        schema, user, store.getReaderExecutorService());
+                while (keyIterator.hasNext()) {
+                    final Element element = keyIterator.next();
+                    if (isMerged(element)) {
+                        snapshotElements.add(element);
+                    }
+                }
+                keyIterator.close();
+            }
+
+            final List<Element> merged = new ArrayList<>();
+            for (final Element element : AggregatorUtil.ingestAggregate(new ChainedIterable<Element>(snapshotElements, deltaElements), schema)) {
+                final ElementFilter validator = properties.getSkipValidation()
+                        ? null : schema.getElement(element.getGroup()).getValidator(false);
+                final ElementFilter preAggregationFilter = null == view
+                        ? null : view.getElement(element.getGroup()).getPreAggregationFilter();
+                if ((null == validator || validator.test(element))
+                        && (null == preAggregationFilter || preAggregationFilter.test(element))) {
+                    if (null != view) {
+                        ViewUtil.removeProperties(view, element);
                     }
+                    merged.add(element);
                 }
             }
-            runningTasks.removeAll(completedTasks);
-            return runningTasks.isEmpty();
+            this.mergedIterator = merged.iterator();
+            this.snapshotIterator = new ParquetIterator(null == view ? null : getAllPropertiesView(view), directedType,
+                    includeIncomingOutgoingType, seedMatchingType, seeds, parquetFilterUtils, graphIndex, properties,
+                    schema, user, store.getReaderExecutorService());
         }
 
+        @Override
+        public boolean hasNext() {
+            while (null == next) {
+                if (snapshotIterator.hasNext()) {
+                    final Element element = snapshotIterator.next();
+                    if (!isMerged(element)) {
+                        if (null != view) {
+                            ViewUtil.removeProperties(view, element);
+                        }
+                        next = element;
+                    }
+                } else if (mergedIterator.hasNext()) {
+                    next = mergedIterator.next();
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
 
         @Override
         public Element next() throws NoSuchElementException {
-            Element e;
-            while (hasNext()) {
-                e = queue.poll();
-                if (null != e) {
-                    return e;
-                }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
-            throw new NoSuchElementException();
+            final Element e = next;
+            next = null;
+            return e;
         }
 
         @Override
         public void close() {
-            if (null != executorServicePool) {
-                executorServicePool.shutdown();
-                executorServicePool = null;
+            snapshotIterator.close();
+        }
+
+        private boolean isMerged(final Element element) {
+            return aggregatedGroups.contains(element.getGroup()) && mergedKeys.contains(toKey.apply(element));
+        }
+
+        private static void addAll(final ParquetIterator iterator, final List<Element> elements) {
+            while (iterator.hasNext()) {
+                elements.add(iterator.next());
             }
-            queue = null;
-            runningTasks = null;
+            iterator.close();
+        }
+
+        // Returns a view of the same groups without any filters, so that elements are aggregated before being filtered.
+        private static View getRawView(final View view) {
+            final View.Builder builder = new View.Builder();
+            for (final String group : view.getEntityGroups()) {
+                builder.entity(group);
+            }
+            for (final String group : view.getEdgeGroups()) {
+                builder.edge(group);
+            }
+            return builder.build();
+        }
+
+        // Returns the view with every property included, so that the key of each element can be extracted before the
+        // view's properties are removed.
+        private static View getAllPropertiesView(final View view) {
+            final View.Builder builder = new View.Builder();
+            for (final String group : view.getEntityGroups()) {
+                builder.entity(group, new ViewElementDefinition.Builder().merge(view.getEntity(group)).allProperties().build());
+            }
+            for (final String group : view.getEdgeGroups()) {
+                builder.edge(group, new ViewElementDefinition.Builder().merge(view.getEdge(group)).allProperties().build());
+            }
+            return builder.build();
+        }
+    }
+
+    private static final class FileTask {
+        private final BlockingQueue<Element> queue;
+        private final RetrieveElementsFromFile retriever;
+        private Future<OperationException> future;
+
+        private FileTask(final BlockingQueue<Element> queue, final RetrieveElementsFromFile retriever) {
+            this.queue = queue;
+            this.retriever = retriever;
         }
     }
 }
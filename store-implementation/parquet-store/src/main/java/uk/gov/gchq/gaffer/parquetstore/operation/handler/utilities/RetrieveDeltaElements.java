@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.hadoop.ParquetReader;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.index.GraphIndex;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
+import uk.gov.gchq.gaffer.parquetstore.utils.ParquetStoreConstants;
+import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads every {@link Element} in the given deltas, in the order the deltas were added, so they can be folded into a
+ * new snapshot. No visibility checks, validators or filters are applied. Each call to {@link #iterator()} reads the
+ * files again.
+ */
+public class RetrieveDeltaElements implements CloseableIterable<Element> {
+    private final SchemaUtils schemaUtils;
+    private final List<FileToRead> files;
+
+    public RetrieveDeltaElements(final ParquetStore store, final List<GraphIndex> deltas) {
+        this.schemaUtils = store.getSchemaUtils();
+        this.files = new ArrayList<>();
+        for (final GraphIndex delta : deltas) {
+            final String deltaDir = store.getDeltasDir() + "/" + delta.getSnapshotTimestamp();
+            for (final String group : delta.groupsIndexed()) {
+                final boolean isEntity = schemaUtils.getEntityGroups().contains(group);
+                final String column = isEntity ? ParquetStoreConstants.VERTEX : ParquetStoreConstants.SOURCE;
+                files.add(new FileToRead(new Path(ParquetStore.getGroupDirectory(group, column, deltaDir)), group, isEntity));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public CloseableIterator<Element> iterator() {
+        return new DeltaIterator(new ArrayDeque<>(files));
+    }
+
+    private final class DeltaIterator implements CloseableIterator<Element> {
+        private final Deque<FileToRead> remainingFiles;
+        private ParquetReader<Element> reader;
+        private Element next;
+
+        private DeltaIterator(final Deque<FileToRead> remainingFiles) {
+            this.remainingFiles = remainingFiles;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (null == next) {
+                    if (null == reader) {
+                        if (remainingFiles.isEmpty()) {
+                            return false;
+                        }
+                        final FileToRead file = remainingFiles.poll();
+                        reader = new ParquetElementReader.Builder<Element>(file.path)
+                                .isEntity(file.isEntity)
+                                .usingConverter(schemaUtils.getConverter(file.group))
+                                .build();
+                    }
+                    next = reader.read();
+                    if (null == next) {
+                        reader.close();
+                        reader = null;
+                    }
+                }
+            } catch (final IOException e) {
+                close();
+                throw new RuntimeException("Failed to read the deltas", e);
+            }
+            return true;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element element = next;
+            next = null;
+            return element;
+        }
+
+        @Override
+        public void close() {
+            remainingFiles.clear();
+            if (null != reader) {
+                try {
+                    reader.close();
+                } catch (final IOException ignored) {
+                    // ignored
+                }
+                reader = null;
+            }
+        }
+    }
+
+    private static final class FileToRead {
+        private final Path path;
+        private final String group;
+        private final boolean isEntity;
+
+        private FileToRead(final Path path, final String group, final boolean isEntity) {
+            this.path = path;
+            this.group = group;
+            this.isEntity = isEntity;
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
 
+import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
@@ -23,8 +24,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.Authorisations;
-import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.ElementVisibility;
-import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.VisibilityEvaluator;
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.CachingVisibilityEvaluator;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
@@ -33,40 +33,114 @@ import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.vectorised.ColumnBatch;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.vectorised.ColumnBatchFilter;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.vectorised.VectorisedParquetElementReader;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Used to retrieve the elements from a single file and put the elements into a shared {@link java.util.concurrent.ConcurrentLinkedQueue}
+ * Used to retrieve the elements from a single file and put the elements into a shared {@link java.util.Queue}. If
+ * the queue is a bounded {@link BlockingQueue} then the task waits for space in the queue, and stops reading the file
+ * if it is interrupted whilst waiting, or if the consumer of the queue has not made progress before the abandon
+ * deadline. An abandoned task returns an {@link OperationException}.
  */
 public class RetrieveElementsFromFile implements Callable<OperationException> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RetrieveElementsFromFile.class);
+    private static final long OFFER_TIMEOUT_MILLIS = 100L;
     private final Path filePath;
     private final FilterPredicate filter;
     private final byte[] jsonGafferSchema;
     private transient SchemaUtils schemaUtils;
-    private final ConcurrentLinkedQueue<Element> queue;
+    private final Queue<Element> queue;
     private transient ElementFilter elementFilter;
     private final byte[] elementDefinitionJson;
     private final boolean needsValidatorsAndFiltersApplying;
     private final boolean skipValidation;
+    private final boolean vectorisedRead;
+    private final Set<Integer> rowGroups;
     private final String group;
     private final View view;
     private final Schema gafferSchema;
     private final Authorisations auths;
     private final String visibility;
+    private transient CachingVisibilityEvaluator visibilityEvaluator;
+    private final AtomicLong abandonDeadline;
+    private OperationException abandonedException;
 
     public RetrieveElementsFromFile(final Path filePath, final FilterPredicate filter, final Schema gafferSchema,
                                     final ConcurrentLinkedQueue<Element> queue, final boolean needsValidatorsAndFiltersApplying,
                                     final boolean skipValidation, final View view, final User user) {
+        this(filePath, filter, gafferSchema, queue, needsValidatorsAndFiltersApplying, skipValidation, false, view, user);
+    }
+
+    public RetrieveElementsFromFile(final Path filePath, final FilterPredicate filter, final Schema gafferSchema,
+                                    final ConcurrentLinkedQueue<Element> queue, final boolean needsValidatorsAndFiltersApplying,
+                                    final boolean skipValidation, final boolean vectorisedRead, final View view, final User user) {
+        this(filePath, filter, gafferSchema, queue, needsValidatorsAndFiltersApplying, skipValidation, vectorisedRead, null, view, user);
+    }
+
+    /**
+     * Creates a task that only reads the given row groups of the file.
+     *
+     * @param filePath                          the file to read
+     * @param filter                            the Parquet filter to apply
+     * @param gafferSchema                      the Gaffer schema
+     * @param queue                             the queue to add the retrieved elements to
+     * @param needsValidatorsAndFiltersApplying true if the validators and view filters need applying to each element
+     * @param skipValidation                    true if the schema validators should not be applied
+     * @param vectorisedRead                    true if the file should be read a column batch at a time
+     * @param rowGroups                         the ordinals of the row groups that may contain matching elements, or
+     *                                          null to read every row group. Restricting the row groups requires the
+     *                                          vectorised reader, so it is used whenever this is non-null.
+     * @param view                              the view of the query
+     * @param user                              the user running the query
+     */
+    public RetrieveElementsFromFile(final Path filePath, final FilterPredicate filter, final Schema gafferSchema,
+                                    final Queue<Element> queue, final boolean needsValidatorsAndFiltersApplying,
+                                    final boolean skipValidation, final boolean vectorisedRead, final Set<Integer> rowGroups,
+                                    final View view, final User user) {
+        this(filePath, filter, gafferSchema, queue, needsValidatorsAndFiltersApplying, skipValidation, vectorisedRead,
+                rowGroups, view, user, null);
+    }
+
+    /**
+     * Creates a task that abandons reading the file if it is waiting for space in a bounded queue after the
+     * {@code abandonDeadline}. The consumer of the queue moves the deadline on whilst it is making progress.
+     *
+     * @param filePath                          the file to read
+     * @param filter                            the Parquet filter to apply
+     * @param gafferSchema                      the Gaffer schema
+     * @param queue                             the queue to add the retrieved elements to
+     * @param needsValidatorsAndFiltersApplying true if the validators and view filters need applying to each element
+     * @param skipValidation                    true if the schema validators should not be applied
+     * @param vectorisedRead                    true if the file should be read a column batch at a time
+     * @param rowGroups                         the ordinals of the row groups that may contain matching elements, or
+     *                                          null to read every row group
+     * @param view                              the view of the query
+     * @param user                              the user running the query
+     * @param abandonDeadline                   the time, in milliseconds since the epoch, after which the task is
+     *                                          abandoned if it is waiting for the consumer, or null to wait for the
+     *                                          consumer indefinitely
+     */
+    public RetrieveElementsFromFile(final Path filePath, final FilterPredicate filter, final Schema gafferSchema,
+                                    final Queue<Element> queue, final boolean needsValidatorsAndFiltersApplying,
+                                    final boolean skipValidation, final boolean vectorisedRead, final Set<Integer> rowGroups,
+                                    final View view, final User user, final AtomicLong abandonDeadline) {
         this.filePath = filePath;
         this.filter = filter;
         this.jsonGafferSchema = gafferSchema.toCompactJson();
@@ -89,12 +163,15 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
         this.view = view;
         this.needsValidatorsAndFiltersApplying = needsValidatorsAndFiltersApplying;
         this.skipValidation = skipValidation;
+        this.vectorisedRead = vectorisedRead || null != rowGroups;
+        this.rowGroups = rowGroups;
         if (filePath.getName().contains("=")) {
             group = filePath.getName().split("=")[1];
         } else {
             group = filePath.getParent().getName().split("=")[1];
         }
         elementDefinitionJson = view.getElement(group).toCompactJson();
+        this.abandonDeadline = abandonDeadline;
     }
 
     @Override
@@ -105,8 +182,13 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
         if (null == schemaUtils) {
             schemaUtils = new SchemaUtils(Schema.fromJson(jsonGafferSchema));
         }
-        try {
-            final ParquetReader<Element> fileReader = openParquetReader();
+        if (null == visibilityEvaluator) {
+            visibilityEvaluator = new CachingVisibilityEvaluator(auths);
+        }
+        if (vectorisedRead) {
+            return readVectorised();
+        }
+        try (final ParquetReader<Element> fileReader = openParquetReader()) {
             Element e = fileReader.read();
             while (null != e) {
                 if (!visibility.isEmpty()) {
@@ -117,12 +199,16 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
                             if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
                                 if (elementFilter == null || elementFilter.test(e)) {
                                     ViewUtil.removeProperties(view, e);
-                                    queue.add(e);
+                                    if (!add(e)) {
+                                        return abandonedException;
+                                    }
                                 }
                             }
                         } else {
                             ViewUtil.removeProperties(view, e);
-                            queue.add(e);
+                            if (!add(e)) {
+                                return abandonedException;
+                            }
                         }
                     }
                 } else if (needsValidatorsAndFiltersApplying) {
@@ -131,22 +217,126 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
                     if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
                         if (elementFilter == null || elementFilter.test(e)) {
                             ViewUtil.removeProperties(view, e);
-                            queue.add(e);
+                            if (!add(e)) {
+                                return abandonedException;
+                            }
                         }
                     }
                 } else {
                     ViewUtil.removeProperties(view, e);
-                    queue.add(e);
+                    if (!add(e)) {
+                        return abandonedException;
+                    }
                 }
                 e = fileReader.read();
             }
-            fileReader.close();
         } catch (final IOException ignore) {
             // ignore as this file does not exist
         }
         return null;
     }
 
+    // Reads the file a row group at a time. The Parquet filter is applied to the columns of each batch first, then the
+    // visibility, validators and view filters are tested against elements containing only the columns they refer to,
+    // and only the rows that pass every check are fully materialised.
+    private OperationException readVectorised() throws Exception {
+        final boolean isEntity = schemaUtils.getEntityGroups().contains(group);
+        final GafferGroupObjectConverter converter = schemaUtils.getConverter(group);
+        final ElementFilter validatorFilter = skipValidation ? null : gafferSchema.getElement(group).getValidator(false);
+        final boolean applyFilters = needsValidatorsAndFiltersApplying
+                && (null != validatorFilter || null != elementFilter);
+        final Set<String> filterColumns = getFilterColumns(converter, applyFilters, validatorFilter);
+        try (final VectorisedParquetElementReader reader = new VectorisedParquetElementReader(new Configuration(), filePath,
+                isEntity, converter, filter, null, rowGroups)) {
+            ColumnBatch batch = reader.readNextBatch();
+            while (null != batch) {
+                final boolean[] selected = ColumnBatchFilter.select(filter, batch);
+                for (int row = 0; row < selected.length; row++) {
+                    if (selected[row]) {
+                        Element e = null;
+                        if (!visibility.isEmpty() || applyFilters) {
+                            e = reader.materialise(batch, row, filterColumns);
+                            if ((!visibility.isEmpty() && !isVisible(e))
+                                    || (applyFilters && !passesFilters(e, validatorFilter))) {
+                                continue;
+                            }
+                        }
+                        if (null == e || null != filterColumns) {
+                            e = reader.materialise(batch, row);
+                            if (!visibility.isEmpty() && null == e.getProperty(visibility)) {
+                                e.putProperty(visibility, new String());
+                            }
+                        }
+                        ViewUtil.removeProperties(view, e);
+                        if (!add(e)) {
+                            return abandonedException;
+                        }
+                    }
+                }
+                batch = reader.readNextBatch();
+            }
+        } catch (final IOException ignore) {
+            // ignore as this file does not exist
+        }
+        return null;
+    }
+
+    // Adds the element to the queue, waiting for space if the queue is bounded. Returns false if the task was
+    // interrupted whilst waiting, in which case the query has been closed and no more elements should be read, or if
+    // the consumer has stopped making progress, in which case the task is abandoned.
+    private boolean add(final Element e) {
+        if (queue instanceof BlockingQueue) {
+            try {
+                while (!((BlockingQueue<Element>) queue).offer(e, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        return false;
+                    }
+                    if (null != abandonDeadline && System.currentTimeMillis() > abandonDeadline.get()) {
+                        LOGGER.warn("Abandoned reading file {} as the results were not consumed in time", filePath);
+                        abandonedException = new OperationException("Abandoned reading file " + filePath
+                                + " as the results were not consumed in time");
+                        return false;
+                    }
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        } else {
+            queue.add(e);
+        }
+        return true;
+    }
+
+    private boolean passesFilters(final Element e, final ElementFilter validatorFilter) {
+        return (null == validatorFilter || validatorFilter.test(e))
+                && (null == elementFilter || elementFilter.test(e));
+    }
+
+    // Returns the Gaffer columns needed to test the visibility and filters, or null if every column is needed.
+    private Set<String> getFilterColumns(final GafferGroupObjectConverter converter, final boolean applyFilters,
+                                         final ElementFilter validatorFilter) {
+        final Set<String> columns = new HashSet<>();
+        if (!visibility.isEmpty()) {
+            columns.add(visibility);
+        }
+        if (applyFilters) {
+            for (final ElementFilter filter : new ElementFilter[]{validatorFilter, elementFilter}) {
+                if (null != filter) {
+                    for (final TupleAdaptedPredicate<String, ?> component : filter.getComponents()) {
+                        for (final String column : component.getSelection()) {
+                            if (null == converter.getParquetPaths(column)) {
+                                return null;
+                            }
+                            columns.add(column);
+                        }
+                    }
+                }
+            }
+        }
+        return columns;
+    }
+
     private ParquetReader<Element> openParquetReader() throws IOException {
         final boolean isEntity = schemaUtils.getEntityGroups().contains(group);
         final GafferGroupObjectConverter converter = schemaUtils.getConverter(group);
@@ -167,9 +357,7 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
 
     private Boolean isVisible(final Element e) throws VisibilityParseException {
         if (e.getProperty(visibility) != null) {
-            final VisibilityEvaluator visibilityEvaluator = new VisibilityEvaluator(auths);
-            final ElementVisibility elementVisibility = new ElementVisibility((String) e.getProperty(visibility));
-            return visibilityEvaluator.evaluate(elementVisibility);
+            return visibilityEvaluator.evaluate((String) e.getProperty(visibility));
         } else {
             e.putProperty(visibility, new String());
             return true;
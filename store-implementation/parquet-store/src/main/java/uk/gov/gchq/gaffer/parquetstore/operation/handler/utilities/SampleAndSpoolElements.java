@@ -0,0 +1,236 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import org.apache.spark.SparkConf;
+import org.apache.spark.serializer.DeserializationStream;
+import org.apache.spark.serializer.KryoSerializer;
+import org.apache.spark.serializer.SerializationStream;
+import org.apache.spark.serializer.SerializerInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.reflect.ClassTag;
+import scala.reflect.ClassTag$;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.spark.serialisation.kryo.Registrator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Reads an {@link Iterable} of {@link Element}s exactly once, spooling the elements to a local temporary file whilst
+ * sampling the vertices (for entity groups) or sources (for edge groups) of every group using a fixed size reservoir.
+ * The split points for each sampled group are calculated from its reservoir and the spooled elements can then be
+ * read back, so the cost of adding elements does not scale with the number of groups and non-replayable inputs are
+ * supported. Elements are spooled using Spark's {@link KryoSerializer} with the Gaffer {@link Registrator}, so
+ * property types are preserved exactly as they are when elements are shuffled by Spark.
+ */
+public class SampleAndSpoolElements implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SampleAndSpoolElements.class);
+    private static final int BUFFER_SIZE = 65536;
+    private static final ClassTag<Element> ELEMENT_CLASS_TAG = ClassTag$.MODULE$.apply(Element.class);
+
+    private final Set<String> entityGroups;
+    private final Set<String> groupsToSample;
+    private final int reservoirSize;
+    private final int numOfSplits;
+    private final File spoolDir;
+    private final Random random;
+    private final Map<String, List<Object>> groupToReservoir = new HashMap<>();
+    private final Map<String, Long> groupToCount = new HashMap<>();
+    private final SerializerInstance serialiser = new KryoSerializer(new SparkConf()
+            .set("spark.kryo.registrator", Registrator.class.getName()))
+            .newInstance();
+
+    private File spoolFile;
+    private SpooledElementIterator spooledElements;
+    private long numElementsSpooled;
+
+    public SampleAndSpoolElements(final Set<String> entityGroups, final Set<String> groupsToSample,
+                                  final int reservoirSize, final int numOfSplits, final String spoolDir) {
+        this(entityGroups, groupsToSample, reservoirSize, numOfSplits, spoolDir, new Random());
+    }
+
+    public SampleAndSpoolElements(final Set<String> entityGroups, final Set<String> groupsToSample,
+                                  final int reservoirSize, final int numOfSplits, final String spoolDir,
+                                  final Random random) {
+        this.entityGroups = entityGroups;
+        this.groupsToSample = groupsToSample;
+        this.reservoirSize = reservoirSize;
+        this.numOfSplits = numOfSplits;
+        this.spoolDir = new File(spoolDir);
+        this.random = random;
+    }
+
+    /**
+     * Spools the input to a local temporary file and samples the split points of each group that needs sampling.
+     *
+     * @param input the elements to spool, this is only iterated once
+     * @return the split points for each sampled group that contained at least one element
+     * @throws OperationException if the elements could not be spooled
+     */
+    public Map<String, Map<Object, Integer>> sampleAndSpool(final Iterable<? extends Element> input) throws OperationException {
+        if (null != spoolFile) {
+            throw new IllegalStateException("The input has already been spooled");
+        }
+        final Iterator<? extends Element> inputIter = input.iterator();
+        try {
+            spoolFile = Files.createTempFile(spoolDir.toPath(), "gaffer-parquet-spool", ".bin").toFile();
+            LOGGER.debug("Spooling the input elements to {}", spoolFile);
+            final SerializationStream out = serialiser.serializeStream(
+                    new BufferedOutputStream(new FileOutputStream(spoolFile), BUFFER_SIZE));
+            try {
+                while (inputIter.hasNext()) {
+                    final Element element = inputIter.next();
+                    if (null == element) {
+                        continue;
+                    }
+                    sample(element);
+                    out.writeObject(element, ELEMENT_CLASS_TAG);
+                    numElementsSpooled++;
+                }
+            } finally {
+                out.close();
+            }
+        } catch (final IOException e) {
+            throw new OperationException("Failed to spool the input elements to " + spoolDir, e);
+        } finally {
+            CloseableUtil.close(inputIter);
+        }
+        LOGGER.debug("Spooled {} elements to {}", numElementsSpooled, spoolFile);
+
+        final Map<String, Map<Object, Integer>> groupToSplitPoints = new HashMap<>();
+        for (final Map.Entry<String, List<Object>> entry : groupToReservoir.entrySet()) {
+            groupToSplitPoints.put(entry.getKey(), CalculateSplitPointsFromIterable.calculateSplitPoints(entry.getValue(), numOfSplits));
+        }
+        return groupToSplitPoints;
+    }
+
+    /**
+     * Reads the spooled elements back from the local temporary file.
+     *
+     * @return an iterator of the spooled elements
+     */
+    public Iterator<Element> getSpooledElements() {
+        if (null == spoolFile) {
+            throw new IllegalStateException("The input must be spooled before it can be read");
+        }
+        CloseableUtil.close(spooledElements);
+        spooledElements = new SpooledElementIterator();
+        return spooledElements;
+    }
+
+    /**
+     * Deletes the local temporary file.
+     */
+    @Override
+    public void close() {
+        CloseableUtil.close(spooledElements);
+        spooledElements = null;
+        if (null != spoolFile) {
+            if (!spoolFile.delete()) {
+                LOGGER.warn("Failed to delete spool file {}", spoolFile);
+            }
+            spoolFile = null;
+        }
+    }
+
+    private void sample(final Element element) {
+        final String group = element.getGroup();
+        if (!groupsToSample.contains(group)) {
+            return;
+        }
+        final Object identifier;
+        if (entityGroups.contains(group)) {
+            identifier = element.getIdentifier(IdentifierType.VERTEX);
+        } else {
+            identifier = element.getIdentifier(IdentifierType.SOURCE);
+        }
+
+        // Reservoir sampling - each element of the group is kept with probability reservoirSize / count
+        final long count = groupToCount.merge(group, 1L, Long::sum);
+        final List<Object> reservoir = groupToReservoir.computeIfAbsent(group, k -> new ArrayList<>());
+        if (reservoir.size() < reservoirSize) {
+            reservoir.add(identifier);
+        } else {
+            final long index = (long) (random.nextDouble() * count);
+            if (index < reservoirSize) {
+                reservoir.set((int) index, identifier);
+            }
+        }
+    }
+
+    private final class SpooledElementIterator implements Iterator<Element>, Closeable {
+        private final DeserializationStream in;
+        private long numElementsRead;
+
+        private SpooledElementIterator() {
+            try {
+                in = serialiser.deserializeStream(new BufferedInputStream(new FileInputStream(spoolFile), BUFFER_SIZE));
+            } catch (final IOException e) {
+                throw new RuntimeException("Failed to open spool file " + spoolFile, e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            final boolean hasNext = numElementsRead < numElementsSpooled;
+            if (!hasNext) {
+                close();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Reached the end of the spooled elements");
+            }
+            try {
+                final Element element = in.readObject(ELEMENT_CLASS_TAG);
+                numElementsRead++;
+                return element;
+            } catch (final RuntimeException e) {
+                close();
+                throw new RuntimeException("Failed to read element from spool file " + spoolFile, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            in.close();
+        }
+    }
+}
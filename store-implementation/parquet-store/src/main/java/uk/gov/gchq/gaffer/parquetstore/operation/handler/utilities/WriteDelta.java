@@ -0,0 +1,164 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.index.ColumnIndex;
+import uk.gov.gchq.gaffer.parquetstore.index.GraphIndex;
+import uk.gov.gchq.gaffer.parquetstore.index.GroupIndex;
+import uk.gov.gchq.gaffer.parquetstore.index.MinValuesWithPath;
+import uk.gov.gchq.gaffer.parquetstore.io.writer.ParquetElementWriter;
+import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
+import uk.gov.gchq.gaffer.parquetstore.utils.ParquetStoreConstants;
+import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+import uk.gov.gchq.gaffer.parquetstore.utils.SeedComparator;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a batch of {@link Element}s as a delta, without using Spark. The elements are aggregated and sorted in memory
+ * and each group is written to a single file per indexed column, in the same directory layout as a snapshot, so the
+ * delta can be queried using its own {@link GraphIndex}.
+ */
+public class WriteDelta {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteDelta.class);
+    private static final SeedComparator COMPARATOR = new SeedComparator();
+    private static final String FILE_NAME = "part-00000.parquet";
+    private final ParquetStore store;
+    private final SchemaUtils schemaUtils;
+
+    public WriteDelta(final ParquetStore store) {
+        this.store = store;
+        this.schemaUtils = store.getSchemaUtils();
+    }
+
+    /**
+     * Writes the elements to a new delta directory.
+     *
+     * @param elements the elements to write
+     * @param deltaId  the id of the delta, which becomes the snapshot timestamp of the returned index
+     * @return the index of the delta
+     * @throws OperationException if the elements could not be written
+     */
+    public GraphIndex writeElements(final Iterable<? extends Element> elements, final long deltaId) throws OperationException {
+        final String deltaDir = store.getDeltasDir() + "/" + deltaId;
+        final Map<String, List<Element>> groupToElements = new HashMap<>();
+        for (final Element element : AggregatorUtil.ingestAggregate(elements, store.getSchema())) {
+            if (schemaUtils.getGroups().contains(element.getGroup())) {
+                groupToElements.computeIfAbsent(element.getGroup(), k -> new ArrayList<>()).add(element);
+            } else {
+                LOGGER.warn("Skipped the adding of an Element with Group = {} as that group does not exist in the schema.", element.getGroup());
+            }
+        }
+        final GraphIndex graphIndex = new GraphIndex();
+        try {
+            for (final Map.Entry<String, List<Element>> entry : groupToElements.entrySet()) {
+                final String group = entry.getKey();
+                final GroupIndex groupIndex = new GroupIndex();
+                if (schemaUtils.getEntityGroups().contains(group)) {
+                    groupIndex.add(ParquetStoreConstants.VERTEX, write(entry.getValue(), group, ParquetStoreConstants.VERTEX, null, deltaDir));
+                } else {
+                    groupIndex.add(ParquetStoreConstants.SOURCE, write(entry.getValue(), group, ParquetStoreConstants.SOURCE,
+                            ParquetStoreConstants.DESTINATION, deltaDir));
+                    groupIndex.add(ParquetStoreConstants.DESTINATION, write(entry.getValue(), group, ParquetStoreConstants.DESTINATION,
+                            ParquetStoreConstants.SOURCE, deltaDir));
+                }
+                graphIndex.add(group, groupIndex);
+            }
+            graphIndex.writeGroups(deltaDir, store.getFS());
+        } catch (final IOException | StoreException e) {
+            throw new OperationException("Failed to write the delta to " + deltaDir, e);
+        }
+        graphIndex.setSnapshotTimestamp(deltaId);
+        return graphIndex;
+    }
+
+    // Sorts the elements by the indexed column and then by the other vertex column, if there is one, writes them to a
+    // single file and returns the index of that file.
+    private ColumnIndex write(final List<Element> elements, final String group, final String column,
+                              final String otherColumn, final String deltaDir) throws IOException, StoreException {
+        final GafferGroupObjectConverter converter = schemaUtils.getConverter(group);
+        final List<SortKey> keys = new ArrayList<>(elements.size());
+        for (final Element element : elements) {
+            final Object[] value = converter.gafferObjectToParquetObjects(column, getVertex(element, column));
+            final Object[] otherValue = null == otherColumn
+                    ? new Object[0] : converter.gafferObjectToParquetObjects(otherColumn, getVertex(element, otherColumn));
+            keys.add(new SortKey(value, otherValue, element));
+        }
+        keys.sort((k1, k2) -> {
+            final int result = COMPARATOR.compare(k1.value, k2.value);
+            return 0 != result ? result : COMPARATOR.compare(k1.otherValue, k2.otherValue);
+        });
+
+        final ParquetStoreProperties properties = store.getProperties();
+        final Path path = new Path(ParquetStore.getGroupDirectory(group, column, deltaDir) + "/" + FILE_NAME);
+        try (final ParquetWriter<Element> writer = new ParquetElementWriter.Builder(path)
+                .isEntity(ParquetStoreConstants.VERTEX.equals(column))
+                .withType(schemaUtils.getParquetSchema(group))
+                .usingConverter(converter)
+                .withCompressionCodec(CompressionCodecName.SNAPPY)
+                .withRowGroupSize(properties.getRowGroupSize())
+                .withPageSize(properties.getPageSize())
+                .withSparkSchema(schemaUtils.getSparkSchema(group))
+                .build()) {
+            for (final SortKey key : keys) {
+                writer.write(key.element);
+            }
+        }
+        final ColumnIndex columnIndex = new ColumnIndex();
+        columnIndex.add(new MinValuesWithPath(keys.get(0).value, FILE_NAME));
+        return columnIndex;
+    }
+
+    private static Object getVertex(final Element element, final String column) {
+        if (ParquetStoreConstants.VERTEX.equals(column)) {
+            return ((Entity) element).getVertex();
+        } else if (ParquetStoreConstants.SOURCE.equals(column)) {
+            return ((Edge) element).getSource();
+        }
+        return ((Edge) element).getDestination();
+    }
+
+    private static final class SortKey {
+        private final Object[] value;
+        private final Object[] otherValue;
+        private final Element element;
+
+        private SortKey(final Object[] value, final Object[] otherValue, final Element element) {
+            this.value = value;
+            this.otherValue = otherValue;
+            this.element = element;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.serialisation.impl;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.parquetstore.serialisation.ParquetSerialiser;
+import uk.gov.gchq.gaffer.types.CompactFreqMap;
+
+import java.util.Map;
+
+/**
+ * This class is used to serialise and de-serialise a {@link CompactFreqMap} value for use by the
+ * {@link uk.gov.gchq.gaffer.parquetstore.ParquetStore}. The map is written as a Parquet MAP in
+ * the sorted order of its keys.
+ */
+public class CompactFreqMapParquetSerialiser implements ParquetSerialiser<CompactFreqMap> {
+
+    private static final long serialVersionUID = 4725018871233520149L;
+
+    @Override
+    public String getParquetSchema(final String colName) {
+        return "optional group " + colName + " (MAP) {\n" +
+                "  repeated group key_value {\n" +
+                "    required binary key (UTF8);\n" +
+                "    optional int64 value;\n" +
+                "  }\n" +
+                "}";
+    }
+
+    @Override
+    public Object[] serialise(final CompactFreqMap object) throws SerialisationException {
+        if (null != object) {
+            return new Object[]{object};
+        }
+        return new Object[]{null};
+    }
+
+    @Override
+    public CompactFreqMap deserialise(final Object[] objects) throws SerialisationException {
+        if (objects.length == 1) {
+            if (objects[0] instanceof Map) {
+                return new CompactFreqMap((Map<String, Long>) objects[0]);
+            } else if (null == objects[0]) {
+                return null;
+            }
+        }
+        throw new SerialisationException("Could not de-serialise objects to a CompactFreqMap");
+    }
+
+    @Override
+    public CompactFreqMap deserialiseEmpty() throws SerialisationException {
+        throw new SerialisationException("Could not de-serialise objects to a CompactFreqMap");
+    }
+
+    @Override
+    public boolean preservesObjectOrdering() {
+        return true;
+    }
+
+    @Override
+    public boolean isConsistent() {
+        return true;
+    }
+
+    @Override
+    public Object[] serialiseNull() {
+        return new Object[0];
+    }
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return CompactFreqMap.class.equals(clazz);
+    }
+}
@@ -39,6 +39,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This class contains the logic for converting objects between the Gaffer, Parquet and Spark types for a single Gaffer group.
@@ -71,6 +72,16 @@ public class GafferGroupObjectConverter implements Serializable {
         this.columnToPaths = columnToPaths;
     }
 
+    /**
+     * Gets the Parquet column paths that are derived from a single Gaffer column.
+     *
+     * @param gafferColumn The name of the Gaffer column
+     * @return the Parquet column paths, or null if the Gaffer column does not exist in this group
+     */
+    public String[] getParquetPaths(final String gafferColumn) {
+        return columnToPaths.get(gafferColumn);
+    }
+
     /**
      * Converts a Gaffer object from a single Gaffer column to the representative Parquet objects, using the relevant serialiser.
      *
@@ -247,6 +258,22 @@ public class GafferGroupObjectConverter implements Serializable {
      * @throws SerialisationException if the parquet objects can not be de-serialised
      */
     public Element buildElementFromParquetObjects(final Map<String, Object[]> parquetColumnToObject, final boolean isEntity) throws SerialisationException {
+        return buildElementFromParquetObjects(parquetColumnToObject, isEntity, null);
+    }
+
+    /**
+     * Builds up a Gaffer element using a map of parquetColumn to Object[], only de-serialising the requested Gaffer
+     * columns. This allows an element to be partially materialised so that filters can be applied to it cheaply.
+     *
+     * @param parquetColumnToObject is a map from parquet column path to a list of the objects stored on that path which
+     *                              only contains more then 1 if the column is storing an array or part of a map
+     * @param isEntity              is it an Entity that needs building
+     * @param gafferColumns         the Gaffer columns to include in the element, if null then all columns are included
+     * @return an Element containing the objects from the parquetColumnToObject for the requested columns
+     * @throws SerialisationException if the parquet objects can not be de-serialised
+     */
+    public Element buildElementFromParquetObjects(final Map<String, Object[]> parquetColumnToObject, final boolean isEntity,
+                                                  final Set<String> gafferColumns) throws SerialisationException {
         final Element e;
         if (isEntity) {
             e = new Entity(group);
@@ -258,6 +285,9 @@ public class GafferGroupObjectConverter implements Serializable {
         boolean isDir = false;
         for (final Map.Entry<String, String[]> columnToPaths : this.columnToPaths.entrySet()) {
             final String column = columnToPaths.getKey();
+            if (null != gafferColumns && !gafferColumns.contains(column)) {
+                continue;
+            }
             final String[] paths = columnToPaths.getValue();
             final Object[] parquetObjectsForColumn = new Object[paths.length];
             boolean isMap = false;
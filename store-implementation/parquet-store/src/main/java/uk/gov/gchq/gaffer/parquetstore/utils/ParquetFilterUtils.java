@@ -50,6 +50,7 @@ import uk.gov.gchq.koryphe.impl.predicate.Or;
 import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -93,6 +94,7 @@ public final class ParquetFilterUtils {
     private Iterable<? extends ElementId> seeds;
     private GraphIndex graphIndex;
     private final Map<Path, FilterPredicate> pathToFilterMap;
+    private final Map<Path, Set<Integer>> pathToRowGroupsMap;
     private boolean needsValidatorsAndFiltersApplying;
 
     /**
@@ -102,10 +104,23 @@ public final class ParquetFilterUtils {
      * @param store is the {@link ParquetStore} in use
      */
     public ParquetFilterUtils(final ParquetStore store) {
-        this.rootDir = store.getDataDir();
+        this(store, store.getDataDir(), store.getProperties().getSkipValidation());
+    }
+
+    /**
+     * A constructor for reading from directories other than the store's snapshots, such as its deltas.
+     *
+     * @param store          is the {@link ParquetStore} in use
+     * @param rootDir        the directory containing a sub-directory for each snapshot timestamp of the indices that
+     *                       will be passed to {@link #buildPathToFilterMap}
+     * @param skipValidation true if the schema validators should not be applied
+     */
+    public ParquetFilterUtils(final ParquetStore store, final String rootDir, final boolean skipValidation) {
+        this.rootDir = rootDir;
         this.schemaUtils = store.getSchemaUtils();
         this.pathToFilterMap = new HashMap<>();
-        this.skipValidation = store.getProperties().getSkipValidation();
+        this.pathToRowGroupsMap = new HashMap<>();
+        this.skipValidation = skipValidation;
         this.needsValidatorsAndFiltersApplying = false;
     }
 
@@ -113,6 +128,16 @@ public final class ParquetFilterUtils {
         return pathToFilterMap;
     }
 
+    /**
+     * Gets the row groups that need to be read from each path, where the row group index shows that the seeds can
+     * only be contained in some of a file's row groups. Paths that are not in this map need every row group reading.
+     *
+     * @return the mapping from path to the ordinals of the row groups to read
+     */
+    public Map<Path, Set<Integer>> getPathToRowGroupsMap() {
+        return pathToRowGroupsMap;
+    }
+
     public boolean needsValidatorsAndFiltersApplying() {
         return needsValidatorsAndFiltersApplying;
     }
@@ -167,6 +192,7 @@ public final class ParquetFilterUtils {
             entityGroups = schemaUtils.getEntityGroups();
         }
         this.pathToFilterMap.clear();
+        this.pathToRowGroupsMap.clear();
         this.needsValidatorsAndFiltersApplying = false;
 
         if (null == seeds && (null == view || schemaUtils.getEmptyView().equals(view))) {
@@ -278,16 +304,39 @@ public final class ParquetFilterUtils {
     private void buildSeedFilterForIndex(final List<Object[]> sortedSeeds, final String indexedColumn, final String group,
                                          final boolean isEntityGroup, final Map<Object[], Pair<Object[], DirectedType>> seed2Parts)
             throws OperationException, SerialisationException {
-        final Map<Object[], Set<Path>> seedsToPaths = getIndexedPathsForSeeds(sortedSeeds, indexedColumn, group);
+        final Map<Object[], Map<Path, Set<Integer>>> seedsToRowGroups = new HashMap<>();
+        final Map<Object[], Set<Path>> seedsToPaths = getIndexedPathsForSeeds(sortedSeeds, indexedColumn, group, seedsToRowGroups);
         for (final Map.Entry<Object[], Set<Path>> entry : seedsToPaths.entrySet()) {
             final Set<Path> paths = entry.getValue();
             final Object[] currentSeed = entry.getKey();
+            final Map<Path, Set<Integer>> pathToRowGroups = seedsToRowGroups.getOrDefault(currentSeed, Collections.emptyMap());
             for (final Path path : paths) {
                 addPathToSeedFilter(path, currentSeed, indexedColumn, group, seed2Parts.getOrDefault(currentSeed, null), isEntityGroup);
+                addRowGroupsForPath(path, pathToRowGroups.get(path));
             }
         }
     }
 
+    /**
+     * Records that the given row groups of the path need to be read. If the row groups are null, or the path was added
+     * to the pathToFilterMap without any row groups, then every row group of the path will be read.
+     *
+     * @param path      The {@link Path} the seed filter was applied to
+     * @param rowGroups The row groups that might contain the seed, or null if all of them might
+     */
+    private void addRowGroupsForPath(final Path path, final Set<Integer> rowGroups) {
+        if (!pathToFilterMap.containsKey(path)) {
+            return;
+        }
+        if (null == rowGroups) {
+            pathToRowGroupsMap.put(path, null);
+        } else if (!pathToRowGroupsMap.containsKey(path)) {
+            pathToRowGroupsMap.put(path, new HashSet<>(rowGroups));
+        } else if (null != pathToRowGroupsMap.get(path)) {
+            pathToRowGroupsMap.get(path).addAll(rowGroups);
+        }
+    }
+
     /**
      * This method adds the required filters to the pathToFiltersMap for a single path and seed.
      *
@@ -380,10 +429,13 @@ public final class ParquetFilterUtils {
      * @param sortedSeeds   A set of sorted Parquet object[] which represent the Gaffer objects used in the seeds or view filters
      * @param indexedColumn The name of the Gaffer column that has been indexed
      * @param group         The name of the Gaffer group to apply the filter to
+     * @param seedsToRowGroups If not null then files whose row group index shows they cannot contain a seed are skipped,
+     *                         and this is populated with the row groups of each file that might contain each seed
      * @return a mapping of Parquet Objects representing the input seeds to a set of Paths that may contain that seed
      */
     private Map<Object[], Set<Path>> getIndexedPathsForSeeds(final List<Object[]> sortedSeeds, final String indexedColumn,
-                                                             final String group) {
+                                                             final String group,
+                                                             final Map<Object[], Map<Path, Set<Integer>>> seedsToRowGroups) {
         final Map<Object[], Set<Path>> seedsToPaths = new HashMap<>();
         final Iterator<Object[]> sortedSeedsIter = sortedSeeds.iterator();
         final GroupIndex groupIndex = graphIndex.getGroup(group);
@@ -409,10 +461,7 @@ public final class ParquetFilterUtils {
                             final int max2seed = COMPARATOR.compare(max, currentSeed);
                             LOGGER.debug("max2seed comparator: {}", max2seed);
                             if (min2seed < 1 && max2seed >= 0) {
-                                final Path fullFilePath = new Path(ParquetStore.getGroupDirectory(group, indexedColumn, dataDir) + "/" + file);
-                                final Set<Path> paths = seedsToPaths.getOrDefault(currentSeed, new HashSet<>());
-                                paths.add(fullFilePath);
-                                seedsToPaths.put(currentSeed, paths);
+                                addIndexedPath(seedsToPaths, seedsToRowGroups, currentSeed, indexEntry, indexedColumn, group);
                                 if (max2seed == 0) {
                                     indexEntry = nextIndexEntry;
                                     if (indexIter.hasNext()) {
@@ -439,12 +488,8 @@ public final class ParquetFilterUtils {
                 if (null == currentSeed && sortedSeedsIter.hasNext()) {
                     currentSeed = sortedSeedsIter.next();
                 }
-                final String file = indexEntry.getPath();
-                final Path fullFilePath = new Path(ParquetStore.getGroupDirectory(group, indexedColumn, dataDir) + "/" + file);
                 do {
-                    final Set<Path> paths = seedsToPaths.getOrDefault(currentSeed, new HashSet<>());
-                    paths.add(fullFilePath);
-                    seedsToPaths.put(currentSeed, paths);
+                    addIndexedPath(seedsToPaths, seedsToRowGroups, currentSeed, indexEntry, indexedColumn, group);
                     if (sortedSeedsIter.hasNext()) {
                         currentSeed = sortedSeedsIter.next();
                     } else {
@@ -456,13 +501,33 @@ public final class ParquetFilterUtils {
         return seedsToPaths;
     }
 
+    private void addIndexedPath(final Map<Object[], Set<Path>> seedsToPaths,
+                                final Map<Object[], Map<Path, Set<Integer>>> seedsToRowGroups,
+                                final Object[] seed, final MinValuesWithPath indexEntry,
+                                final String indexedColumn, final String group) {
+        final Path fullFilePath = new Path(ParquetStore.getGroupDirectory(group, indexedColumn, dataDir) + "/" + indexEntry.getPath());
+        if (null != seedsToRowGroups && null != seed) {
+            final Set<Integer> rowGroups = indexEntry.getRowGroupsThatMightContain(seed);
+            if (null != rowGroups) {
+                if (rowGroups.isEmpty()) {
+                    LOGGER.debug("Skipping file {} as none of its row groups can contain the seed", fullFilePath);
+                    return;
+                }
+                seedsToRowGroups.computeIfAbsent(seed, k -> new HashMap<>()).put(fullFilePath, rowGroups);
+            }
+        }
+        final Set<Path> paths = seedsToPaths.getOrDefault(seed, new HashSet<>());
+        paths.add(fullFilePath);
+        seedsToPaths.put(seed, paths);
+    }
+
     private Set<Path> getIndexedPathsForSeeds(final Object[] seed, final String indexedColumn,
                                               final String group) {
         if (graphIndex.groupsIndexed().contains(group)) {
             if (graphIndex.getGroup(group).columnsIndexed().contains(indexedColumn)) {
                 final List<Object[]> seeds = new ArrayList<>();
                 seeds.add(seed);
-                final Map<Object[], Set<Path>> seedToPaths = getIndexedPathsForSeeds(seeds, indexedColumn, group);
+                final Map<Object[], Set<Path>> seedToPaths = getIndexedPathsForSeeds(seeds, indexedColumn, group, null);
                 return seedToPaths.get(seed);
             }
         }
@@ -22,6 +22,7 @@ import uk.gov.gchq.gaffer.data.element.IdentifierType;
 import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.ArrayListStringParquetSerialiser;
 import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.BooleanParquetSerialiser;
 import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.ByteParquetSerialiser;
+import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.CompactFreqMapParquetSerialiser;
 import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.DateParquetSerialiser;
 import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.DoubleParquetSerialiser;
 import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.FloatParquetSerialiser;
@@ -46,6 +47,9 @@ public final class ParquetStoreConstants {
     public static final String GROUP = "GROUP";
     public static final String SORTED = "sorted";
     public static final String INDEX = "_index";
+    public static final String ROW_GROUP_INDEX = "_row_group_index";
+    public static final String DELTAS = "deltas";
+    public static final String DELTA_LIST = "_deltas";
     public static final String VERTEX = IdentifierType.VERTEX.name();
     public static final String SOURCE = IdentifierType.SOURCE.name();
     public static final String DESTINATION = IdentifierType.DESTINATION.name();
@@ -67,6 +71,7 @@ public final class ParquetStoreConstants {
             new ShortParquetSerialiser(),
             new TypeValueParquetSerialiser(),
             new FreqMapParquetSerialiser(),
+            new CompactFreqMapParquetSerialiser(),
             new TreeSetStringParquetSerialiser(),
             new TypeSubTypeValueParquetSerialiser(),
             new ArrayListStringParquetSerialiser(),
@@ -147,4 +147,72 @@ public class ParquetStorePropertiesTest {
             return modules;
         }
     }
+
+    @Test
+    public void singlePassAddElementsTest() {
+        assertEquals(false, props.getSinglePassAddElements());
+        props.setSinglePassAddElements(true);
+        assertEquals(true, props.getSinglePassAddElements());
+    }
+
+    @Test
+    public void splitPointsReservoirSizeTest() {
+        assertEquals(100000, props.getSplitPointsReservoirSize());
+        props.setSplitPointsReservoirSize(1000);
+        assertEquals(1000, props.getSplitPointsReservoirSize());
+    }
+
+    @Test
+    public void addElementsSpoolDirTest() {
+        assertEquals(System.getProperty("java.io.tmpdir"), props.getAddElementsSpoolDir());
+        props.setAddElementsSpoolDir("Test");
+        assertEquals("Test", props.getAddElementsSpoolDir());
+    }
+
+    @Test
+    public void vectorisedReadTest() {
+        assertEquals(false, props.getVectorisedRead());
+        props.setVectorisedRead(true);
+        assertEquals(true, props.getVectorisedRead());
+    }
+
+    @Test
+    public void indexBloomFilterTest() {
+        assertEquals(false, props.getIndexBloomFilter());
+        assertEquals(0.01, props.getIndexBloomFilterFalsePositiveRate(), 0.0);
+        props.setIndexBloomFilter(true);
+        props.setIndexBloomFilterFalsePositiveRate(0.05);
+        assertEquals(true, props.getIndexBloomFilter());
+        assertEquals(0.05, props.getIndexBloomFilterFalsePositiveRate(), 0.0);
+    }
+
+    @Test
+    public void readerTest() {
+        assertEquals(3, props.getReaderThreads());
+        assertEquals(1, props.getReaderMaxConcurrentFiles());
+        assertEquals(10000, props.getReaderQueueSize());
+        assertEquals(false, props.getReaderOrderedOutput());
+        assertEquals(300000L, props.getReaderAbandonTimeoutMillis());
+        props.setReaderThreads(8);
+        assertEquals(4, props.getReaderMaxConcurrentFiles());
+        props.setReaderMaxConcurrentFiles(2);
+        props.setReaderQueueSize(100);
+        props.setReaderOrderedOutput(true);
+        props.setReaderAbandonTimeoutMillis(1000L);
+        assertEquals(8, props.getReaderThreads());
+        assertEquals(2, props.getReaderMaxConcurrentFiles());
+        assertEquals(100, props.getReaderQueueSize());
+        assertEquals(true, props.getReaderOrderedOutput());
+        assertEquals(1000L, props.getReaderAbandonTimeoutMillis());
+    }
+
+    @Test
+    public void incrementalAddElementsTest() {
+        assertEquals(false, props.getIncrementalAddElements());
+        assertEquals(10, props.getIncrementalAddElementsMaxDeltas());
+        props.setIncrementalAddElements(true);
+        props.setIncrementalAddElementsMaxDeltas(4);
+        assertEquals(true, props.getIncrementalAddElements());
+        assertEquals(4, props.getIncrementalAddElementsMaxDeltas());
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.index;
+
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.store.StoreException;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RowGroupIndexTest {
+
+    @Test
+    public void shouldRejectValuesOutsideTheMinAndMax() {
+        // Given
+        final RowGroupIndex index = new RowGroupIndex(0, new Object[]{"b"}, new Object[]{"d"}, null);
+
+        // When / Then
+        assertFalse(index.mightContain(new Object[]{"a"}));
+        assertTrue(index.mightContain(new Object[]{"b"}));
+        assertTrue(index.mightContain(new Object[]{"c"}));
+        assertTrue(index.mightContain(new Object[]{"d"}));
+        assertFalse(index.mightContain(new Object[]{"e"}));
+    }
+
+    @Test
+    public void shouldRejectValuesInRangeThatAreNotInTheBloomFilter() {
+        // Given
+        final BloomFilter bloomFilter = RowGroupIndex.createBloomFilter(100, 0.0001);
+        for (int i = 0; i < 200; i += 2) {
+            bloomFilter.add(RowGroupIndex.toKey(new Object[]{i}));
+        }
+        final RowGroupIndex index = new RowGroupIndex(3, new Object[]{0}, new Object[]{198}, bloomFilter);
+
+        // When
+        int falsePositives = 0;
+        for (int i = 1; i < 200; i += 2) {
+            if (index.mightContain(new Object[]{i})) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        for (int i = 0; i < 200; i += 2) {
+            assertTrue(index.mightContain(new Object[]{i}));
+        }
+        assertTrue(falsePositives < 5);
+    }
+
+    @Test
+    public void shouldCreateTheSameKeyForEquivalentNumbers() {
+        // When / Then
+        assertEquals(RowGroupIndex.toKey(new Object[]{1}), RowGroupIndex.toKey(new Object[]{1L}));
+        assertEquals(RowGroupIndex.toKey(new Object[]{1.5f}), RowGroupIndex.toKey(new Object[]{1.5d}));
+        assertFalse(RowGroupIndex.toKey(new Object[]{"ab", "c"}).equals(RowGroupIndex.toKey(new Object[]{"a", "bc"})));
+    }
+
+    @Test
+    public void shouldReturnTheRowGroupsThatMightContainAValue() throws StoreException {
+        // Given
+        final MinValuesWithPath minValuesWithPath = new MinValuesWithPath(new Object[]{"a"}, "file");
+        minValuesWithPath.setRowGroups(Arrays.asList(
+                new RowGroupIndex(0, new Object[]{"a"}, new Object[]{"c"}, null),
+                new RowGroupIndex(1, new Object[]{"c"}, new Object[]{"f"}, null),
+                new RowGroupIndex(2, new Object[]{"g"}, new Object[]{"k"}, null)));
+
+        // When / Then
+        assertEquals(new HashSet<>(Arrays.asList(0, 1)), minValuesWithPath.getRowGroupsThatMightContain(new Object[]{"c"}));
+        assertEquals(new HashSet<>(), minValuesWithPath.getRowGroupsThatMightContain(new Object[]{"fa"}));
+        assertNull(new MinValuesWithPath(new Object[]{"a"}, "file").getRowGroupsThatMightContain(new Object[]{"c"}));
+    }
+}
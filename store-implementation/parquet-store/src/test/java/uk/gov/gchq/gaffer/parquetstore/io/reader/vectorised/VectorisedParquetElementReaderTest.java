@@ -0,0 +1,255 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.io.reader.vectorised;
+
+import com.google.common.collect.Sets;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.io.api.Binary;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestTypes;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
+import uk.gov.gchq.gaffer.parquetstore.io.writer.ParquetElementWriter;
+import uk.gov.gchq.gaffer.parquetstore.testutils.DataGen;
+import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
+import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.and;
+import static org.apache.parquet.filter2.predicate.FilterApi.binaryColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.eq;
+import static org.apache.parquet.filter2.predicate.FilterApi.gtEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.lt;
+import static org.apache.parquet.filter2.predicate.FilterApi.not;
+import static org.apache.parquet.filter2.predicate.FilterApi.notEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.or;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class VectorisedParquetElementReaderTest {
+    private static final int NUM_ENTITIES = 500;
+
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
+
+    private SchemaUtils schemaUtils;
+    private Path path;
+
+    @Before
+    public void setUp() throws IOException {
+        schemaUtils = new SchemaUtils(TestUtils.gafferSchema("schemaUsingLongVertexType"));
+        path = new Path(testFolder.newFolder().getAbsolutePath() + "/GROUP=" + TestGroups.ENTITY);
+        final ParquetWriter<Element> writer = new ParquetElementWriter
+                .Builder(new Path(path, "part-0.parquet"))
+                .isEntity(true)
+                .withSparkSchema(schemaUtils.getSparkSchema(TestGroups.ENTITY))
+                .withType(schemaUtils.getParquetSchema(TestGroups.ENTITY))
+                .usingConverter(schemaUtils.getConverter(TestGroups.ENTITY))
+                .withRowGroupSize(4096)
+                .withPageSize(1024)
+                .build();
+        for (int i = 0; i < NUM_ENTITIES; i++) {
+            if (0 == i % 7) {
+                writer.write(DataGen.getEntity(TestGroups.ENTITY, (long) i, null, null, null, null, null, null, null, null, 1, null));
+            } else {
+                writer.write(DataGen.getEntity(TestGroups.ENTITY, (long) i, (byte) 'a', 0.2 * i, 3f, TestUtils.getTreeSet1(),
+                        5L * i, (short) 6, TestUtils.DATE, TestUtils.getFreqMap1(), i, 0 == i % 3 ? "A" : "B"));
+            }
+        }
+        writer.close();
+    }
+
+    @Test
+    public void shouldReadTheSameElementsAsTheRecordReader() throws IOException {
+        // Given
+        final List<Element> expected = readWithRecordReader(null);
+
+        // When
+        final List<Element> results = readVectorised(null);
+
+        // Then
+        assertEquals(NUM_ENTITIES, results.size());
+        assertEquals(expected, results);
+    }
+
+    @Test
+    public void shouldSelectTheSameRowsAsParquetRecordLevelFiltering() throws IOException {
+        // Given
+        final FilterPredicate filter = or(
+                and(gtEq(longColumn("long"), 1000L), notEq(binaryColumn(TestTypes.VISIBILITY), Binary.fromString("A"))),
+                not(notEq(longColumn("long"), null)));
+        final List<Element> expected = readWithRecordReader(filter);
+
+        // When
+        final List<Element> results = readVectorised(filter);
+
+        // Then
+        assertFalse(results.isEmpty());
+        assertEquals(expected, results);
+    }
+
+    @Test
+    public void shouldNotSelectNullsForNegatedComparisonLikeParquetRecordLevelFiltering() throws IOException {
+        // Given
+        final FilterPredicate filter = not(lt(longColumn("long"), 1000L));
+        final List<Element> expected = readWithRecordReader(filter);
+
+        // When
+        final List<Element> results = readVectorised(filter);
+
+        // Then
+        assertFalse(results.isEmpty());
+        assertTrue(results.stream().noneMatch(element -> null == element.getProperty("long")));
+        assertEquals(expected, results);
+    }
+
+    @Test
+    public void shouldSelectRowsWithAnyValueNotEqualForNegatedEqualityOnRepeatedColumn() throws IOException {
+        // Given
+        // Parquet does not support filters on repeated columns, so filter the record reader's results and only
+        // apply the filter to the batches, not to the row groups
+        final FilterPredicate filter = not(eq(binaryColumn("treeSet.list.element"), Binary.fromString("A")));
+        final List<Element> expected = readWithRecordReader(null).stream()
+                .filter(element -> null == element.getProperty("treeSet")
+                        || ((Set<?>) element.getProperty("treeSet")).stream().anyMatch(value -> !"A".equals(value)))
+                .collect(Collectors.toList());
+
+        // When
+        final List<Element> results = readVectorised(null, filter);
+
+        // Then
+        assertFalse(results.isEmpty());
+        assertEquals(expected, results);
+    }
+
+    @Test
+    public void shouldSkipRowGroupsUsingTheirStatistics() throws IOException {
+        // Given
+        final FilterPredicate filter = eq(longColumn("long"), 5L);
+        int batches = 0;
+        int rows = 0;
+
+        // When
+        try (final VectorisedParquetElementReader reader = new VectorisedParquetElementReader(path, true,
+                schemaUtils.getConverter(TestGroups.ENTITY), filter)) {
+            ColumnBatch batch = reader.readNextBatch();
+            while (null != batch) {
+                batches++;
+                for (final boolean selected : ColumnBatchFilter.select(filter, batch)) {
+                    if (selected) {
+                        rows++;
+                    }
+                }
+                batch = reader.readNextBatch();
+            }
+        }
+
+        // Then
+        assertTrue(countBatches() > 1);
+        assertEquals(1, batches);
+        assertEquals(1, rows);
+    }
+
+    @Test
+    public void shouldOnlyMaterialiseTheRequestedColumns() throws IOException {
+        // Given
+        try (final VectorisedParquetElementReader reader = new VectorisedParquetElementReader(path, true,
+                schemaUtils.getConverter(TestGroups.ENTITY), null)) {
+            final ColumnBatch batch = reader.readNextBatch();
+
+            // When
+            final Element element = reader.materialise(batch, 1, Sets.newHashSet("long", TestTypes.VISIBILITY));
+
+            // Then
+            assertEquals(5L, element.getProperty("long"));
+            assertEquals("B", element.getProperty(TestTypes.VISIBILITY));
+            assertNull(((Entity) element).getVertex());
+            assertNull(element.getProperty("freqMap"));
+            assertTrue(batch.getColumn("long").isNull(0));
+        }
+    }
+
+    private int countBatches() throws IOException {
+        int batches = 0;
+        try (final VectorisedParquetElementReader reader = new VectorisedParquetElementReader(path, true,
+                schemaUtils.getConverter(TestGroups.ENTITY), null)) {
+            while (null != reader.readNextBatch()) {
+                batches++;
+            }
+        }
+        return batches;
+    }
+
+    private List<Element> readWithRecordReader(final FilterPredicate filter) throws IOException {
+        final ParquetElementReader.Builder<Element> builder = new ParquetElementReader.Builder<Element>(path)
+                .isEntity(true)
+                .usingConverter(schemaUtils.getConverter(TestGroups.ENTITY));
+        if (null != filter) {
+            builder.withFilter(FilterCompat.get(filter));
+        }
+        final List<Element> elements = new ArrayList<>();
+        try (final ParquetReader<Element> reader = builder.build()) {
+            Element element = reader.read();
+            while (null != element) {
+                elements.add(element);
+                element = reader.read();
+            }
+        }
+        return elements;
+    }
+
+    private List<Element> readVectorised(final FilterPredicate filter) throws IOException {
+        return readVectorised(filter, filter);
+    }
+
+    private List<Element> readVectorised(final FilterPredicate rowGroupFilter, final FilterPredicate batchFilter) throws IOException {
+        final List<Element> elements = new ArrayList<>();
+        try (final VectorisedParquetElementReader reader = new VectorisedParquetElementReader(path, true,
+                schemaUtils.getConverter(TestGroups.ENTITY), rowGroupFilter)) {
+            ColumnBatch batch = reader.readNextBatch();
+            while (null != batch) {
+                final boolean[] selected = ColumnBatchFilter.select(batchFilter, batch);
+                for (int row = 0; row < batch.getNumberOfRows(); row++) {
+                    if (selected[row]) {
+                        elements.add(reader.materialise(batch, row));
+                    }
+                }
+                batch = reader.readNextBatch();
+            }
+        }
+        return elements;
+    }
+}
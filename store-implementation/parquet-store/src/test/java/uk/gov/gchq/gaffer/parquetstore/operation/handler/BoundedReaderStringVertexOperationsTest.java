@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs the {@link StringVertexOperationsTest}s with a small buffer of retrieved elements, so the readers have to wait
+ * for the consumer, and with the elements returned in file order.
+ */
+public class BoundedReaderStringVertexOperationsTest extends StringVertexOperationsTest {
+    private static final long ABANDON_TIMEOUT_MILLIS = 1000L;
+
+    @Override
+    protected Graph getGraph() throws IOException {
+        final ParquetStoreProperties properties = TestUtils.getParquetStoreProperties(testFolder);
+        properties.setReaderQueueSize(2);
+        properties.setReaderMaxConcurrentFiles(2);
+        properties.setReaderOrderedOutput(true);
+        properties.setReaderAbandonTimeoutMillis(ABANDON_TIMEOUT_MILLIS);
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graphId")
+                        .build())
+                .addSchema(getSchema())
+                .storeProperties(properties)
+                .build();
+    }
+
+    @Test
+    public void shouldStopReturningElementsWhenIteratorIsClosedEarly() throws OperationException {
+        // Given
+        final CloseableIterable<? extends Element> data = graph.execute(new GetAllElements.Builder().build(), USER);
+        final CloseableIterator<? extends Element> iterator = data.iterator();
+        assertTrue(iterator.hasNext());
+        assertNotNull(iterator.next());
+
+        // When
+        iterator.close();
+
+        // Then
+        assertFalse(iterator.hasNext());
+        data.close();
+    }
+
+    @Test
+    public void shouldStopReturningElementsWhenIterableIsClosed() throws OperationException {
+        // Given
+        final CloseableIterable<? extends Element> data = graph.execute(new GetAllElements.Builder().build(), USER);
+        final CloseableIterator<? extends Element> iterator = data.iterator();
+        assertTrue(iterator.hasNext());
+        assertNotNull(iterator.next());
+
+        // When
+        data.close();
+
+        // Then
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void shouldAbandonReadersWhenResultsAreNotConsumed() throws OperationException, InterruptedException {
+        // Given
+        final CloseableIterable<? extends Element> data = graph.execute(new GetAllElements.Builder().build(), USER);
+        final CloseableIterator<? extends Element> iterator = data.iterator();
+        assertNotNull(iterator.next());
+
+        // When
+        Thread.sleep(3 * ABANDON_TIMEOUT_MILLIS);
+
+        // Then
+        try {
+            while (iterator.hasNext()) {
+                iterator.next();
+            }
+            fail("Exception expected");
+        } catch (final RuntimeException e) {
+            assertTrue(e.getCause().getMessage().contains("as the results were not consumed"));
+        }
+        data.close();
+    }
+}
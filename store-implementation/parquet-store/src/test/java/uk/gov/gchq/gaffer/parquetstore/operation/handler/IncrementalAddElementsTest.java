@@ -0,0 +1,250 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.testutils.DataGen;
+import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
+import uk.gov.gchq.gaffer.parquetstore.utils.ParquetStoreConstants;
+import uk.gov.gchq.gaffer.types.FreqMap;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.collection.IsIterableContainingInAnyOrder.containsInAnyOrder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+public class IncrementalAddElementsTest {
+    private static final User USER = new User();
+    private static final long COMPACTION_TIMEOUT_MILLIS = 120000L;
+
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
+
+    @Test
+    public void shouldAggregateDeltasWithSnapshotWhenQueried() throws IOException, OperationException {
+        // Given
+        final ParquetStoreProperties properties = getProperties();
+        final Graph graph = getGraph("shouldAggregateDeltasWithSnapshotWhenQueried", properties);
+
+        // When
+        graph.execute(new AddElements.Builder().input(getEntity("vertex", 1)).build(), USER);
+        graph.execute(new AddElements.Builder().input(getEntity("vertex", 1), getEntity("vertex2", 1)).build(), USER);
+        final List<Element> allResults = getElements(graph.execute(new GetAllElements(), USER));
+        final List<Element> seededResults = getElements(graph.execute(new GetElements.Builder()
+                .input(new EntitySeed("vertex"))
+                .view(new View.Builder().entity(TestGroups.ENTITY).build())
+                .build(), USER));
+
+        // Then
+        assertEquals(1, getSnapshots(properties, "shouldAggregateDeltasWithSnapshotWhenQueried").size());
+        assertThat(allResults, containsInAnyOrder(getExpectedEntity("vertex", 2), getExpectedEntity("vertex2", 1)));
+        assertEquals(Collections.singletonList(getExpectedEntity("vertex", 2)), seededResults);
+    }
+
+    @Test
+    public void shouldApplyFiltersAfterAggregatingDeltas() throws IOException, OperationException {
+        // Given
+        final Graph graph = getGraph("shouldApplyFiltersAfterAggregatingDeltas", getProperties());
+        graph.execute(new AddElements.Builder().input(getEntity("vertex", 1), getEntity("vertex3", 1)).build(), USER);
+        graph.execute(new AddElements.Builder().input(getEntity("vertex", 1), getEntity("vertex2", 1)).build(), USER);
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .preAggregationFilter(new ElementFilter.Builder()
+                                .select("count")
+                                .execute(new IsMoreThan(1))
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final List<Element> results = getElements(graph.execute(new GetAllElements.Builder().view(view).build(), USER));
+
+        // Then
+        assertEquals(Collections.singletonList(getExpectedEntity("vertex", 2)), results);
+    }
+
+    @Test
+    public void shouldReloadDeltasWhenGraphIsRecreated() throws IOException, OperationException {
+        // Given
+        final ParquetStoreProperties properties = getProperties();
+        final Graph graph = getGraph("shouldReloadDeltasWhenGraphIsRecreated", properties);
+        graph.execute(new AddElements.Builder().input(getEntity("vertex", 1)).build(), USER);
+        graph.execute(new AddElements.Builder().input(getEntity("vertex", 1)).build(), USER);
+        graph.execute(new AddElements.Builder().input(getEntity("vertex", 1), getEntity("vertex2", 1)).build(), USER);
+
+        // When
+        final Graph reloadedGraph = getGraph("shouldReloadDeltasWhenGraphIsRecreated", properties);
+        final List<Element> results = getElements(reloadedGraph.execute(new GetAllElements(), USER));
+
+        // Then
+        assertThat(results, containsInAnyOrder(getExpectedEntity("vertex", 3), getExpectedEntity("vertex2", 1)));
+    }
+
+    @Test
+    public void shouldCompactDeltasIntoNewSnapshotInBackground() throws IOException, OperationException, InterruptedException {
+        // Given
+        final ParquetStoreProperties properties = getProperties();
+        properties.setIncrementalAddElementsMaxDeltas(2);
+        final Graph graph = getGraph("shouldCompactDeltasIntoNewSnapshotInBackground", properties);
+        graph.execute(new AddElements.Builder().input(getEntity("vertex", 1)).build(), USER);
+
+        // When
+        graph.execute(new AddElements.Builder().input(getEntity("vertex", 1)).build(), USER);
+        graph.execute(new AddElements.Builder().input(getEntity("vertex", 1), getEntity("vertex2", 1)).build(), USER);
+        final long end = System.currentTimeMillis() + COMPACTION_TIMEOUT_MILLIS;
+        while ((getSnapshots(properties, "shouldCompactDeltasIntoNewSnapshotInBackground").size() < 2
+                || !getDeltas(properties, "shouldCompactDeltasIntoNewSnapshotInBackground").isEmpty())
+                && System.currentTimeMillis() < end) {
+            Thread.sleep(100L);
+        }
+
+        // Then
+        final List<Path> snapshots = getSnapshots(properties, "shouldCompactDeltasIntoNewSnapshotInBackground");
+        assertEquals(2, snapshots.size());
+        assertEquals(Collections.emptyList(), getDeltas(properties, "shouldCompactDeltasIntoNewSnapshotInBackground"));
+        final Graph reloadedGraph = getGraph("shouldCompactDeltasIntoNewSnapshotInBackground", properties);
+        assertThat(getElements(reloadedGraph.execute(new GetAllElements(), USER)),
+                containsInAnyOrder(getExpectedEntity("vertex", 3), getExpectedEntity("vertex2", 1)));
+        assertThat(getElements(graph.execute(new GetAllElements(), USER)),
+                containsInAnyOrder(getExpectedEntity("vertex", 3), getExpectedEntity("vertex2", 1)));
+    }
+
+    @Test
+    public void shouldKeepFoldedDeltasUntilQueriesHoldingThemAreClosed() throws IOException, OperationException, InterruptedException {
+        // Given
+        final ParquetStoreProperties properties = getProperties();
+        properties.setIncrementalAddElementsMaxDeltas(2);
+        final Graph graph = getGraph("shouldKeepFoldedDeltasUntilQueriesHoldingThemAreClosed", properties);
+        graph.execute(new AddElements.Builder().input(getEntity("vertex", 1)).build(), USER);
+        graph.execute(new AddElements.Builder().input(getEntity("vertex", 1)).build(), USER);
+        final CloseableIterable<? extends Element> query = graph.execute(new GetAllElements(), USER);
+
+        // When
+        graph.execute(new AddElements.Builder().input(getEntity("vertex", 1), getEntity("vertex2", 1)).build(), USER);
+        final long end = System.currentTimeMillis() + COMPACTION_TIMEOUT_MILLIS;
+        while (getSnapshots(properties, "shouldKeepFoldedDeltasUntilQueriesHoldingThemAreClosed").size() < 2
+                && System.currentTimeMillis() < end) {
+            Thread.sleep(100L);
+        }
+        final List<Path> deltasWhilstQueryIsOpen = getDeltas(properties, "shouldKeepFoldedDeltasUntilQueriesHoldingThemAreClosed");
+        final List<Element> results = getElements(query);
+
+        // Then
+        assertEquals(2, getSnapshots(properties, "shouldKeepFoldedDeltasUntilQueriesHoldingThemAreClosed").size());
+        assertEquals(1, deltasWhilstQueryIsOpen.size());
+        assertThat(results, containsInAnyOrder(getExpectedEntity("vertex", 2)));
+        assertEquals(Collections.emptyList(), getDeltas(properties, "shouldKeepFoldedDeltasUntilQueriesHoldingThemAreClosed"));
+    }
+
+    private ParquetStoreProperties getProperties() throws IOException {
+        final ParquetStoreProperties properties = TestUtils.getParquetStoreProperties(testFolder);
+        properties.setSampleRate(1);
+        properties.setAddElementsOutputFilesPerGroup(1);
+        properties.setIncrementalAddElements(true);
+        return properties;
+    }
+
+    private static Graph getGraph(final String graphId, final ParquetStoreProperties properties) {
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId(graphId)
+                        .build())
+                .addSchemas(TestUtils.gafferSchema("schemaUsingStringVertexType"))
+                .storeProperties(properties)
+                .build();
+    }
+
+    private static List<Path> getSnapshots(final ParquetStoreProperties properties, final String graphId) throws IOException {
+        final List<Path> snapshots = new ArrayList<>();
+        final FileSystem fs = FileSystem.get(new Configuration());
+        for (final FileStatus status : fs.listStatus(new Path(properties.getDataDir() + "/" + graphId))) {
+            if (!ParquetStoreConstants.DELTAS.equals(status.getPath().getName())) {
+                snapshots.add(status.getPath());
+            }
+        }
+        return snapshots;
+    }
+
+    private static List<Path> getDeltas(final ParquetStoreProperties properties, final String graphId) throws IOException {
+        final List<Path> deltas = new ArrayList<>();
+        final FileSystem fs = FileSystem.get(new Configuration());
+        final Path deltasDir = new Path(properties.getDataDir() + "/" + graphId + "/" + ParquetStoreConstants.DELTAS);
+        if (fs.exists(deltasDir)) {
+            for (final FileStatus status : fs.listStatus(deltasDir)) {
+                deltas.add(status.getPath());
+            }
+        }
+        return deltas;
+    }
+
+    private static List<Element> getElements(final CloseableIterable<? extends Element> iterable) {
+        final List<Element> elements = new ArrayList<>();
+        for (final Element element : iterable) {
+            elements.add(element);
+        }
+        iterable.close();
+        return elements;
+    }
+
+    private static Entity getEntity(final String vertex, final int multiplier) {
+        return DataGen.getEntity(TestGroups.ENTITY, vertex, (byte) 'a', 0.2 * multiplier, 3f * multiplier,
+                TestUtils.getTreeSet1(), 5L * multiplier, (short) (6 * multiplier), TestUtils.DATE, getFreqMap(multiplier),
+                multiplier, null);
+    }
+
+    private static Entity getExpectedEntity(final String vertex, final int multiplier) {
+        final Entity entity = getEntity(vertex, multiplier);
+        entity.putProperty("visibility", "");
+        return entity;
+    }
+
+    private static FreqMap getFreqMap(final int multiplier) {
+        final FreqMap freqMap = new FreqMap();
+        freqMap.upsert("A", (long) multiplier);
+        freqMap.upsert("B", (long) multiplier);
+        return freqMap;
+    }
+}
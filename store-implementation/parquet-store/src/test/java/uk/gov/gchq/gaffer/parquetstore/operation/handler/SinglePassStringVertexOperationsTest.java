@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler;
+
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
+
+import java.io.IOException;
+
+/**
+ * Runs the {@link StringVertexOperationsTest}s with the elements added in a single pass of the input.
+ */
+public class SinglePassStringVertexOperationsTest extends StringVertexOperationsTest {
+
+    @Override
+    protected Graph getGraph() throws IOException {
+        final ParquetStoreProperties properties = TestUtils.getParquetStoreProperties(testFolder);
+        properties.setSinglePassAddElements(true);
+        properties.setSplitPointsReservoirSize(50);
+        properties.setAddElementsSpoolDir(testFolder.newFolder().getAbsolutePath());
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graphId")
+                        .build())
+                .addSchema(getSchema())
+                .storeProperties(properties)
+                .build();
+    }
+}
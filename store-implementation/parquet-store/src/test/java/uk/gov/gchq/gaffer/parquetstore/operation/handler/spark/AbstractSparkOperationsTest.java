@@ -41,8 +41,12 @@ import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public abstract class AbstractSparkOperationsTest {
@@ -104,4 +108,28 @@ public abstract class AbstractSparkOperationsTest {
                 .build(), USER);
         checkGetDataFrameOfElements(data, true);
     }
+
+    @Test
+    public void getDataFrameOfElementsWithPropertiesProjectionTest() throws OperationException, StoreException, IOException {
+        // Given
+        final Graph graph = genData(true);
+        final View.Builder viewBuilder = new View.Builder();
+        for (final String group : getSchema().getEntityGroups()) {
+            viewBuilder.entity(group, new ViewElementDefinition.Builder().properties("count").build());
+        }
+        for (final String group : getSchema().getEdgeGroups()) {
+            viewBuilder.edge(group, new ViewElementDefinition.Builder().properties("count").build());
+        }
+
+        // When
+        final Dataset<Row> data = graph.execute(new GetDataFrameOfElements.Builder()
+                .view(viewBuilder.build()).build(), USER);
+
+        // Then
+        final List<String> columns = Arrays.asList(data.columns());
+        assertTrue(columns.contains("count"));
+        assertFalse(columns.contains("double"));
+        assertTrue(columns.contains("visibility"));
+        assertEquals(graph.execute(new GetDataFrameOfElements.Builder().build(), USER).count(), data.count());
+    }
 }
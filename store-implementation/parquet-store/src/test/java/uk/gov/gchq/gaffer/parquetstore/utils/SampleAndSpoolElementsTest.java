@@ -0,0 +1,171 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.utils;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.SampleAndSpoolElements;
+import uk.gov.gchq.gaffer.parquetstore.testutils.DataGen;
+import uk.gov.gchq.gaffer.types.FreqMap;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SampleAndSpoolElementsTest {
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldSpoolElementsAndSampleSplitPointsForEachGroupInOnePass() throws Exception {
+        // Given
+        final List<Element> data = new ArrayList<>();
+        for (long i = 0; i < 12; i++) {
+            data.add(DataGen.getEntity(TestGroups.ENTITY, i, null, null, null, null, null, null, null, null, 1, null));
+            data.add(DataGen.getEdge(TestGroups.EDGE, i, i + 2, true, null, null, null, null, null, null, null, null, 1, null));
+            data.add(DataGen.getEdge(TestGroups.EDGE_2, i + 5, i + 8, false, null, null, null, null, null, null, null, null, 1, null));
+        }
+        final Iterable<Element> singleUseInput = new SingleUseIterable(data);
+
+        // When
+        final Map<String, Map<Object, Integer>> splitPoints;
+        final List<Element> spooledElements;
+        try (final SampleAndSpoolElements sampleAndSpool = new SampleAndSpoolElements(
+                Sets.newHashSet(TestGroups.ENTITY), Sets.newHashSet(TestGroups.ENTITY, TestGroups.EDGE),
+                100, 1, testFolder.getRoot().getAbsolutePath())) {
+            splitPoints = sampleAndSpool.sampleAndSpool(singleUseInput);
+            spooledElements = Lists.newArrayList(sampleAndSpool.getSpooledElements());
+        }
+
+        // Then
+        assertEquals(data, spooledElements);
+        final Map<Object, Integer> expected = new HashMap<>(2);
+        expected.put(0L, 0);
+        expected.put(7L, 1);
+        assertEquals(expected, splitPoints.get(TestGroups.ENTITY));
+        assertEquals(expected, splitPoints.get(TestGroups.EDGE));
+        assertFalse(splitPoints.containsKey(TestGroups.EDGE_2));
+        assertEquals(0, testFolder.getRoot().list().length);
+    }
+
+    @Test
+    public void shouldPreservePropertyTypesWhenSpooling() throws Exception {
+        // Given
+        final TreeSet<String> treeSet = new TreeSet<>();
+        treeSet.add("A");
+        treeSet.add("B");
+        final FreqMap freqMap = new FreqMap();
+        freqMap.upsert("A", 2L);
+        final List<Element> data = new ArrayList<>();
+        data.add(DataGen.getEntity(TestGroups.ENTITY, 1L, (byte) 'a', 0.2, 3f, treeSet, 5L, (short) 6,
+                new Date(7L), freqMap, 1, "A"));
+        data.add(DataGen.getEdge(TestGroups.EDGE, "src", "dst", true, (byte) 'b', 0.4, 5f, treeSet, 7L, (short) 8,
+                new Date(9L), freqMap, 2, "B"));
+
+        // When
+        final List<Element> spooledElements;
+        try (final SampleAndSpoolElements sampleAndSpool = new SampleAndSpoolElements(
+                Sets.newHashSet(TestGroups.ENTITY), Sets.newHashSet(TestGroups.ENTITY, TestGroups.EDGE),
+                100, 1, testFolder.getRoot().getAbsolutePath())) {
+            sampleAndSpool.sampleAndSpool(data);
+            spooledElements = Lists.newArrayList(sampleAndSpool.getSpooledElements());
+        }
+
+        // Then
+        assertEquals(data, spooledElements);
+        for (int i = 0; i < data.size(); i++) {
+            for (final String propertyName : data.get(i).getProperties().keySet()) {
+                assertEquals(data.get(i).getProperty(propertyName).getClass(),
+                        spooledElements.get(i).getProperty(propertyName).getClass());
+            }
+        }
+    }
+
+    @Test
+    public void shouldBoundTheSampleSizeWithTheReservoir() throws Exception {
+        // Given
+        final List<Element> data = new ArrayList<>();
+        for (long i = 0; i < 1000; i++) {
+            data.add(DataGen.getEntity(TestGroups.ENTITY, i, null, null, null, null, null, null, null, null, 1, null));
+        }
+
+        // When
+        final Map<String, Map<Object, Integer>> splitPoints;
+        try (final SampleAndSpoolElements sampleAndSpool = new SampleAndSpoolElements(
+                Sets.newHashSet(TestGroups.ENTITY), Sets.newHashSet(TestGroups.ENTITY),
+                10, 9, testFolder.getRoot().getAbsolutePath(), new Random(0))) {
+            splitPoints = sampleAndSpool.sampleAndSpool(data);
+        }
+
+        // Then
+        final Map<Object, Integer> entitySplitPoints = splitPoints.get(TestGroups.ENTITY);
+        assertEquals(5, entitySplitPoints.size());
+        for (final Object splitPoint : entitySplitPoints.keySet()) {
+            assertTrue((Long) splitPoint >= 0 && (Long) splitPoint < 1000);
+        }
+    }
+
+    @Test
+    public void shouldReturnNoSplitPointsForEmptyInput() throws OperationException {
+        // When
+        try (final SampleAndSpoolElements sampleAndSpool = new SampleAndSpoolElements(
+                Sets.newHashSet(TestGroups.ENTITY), Sets.newHashSet(TestGroups.ENTITY),
+                10, 1, testFolder.getRoot().getAbsolutePath())) {
+            final Map<String, Map<Object, Integer>> splitPoints = sampleAndSpool.sampleAndSpool(new ArrayList<Element>());
+
+            // Then
+            assertTrue(splitPoints.isEmpty());
+            assertFalse(sampleAndSpool.getSpooledElements().hasNext());
+            assertEquals(1, testFolder.getRoot().listFiles(File::isFile).length);
+        }
+    }
+
+    private static final class SingleUseIterable implements Iterable<Element> {
+        private final Iterable<Element> elements;
+        private boolean used;
+
+        private SingleUseIterable(final Iterable<Element> elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public Iterator<Element> iterator() {
+            if (used) {
+                throw new IllegalStateException("The input can only be iterated once");
+            }
+            used = true;
+            return elements.iterator();
+        }
+    }
+}
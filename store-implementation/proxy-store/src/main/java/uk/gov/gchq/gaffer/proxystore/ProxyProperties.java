@@ -35,12 +35,16 @@ public class ProxyProperties extends StoreProperties {
     public static final String GAFFER_CONTEXT_ROOT = "gaffer.context-root";
     public static final String CONNECT_TIMEOUT = "gaffer.connect-timeout";
     public static final String READ_TIMEOUT = "gaffer.read-timeout";
+    public static final String COMPRESSION = "gaffer.compression";
+    public static final String STREAMING = "gaffer.streaming";
 
     public static final String DEFAULT_GAFFER_HOST = "localhost";
     public static final String DEFAULT_GAFFER_CONTEXT_ROOT = "/rest";
     public static final int DEFAULT_GAFFER_PORT = 8080;
     public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
     public static final int DEFAULT_READ_TIMEOUT = 10000;
+    public static final boolean DEFAULT_COMPRESSION = false;
+    public static final boolean DEFAULT_STREAMING = false;
 
     private static final String GAFFER_REST_API_VERSION = "v2";
 
@@ -94,6 +98,40 @@ public class ProxyProperties extends StoreProperties {
         set(READ_TIMEOUT, String.valueOf(timeout));
     }
 
+    /**
+     * If compression is enabled, request bodies are gzip encoded and
+     * compressed responses are accepted. The delegate REST API must be a
+     * version that can decode compressed requests.
+     *
+     * @return true if compression is enabled
+     */
+    public boolean isCompression() {
+        return Boolean.parseBoolean(get(COMPRESSION, String.valueOf(DEFAULT_COMPRESSION)));
+    }
+
+    public void setCompression(final boolean compression) {
+        set(COMPRESSION, String.valueOf(compression));
+    }
+
+    /**
+     * If streaming is enabled, operation chains that output an iterable are
+     * executed using the chunked endpoint and the results are deserialised as
+     * they are read. The results can then only be iterated over once. If the
+     * operation chain fails before any results are sent, the error is thrown
+     * when the chain is executed. If it fails part way through the results,
+     * the error is thrown by the iterator once the results that were sent
+     * before the failure have been read.
+     *
+     * @return true if streaming is enabled
+     */
+    public boolean isStreaming() {
+        return Boolean.parseBoolean(get(STREAMING, String.valueOf(DEFAULT_STREAMING)));
+    }
+
+    public void setStreaming(final boolean streaming) {
+        set(STREAMING, String.valueOf(streaming));
+    }
+
     public String getGafferHost() {
         return get(GAFFER_HOST, DEFAULT_GAFFER_HOST);
     }
@@ -17,8 +17,13 @@
 package uk.gov.gchq.gaffer.proxystore;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.filter.EncodingFeature;
+import org.glassfish.jersey.message.DeflateEncoder;
+import org.glassfish.jersey.message.GZipEncoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +45,7 @@ import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
+import uk.gov.gchq.gaffer.proxystore.response.ChunkedResponseIterable;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.store.Context;
@@ -158,6 +164,15 @@ public class ProxyStore extends Store {
             throw new OperationException("Unable to serialise operation chain into JSON.", e);
         }
 
+        if (getProperties().isStreaming() && isStreamable(opChain)) {
+            final URL url = getProperties().getGafferUrl("graph/operations/execute/chunked");
+            try {
+                return doPostChunked(url, opChainJson, opChain.getOutputTypeReference(), context);
+            } catch (final StoreException e) {
+                throw new OperationException(e.getMessage(), e);
+            }
+        }
+
         final URL url = getProperties().getGafferUrl("graph/operations/execute");
         try {
             return doPost(url, opChainJson, opChain.getOutputTypeReference(), context);
@@ -192,6 +207,46 @@ public class ProxyStore extends Store {
         return handleResponse(response, clazz);
     }
 
+    /**
+     * Posts the request to a chunked endpoint and returns a
+     * {@link ChunkedResponseIterable} that deserialises the items as the
+     * response is read. The REST API executes the operation chain before it
+     * starts the response, so an error status is handled here in the same way
+     * as for {@link #doPost(URL, String, TypeReference, Context)}. Errors after
+     * the response has started are thrown by the returned iterable.
+     *
+     * @param url        the chunked endpoint
+     * @param jsonBody   the body of the request
+     * @param outputType the output type, which must be an {@link Iterable}
+     * @param context    the context
+     * @param <O>        the output type
+     * @return an iterable over the items in the response
+     * @throws StoreException if the request fails
+     */
+    @SuppressWarnings("unchecked")
+    protected <O> O doPostChunked(final URL url, final String jsonBody,
+                                  final TypeReference<O> outputType,
+                                  final Context context) throws StoreException {
+        final Invocation.Builder request = createRequest(jsonBody, url, context);
+        final Response response;
+        try {
+            response = request.post(Entity.json(jsonBody));
+        } catch (final Exception e) {
+            throw new StoreException("Failed to execute post via " +
+                    "the Gaffer URL " + url.toExternalForm(), e);
+        }
+
+        if (Family.SUCCESSFUL != response.getStatusInfo().getFamily()) {
+            return handleResponse(response, outputType);
+        }
+
+        final TypeFactory typeFactory = JSONSerialiser.getMapper().getTypeFactory();
+        final JavaType iterableType = typeFactory.constructType(outputType);
+        final JavaType itemType = iterableType.containedTypeCount() > 0
+                ? iterableType.containedType(0) : typeFactory.constructType(Object.class);
+        return (O) new ChunkedResponseIterable<>(response, itemType);
+    }
+
     protected <O> O doGet(final URL url,
                           final TypeReference<O> outputTypeReference, final Context context)
             throws StoreException {
@@ -309,10 +364,27 @@ public class ProxyStore extends Store {
         return new uk.gov.gchq.gaffer.proxystore.operation.handler.OperationChainHandler<>();
     }
 
+    // Only chains that output an iterable can be read from a chunked response
+    private static boolean isStreamable(final OperationChain<?> opChain) {
+        final Class<?> outputClass = opChain.getOutputClass();
+        return Iterable.class.isAssignableFrom(outputClass)
+                && outputClass.isAssignableFrom(ChunkedResponseIterable.class);
+    }
+
+    /**
+     * Creates the client used for all requests from this store. Connections
+     * are kept alive and reused by the underlying connector as long as each
+     * response is read to the end or closed.
+     *
+     * @return the client
+     */
     protected Client createClient() {
         final Client client = ClientBuilder.newClient();
         client.property(ClientProperties.CONNECT_TIMEOUT, getProperties().getConnectTimeout());
         client.property(ClientProperties.READ_TIMEOUT, getProperties().getReadTimeout());
+        if (getProperties().isCompression()) {
+            client.register(new EncodingFeature("gzip", GZipEncoder.class, DeflateEncoder.class));
+        }
         return client;
     }
 
@@ -358,6 +430,16 @@ public class ProxyStore extends Store {
             return this;
         }
 
+        public Builder streaming(final boolean streaming) {
+            properties.setStreaming(streaming);
+            return this;
+        }
+
+        public Builder compression(final boolean compression) {
+            properties.setCompression(compression);
+            return this;
+        }
+
         public Builder jsonSerialiser(final Class<? extends JSONSerialiser> serialiserClass) {
             properties.setJsonSerialiserClass(serialiserClass);
             return this;
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.proxystore.response;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.Error;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.core.exception.GafferWrappedErrorRuntimeException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import javax.ws.rs.core.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@code ChunkedResponseIterable} deserialises the items of a chunked
+ * response from the Gaffer REST API as they are read. Items can be consumed
+ * before the whole response has been received and the response is never held
+ * in memory.
+ * <p>
+ * If the REST API fails after the response has started, it writes the
+ * {@link Error} as a final chunk wrapped in a field named
+ * {@link Error#CHUNKED_ERROR_FIELD}. When this chunk is read the iterator
+ * throws a {@link GafferWrappedErrorRuntimeException}, so a failure is not
+ * mistaken for the end of the results.
+ * <p>
+ * The response can only be read once, so only 1 iterator can be created.
+ * Reading to the end of the iterator, or closing the iterator or iterable,
+ * closes the response so the connection can be reused.
+ *
+ * @param <T> the type of items in the response.
+ */
+public class ChunkedResponseIterable<T> implements CloseableIterable<T> {
+    private final Response response;
+    private final ObjectMapper mapper;
+    private final ObjectReader reader;
+    private boolean iterated;
+
+    public ChunkedResponseIterable(final Response response, final JavaType itemType) {
+        this.response = response;
+        this.mapper = JSONSerialiser.getMapper();
+        this.reader = mapper.readerFor(itemType);
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        if (iterated) {
+            throw new IllegalStateException("A chunked response can only be iterated over once");
+        }
+        iterated = true;
+
+        final MappingIterator<JsonNode> chunks;
+        try {
+            chunks = mapper.readerFor(JsonNode.class).readValues(response.readEntity(InputStream.class));
+        } catch (final IOException e) {
+            close();
+            throw new GafferRuntimeException("Unable to read chunked response", e);
+        }
+        return new ChunkedResponseIterator(chunks);
+    }
+
+    @Override
+    public void close() {
+        response.close();
+    }
+
+    private class ChunkedResponseIterator implements CloseableIterator<T> {
+        private final MappingIterator<JsonNode> chunks;
+        private JsonNode nextChunk;
+        private boolean closed;
+
+        ChunkedResponseIterator(final MappingIterator<JsonNode> chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
+            }
+            if (null != nextChunk) {
+                return true;
+            }
+
+            try {
+                if (chunks.hasNextValue()) {
+                    nextChunk = chunks.nextValue();
+                }
+            } catch (final IOException e) {
+                close();
+                throw new GafferRuntimeException("Unable to read chunked response", e);
+            }
+            if (null == nextChunk) {
+                close();
+                return false;
+            }
+            if (isError(nextChunk)) {
+                final Error error = readError(nextChunk);
+                close();
+                throw new GafferWrappedErrorRuntimeException(error);
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more items in the chunked response");
+            }
+
+            final JsonNode chunk = nextChunk;
+            nextChunk = null;
+            try {
+                return reader.readValue(chunk);
+            } catch (final IOException e) {
+                close();
+                throw new GafferRuntimeException("Unable to deserialise item from chunked response", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            nextChunk = null;
+            CloseableUtil.close(chunks);
+            ChunkedResponseIterable.this.close();
+        }
+
+        private boolean isError(final JsonNode chunk) {
+            return chunk.isObject() && 1 == chunk.size() && chunk.has(Error.CHUNKED_ERROR_FIELD);
+        }
+
+        private Error readError(final JsonNode chunk) {
+            try {
+                return mapper.treeToValue(chunk.get(Error.CHUNKED_ERROR_FIELD), Error.class);
+            } catch (final IOException e) {
+                close();
+                throw new GafferRuntimeException("Unable to deserialise error from chunked response", e);
+            }
+        }
+    }
+}
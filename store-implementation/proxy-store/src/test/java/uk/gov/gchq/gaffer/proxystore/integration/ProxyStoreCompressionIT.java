@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.proxystore.integration;
+
+import com.google.common.collect.Iterables;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.proxystore.ProxyStore;
+import uk.gov.gchq.gaffer.rest.RestApiTestClient;
+import uk.gov.gchq.gaffer.rest.SystemProperty;
+import uk.gov.gchq.gaffer.rest.service.v2.RestApiV2TestClient;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import java.io.IOException;
+
+import static org.hamcrest.Matchers.hasItems;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static uk.gov.gchq.gaffer.proxystore.integration.ProxyStoreBasicIT.DEFAULT_ELEMENTS;
+import static uk.gov.gchq.gaffer.proxystore.integration.ProxyStoreBasicIT.USER;
+
+public class ProxyStoreCompressionIT {
+    private static RestApiTestClient client;
+
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
+
+    private Graph graph;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        System.setProperty(SystemProperty.COMPRESSION, "true");
+        client = new RestApiV2TestClient();
+        client.startServer();
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        client.stopServer();
+        System.clearProperty(SystemProperty.COMPRESSION);
+    }
+
+    @Before
+    public void before() throws IOException {
+        client.reinitialiseGraph(testFolder, StreamUtil.SCHEMA, "map-store.properties");
+
+        graph = new Graph.Builder()
+                .store(new ProxyStore.Builder()
+                        .graphId("graph1")
+                        .host("localhost")
+                        .port(8080)
+                        .contextRoot("rest")
+                        .compression(true)
+                        .build())
+                .build();
+    }
+
+    @Test
+    public void shouldAddElementsAndGetAllElementsWithCompression() throws Exception {
+        // Given
+        graph.execute(new AddElements.Builder()
+                .input(DEFAULT_ELEMENTS)
+                .build(), USER);
+
+        // When
+        final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements(), USER);
+
+        // Then
+        assertEquals(DEFAULT_ELEMENTS.length, Iterables.size(results));
+        assertThat((CloseableIterable<Element>) results, hasItems(DEFAULT_ELEMENTS));
+    }
+
+    @Test
+    public void shouldCompressResponseWhenRequested() {
+        // Given
+        final Client httpClient = ClientBuilder.newClient();
+
+        // When
+        final Response response = httpClient.target(client.getUriString())
+                .path("graph/status")
+                .request()
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .get();
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals("gzip", response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.proxystore.integration;
+
+import com.google.common.collect.Iterables;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.proxystore.ProxyStore;
+import uk.gov.gchq.gaffer.proxystore.response.ChunkedResponseIterable;
+import uk.gov.gchq.gaffer.rest.RestApiTestClient;
+import uk.gov.gchq.gaffer.rest.service.v2.RestApiV2TestClient;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static uk.gov.gchq.gaffer.proxystore.integration.ProxyStoreBasicIT.DEFAULT_ELEMENTS;
+import static uk.gov.gchq.gaffer.proxystore.integration.ProxyStoreBasicIT.USER;
+
+public class ProxyStoreStreamingIT {
+    private static final RestApiTestClient client = new RestApiV2TestClient();
+
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
+
+    private Graph graph;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        client.startServer();
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        client.stopServer();
+    }
+
+    @Before
+    public void before() throws IOException, OperationException {
+        client.reinitialiseGraph(testFolder, StreamUtil.SCHEMA, "map-store.properties");
+
+        graph = new Graph.Builder()
+                .store(new ProxyStore.Builder()
+                        .graphId("graph1")
+                        .host("localhost")
+                        .port(8080)
+                        .contextRoot("rest")
+                        .streaming(true)
+                        .compression(true)
+                        .build())
+                .build();
+
+        graph.execute(new AddElements.Builder()
+                .input(DEFAULT_ELEMENTS)
+                .build(), USER);
+    }
+
+    @Test
+    public void shouldStreamAllElements() throws Exception {
+        // When
+        final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements(), USER);
+
+        // Then
+        assertTrue(results instanceof ChunkedResponseIterable);
+        final List<Element> resultList = new ArrayList<>();
+        Iterables.addAll(resultList, results);
+        assertThat(resultList, containsInAnyOrder(DEFAULT_ELEMENTS));
+    }
+
+    @Test
+    public void shouldStreamRelatedElements() throws Exception {
+        // When
+        final CloseableIterable<? extends Element> results = graph.execute(new GetElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .input(new EntitySeed("1"))
+                .build(), USER);
+
+        // Then
+        final List<Element> resultList = new ArrayList<>();
+        Iterables.addAll(resultList, results);
+        assertEquals(1, resultList.size());
+        assertEquals(DEFAULT_ELEMENTS[0], resultList.get(0));
+    }
+
+    @Test
+    public void shouldNotStreamNonIterableOutputs() throws Exception {
+        // When
+        final Long count = graph.execute(new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(new Count<>())
+                .build(), USER);
+        final List<? extends Element> list = graph.execute(new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(new ToList<>())
+                .build(), USER);
+
+        // Then
+        assertEquals(DEFAULT_ELEMENTS.length, (long) count);
+        assertEquals(DEFAULT_ELEMENTS.length, list.size());
+    }
+}
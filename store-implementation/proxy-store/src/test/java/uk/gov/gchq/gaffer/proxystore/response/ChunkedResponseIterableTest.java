@@ -0,0 +1,164 @@
+/*
+ * Copyright 2018 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.proxystore.response;
+
+import com.fasterxml.jackson.databind.JavaType;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.Error;
+import uk.gov.gchq.gaffer.core.exception.GafferWrappedErrorRuntimeException;
+import uk.gov.gchq.gaffer.core.exception.Status;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import javax.ws.rs.core.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ChunkedResponseIterableTest {
+    private static final JavaType ELEMENT_TYPE = JSONSerialiser.getMapper().getTypeFactory().constructType(Element.class);
+
+    @Test
+    public void shouldDeserialiseEachChunkAndCloseResponseAtEnd() throws SerialisationException {
+        // Given
+        final List<Element> elements = Arrays.asList(
+                new Entity(TestGroups.ENTITY, "A"),
+                new Edge(TestGroups.EDGE, "A", "B", true));
+        final Response response = createResponse(elements);
+        final ChunkedResponseIterable<Element> iterable = new ChunkedResponseIterable<>(response, ELEMENT_TYPE);
+
+        // When
+        final List<Element> results = new ArrayList<>();
+        for (final Element element : iterable) {
+            results.add(element);
+        }
+
+        // Then
+        assertEquals(elements, results);
+        verify(response).close();
+    }
+
+    @Test
+    public void shouldReturnNoItemsForEmptyResponse() throws SerialisationException {
+        // Given
+        final Response response = createResponse(new ArrayList<>());
+        final ChunkedResponseIterable<Element> iterable = new ChunkedResponseIterable<>(response, ELEMENT_TYPE);
+
+        // When
+        final CloseableIterator<Element> iterator = iterable.iterator();
+
+        // Then
+        assertFalse(iterator.hasNext());
+        verify(response).close();
+    }
+
+    @Test
+    public void shouldCloseResponseWhenIteratorIsClosedEarly() throws SerialisationException {
+        // Given
+        final Response response = createResponse(Arrays.asList(
+                new Entity(TestGroups.ENTITY, "A"),
+                new Entity(TestGroups.ENTITY, "B")));
+        final ChunkedResponseIterable<Element> iterable = new ChunkedResponseIterable<>(response, ELEMENT_TYPE);
+        final CloseableIterator<Element> iterator = iterable.iterator();
+
+        // When
+        final Element first = iterator.next();
+        verify(response, never()).close();
+        iterator.close();
+
+        // Then
+        assertEquals(new Entity(TestGroups.ENTITY, "A"), first);
+        assertFalse(iterator.hasNext());
+        verify(response).close();
+    }
+
+    @Test
+    public void shouldOnlyAllowOneIterator() throws SerialisationException {
+        // Given
+        final ChunkedResponseIterable<Element> iterable = new ChunkedResponseIterable<>(
+                createResponse(new ArrayList<>()), ELEMENT_TYPE);
+        iterable.iterator();
+
+        // When / Then
+        try {
+            iterable.iterator();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertEquals("A chunked response can only be iterated over once", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldThrowErrorWrittenAsFinalChunk() throws SerialisationException {
+        // Given
+        final Error error = new Error.ErrorBuilder()
+                .status(Status.INTERNAL_SERVER_ERROR)
+                .simpleMessage("Store failed")
+                .build();
+        final Response response = createResponse(Arrays.asList(new Entity(TestGroups.ENTITY, "A")),
+                Collections.singletonMap(Error.CHUNKED_ERROR_FIELD, error));
+        final CloseableIterator<Element> iterator = new ChunkedResponseIterable<Element>(response, ELEMENT_TYPE).iterator();
+
+        // When
+        final Element first = iterator.next();
+        try {
+            iterator.hasNext();
+            fail("Exception expected");
+        } catch (final GafferWrappedErrorRuntimeException e) {
+            // Then
+            assertEquals(error, e.getError());
+        }
+        assertEquals(new Entity(TestGroups.ENTITY, "A"), first);
+        assertFalse(iterator.hasNext());
+        verify(response).close();
+    }
+
+    private Response createResponse(final List<Element> elements) throws SerialisationException {
+        return createResponse(elements, null);
+    }
+
+    private Response createResponse(final List<Element> elements, final Object finalChunk) throws SerialisationException {
+        final StringBuilder chunks = new StringBuilder();
+        for (final Element element : elements) {
+            chunks.append(new String(JSONSerialiser.serialise(element))).append("\r\n");
+        }
+        if (null != finalChunk) {
+            chunks.append(new String(JSONSerialiser.serialise(finalChunk))).append("\r\n");
+        }
+        final Response response = mock(Response.class);
+        given(response.readEntity(InputStream.class)).willReturn(new ByteArrayInputStream(chunks.toString().getBytes()));
+        return response;
+    }
+}